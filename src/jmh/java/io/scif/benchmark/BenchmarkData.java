@@ -0,0 +1,128 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.benchmark;
+
+import io.scif.FormatException;
+import io.scif.Reader;
+import io.scif.SCIFIO;
+import io.scif.formats.TestImgFormat;
+import io.scif.formats.tiff.IFD;
+import io.scif.formats.tiff.TiffCompression;
+import io.scif.formats.tiff.TiffSaver;
+import io.scif.io.location.TestImgLocation;
+
+import java.io.IOException;
+
+import org.scijava.io.location.Location;
+import org.scijava.log.LogService;
+
+/**
+ * Synthetic inputs for the JMH benchmarks: images of the
+ * {@link TestImgFormat}, and TIFF files written from them by
+ * {@link TiffSaver}.
+ */
+public final class BenchmarkData {
+
+	private BenchmarkData() {
+		// NB: Prevent instantiation of utility class.
+	}
+
+	/** Gets a test image of the given pixel type and size. */
+	public static TestImgLocation testImg(final String pixelType,
+		final long width, final long height, final long planes)
+	{
+		return TestImgLocation.builder().name("benchmark").pixelType(pixelType)
+			.axes("X", "Y", "Z").lengths(width, height, planes).build();
+	}
+
+	/** Reads all planes of the given image. */
+	public static byte[][] planes(final SCIFIO scifio, final Location location)
+		throws FormatException, IOException
+	{
+		final Reader reader = scifio.initializer().initializeReader(location);
+		try {
+			final byte[][] planes = new byte[(int) reader.getPlaneCount(0)][];
+			for (int p = 0; p < planes.length; p++) {
+				planes[p] = reader.openPlane(0, p).getBytes();
+			}
+			return planes;
+		}
+		finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Writes the planes of the given test image as a little-endian TIFF with
+	 * the given compression, one strip per plane, to the given location.
+	 */
+	public static void writeTiff(final SCIFIO scifio,
+		final TestImgLocation source, final TiffCompression compression,
+		final Location destination) throws FormatException, IOException
+	{
+		final Reader reader = scifio.initializer().initializeReader(source);
+		final int pixelType = reader.getMetadata().get(0).getPixelType();
+		final long width = reader.getMetadata().get(0).getAxisLength(0);
+		final long height = reader.getMetadata().get(0).getAxisLength(1);
+		reader.close();
+		final byte[][] planes = planes(scifio, source);
+
+		final TiffSaver saver = new TiffSaver(scifio.getContext(), destination);
+		try {
+			saver.setLittleEndian(true);
+			saver.setWritingSequentially(true);
+			saver.writeHeader();
+			for (int p = 0; p < planes.length; p++) {
+				saver.writeImage(planes[p], ifd(scifio.log(), width, height,
+					compression), p, pixelType, p == planes.length - 1);
+			}
+		}
+		finally {
+			saver.getStream().close();
+		}
+	}
+
+	/**
+	 * Creates the IFD of a little-endian TIFF plane of the given size and
+	 * compression, stored as a single strip.
+	 */
+	public static IFD ifd(final LogService log, final long width,
+		final long height, final TiffCompression compression)
+	{
+		final IFD ifd = new IFD(log);
+		ifd.put(IFD.IMAGE_WIDTH, width);
+		ifd.put(IFD.IMAGE_LENGTH, height);
+		ifd.put(IFD.ROWS_PER_STRIP, height);
+		ifd.put(IFD.COMPRESSION, compression.getCode());
+		ifd.put(IFD.LITTLE_ENDIAN, Boolean.TRUE);
+		return ifd;
+	}
+
+}
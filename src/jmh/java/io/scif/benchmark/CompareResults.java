@@ -0,0 +1,156 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.benchmark;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH result files written with {@code -rf json}, e.g. of two
+ * SCIFIO versions. For each benchmark in both files, prints the baseline and
+ * current scores and normalized allocation rates (with {@code -prof gc}), and
+ * flags changes for the worse beyond the given threshold.
+ * <p>
+ * Usage: {@code CompareResults baseline.json current.json [threshold]}
+ * </p>
+ * <p>
+ * Exits with status 1 if any benchmark regressed.
+ * </p>
+ */
+public class CompareResults {
+
+	private static final String ALLOCATION = "·gc.alloc.rate.norm";
+
+	public static void main(final String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println(
+				"Usage: CompareResults baseline.json current.json [threshold]");
+			System.exit(2);
+		}
+		final double threshold = args.length > 2 ? Double.parseDouble(args[2])
+			: 0.1;
+		final Map<String, JsonObject> baseline = read(args[0]);
+		final Map<String, JsonObject> current = read(args[1]);
+
+		int regressions = 0;
+		System.out.println(String.format("%-70s %14s %14s %8s %12s %12s",
+			"Benchmark", "Baseline", "Current", "Change", "B/op before",
+			"B/op after"));
+		for (final Map.Entry<String, JsonObject> entry : current.entrySet()) {
+			final JsonObject before = baseline.get(entry.getKey());
+			if (before == null) continue;
+			final JsonObject after = entry.getValue();
+
+			final double scoreBefore = score(before);
+			final double scoreAfter = score(after);
+			// NB: Higher is better for throughput, lower for all other modes.
+			final boolean higherIsBetter = "thrpt".equals(after.get("mode")
+				.getAsString());
+			final double change = (scoreAfter - scoreBefore) / scoreBefore;
+			final boolean slower = higherIsBetter ? change < -threshold
+				: change > threshold;
+
+			final double allocBefore = allocation(before);
+			final double allocAfter = allocation(after);
+			final boolean allocates = allocAfter > allocBefore * (1 + threshold) +
+				16;
+
+			final String flag = slower ? allocates ? "  SLOWER, ALLOCATES MORE"
+				: "  SLOWER" : allocates ? "  ALLOCATES MORE" : "";
+			if (slower || allocates) regressions++;
+			System.out.println(String.format(
+				"%-70s %14.3f %14.3f %+7.1f%% %12.0f %12.0f %s", entry.getKey(),
+				scoreBefore, scoreAfter, 100 * change, allocBefore, allocAfter,
+				flag));
+		}
+		System.out.println(regressions + " regression(s) beyond " + Math.round(
+			100 * threshold) + "%");
+		if (regressions > 0) System.exit(1);
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Reads the results of a JMH JSON file, keyed by benchmark name, mode and
+	 * parameters.
+	 */
+	private static Map<String, JsonObject> read(final String path)
+		throws IOException
+	{
+		final Map<String, JsonObject> results = new LinkedHashMap<>();
+		try (final Reader reader = Files.newBufferedReader(Paths.get(path),
+			StandardCharsets.UTF_8))
+		{
+			for (final JsonElement element : JsonParser.parseReader(reader)
+				.getAsJsonArray())
+			{
+				final JsonObject result = element.getAsJsonObject();
+				final StringBuilder key = new StringBuilder(result.get("benchmark")
+					.getAsString().replaceFirst("^io\\.scif\\.", ""));
+				key.append(" [").append(result.get("mode").getAsString()).append("]");
+				if (result.has("params")) {
+					// NB: Sort the parameters, for keys independent of their order.
+					final Map<String, String> params = new TreeMap<>();
+					for (final Map.Entry<String, JsonElement> p : result.getAsJsonObject(
+						"params").entrySet())
+					{
+						params.put(p.getKey(), p.getValue().getAsString());
+					}
+					key.append(' ').append(params);
+				}
+				results.put(key.toString(), result);
+			}
+		}
+		return results;
+	}
+
+	private static double score(final JsonObject result) {
+		return result.getAsJsonObject("primaryMetric").get("score")
+			.getAsDouble();
+	}
+
+	/** @return The bytes allocated per operation, or 0 if not measured. */
+	private static double allocation(final JsonObject result) {
+		final JsonObject secondary = result.getAsJsonObject("secondaryMetrics");
+		if (secondary == null || !secondary.has(ALLOCATION)) return 0;
+		return secondary.getAsJsonObject(ALLOCATION).get("score").getAsDouble();
+	}
+
+}
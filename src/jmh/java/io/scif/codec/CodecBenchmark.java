@@ -0,0 +1,178 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.codec;
+
+import io.scif.FormatException;
+import io.scif.SCIFIO;
+import io.scif.benchmark.BenchmarkData;
+import io.scif.formats.tiff.TiffCompression;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the codecs of TIFF strips and tiles, as called by the TIFF
+ * parser and saver, on a 1024x1024 plane of a 16-bit test image.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+	/** Input of the compression benchmark. */
+	@State(Scope.Benchmark)
+	public static class Uncompressed {
+
+		@Param({ "LZW", "DEFLATE" })
+		public TiffCompression compression;
+
+		private SCIFIO scifio;
+
+		private CodecOptions options;
+
+		private byte[] plane;
+
+		@Setup
+		public void setUp() throws FormatException, IOException {
+			scifio = new SCIFIO();
+			plane = plane(scifio);
+			options = options(plane);
+		}
+
+		@TearDown
+		public void tearDown() {
+			scifio.getContext().dispose();
+		}
+	}
+
+	/** Input of the decompression benchmark. */
+	@State(Scope.Benchmark)
+	public static class Compressed {
+
+		@Param({ "LZW", "DEFLATE", "PACK_BITS" })
+		public TiffCompression compression;
+
+		private SCIFIO scifio;
+
+		private CodecOptions options;
+
+		private byte[] data;
+
+		@Setup
+		public void setUp() throws FormatException, IOException {
+			scifio = new SCIFIO();
+			final byte[] plane = plane(scifio);
+			options = options(plane);
+			// NB: PackbitsCodec cannot compress.
+			data = compression == TiffCompression.PACK_BITS ? packBits(plane)
+				: compression.compress(scifio.codec(), plane, options);
+		}
+
+		@TearDown
+		public void tearDown() {
+			scifio.getContext().dispose();
+		}
+	}
+
+	@Benchmark
+	public byte[] compress(final Uncompressed state) throws FormatException {
+		return state.compression.compress(state.scifio.codec(), state.plane,
+			state.options);
+	}
+
+	@Benchmark
+	public byte[] decompress(final Compressed state) throws FormatException {
+		return state.compression.decompress(state.scifio.codec(), state.data,
+			state.options);
+	}
+
+	// -- Helper methods --
+
+	private static byte[] plane(final SCIFIO scifio) throws FormatException,
+		IOException
+	{
+		return BenchmarkData.planes(scifio, BenchmarkData.testImg("uint16", 1024,
+			1024, 1))[0];
+	}
+
+	private static CodecOptions options(final byte[] plane) {
+		final CodecOptions options = new CodecOptions();
+		options.maxBytes = plane.length;
+		options.width = 1024;
+		options.height = 1024;
+		options.bitsPerSample = 16;
+		options.channels = 1;
+		options.littleEndian = true;
+		options.interleaved = true;
+		return options;
+	}
+
+	/** Encodes the given bytes as PackBits runs of at most 128 bytes. */
+	private static byte[] packBits(final byte[] in) {
+		final ByteVector out = new ByteVector();
+		int i = 0;
+		while (i < in.length) {
+			int run = 1;
+			while (i + run < in.length && run < 128 && in[i + run] == in[i])
+				run++;
+			if (run > 1) {
+				out.add((byte) (1 - run));
+				out.add(in[i]);
+				i += run;
+				continue;
+			}
+			final int start = i;
+			while (i < in.length && i - start < 128 && (i + 1 == in.length ||
+				in[i + 1] != in[i]))
+			{
+				i++;
+			}
+			out.add((byte) (i - start - 1));
+			out.add(in, start, i - start);
+		}
+		return out.toByteArray();
+	}
+
+}
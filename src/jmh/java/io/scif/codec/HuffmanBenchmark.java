@@ -0,0 +1,125 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.codec;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Huffman decoding as done by {@link LosslessJPEGCodec}: the table-driven
+ * {@link HuffmanCodec.Decoder} against the former tree decoder, on random
+ * sample differences encoded with a typical lossless JPEG table. Scores are
+ * per sample.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HuffmanBenchmark {
+
+	private static final int SAMPLES = 1 << 20;
+
+	/**
+	 * Luminance DC table of the JPEG specification (K.3), extended to the 17
+	 * difference categories of 16-bit lossless JPEG.
+	 */
+	private static final short[] TABLE = { 0, 1, 5, 1, 1, 1, 1, 1, 1, 1, 1, 1,
+		1, 1, 0, 0, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 };
+
+	private byte[] bytes;
+
+	private HuffmanCodec.Decoder table;
+
+	private TreeHuffmanDecoder tree;
+
+	@Setup
+	public void setUp() {
+		// Code of each value, as [code, length]
+		final int[][] codes = new int[TABLE.length - 16][];
+		int code = 0, index = 0;
+		for (int l = 1; l <= 16; l++) {
+			for (int i = 0; i < TABLE[l - 1]; i++) {
+				codes[TABLE[16 + index++]] = new int[] { code++, l };
+			}
+			code <<= 1;
+		}
+
+		// Differences of natural images are mostly small
+		final Random r = new Random(0);
+		final BitWriter out = new BitWriter(SAMPLES * 2);
+		for (int i = 0; i < SAMPLES; i++) {
+			final int ssss = Math.min(codes.length - 1, (int) Math.abs(r
+				.nextGaussian() * 4));
+			out.write(codes[ssss][0], codes[ssss][1]);
+			out.write(r.nextInt(1 << ssss), ssss);
+		}
+		bytes = out.toByteArray();
+
+		table = new HuffmanCodec.Decoder(TABLE);
+		tree = new TreeHuffmanDecoder(TABLE);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SAMPLES)
+	public long table() {
+		final BitBuffer bb = new BitBuffer(bytes);
+		long sum = 0;
+		for (int s = 0; s < SAMPLES; s++) {
+			sum += bb.getBits(table.decode(bb));
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SAMPLES)
+	public long tree() {
+		final BitBuffer bb = new BitBuffer(bytes);
+		long sum = 0;
+		for (int s = 0; s < SAMPLES; s++) {
+			sum += bb.getBits(tree.decode(bb));
+		}
+		return sum;
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.formats.tiff;
+
+import io.scif.FormatException;
+import io.scif.SCIFIO;
+import io.scif.benchmark.BenchmarkData;
+import io.scif.io.location.TestImgLocation;
+import io.scif.util.FormatTools;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scijava.io.handle.DataHandle;
+import org.scijava.io.handle.DataHandleService;
+import org.scijava.io.location.BytesLocation;
+import org.scijava.io.location.FileLocation;
+import org.scijava.io.location.Location;
+
+/**
+ * Throughput of reading a 1024x1024 16-bit TIFF plane with
+ * {@link TiffParser#getSamples(IFD, byte[])}, and of writing one to memory
+ * with {@link TiffSaver#writeImage(byte[], IFD, int, int, boolean)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TiffBenchmark {
+
+	private static final int SIZE = 1024;
+
+	@Param({ "UNCOMPRESSED", "LZW", "DEFLATE" })
+	public TiffCompression compression;
+
+	private SCIFIO scifio;
+
+	private DataHandleService dataHandleService;
+
+	private File file;
+
+	private TiffParser parser;
+
+	private IFD ifd;
+
+	private byte[] plane;
+
+	private byte[] buf;
+
+	@Setup
+	public void setUp() throws FormatException, IOException {
+		scifio = new SCIFIO();
+		dataHandleService = scifio.getContext().service(DataHandleService.class);
+		final TestImgLocation source = BenchmarkData.testImg("uint16", SIZE, SIZE,
+			1);
+		plane = BenchmarkData.planes(scifio, source)[0];
+		buf = new byte[plane.length];
+
+		file = File.createTempFile("scifio-benchmark", ".tif");
+		BenchmarkData.writeTiff(scifio, source, compression, new FileLocation(
+			file));
+		parser = new TiffParser(scifio.getContext(), new FileLocation(file));
+		ifd = parser.getFirstIFD();
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		parser.close();
+		file.delete();
+		scifio.getContext().dispose();
+	}
+
+	@Benchmark
+	public byte[] getSamples() throws FormatException, IOException {
+		return parser.getSamples(ifd, buf);
+	}
+
+	@Benchmark
+	public long writeImage() throws FormatException, IOException {
+		try (final DataHandle<Location> out = dataHandleService.create(
+			new BytesLocation(plane.length + 4096)))
+		{
+			final TiffSaver saver = new TiffSaver(scifio.getContext(), out);
+			saver.setLittleEndian(true);
+			saver.setWritingSequentially(true);
+			saver.writeHeader();
+			saver.writeImage(plane, BenchmarkData.ifd(scifio.log(), SIZE, SIZE,
+				compression), 0, FormatTools.UINT16, true);
+			return out.length();
+		}
+	}
+
+}
@@ -0,0 +1,166 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.formats.tiff;
+
+import io.scif.FormatException;
+import io.scif.SCIFIO;
+import io.scif.util.FormatTools;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scijava.io.location.FileLocation;
+
+/**
+ * Parallel tile decoding in {@link TiffParser#getSamples(IFD, byte[])}: time
+ * to read a 4096x4096 16-bit plane of LZW-compressed 256x256 tiles, decoded
+ * serially ({@code threads = 0}) or by a pool of the given number of threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TiffParserBenchmark {
+
+	private static final int SIZE = 4096;
+
+	private static final int TILE_SIZE = 256;
+
+	@Param({ "0", "1", "2", "4", "8" })
+	public int threads;
+
+	private SCIFIO scifio;
+
+	private File file;
+
+	private TiffParser parser;
+
+	private IFD ifd;
+
+	private ExecutorService executor;
+
+	private byte[] buf;
+
+	@Setup
+	public void setUp() throws FormatException, IOException {
+		scifio = new SCIFIO();
+		file = File.createTempFile("scifio-benchmark", ".tif");
+		final FileLocation location = new FileLocation(file);
+		writeTiledTiff(location);
+
+		parser = new TiffParser(scifio.getContext(), location);
+		ifd = parser.getFirstIFD();
+		final byte[] expected = new byte[SIZE * SIZE * 2];
+		parser.getSamples(ifd, expected);
+
+		if (threads > 0) {
+			executor = Executors.newFixedThreadPool(threads);
+			parser.setExecutor(executor);
+		}
+		buf = new byte[expected.length];
+		parser.getSamples(ifd, buf);
+		if (!Arrays.equals(expected, buf)) {
+			throw new IllegalStateException("Parallel samples differ from serial");
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		if (executor != null) executor.shutdown();
+		parser.close();
+		file.delete();
+		scifio.getContext().dispose();
+	}
+
+	@Benchmark
+	public byte[] getSamples() throws FormatException, IOException {
+		return parser.getSamples(ifd, buf);
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Writes a smooth gradient with a little noise, so that LZW has work to
+	 * do, as a tiled little-endian TIFF.
+	 */
+	private void writeTiledTiff(final FileLocation location)
+		throws FormatException, IOException
+	{
+		final Random random = new Random(0xdecaf);
+		final byte[] pixels = new byte[SIZE * SIZE * 2];
+		for (int y = 0; y < SIZE; y++) {
+			for (int x = 0; x < SIZE; x++) {
+				final int value = ((x + y) * 8 + random.nextInt(16)) & 0xffff;
+				final int index = 2 * (y * SIZE + x);
+				pixels[index] = (byte) value;
+				pixels[index + 1] = (byte) (value >> 8);
+			}
+		}
+
+		final IFD tiled = new IFD(scifio.log());
+		tiled.put(IFD.IMAGE_WIDTH, (long) SIZE);
+		tiled.put(IFD.IMAGE_LENGTH, (long) SIZE);
+		tiled.put(IFD.TILE_WIDTH, (long) TILE_SIZE);
+		tiled.put(IFD.TILE_LENGTH, (long) TILE_SIZE);
+		tiled.put(IFD.COMPRESSION, TiffCompression.LZW.getCode());
+		tiled.put(IFD.LITTLE_ENDIAN, Boolean.TRUE);
+
+		final TiffSaver saver = new TiffSaver(scifio.getContext(), location);
+		try {
+			saver.setLittleEndian(true);
+			saver.setWritingSequentially(true);
+			saver.writeHeader();
+			saver.writeImage(pixels, tiled, 0, FormatTools.UINT16, true);
+		}
+		finally {
+			saver.getStream().close();
+		}
+	}
+
+}
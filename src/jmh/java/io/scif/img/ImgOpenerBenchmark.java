@@ -0,0 +1,116 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.img;
+
+import io.scif.FormatException;
+import io.scif.SCIFIO;
+import io.scif.benchmark.BenchmarkData;
+import io.scif.config.SCIFIOConfig;
+import io.scif.config.SCIFIOConfig.ImgMode;
+import io.scif.formats.tiff.TiffCompression;
+import io.scif.io.location.TestImgLocation;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scijava.io.location.FileLocation;
+import org.scijava.io.location.Location;
+
+/**
+ * Time to open a 512x512x32 16-bit image completely with
+ * {@link ImgOpener#openImgs(Location, SCIFIOConfig)}, from a test image or
+ * from an uncompressed TIFF file, into array or planar images.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImgOpenerBenchmark {
+
+	@Param({ "TESTIMG", "TIFF" })
+	public String source;
+
+	@Param({ "ARRAY", "PLANAR" })
+	public ImgMode mode;
+
+	private SCIFIO scifio;
+
+	private ImgOpener opener;
+
+	private File file;
+
+	private Location location;
+
+	private SCIFIOConfig config;
+
+	@Setup
+	public void setUp() throws FormatException, IOException {
+		scifio = new SCIFIO();
+		opener = new ImgOpener(scifio.getContext());
+		final TestImgLocation testImg = BenchmarkData.testImg("uint16", 512, 512,
+			32);
+		if ("TIFF".equals(source)) {
+			file = File.createTempFile("scifio-benchmark", ".tif");
+			location = new FileLocation(file);
+			BenchmarkData.writeTiff(scifio, testImg, TiffCompression.UNCOMPRESSED,
+				location);
+		}
+		else location = testImg;
+		config = new SCIFIOConfig(scifio.getContext()).imgOpenerSetImgModes(mode);
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (file != null) file.delete();
+		scifio.getContext().dispose();
+	}
+
+	@Benchmark
+	public List<SCIFIOImgPlus<?>> openImgs() throws ImgIOException {
+		return opener.openImgs(location, config);
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.img.cell.loaders;
+
+import io.scif.FormatException;
+import io.scif.Reader;
+import io.scif.SCIFIO;
+import io.scif.benchmark.BenchmarkData;
+import io.scif.io.location.TestImgLocation;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import net.imglib2.img.basictypeaccess.array.FloatArray;
+import net.imglib2.img.basictypeaccess.array.ShortArray;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of converting a 1024x1024 16-bit plane into ImgLib2 arrays with
+ * {@link AbstractArrayLoader#convertBytes}: into a {@link ShortArray}, which
+ * is a straight copy, and into a {@link FloatArray}, which converts each
+ * pixel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArrayLoaderBenchmark {
+
+	private static final int SIZE = 1024;
+
+	private SCIFIO scifio;
+
+	private Reader reader;
+
+	private byte[] plane;
+
+	private ShortArrayLoader shortLoader;
+
+	private ShortArray shorts;
+
+	private FloatArrayLoader floatLoader;
+
+	private FloatArray floats;
+
+	@Setup
+	public void setUp() throws FormatException, IOException {
+		scifio = new SCIFIO();
+		final TestImgLocation source = BenchmarkData.testImg("uint16", SIZE, SIZE,
+			1);
+		plane = BenchmarkData.planes(scifio, source)[0];
+		reader = scifio.initializer().initializeReader(source);
+		shortLoader = new ShortArrayLoader(reader, null);
+		shorts = shortLoader.emptyArray(SIZE * SIZE);
+		floatLoader = new FloatArrayLoader(reader, null);
+		floats = floatLoader.emptyArray(SIZE * SIZE);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		reader.close();
+		scifio.getContext().dispose();
+	}
+
+	@Benchmark
+	public ShortArray toShorts() {
+		shortLoader.convertBytes(shorts, plane, 0);
+		return shorts;
+	}
+
+	@Benchmark
+	public FloatArray toFloats() {
+		floatLoader.convertBytes(floats, plane, 0);
+		return floats;
+	}
+
+}
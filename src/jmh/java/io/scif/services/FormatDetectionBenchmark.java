@@ -0,0 +1,166 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.services;
+
+import io.scif.Format;
+import io.scif.FormatException;
+import io.scif.SCIFIO;
+import io.scif.config.SCIFIOConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.scijava.io.location.FileLocation;
+import org.scijava.io.location.Location;
+
+/**
+ * Format detection by {@link FormatService} on small files without a known
+ * suffix, against running every {@link io.scif.Checker} in turn. Scores are
+ * per file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatDetectionBenchmark {
+
+	private static final int FILES = 1000;
+
+	/** Magic bytes of the files; every fifth file is a TIFF instead. */
+	private static final String[] HEADERS = { "GIF89a", "BM", "NRRD0004",
+		"P5 1 1 255" };
+
+	private SCIFIO scifio;
+
+	private FormatService formatService;
+
+	private SCIFIOConfig config;
+
+	private Path dir;
+
+	private List<Location> files;
+
+	@Setup
+	public void setUp() throws IOException {
+		scifio = new SCIFIO();
+		formatService = scifio.format();
+		config = new SCIFIOConfig(scifio.getContext()).checkerSetOpen(true);
+		dir = Files.createTempDirectory("scifio-benchmark");
+		files = createFiles(dir);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		for (final Location file : files) {
+			Files.delete(((FileLocation) file).getFile().toPath());
+		}
+		Files.delete(dir);
+		scifio.getContext().dispose();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(FILES)
+	public void formatService(final Blackhole blackhole) throws FormatException {
+		for (final Location file : files) {
+			blackhole.consume(formatService.getFormatList(file, config, true));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(FILES)
+	public void checkers(final Blackhole blackhole) throws FormatException {
+		for (final Location file : files) {
+			blackhole.consume(checkAll(file));
+		}
+	}
+
+	// -- Helper methods --
+
+	/** Detects the format by running all checkers, as without an index. */
+	private List<Format> checkAll(final Location file) throws FormatException {
+		final List<Format> formats = new ArrayList<>();
+		for (final Format format : formatService.getAllFormats()) {
+			if (format.isEnabled() && format.createChecker().isFormat(file, config)) {
+				formats.add(format);
+				break;
+			}
+		}
+		return formats;
+	}
+
+	private static List<Location> createFiles(final Path dir)
+		throws IOException
+	{
+		final List<Location> files = new ArrayList<>();
+		for (int i = 0; i < FILES; i++) {
+			final Path file = dir.resolve("file" + i + ".dat");
+			if (i % (HEADERS.length + 1) == HEADERS.length) {
+				try (final InputStream in = FormatDetectionBenchmark.class
+					.getResourceAsStream(
+						"/io/scif/img/axisguesser/test_stack/img_000000000_FITC_000.tif"))
+				{
+					Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+				}
+			}
+			else {
+				final byte[] header = new byte[512];
+				final byte[] magic = HEADERS[i % (HEADERS.length + 1)].getBytes(
+					StandardCharsets.US_ASCII);
+				System.arraycopy(magic, 0, header, 0, magic.length);
+				Files.write(file, header);
+			}
+			files.add(new FileLocation(file.toFile()));
+		}
+		return files;
+	}
+
+}
@@ -145,6 +145,9 @@ public abstract class AbstractImageMetadata implements ImageMetadata {
 	@Field(label = "thumbnail")
 	private boolean thumbnail;
 
+	/** X and Y lengths of each reduced-resolution level, largest first. */
+	private List<long[]> subResolutions = new ArrayList<>();
+
 	// TODO: Consider typing rois and tables on more specific data structures.
 
 	/** The ROIs for this image. */
@@ -236,6 +239,18 @@ public abstract class AbstractImageMetadata implements ImageMetadata {
 		this.thumbnail = thumbnail;
 	}
 
+	@Override
+	public void setSubResolutionLengths(final List<long[]> xyLengths) {
+		subResolutions = new ArrayList<>(xyLengths.size());
+		for (final long[] lengths : xyLengths) {
+			if (lengths.length != 2) {
+				throw new IllegalArgumentException(
+					"Expected {sizeX, sizeY} but got " + lengths.length + " lengths");
+			}
+			subResolutions.add(lengths.clone());
+		}
+	}
+
 	@Override
 	public void setAxes(final CalibratedAxis[] axes, final long[] axisLengths) {
 		setAxes(axes);
@@ -511,6 +526,36 @@ public abstract class AbstractImageMetadata implements ImageMetadata {
 		return thumbnail;
 	}
 
+	@Override
+	public List<long[]> getSubResolutionLengths() {
+		final List<long[]> xyLengths = new ArrayList<>(subResolutions.size());
+		for (final long[] lengths : subResolutions) {
+			xyLengths.add(lengths.clone());
+		}
+		return xyLengths;
+	}
+
+	@Override
+	public int getResolutionCount() {
+		return subResolutions.size() + 1;
+	}
+
+	@Override
+	public ImageMetadata getResolution(final int level) {
+		if (level < 0 || level > subResolutions.size()) {
+			throw new IllegalArgumentException("Invalid resolution level: " + level +
+				" (" + getResolutionCount() + " levels)");
+		}
+		if (level == 0) return this;
+
+		final ImageMetadata resolution = copy();
+		resolution.setSubResolutionLengths(subResolutions.subList(level,
+			subResolutions.size()));
+		resolution.setAxisLength(Axes.X, subResolutions.get(level - 1)[0]);
+		resolution.setAxisLength(Axes.Y, subResolutions.get(level - 1)[1]);
+		return resolution;
+	}
+
 	@Override
 	public CalibratedAxis getAxis(final int axisIndex) {
 		return getAxes().get(axisIndex);
@@ -598,6 +643,8 @@ public abstract class AbstractImageMetadata implements ImageMetadata {
 		this.thumbSizeX = toCopy.getThumbSizeX();
 		this.thumbSizeY = toCopy.getThumbSizeY();
 		this.planarAxisCount = toCopy.getPlanarAxisCount();
+		// NB: Copy the lengths directly, as getResolution(int) calls copy().
+		setSubResolutionLengths(toCopy.getSubResolutionLengths());
 	}
 
 	@Override
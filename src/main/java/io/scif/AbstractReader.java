@@ -31,6 +31,7 @@ package io.scif;
 
 import io.scif.config.SCIFIOConfig;
 import io.scif.util.FormatTools;
+import io.scif.util.MappedFile;
 import io.scif.util.SCIFIOMetadataTools;
 
 import java.io.IOException;
@@ -39,6 +40,7 @@ import net.imagej.axis.Axes;
 
 import org.scijava.io.handle.DataHandle;
 import org.scijava.io.handle.DataHandleService;
+import org.scijava.io.location.FileLocation;
 import org.scijava.io.location.Location;
 import org.scijava.plugin.Parameter;
 import net.imglib2.FinalInterval;
@@ -72,6 +74,12 @@ public abstract class AbstractReader<M extends TypedMetadata, P extends DataPlan
 
 	private final Class<P> planeClass;
 
+	/** Whether to read planes of local files via memory mapping. */
+	private boolean memoryMapped;
+
+	/** Memory-mapped file most recently read from, or null. */
+	private MappedFile mappedFile;
+
 	// -- Constructors --
 
 	/** Constructs a reader and stores a reference to its plane type */
@@ -268,7 +276,7 @@ public abstract class AbstractReader<M extends TypedMetadata, P extends DataPlan
 			}
 			else {
 				setMetadata(getFormat().createParser().parse(stream, config));
-				setSource(stream);
+				setSource(stream, config);
 			}
 		}
 		catch (final FormatException e) {
@@ -283,6 +291,7 @@ public abstract class AbstractReader<M extends TypedMetadata, P extends DataPlan
 	public void setSource(final DataHandle<Location> handle,
 		final SCIFIOConfig config) throws IOException
 	{
+		memoryMapped = config.readerIsMemoryMapped();
 		final Location currentSource = getCurrentLocation();
 		final Location newSource = handle.get();
 		if (metadata != null && (currentSource == null || newSource == null ||
@@ -384,112 +393,146 @@ public abstract class AbstractReader<M extends TypedMetadata, P extends DataPlan
 		final Interval bounds, final int scanlinePad, final P plane)
 		throws IOException
 	{
-		final int bpp = FormatTools.getBytesPerPixel(metadata.get(imageIndex)
+		final MappedFile mapped = mappedFile(s);
+		if (mapped == null) {
+			readRegion(new HandleSource(s), imageIndex, bounds, scanlinePad, plane);
+		}
+		else {
+			final MappedSource source = new MappedSource(mapped, s.offset());
+			readRegion(source, imageIndex, bounds, scanlinePad, plane);
+			// NB: Leave the handle where a handle-based read would have.
+			s.seek(source.offset);
+		}
+		return plane;
+	}
+
+	/**
+	 * Reads the requested region of a plane from the given source, which is
+	 * positioned at the start of the plane. A {@link ByteBufferPlane} is filled
+	 * directly, addressed by {@code long} offsets.
+	 */
+	private void readRegion(final PlaneSource s, final int imageIndex,
+		final Interval bounds, final int scanlinePad, final P plane)
+		throws IOException
+	{
+		final long bpp = FormatTools.getBytesPerPixel(metadata.get(imageIndex)
 			.getPixelType());
 
-		final byte[] bytes = plane.getBytes();
+		final ByteBufferPlane buffers = plane instanceof ByteBufferPlane
+			? (ByteBufferPlane) plane : null;
+		final byte[] bytes = buffers == null ? plane.getBytes() : null;
 		final int xIndex = metadata.get(imageIndex).getAxisIndex(Axes.X);
 		final int yIndex = metadata.get(imageIndex).getAxisIndex(Axes.Y);
 		if (SCIFIOMetadataTools.wholePlane(imageIndex, metadata, bounds) &&
 			scanlinePad == 0)
 		{
-			s.read(bytes);
+			read(s, bytes, buffers, 0, buffers == null ? bytes.length : buffers
+				.getSize());
 		}
 		else if (SCIFIOMetadataTools.wholeRow(imageIndex, metadata, bounds) &&
 			scanlinePad == 0)
 		{
 			if (metadata.get(imageIndex).getInterleavedAxisCount() > 0) {
-				int bytesToSkip = bpp;
-				bytesToSkip *= bounds.max(xIndex);
-				int bytesToRead = bytesToSkip;
+				long bytesToSkip = bpp;
+				bytesToSkip *= bounds.dimension(xIndex);
+				long bytesToRead = bytesToSkip;
 				for (int i = 0; i < bounds.numDimensions(); i++) {
 					if (i != xIndex) {
 						if (i == yIndex) {
 							bytesToSkip *= bounds.min(i);
 						}
 						else {
-							bytesToSkip *= bounds.max(i);
+							bytesToSkip *= bounds.dimension(i);
 						}
-						bytesToRead *= bounds.max(i);
+						bytesToRead *= bounds.dimension(i);
 					}
 				}
 				s.skip(bytesToSkip);
-				s.read(bytes, 0, bytesToRead);
+				read(s, bytes, buffers, 0, bytesToRead);
 			}
 			else {
-				final int rowLen = (int) (bpp * bounds.max(xIndex));
-				final int h = (int) bounds.max(yIndex);
-				final int y = (int) bounds.min(yIndex);
+				final long rowLen = bpp * bounds.dimension(xIndex);
+				final long h = bounds.dimension(yIndex);
+				final long y = bounds.min(yIndex);
 				long c = metadata.get(imageIndex).getAxisLength(Axes.CHANNEL);
 				if (c <= 0 || !metadata.get(imageIndex).isMultichannel()) c = 1;
 				for (int channel = 0; channel < c; channel++) {
 
-					s.skipBytes(y * rowLen);
-					s.read(bytes, channel * h * rowLen, h * rowLen);
+					s.skip(y * rowLen);
+					read(s, bytes, buffers, channel * h * rowLen, h * rowLen);
 					if (channel < c - 1) {
 						// no need to skip bytes after reading final channel
-						s.skipBytes((int) (metadata.get(imageIndex).getAxisLength(Axes.Y) -
-							y - h) * rowLen);
+						s.skip((metadata.get(imageIndex).getAxisLength(Axes.Y) - y - h) *
+							rowLen);
 					}
 				}
 			}
 		}
 		else {
-			final int scanlineWidth = (int) metadata.get(imageIndex).getAxisLength(
+			final long scanlineWidth = metadata.get(imageIndex).getAxisLength(
 				Axes.X) + scanlinePad;
 			if (metadata.get(imageIndex).getInterleavedAxisCount() > 0) {
+				// NB: The product includes the bytes per pixel.
 				long planeProduct = bpp;
 				for (int i = 0; i < bounds.numDimensions(); i++) {
 					if (i != xIndex && i != yIndex) planeProduct *= metadata.get(
 						imageIndex).getAxisLength(i);
 				}
-				int bytesToSkip = scanlineWidth * (int) planeProduct;
-				s.skipBytes((int) bounds.min(yIndex) * bytesToSkip);
-
-				bytesToSkip = bpp;
-				int bytesToRead = bytesToSkip;
-				bytesToRead *= bounds.max(xIndex);
-				bytesToRead *= planeProduct;
-				bytesToSkip *= bounds.min(xIndex);
-				bytesToSkip *= planeProduct;
-
-				for (int row = 0; row <= bounds.max(yIndex); row++) {
-					s.skipBytes(bytesToSkip);
-					s.read(bytes, row * bytesToRead, bytesToRead);
-					if (row < bounds.max(yIndex)) {
+				s.skip(bounds.min(yIndex) * scanlineWidth * planeProduct);
+
+				final long w = bounds.dimension(xIndex);
+				final long h = bounds.dimension(yIndex);
+				final long x = bounds.min(xIndex);
+				final long bytesToRead = w * planeProduct;
+
+				for (int row = 0; row < h; row++) {
+					s.skip(x * planeProduct);
+					read(s, bytes, buffers, row * bytesToRead, bytesToRead);
+					if (row < h - 1) {
 						// no need to skip bytes after reading final row
-						s.skipBytes((int) (planeProduct * (scanlineWidth - bounds.dimension(
-							xIndex))));
+						s.skip(planeProduct * (scanlineWidth - w - x));
 					}
 				}
 			}
 			else {
 				final long c = metadata.get(imageIndex).getAxisLength(Axes.CHANNEL);
 
-				final int w = (int) bounds.max(xIndex);
-				final int h = (int) bounds.max(yIndex);
-				final int x = (int) bounds.min(xIndex);
-				final int y = (int) bounds.min(yIndex);
+				final long w = bounds.dimension(xIndex);
+				final long h = bounds.dimension(yIndex);
+				final long x = bounds.min(xIndex);
+				final long y = bounds.min(yIndex);
 				for (int channel = 0; channel < c; channel++) {
-					s.skipBytes(y * scanlineWidth * bpp);
+					s.skip(y * scanlineWidth * bpp);
 					for (int row = 0; row < h; row++) {
-						s.skipBytes(x * bpp);
-						s.read(bytes, channel * w * h * bpp + row * w * bpp, w * bpp);
+						s.skip(x * bpp);
+						read(s, bytes, buffers, channel * w * h * bpp + row * w * bpp, w *
+							bpp);
 						if (row < h - 1 || channel < c - 1) {
 							// no need to skip bytes after reading final row of
 							// final channel
-							s.skipBytes(bpp * (scanlineWidth - w - x));
+							s.skip(bpp * (scanlineWidth - w - x));
 						}
 					}
 					if (channel < c - 1) {
 						// no need to skip bytes after reading final channel
-						s.skipBytes(scanlineWidth * bpp * (int) (metadata.get(imageIndex)
+						s.skip(scanlineWidth * bpp * (metadata.get(imageIndex)
 							.getAxisLength(Axes.Y) - y - h));
 					}
 				}
 			}
 		}
-		return plane;
+	}
+
+	/**
+	 * Reads {@code len} bytes from the source into the plane's byte array, or
+	 * into its buffers if it is a {@link ByteBufferPlane}.
+	 */
+	private static void read(final PlaneSource s, final byte[] bytes,
+		final ByteBufferPlane buffers, final long off, final long len)
+		throws IOException
+	{
+		if (buffers == null) s.read(bytes, (int) off, (int) len);
+		else s.read(buffers, off, len);
 	}
 
 	@Override
@@ -502,9 +545,118 @@ public abstract class AbstractReader<M extends TypedMetadata, P extends DataPlan
 	@Override
 	public void close(final boolean fileOnly) throws IOException {
 		if (metadata != null) metadata.close(fileOnly);
+		if (mappedFile != null) {
+			mappedFile.close();
+			mappedFile = null;
+		}
 
 		if (!fileOnly) {
 			metadata = null;
 		}
 	}
+
+	// -- Helper methods --
+
+	/**
+	 * Gets the memory-mapped file backing the given handle, if memory mapping
+	 * is enabled and the handle reads a local file.
+	 *
+	 * @return The mapped file, or null if the handle should be read directly.
+	 */
+	private MappedFile mappedFile(final DataHandle<Location> s)
+		throws IOException
+	{
+		if (!memoryMapped || !(s.get() instanceof FileLocation)) return null;
+		final FileLocation loc = (FileLocation) s.get();
+		if (mappedFile == null || !mappedFile.getLocation().equals(loc)) {
+			if (mappedFile != null) mappedFile.close();
+			mappedFile = new MappedFile(loc);
+		}
+		return mappedFile;
+	}
+
+	// -- Helper classes --
+
+	/** Sequential source of plane bytes. */
+	private interface PlaneSource {
+
+		void read(byte[] b, int off, int len) throws IOException;
+
+		void read(ByteBufferPlane plane, long off, long len) throws IOException;
+
+		void skip(long n) throws IOException;
+	}
+
+	/** Reads plane bytes from a {@link DataHandle}. */
+	private static class HandleSource implements PlaneSource {
+
+		private final DataHandle<Location> handle;
+
+		private HandleSource(final DataHandle<Location> handle) {
+			this.handle = handle;
+		}
+
+		@Override
+		public void read(final byte[] b, final int off, final int len)
+			throws IOException
+		{
+			handle.read(b, off, len);
+		}
+
+		@Override
+		public void read(final ByteBufferPlane plane, final long off,
+			final long len) throws IOException
+		{
+			plane.read(handle, off, len);
+		}
+
+		@Override
+		public void skip(final long n) throws IOException {
+			handle.skip(n);
+		}
+	}
+
+	/**
+	 * Copies plane bytes straight from a {@link MappedFile}, with no
+	 * intermediate buffering; skipping only moves the offset.
+	 */
+	private static class MappedSource implements PlaneSource {
+
+		private final MappedFile file;
+
+		private long offset;
+
+		private MappedSource(final MappedFile file, final long offset) {
+			this.file = file;
+			this.offset = offset;
+		}
+
+		@Override
+		public void read(final byte[] b, final int off, final int len)
+			throws IOException
+		{
+			final int n = file.read(offset, b, off, len);
+			if (n > 0) offset += n;
+		}
+
+		@Override
+		public void read(final ByteBufferPlane plane, final long off,
+			final long len) throws IOException
+		{
+			// NB: Map at most one window's worth at a time.
+			final long end = Math.min(offset + len, file.length());
+			long pos = off;
+			while (offset < end) {
+				final int n = (int) Math.min(end - offset, ByteBufferPlane.CHUNK_SIZE);
+				plane.put(pos, file.view(offset, n));
+				offset += n;
+				pos += n;
+			}
+		}
+
+		@Override
+		public void skip(final long n) {
+			offset += n;
+		}
+	}
 }
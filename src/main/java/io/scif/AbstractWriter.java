@@ -125,10 +125,36 @@ public abstract class AbstractWriter<M extends TypedMetadata> extends
 	 */
 	protected void checkParams(final int imageIndex, final long planeIndex,
 		final byte[] buf, final Interval bounds) throws FormatException
+	{
+		if (buf == null) throw new FormatException("Buffer cannot be null.");
+		checkParams(imageIndex, planeIndex, buf.length, bounds);
+	}
+
+	/**
+	 * As {@link #checkParams(int, long, byte[], Interval)}, but without
+	 * requiring the plane's bytes as an array. The buffer size of a
+	 * {@link ByteBufferPlane} is not checked, as it may exceed the range of an
+	 * {@code int}.
+	 *
+	 * @throws FormatException if any of the arguments is invalid.
+	 */
+	protected void checkParams(final int imageIndex, final long planeIndex,
+		final Plane plane, final Interval bounds) throws FormatException
+	{
+		if (plane == null) throw new FormatException("Plane cannot be null.");
+		if (plane instanceof ByteBufferPlane) {
+			checkParams(imageIndex, planeIndex, -1, bounds);
+		}
+		else {
+			checkParams(imageIndex, planeIndex, plane.getBytes(), bounds);
+		}
+	}
+
+	private void checkParams(final int imageIndex, final long planeIndex,
+		final int bufLength, final Interval bounds) throws FormatException
 	{
 		SCIFIOMetadataTools.verifyMinimumPopulated(metadata, out, imageIndex);
 
-		if (buf == null) throw new FormatException("Buffer cannot be null.");
 		long planes = metadata.get(imageIndex).getPlaneCount();
 
 		if (metadata.get(imageIndex).isMultichannel()) planes *= metadata.get(
@@ -142,7 +168,7 @@ public abstract class AbstractWriter<M extends TypedMetadata> extends
 		}
 
 		FormatTools.checkPlaneForWriting(getMetadata(), imageIndex, planeIndex,
-			buf.length, bounds);
+			bufLength, bounds);
 		FormatTools.assertId(out, true, 0);
 	}
 
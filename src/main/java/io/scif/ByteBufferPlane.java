@@ -0,0 +1,342 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif;
+
+import io.scif.util.FormatTools;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import net.imglib2.Interval;
+
+import org.scijava.io.handle.DataHandle;
+
+/**
+ * A {@link io.scif.Plane} implementation whose pixel data is held in a series
+ * of {@link ByteBuffer}s and addressed by {@code long} offsets, so that a
+ * single plane is not limited to the 2 GB of a {@code byte[]}.
+ * <p>
+ * Blank planes are backed by direct buffers of at most {@link #CHUNK_SIZE}
+ * bytes each, unless another chunk size is given at construction. Any other
+ * buffers, such as memory-mapped views of a file, can be supplied via
+ * {@link #setData}; all of them except the last must then have the same
+ * capacity. Each buffer is addressed from index zero, regardless of its
+ * position and limit.
+ * </p>
+ *
+ * @see io.scif.Plane
+ * @see io.scif.DataPlane
+ * @see io.scif.ByteBufferReader
+ */
+public class ByteBufferPlane extends
+	AbstractPlane<ByteBuffer[], ByteBufferPlane>
+{
+
+	// -- Constants --
+
+	/** Default capacity of each buffer allocated for a blank plane. */
+	public static final int CHUNK_SIZE = 1 << 30;
+
+	/** Largest plane which {@link #getBytes()} can copy into an array. */
+	private static final long MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+	/**
+	 * Size of the array through which direct buffers are read from or written
+	 * to a {@link DataHandle}.
+	 */
+	private static final int TRANSFER_SIZE = 1 << 20;
+
+	// -- Fields --
+
+	/** Capacity of each buffer allocated for a blank plane. */
+	private final int chunkSize;
+
+	// -- Constructors --
+
+	public ByteBufferPlane() {
+		this(CHUNK_SIZE);
+	}
+
+	/**
+	 * @param chunkSize Capacity of each buffer allocated for a blank plane,
+	 *          which must be a power of two.
+	 */
+	public ByteBufferPlane(final int chunkSize) {
+		super();
+		this.chunkSize = checkChunkSize(chunkSize);
+	}
+
+	public ByteBufferPlane(final ImageMetadata meta, final Interval bounds) {
+		this(meta, bounds, CHUNK_SIZE);
+	}
+
+	/**
+	 * @param chunkSize Capacity of each buffer allocated for a blank plane,
+	 *          which must be a power of two.
+	 */
+	public ByteBufferPlane(final ImageMetadata meta, final Interval bounds,
+		final int chunkSize)
+	{
+		super();
+		this.chunkSize = checkChunkSize(chunkSize);
+		populate(meta, bounds);
+	}
+
+	// -- ByteBufferPlane API methods --
+
+	/** @return The capacity of each buffer allocated for a blank plane. */
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/** @return The number of bytes in this plane. */
+	public long getSize() {
+		long size = 0;
+		for (final ByteBuffer buffer : getData()) {
+			size += buffer.capacity();
+		}
+		return size;
+	}
+
+	/**
+	 * Gets a view of the given range of this plane. If the range lies within a
+	 * single buffer, the view shares its contents; otherwise the view is a copy.
+	 *
+	 * @param pos Offset of the first byte of the view.
+	 * @param len Number of bytes in the view.
+	 * @return A buffer with position zero and limit {@code len}, in big-endian
+	 *         byte order.
+	 */
+	public ByteBuffer view(final long pos, final int len) {
+		if (len == 0) return ByteBuffer.allocate(0);
+		final ByteBuffer buffer = buffer(pos);
+		if (len <= buffer.remaining()) {
+			buffer.limit(buffer.position() + len);
+			return buffer.slice();
+		}
+		final byte[] bytes = new byte[len];
+		get(pos, bytes, 0, len);
+		return ByteBuffer.wrap(bytes);
+	}
+
+	/** Copies {@code len} bytes starting at {@code pos} into the given array. */
+	public void get(long pos, final byte[] b, int off, int len) {
+		while (len > 0) {
+			final ByteBuffer buffer = buffer(pos);
+			final int n = Math.min(len, buffer.remaining());
+			buffer.get(b, off, n);
+			pos += n;
+			off += n;
+			len -= n;
+		}
+	}
+
+	/**
+	 * Copies {@code len} bytes of the given array into this plane at
+	 * {@code pos}.
+	 */
+	public void put(long pos, final byte[] b, int off, int len) {
+		while (len > 0) {
+			final ByteBuffer buffer = buffer(pos);
+			final int n = Math.min(len, buffer.remaining());
+			buffer.put(b, off, n);
+			pos += n;
+			off += n;
+			len -= n;
+		}
+	}
+
+	/**
+	 * Copies the remaining bytes of the given buffer into this plane at
+	 * {@code pos}, advancing the buffer's position past them.
+	 */
+	public void put(long pos, final ByteBuffer src) {
+		while (src.hasRemaining()) {
+			final ByteBuffer buffer = buffer(pos);
+			final int n = Math.min(src.remaining(), buffer.remaining());
+			final ByteBuffer part = src.duplicate();
+			part.limit(part.position() + n);
+			buffer.put(part);
+			src.position(src.position() + n);
+			pos += n;
+		}
+	}
+
+	/** Sets every byte of this plane to the given value. */
+	public void fill(final byte value) {
+		final long size = getSize();
+		final byte[] bytes = new byte[(int) Math.min(size, TRANSFER_SIZE)];
+		Arrays.fill(bytes, value);
+		for (long pos = 0; pos < size; pos += bytes.length) {
+			put(pos, bytes, 0, (int) Math.min(bytes.length, size - pos));
+		}
+	}
+
+	/**
+	 * Reads up to {@code len} bytes from the handle's current offset into this
+	 * plane at {@code pos}. Heap buffers are filled in place; direct buffers are
+	 * filled through a transfer array of at most {@link #TRANSFER_SIZE} bytes.
+	 *
+	 * @return The number of bytes read, which is less than {@code len} only if
+	 *         the end of the handle was reached.
+	 */
+	public long read(final DataHandle<?> handle, final long pos, final long len)
+		throws IOException
+	{
+		final long length = handle.length();
+		final long count = length < 0 ? len : Math.min(len, length - handle
+			.offset());
+		byte[] transfer = null;
+		long total = 0;
+		while (total < count) {
+			final ByteBuffer buffer = buffer(pos + total);
+			final int n = (int) Math.min(count - total, buffer.remaining());
+			final int r;
+			if (buffer.hasArray()) {
+				r = handle.read(buffer.array(), buffer.arrayOffset() + buffer
+					.position(), n);
+			}
+			else {
+				if (transfer == null) transfer = new byte[(int) Math.min(count,
+					TRANSFER_SIZE)];
+				r = handle.read(transfer, 0, Math.min(n, transfer.length));
+				if (r > 0) buffer.put(transfer, 0, r);
+			}
+			if (r <= 0) break;
+			total += r;
+		}
+		return total;
+	}
+
+	/**
+	 * Writes {@code len} bytes of this plane, starting at {@code pos}, to the
+	 * handle's current offset. Heap buffers are written in place; direct buffers
+	 * are written through a transfer array of at most {@link #TRANSFER_SIZE}
+	 * bytes.
+	 */
+	public void write(final DataHandle<?> handle, final long pos, final long len)
+		throws IOException
+	{
+		byte[] transfer = null;
+		long total = 0;
+		while (total < len) {
+			final ByteBuffer buffer = buffer(pos + total);
+			int n = (int) Math.min(len - total, buffer.remaining());
+			if (buffer.hasArray()) {
+				handle.write(buffer.array(), buffer.arrayOffset() + buffer.position(),
+					n);
+			}
+			else {
+				if (transfer == null) transfer = new byte[(int) Math.min(len,
+					TRANSFER_SIZE)];
+				n = Math.min(n, transfer.length);
+				buffer.get(transfer, 0, n);
+				handle.write(transfer, 0, n);
+			}
+			total += n;
+		}
+	}
+
+	// -- Plane API methods --
+
+	/**
+	 * Gets the bytes of this plane. Unless the plane is backed by a single
+	 * array, this is a copy, so {@link #get(long, byte[], int, int)} or
+	 * {@link #view(long, int)} should be preferred for large planes.
+	 *
+	 * @throws IllegalStateException If the plane is too large for an array.
+	 */
+	@Override
+	public byte[] getBytes() {
+		final long size = getSize();
+		if (size > MAX_ARRAY_SIZE) {
+			throw new IllegalStateException("Plane of " + size +
+				" bytes is too large for a byte array");
+		}
+		final ByteBuffer[] data = getData();
+		if (data.length == 1 && data[0].hasArray() && data[0].arrayOffset() == 0 &&
+			data[0].array().length == size)
+		{
+			return data[0].array();
+		}
+		final byte[] bytes = new byte[(int) size];
+		get(0, bytes, 0, bytes.length);
+		return bytes;
+	}
+
+	// -- AbstractPlane API --
+
+	@Override
+	protected ByteBuffer[] blankPlane(final Interval bounds) {
+		long size = FormatTools.getBytesPerPixel(getImageMetadata()
+			.getPixelType());
+		for (int i = 0; i < bounds.numDimensions(); i++) {
+			size *= bounds.dimension(i);
+		}
+
+		final ByteBuffer[] data = new ByteBuffer[(int) Math.max(1, (size +
+			chunkSize - 1) / chunkSize)];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = ByteBuffer.allocateDirect((int) Math.min(chunkSize, size -
+				(long) i * chunkSize));
+		}
+		return data;
+	}
+
+	// -- Helper methods --
+
+	private static int checkChunkSize(final int chunkSize) {
+		if (chunkSize <= 0 || Integer.bitCount(chunkSize) != 1) {
+			throw new IllegalArgumentException("Chunk size is not a power of two: " +
+				chunkSize);
+		}
+		return chunkSize;
+	}
+
+	/**
+	 * @return A duplicate of the buffer holding the given offset, positioned at
+	 *         that offset and limited to the end of the buffer.
+	 */
+	private ByteBuffer buffer(final long pos) {
+		final ByteBuffer[] data = getData();
+		final long capacity = data[0].capacity();
+		final int index = capacity == 0 ? 0 : (int) Math.min(pos / capacity,
+			data.length - 1);
+		final ByteBuffer buffer = data[index].duplicate();
+		final long start = index * capacity;
+		if (pos < start || pos - start >= buffer.capacity()) {
+			throw new IndexOutOfBoundsException("Offset " + pos +
+				" is outside of plane of " + getSize() + " bytes");
+		}
+		buffer.limit(buffer.capacity()).position((int) (pos - start));
+		return buffer;
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif;
+
+import net.imglib2.Interval;
+
+/**
+ * Abstract superclass for all {@link io.scif.Reader} implementations that
+ * return a {@link io.scif.ByteBufferPlane} when reading datasets. Unlike a
+ * {@link ByteArrayReader}, such readers can open planes larger than 2 GB.
+ *
+ * @see io.scif.Reader
+ * @see io.scif.ByteBufferPlane
+ * @param <M> - The Metadata type required by this Reader.
+ */
+public abstract class ByteBufferReader<M extends TypedMetadata> extends
+	AbstractReader<M, ByteBufferPlane>
+{
+
+	// -- Constructor --
+
+	public ByteBufferReader() {
+		super(ByteBufferPlane.class);
+	}
+
+	// -- Reader API Methods --
+
+	@Override
+	public ByteBufferPlane createPlane(final Interval bounds) {
+		return createPlane(getMetadata().get(0), bounds);
+	}
+
+	@Override
+	public ByteBufferPlane createPlane(final ImageMetadata meta,
+		final Interval bounds)
+	{
+		return new ByteBufferPlane(meta, bounds);
+	}
+
+}
@@ -107,4 +107,20 @@ public interface Checker extends HasFormat {
 	 * @return True if {@code block} is compatible with this {@code Format}.
 	 */
 	boolean checkHeader(byte[] block);
+
+	/**
+	 * Gets the signatures ("magic bytes") of this {@code Format}, if any.
+	 * <p>
+	 * If this method returns a non-empty array, {@link #isFormat(DataHandle)}
+	 * must return false for every source which matches none of the returned
+	 * signatures. The {@link io.scif.services.FormatService} relies on this to
+	 * skip this checker entirely for such sources.
+	 * </p>
+	 *
+	 * @return The possible signatures of this format, or an empty array if the
+	 *         format cannot be recognized by fixed header bytes.
+	 */
+	default FormatSignature[] getSignatures() {
+		return new FormatSignature[0];
+	}
 }
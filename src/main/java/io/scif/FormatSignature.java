@@ -0,0 +1,141 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A fixed sequence of bytes at a fixed offset ("magic bytes") which every
+ * source of a given {@link Format} starts with.
+ * <p>
+ * Signatures are declared by {@link Checker#getSignatures()}, and allow the
+ * {@link io.scif.services.FormatService} to rule a format out after a single
+ * read of a source's header, without running its {@link Checker}.
+ * </p>
+ *
+ * @see Checker#getSignatures()
+ */
+public final class FormatSignature {
+
+	// -- Fields --
+
+	private final int offset;
+
+	private final byte[] bytes;
+
+	// -- Constructors --
+
+	/**
+	 * @param offset Offset of the signature from the start of the source.
+	 * @param bytes Expected bytes at the given offset.
+	 */
+	public FormatSignature(final int offset, final byte... bytes) {
+		if (offset < 0) throw new IllegalArgumentException("Negative offset: " +
+			offset);
+		if (bytes.length == 0) {
+			throw new IllegalArgumentException("Empty signature");
+		}
+		this.offset = offset;
+		this.bytes = bytes.clone();
+	}
+
+	/**
+	 * @param offset Offset of the signature from the start of the source.
+	 * @param ascii Expected ASCII characters at the given offset.
+	 */
+	public FormatSignature(final int offset, final String ascii) {
+		this(offset, ascii.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	// -- FormatSignature methods --
+
+	/** Gets the offset of this signature from the start of the source. */
+	public int getOffset() {
+		return offset;
+	}
+
+	/** Gets the number of bytes in this signature. */
+	public int getLength() {
+		return bytes.length;
+	}
+
+	/** Gets the value of the {@code i}th byte of this signature. */
+	public byte getByte(final int i) {
+		return bytes[i];
+	}
+
+	/**
+	 * Gets the number of header bytes needed to test this signature, i.e. its
+	 * offset plus its length.
+	 */
+	public int getEnd() {
+		return offset + bytes.length;
+	}
+
+	/**
+	 * Checks whether the given header matches this signature.
+	 *
+	 * @param header The first bytes of a source.
+	 * @param length The number of valid bytes in {@code header}.
+	 * @return True iff the bytes of {@code header} at this signature's offset
+	 *         are equal to this signature's bytes.
+	 */
+	public boolean matches(final byte[] header, final int length) {
+		if (length < getEnd()) return false;
+		for (int i = 0; i < bytes.length; i++) {
+			if (header[offset + i] != bytes[i]) return false;
+		}
+		return true;
+	}
+
+	// -- Object methods --
+
+	@Override
+	public boolean equals(final Object o) {
+		if (!(o instanceof FormatSignature)) return false;
+		final FormatSignature that = (FormatSignature) o;
+		return offset == that.offset && Arrays.equals(bytes, that.bytes);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * offset + Arrays.hashCode(bytes);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder();
+		for (final byte b : bytes) {
+			sb.append(String.format("%02x", b & 0xff));
+		}
+		return sb + "@" + offset;
+	}
+}
@@ -119,6 +119,15 @@ public interface ImageMetadata extends Named, HasMetaTable {
 	 */
 	void setThumbnail(boolean thumbnail);
 
+	/**
+	 * Sets the sizes of the reduced-resolution versions of this image, i.e.
+	 * resolution levels 1 and up, ordered from the largest to the smallest. Each
+	 * level holds the same planes as this image, at a smaller X and Y size.
+	 *
+	 * @param xyLengths - {@code {sizeX, sizeY}} of each reduced level
+	 */
+	void setSubResolutionLengths(List<long[]> xyLengths);
+
 	/**
 	 * Convenience method to set both the axis types and lengths for this
 	 * ImageMetadata.
@@ -244,6 +253,34 @@ public interface ImageMetadata extends Named, HasMetaTable {
 	 */
 	boolean isThumbnail();
 
+	/**
+	 * Gets the sizes of the reduced-resolution versions of this image, as set by
+	 * {@link #setSubResolutionLengths(List)}.
+	 *
+	 * @return A copy of the {@code {sizeX, sizeY}} of each reduced level,
+	 *         ordered from the largest to the smallest.
+	 */
+	List<long[]> getSubResolutionLengths();
+
+	/**
+	 * Gets the number of resolution levels of this image, including the full
+	 * resolution as level 0.
+	 *
+	 * @return 1 if this image has no reduced-resolution versions
+	 */
+	int getResolutionCount();
+
+	/**
+	 * Gets the metadata of the given resolution level. Level 0 is this image;
+	 * each further level is a copy of it with smaller X and Y lengths, whose own
+	 * levels are the ones below it.
+	 *
+	 * @param level - resolution level, from 0 to {@link #getResolutionCount()}
+	 *          - 1
+	 * @return The metadata describing planes at the given resolution level.
+	 */
+	ImageMetadata getResolution(int level);
+
 	/**
 	 * Gets the axis of the (zero-indexed) specified plane.
 	 *
@@ -30,6 +30,7 @@
 package io.scif;
 
 import io.scif.config.SCIFIOConfig;
+import io.scif.util.FormatTools;
 
 import java.io.IOException;
 
@@ -150,6 +151,80 @@ public interface Reader extends HasFormat, HasSource, Groupable {
 	Plane openPlane(int imageIndex, long planeIndex, Plane plane, Interval bounds,
 		SCIFIOConfig config) throws FormatException, IOException;
 
+	/**
+	 * Creates a {@link io.scif.Plane} representation of a sub-region of the
+	 * pixels at the specified indices, read from the given resolution level of
+	 * the image (see {@link ImageMetadata#getResolution(int)}).
+	 *
+	 * @param imageIndex the image index within the dataset.
+	 * @param resolution the resolution level, where 0 is full resolution.
+	 * @param planeIndex the plane index within the image.
+	 * @param bounds bounds of the planar axes, in the coordinates of the
+	 *          resolution level.
+	 * @param config Configuration information to use for this read.
+	 * @return The desired sub-region at the specified indices and level.
+	 */
+	default Plane openPlane(final int imageIndex, final int resolution,
+		final long planeIndex, final Interval bounds, final SCIFIOConfig config)
+		throws FormatException, IOException
+	{
+		final Plane plane = createPlane(getMetadata().get(imageIndex)
+			.getResolution(resolution), bounds);
+		return openPlane(imageIndex, resolution, planeIndex, plane, bounds, config);
+	}
+
+	/**
+	 * Allows a single {@code Plane} object to be reused by reference when opening
+	 * sub-regions of reduced-resolution planes.
+	 * <p>
+	 * The default implementation only supports full resolution; readers of
+	 * formats storing resolution levels must override this method.
+	 * </p>
+	 *
+	 * @see #openPlane(int, int, long, Interval, SCIFIOConfig)
+	 * @throws IllegalArgumentException If the provided {@code Plane} type is not
+	 *           compatible with this {@code Reader}.
+	 */
+	default Plane openPlane(final int imageIndex, final int resolution,
+		final long planeIndex, final Plane plane, final Interval bounds,
+		final SCIFIOConfig config) throws FormatException, IOException
+	{
+		if (resolution != 0) {
+			throw new FormatException("Resolution level " + resolution +
+				" is not available from this reader");
+		}
+		return openPlane(imageIndex, planeIndex, plane, bounds, config);
+	}
+
+	/**
+	 * Creates a reduced-resolution {@link io.scif.Plane} of the pixels at the
+	 * specified indices, for use as a thumbnail. The returned plane covers the
+	 * whole planar extent, but its X and Y {@link Plane#getLengths() lengths}
+	 * are reduced towards the requested size: they are at least
+	 * {@code thumbSizeX} by {@code thumbSizeY} unless the image is smaller, and
+	 * are typically less than twice that.
+	 * <p>
+	 * The default implementation reads the closest resolution level exposed via
+	 * {@link #openPlane(int, int, long, Plane, Interval, SCIFIOConfig)}, and
+	 * samples its rows and columns at a fixed stride (see
+	 * {@link FormatTools#openThumbPlane}).
+	 * </p>
+	 *
+	 * @param imageIndex the image index within the dataset.
+	 * @param planeIndex the plane index within the image.
+	 * @param thumbSizeX minimum width of the thumbnail.
+	 * @param thumbSizeY minimum height of the thumbnail.
+	 * @param config Configuration information to use for this read.
+	 * @return A reduced-resolution copy of the plane at the specified indices.
+	 */
+	default Plane openThumbPlane(final int imageIndex, final long planeIndex,
+		final int thumbSizeX, final int thumbSizeY, final SCIFIOConfig config)
+		throws FormatException, IOException
+	{
+		return FormatTools.openThumbPlane(this, imageIndex, planeIndex, thumbSizeX,
+			thumbSizeY, config);
+	}
+
 	/** Returns the current file. */
 	Location getCurrentLocation();
 
@@ -40,6 +40,7 @@ import io.scif.services.DatasetIOService;
 import io.scif.services.FilePatternService;
 import io.scif.services.FormatService;
 import io.scif.services.InitializeService;
+import io.scif.services.MetadataCacheService;
 import io.scif.services.TranslatorService;
 import io.scif.xml.XMLService;
 
@@ -165,6 +166,15 @@ public class SCIFIO extends AbstractGateway {
 		return get(MetadataService.class);
 	}
 
+	/**
+	 * Gets this application context's {@link MetadataCacheService}.
+	 *
+	 * @return The {@link MetadataCacheService} of this application context.
+	 */
+	public MetadataCacheService metadataCache() {
+		return get(MetadataCacheService.class);
+	}
+
 	/**
 	 * Gets this application context's {@link NIOService}.
 	 *
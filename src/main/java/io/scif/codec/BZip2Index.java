@@ -0,0 +1,632 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.codec;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.scijava.io.handle.DataHandle;
+import org.scijava.io.location.Location;
+
+/**
+ * Sequential and random access to the uncompressed contents of a BZIP2
+ * stream.
+ * <p>
+ * BZIP2 compresses its input in independent blocks of at most 900 KB (before
+ * the final run-length encoding). This class decodes the stream block by
+ * block and records the compressed bit position and uncompressed position of
+ * every block it passes, so a later read can resume at the start of the block
+ * containing it. Sequential reads simply continue with the current block, so
+ * reading a file from start to end decodes every block exactly once, while the
+ * cost of a random read is bounded by the size of one block.
+ * </p>
+ * <p>
+ * Concatenated streams, as written by parallel compressors, are read as one.
+ * Blocks using the deprecated randomization are not supported.
+ * </p>
+ *
+ * @see GzipIndex
+ */
+public class BZip2Index implements Closeable {
+
+	// -- Constants --
+
+	private static final long BLOCK_MAGIC = 0x314159265359L;
+
+	private static final long END_MAGIC = 0x177245385090L;
+
+	private static final int MAX_BLOCK_SIZE = 900000;
+
+	private static final int MAX_GROUPS = 6;
+
+	private static final int MAX_ALPHA_SIZE = 258;
+
+	private static final int MAX_CODE_LENGTH = 20;
+
+	private static final int MAX_SELECTORS = 18002;
+
+	private static final int GROUP_SIZE = 50;
+
+	private static final int RUNA = 0, RUNB = 1;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private static final int[] CRC_TABLE = new int[256];
+
+	static {
+		for (int i = 0; i < 256; i++) {
+			int c = i << 24;
+			for (int k = 0; k < 8; k++) {
+				c = (c & 0x80000000) != 0 ? c << 1 ^ 0x04c11db7 : c << 1;
+			}
+			CRC_TABLE[i] = c;
+		}
+	}
+
+	// -- Fields --
+
+	private final DataHandle<Location> handle;
+
+	/** Offset of the BZIP2 stream within {@link #handle}. */
+	private final long offset;
+
+	/** Blocks passed so far, in order. */
+	private final List<AccessPoint> points = new ArrayList<>();
+
+	/** Number of uncompressed bytes, or -1 until the end has been reached. */
+	private long length = -1;
+
+	/** Uncompressed position of the next byte the decoder will produce. */
+	private long out = -1;
+
+	/** Compressed data, buffered from {@link #handle}. */
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+
+	/** Offset, from the start of the stream, of the first buffered byte. */
+	private long bufferStart;
+
+	private int bufferLength;
+
+	private int bufferPos;
+
+	/** Bits not yet consumed, in the low {@link #bitCount} bits. */
+	private long bitBuffer;
+
+	private int bitCount;
+
+	/** Inverse BWT vector: byte in the low 8 bits, successor above. */
+	private int[] tt;
+
+	// State of the current block
+	private int blockLength;
+
+	private int blockUsed;
+
+	private int tPos;
+
+	private int blockCRC;
+
+	private int expectedCRC;
+
+	private int lastByte;
+
+	private int sameCount;
+
+	private int repeat;
+
+	private boolean inBlock;
+
+	// -- Constructors --
+
+	/**
+	 * Creates an index of the BZIP2 stream starting at the given offset of the
+	 * given handle. The handle is owned by the index from then on, and closed
+	 * along with it.
+	 *
+	 * @param handle Handle to the compressed data.
+	 * @param offset Offset of the BZIP2 header within the handle.
+	 * @throws IOException If the data at the given offset is not BZIP2
+	 *           compressed.
+	 */
+	public BZip2Index(final DataHandle<Location> handle, final long offset)
+		throws IOException
+	{
+		this.handle = handle;
+		this.offset = offset;
+		seekBit(0);
+		if (!readStreamHeader()) {
+			throw new IOException("Not BZIP2 compressed: " + handle.get());
+		}
+		out = 0;
+	}
+
+	// -- BZip2Index methods --
+
+	/** Gets the number of blocks recorded so far. */
+	public int getAccessPointCount() {
+		return points.size();
+	}
+
+	/** Gets whether the whole stream has been indexed. */
+	public boolean isComplete() {
+		return length >= 0;
+	}
+
+	/**
+	 * Gets the number of uncompressed bytes, or -1 if not known before the
+	 * index is complete.
+	 */
+	public long length() {
+		return length;
+	}
+
+	/**
+	 * Reads uncompressed bytes from the given position.
+	 *
+	 * @param pos Uncompressed position of the first byte to read.
+	 * @param buf Array to which the bytes are written.
+	 * @param off Index of the first byte to write.
+	 * @param len Number of bytes to read.
+	 * @throws EOFException If the stream ends before all bytes are read.
+	 */
+	public void read(final long pos, final byte[] buf, final int off,
+		final int len) throws IOException
+	{
+		if (pos < 0 || len < 0) {
+			throw new IllegalArgumentException("Invalid range: " + len +
+				" bytes at " + pos);
+		}
+		if (length >= 0 && pos + len > length) {
+			throw new EOFException("Cannot read " + len + " bytes at " + pos +
+				" of " + handle.get() + " (length " + length + ")");
+		}
+		final AccessPoint point = find(pos);
+		if (pos < out || point != null && point.out > out) {
+			// NB: Resume at the start of the block containing the position.
+			// Blocks which were never passed lie beyond the last recorded one,
+			// so decoding simply continues there.
+			seekBit(point.bit);
+			out = point.out;
+			inBlock = false;
+		}
+		if (out < pos) {
+			final byte[] skip = new byte[(int) Math.min(BUFFER_SIZE, pos - out)];
+			while (out < pos) {
+				if (decode(skip, 0, (int) Math.min(skip.length, pos - out)) < 0) {
+					throw new EOFException("Cannot skip to " + pos + " of " + handle
+						.get());
+				}
+			}
+		}
+		int n = 0;
+		while (n < len) {
+			final int r = decode(buf, off + n, len - n);
+			if (r < 0) {
+				throw new EOFException("Cannot read " + len + " bytes at " + pos +
+					" of " + handle.get());
+			}
+			n += r;
+		}
+	}
+
+	// -- Closeable methods --
+
+	@Override
+	public void close() throws IOException {
+		tt = null;
+		handle.close();
+	}
+
+	// -- Helper methods --
+
+	/** Gets the last recorded block starting at or before the given position. */
+	private AccessPoint find(final long pos) {
+		int lo = 0, hi = points.size() - 1;
+		if (hi < 0 || points.get(0).out > pos) return null;
+		while (lo < hi) {
+			final int mid = (lo + hi + 1) >>> 1;
+			if (points.get(mid).out <= pos) lo = mid;
+			else hi = mid - 1;
+		}
+		return points.get(lo);
+	}
+
+	/**
+	 * Decodes up to {@code len} bytes, starting the next block when the current
+	 * one is exhausted.
+	 *
+	 * @return The number of bytes decoded, or -1 at the end of the stream.
+	 */
+	private int decode(final byte[] buf, final int off, final int len)
+		throws IOException
+	{
+		while (!inBlock) {
+			if (!startBlock()) return -1;
+		}
+		final int n = emit(buf, off, len);
+		out += n;
+		if (blockUsed == blockLength && repeat == 0) {
+			if (blockCRC != expectedCRC) {
+				throw new IOException("BZIP2 block CRC mismatch in " + handle.get());
+			}
+			inBlock = false;
+		}
+		return n;
+	}
+
+	/**
+	 * Reverses the final run-length encoding of the current block, following
+	 * the inverse BWT vector.
+	 */
+	private int emit(final byte[] buf, final int off, final int len) {
+		final int[] tt = this.tt;
+		int crc = blockCRC;
+		int n = 0;
+		while (n < len) {
+			final int b;
+			if (repeat > 0) {
+				b = lastByte;
+				repeat--;
+			}
+			else {
+				if (blockUsed == blockLength) break;
+				tPos = tt[tPos];
+				final int ch = tPos & 0xff;
+				tPos >>>= 8;
+				blockUsed++;
+				if (sameCount == 4) {
+					// NB: After four equal bytes, the next one is a repeat count.
+					repeat = ch;
+					sameCount = 0;
+					continue;
+				}
+				if (ch == lastByte) sameCount++;
+				else {
+					lastByte = ch;
+					sameCount = 1;
+				}
+				b = ch;
+			}
+			buf[off + n++] = (byte) b;
+			crc = crc << 8 ^ CRC_TABLE[(crc >>> 24 ^ b) & 0xff];
+		}
+		blockCRC = crc;
+		return n;
+	}
+
+	/**
+	 * Reads the next block header and decodes the block into {@link #tt}.
+	 *
+	 * @return False at the end of the last stream.
+	 */
+	private boolean startBlock() throws IOException {
+		final long bit = bitPosition();
+		final long magic = (long) bits(24) << 24 | bits(24);
+		if (magic == END_MAGIC) {
+			bits(32); // combined CRC
+			// NB: Another stream may follow, starting at a byte boundary.
+			bits(bitCount & 7);
+			if (!readStreamHeader()) {
+				length = out;
+				return false;
+			}
+			return true;
+		}
+		if (magic != BLOCK_MAGIC) {
+			throw new IOException("Invalid BZIP2 block in " + handle.get());
+		}
+		if (points.isEmpty() || points.get(points.size() - 1).bit < bit) {
+			points.add(new AccessPoint(out, bit));
+		}
+
+		expectedCRC = bits(32);
+		if (bits(1) != 0) {
+			throw new IOException("Randomized BZIP2 blocks are not supported");
+		}
+		final int origPtr = bits(24);
+
+		// symbols in use
+		final int[] seqToUnseq = new int[256];
+		int inUse = 0;
+		final int inUse16 = bits(16);
+		for (int i = 0; i < 16; i++) {
+			if ((inUse16 & 0x8000 >>> i) == 0) continue;
+			final int used = bits(16);
+			for (int j = 0; j < 16; j++) {
+				if ((used & 0x8000 >>> j) != 0) seqToUnseq[inUse++] = i * 16 + j;
+			}
+		}
+		if (inUse == 0) throw new IOException("Invalid BZIP2 symbol map");
+		final int alphaSize = inUse + 2;
+
+		// Huffman table selectors
+		final int groups = bits(3);
+		final int selectorCount = bits(15);
+		if (groups < 2 || groups > MAX_GROUPS || selectorCount < 1) {
+			throw new IOException("Invalid BZIP2 Huffman tables");
+		}
+		final byte[] selectors = new byte[Math.min(selectorCount,
+			MAX_SELECTORS)];
+		final byte[] mtfGroups = new byte[MAX_GROUPS];
+		for (int i = 0; i < groups; i++) {
+			mtfGroups[i] = (byte) i;
+		}
+		for (int i = 0; i < selectorCount; i++) {
+			int j = 0;
+			while (bits(1) != 0) {
+				if (++j >= groups) throw new IOException("Invalid BZIP2 selector");
+			}
+			if (i >= selectors.length) continue;
+			final byte g = mtfGroups[j];
+			System.arraycopy(mtfGroups, 0, mtfGroups, 1, j);
+			mtfGroups[0] = g;
+			selectors[i] = g;
+		}
+
+		// Huffman tables, delta-coded code lengths
+		final Table[] tables = new Table[groups];
+		final int[] lengths = new int[alphaSize];
+		for (int t = 0; t < groups; t++) {
+			int len = bits(5);
+			for (int i = 0; i < alphaSize; i++) {
+				while (true) {
+					if (len < 1 || len > MAX_CODE_LENGTH) {
+						throw new IOException("Invalid BZIP2 code length");
+					}
+					if (bits(1) == 0) break;
+					len += bits(1) == 0 ? 1 : -1;
+				}
+				lengths[i] = len;
+			}
+			tables[t] = new Table(lengths, alphaSize);
+		}
+
+		// MTF and zero-run decoding into tt
+		if (tt == null) tt = new int[MAX_BLOCK_SIZE];
+		final int[] tt = this.tt;
+		final int[] counts = new int[256];
+		final int[] mtf = new int[256];
+		for (int i = 0; i < 256; i++) {
+			mtf[i] = i;
+		}
+		final int eob = inUse + 1;
+		int count = 0;
+		int selector = 0;
+		int groupLeft = 0;
+		Table table = null;
+		int run = 0, runBit = 1;
+		while (true) {
+			if (groupLeft == 0) {
+				if (selector >= selectors.length) {
+					throw new IOException("Invalid BZIP2 block: too few selectors");
+				}
+				table = tables[selectors[selector++]];
+				groupLeft = GROUP_SIZE;
+			}
+			groupLeft--;
+			final int sym = table.decode();
+
+			if (sym == RUNA || sym == RUNB) {
+				run += (sym + 1) * runBit;
+				runBit <<= 1;
+				if (run > MAX_BLOCK_SIZE) {
+					throw new IOException("Invalid BZIP2 block: run too long");
+				}
+				continue;
+			}
+			if (run > 0) {
+				if (count + run > MAX_BLOCK_SIZE) {
+					throw new IOException("Invalid BZIP2 block: too long");
+				}
+				final int b = seqToUnseq[mtf[0]];
+				counts[b] += run;
+				while (run-- > 0) {
+					tt[count++] = b;
+				}
+				run = 0;
+				runBit = 1;
+			}
+			if (sym == eob) break;
+			if (count >= MAX_BLOCK_SIZE) {
+				throw new IOException("Invalid BZIP2 block: too long");
+			}
+			final int index = sym - 1;
+			final int m = mtf[index];
+			System.arraycopy(mtf, 0, mtf, 1, index);
+			mtf[0] = m;
+			final int b = seqToUnseq[m];
+			counts[b]++;
+			tt[count++] = b;
+		}
+		if (origPtr >= count) {
+			throw new IOException("Invalid BZIP2 block: bad origin pointer");
+		}
+
+		// inverse BWT: link each byte to its successor
+		final int[] cftab = new int[256];
+		for (int i = 0, sum = 0; i < 256; i++) {
+			cftab[i] = sum;
+			sum += counts[i];
+		}
+		for (int i = 0; i < count; i++) {
+			tt[cftab[tt[i] & 0xff]++] |= i << 8;
+		}
+
+		tPos = tt[origPtr] >>> 8;
+		blockLength = count;
+		blockUsed = 0;
+		blockCRC = -1;
+		lastByte = -1;
+		sameCount = 0;
+		repeat = 0;
+		inBlock = true;
+		// NB: The CRC is complemented, as in the stream.
+		expectedCRC = ~expectedCRC;
+		return true;
+	}
+
+	/**
+	 * Reads a "BZh" stream header followed by the block size digit.
+	 *
+	 * @return False if there is no further stream.
+	 */
+	private boolean readStreamHeader() throws IOException {
+		if (bitPosition() + 32 > (handle.length() - offset) * 8) return false;
+		final int magic = bits(24);
+		final int level = bits(8);
+		if (magic != 0x425a68 || level < '1' || level > '9') {
+			if (out > 0) return false; // NB: trailing garbage
+			throw new IOException("Invalid BZIP2 header in " + handle.get());
+		}
+		return true;
+	}
+
+	/** Positions the bit reader at the given bit of the stream. */
+	private void seekBit(final long bit) throws IOException {
+		final long pos = bit >>> 3;
+		if (pos >= bufferStart && pos < bufferStart + bufferLength) {
+			bufferPos = (int) (pos - bufferStart);
+		}
+		else {
+			bufferStart = pos;
+			bufferLength = 0;
+			bufferPos = 0;
+		}
+		bitBuffer = 0;
+		bitCount = 0;
+		bits((int) (bit & 7));
+	}
+
+	/** Gets the position, in bits from the start of the stream, of the next bit. */
+	private long bitPosition() {
+		return (bufferStart + bufferPos) * 8 - bitCount;
+	}
+
+	/** Reads up to 32 bits, most significant first. */
+	private int bits(final int n) throws IOException {
+		while (bitCount < n) {
+			if (bufferPos == bufferLength) fill();
+			bitBuffer = bitBuffer << 8 | buffer[bufferPos++] & 0xff;
+			bitCount += 8;
+		}
+		bitCount -= n;
+		return (int) (bitBuffer >>> bitCount) & (int) ((1L << n) - 1);
+	}
+
+	private void fill() throws IOException {
+		bufferStart += bufferLength;
+		bufferPos = 0;
+		bufferLength = (int) Math.min(buffer.length, handle.length() - offset -
+			bufferStart);
+		if (bufferLength <= 0) {
+			bufferLength = 0;
+			throw new EOFException("Unexpected end of BZIP2 data in " + handle
+				.get());
+		}
+		handle.seek(offset + bufferStart);
+		handle.readFully(buffer, 0, bufferLength);
+	}
+
+	// -- Helper classes --
+
+	/** Start of a block. */
+	private static final class AccessPoint {
+
+		/** Uncompressed position of the block. */
+		private final long out;
+
+		/** Position, in bits from the start of the stream, of the block magic. */
+		private final long bit;
+
+		private AccessPoint(final long out, final long bit) {
+			this.out = out;
+			this.bit = bit;
+		}
+	}
+
+	/** Canonical Huffman decoding table of one group. */
+	private final class Table {
+
+		private final int minLength;
+
+		/** Largest code of each length, or -1 if there is none. */
+		private final int[] limit = new int[MAX_CODE_LENGTH + 2];
+
+		/** Offset of the first code of each length into {@link #perm}. */
+		private final int[] base = new int[MAX_CODE_LENGTH + 2];
+
+		/** Symbols, in order of code length. */
+		private final int[] perm = new int[MAX_ALPHA_SIZE];
+
+		private Table(final int[] lengths, final int alphaSize) {
+			int min = MAX_CODE_LENGTH, max = 0;
+			for (int i = 0; i < alphaSize; i++) {
+				min = Math.min(min, lengths[i]);
+				max = Math.max(max, lengths[i]);
+			}
+			minLength = min;
+			int p = 0;
+			for (int len = min; len <= max; len++) {
+				for (int i = 0; i < alphaSize; i++) {
+					if (lengths[i] == len) perm[p++] = i;
+				}
+			}
+			int code = 0;
+			p = 0;
+			for (int len = 1; len <= MAX_CODE_LENGTH + 1; len++) {
+				int n = 0;
+				if (len <= max) {
+					for (int i = 0; i < alphaSize; i++) {
+						if (lengths[i] == len) n++;
+					}
+				}
+				base[len] = p - code;
+				limit[len] = n > 0 ? code + n - 1 : -1;
+				code = code + n << 1;
+				p += n;
+			}
+		}
+
+		private int decode() throws IOException {
+			int len = minLength;
+			int code = bits(len);
+			while (code > limit[len]) {
+				if (++len > MAX_CODE_LENGTH) {
+					throw new IOException("Invalid BZIP2 Huffman code");
+				}
+				code = code << 1 | bits(1);
+			}
+			return perm[base[len] + code];
+		}
+	}
+}
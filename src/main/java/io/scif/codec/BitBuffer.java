@@ -75,6 +75,12 @@ public class BitBuffer {
 
 	private boolean eofFlag;
 
+	/** Up to 64 bits of the buffer, starting at byte {@link #reservoirByte}. */
+	private long reservoir;
+
+	/** Index of the first byte in {@link #reservoir}, or -1 if not loaded. */
+	private int reservoirByte = -1;
+
 	/** Default constructor. */
 	public BitBuffer(final byte[] byteBuffer) {
 		this.byteBuffer = byteBuffer;
@@ -139,6 +145,17 @@ public class BitBuffer {
 		}
 		if (bitsToRead == 0) return 0;
 		if (eofFlag) return -1; // Already at end of file
+		if (bitsToRead <= 32 && ((long) currentByte << 3) + currentBit +
+			bitsToRead < (long) eofByte << 3)
+		{
+			// Fast path: the bits end before the last byte, so take them from the
+			// reservoir.
+			final int value = peekBits(bitsToRead);
+			final int bit = currentBit + bitsToRead;
+			currentByte += bit >> 3;
+			currentBit = bit & 7;
+			return value;
+		}
 		int toStore = 0;
 		while (bitsToRead != 0 && !eofFlag) {
 			if (currentBit < 0 || currentBit > 7) {
@@ -188,4 +205,39 @@ public class BitBuffer {
 		}
 		return toStore;
 	}
+
+	/**
+	 * Returns an int value representing the value of the next bits, as
+	 * {@link #getBits} would, without modifying the current position. Bits past
+	 * the end of the byte array are read as zeros.
+	 * <p>
+	 * The bits are served from a 64-bit reservoir, which is only refilled when
+	 * the requested bits extend beyond it, so that successive peeks and skips
+	 * (e.g. when decoding variable-length codes) rarely touch the byte array.
+	 * </p>
+	 *
+	 * @param bitsToRead the number of bits to peek at, at most 32
+	 * @return the value of the bits, or -1 at the end of the buffer
+	 */
+	public int peekBits(final int bitsToRead) {
+		if (bitsToRead < 0 || bitsToRead > 32) {
+			throw new IllegalArgumentException("Bits to peek must be in [0, 32]");
+		}
+		if (bitsToRead == 0) return 0;
+		if (eofFlag) return -1;
+		int shift = (currentByte - reservoirByte) * 8 + currentBit;
+		if (reservoirByte < 0 || currentByte < reservoirByte || shift +
+			bitsToRead > 64)
+		{
+			reservoir = 0;
+			for (int i = 0; i < 8; i++) {
+				final int index = currentByte + i;
+				reservoir = reservoir << 8 | (index < eofByte ? byteBuffer[index] &
+					0xff : 0);
+			}
+			reservoirByte = currentByte;
+			shift = currentBit;
+		}
+		return (int) (reservoir << shift >>> (64 - bitsToRead));
+	}
 }
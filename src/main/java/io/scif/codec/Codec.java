@@ -33,6 +33,8 @@ import io.scif.FormatException;
 import io.scif.SCIFIOPlugin;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import org.scijava.io.handle.DataHandle;
 import org.scijava.io.location.Location;
@@ -128,4 +130,72 @@ public interface Codec extends SCIFIOPlugin, SingletonPlugin {
 	byte[] decompress(DataHandle<Location> in, CodecOptions options)
 		throws FormatException, IOException;
 
+	/**
+	 * Decompresses a block of data into a caller-supplied buffer. Codecs which
+	 * can decode in place override this method to avoid allocating an output
+	 * array per call; by default, the data is decompressed as by
+	 * {@link #decompress(byte[], CodecOptions)} and copied.
+	 *
+	 * @param in Array holding the data to be decompressed.
+	 * @param inOffset Offset of the compressed data in {@code in}.
+	 * @param inLength Length of the compressed data.
+	 * @param out Destination of the decompressed data.
+	 * @param outOffset Offset in {@code out} at which to write.
+	 * @param options Options to be used during decompression.
+	 * @return The number of bytes written to {@code out}, which is at most
+	 *         {@code out.length - outOffset}.
+	 * @throws FormatException If data is not valid compressed data for this
+	 *           decompressor.
+	 */
+	default int decompress(final byte[] in, final int inOffset,
+		final int inLength, final byte[] out, final int outOffset,
+		final CodecOptions options) throws FormatException
+	{
+		final byte[] data = inOffset == 0 && inLength == in.length ? in : Arrays
+			.copyOfRange(in, inOffset, inOffset + inLength);
+		final byte[] decompressed = decompress(data, options);
+		if (decompressed == null) return 0;
+		final int length = Math.min(decompressed.length, out.length - outOffset);
+		System.arraycopy(decompressed, 0, out, outOffset, length);
+		return length;
+	}
+
+	/**
+	 * Decompresses a block of data into the remaining space of a caller-supplied
+	 * buffer, advancing its position by the number of bytes written. Heap
+	 * buffers whose limit is their capacity are decoded into directly, via
+	 * {@link #decompress(byte[], int, int, byte[], int, CodecOptions)}.
+	 *
+	 * @param in Array holding the data to be decompressed.
+	 * @param inOffset Offset of the compressed data in {@code in}.
+	 * @param inLength Length of the compressed data.
+	 * @param out Destination of the decompressed data.
+	 * @param options Options to be used during decompression.
+	 * @return The number of bytes written to {@code out}.
+	 * @throws FormatException If data is not valid compressed data for this
+	 *           decompressor.
+	 */
+	default int decompress(final byte[] in, final int inOffset,
+		final int inLength, final ByteBuffer out, final CodecOptions options)
+		throws FormatException
+	{
+		final int length;
+		if (out.hasArray() && out.arrayOffset() + out.limit() == out
+			.array().length)
+		{
+			length = decompress(in, inOffset, inLength, out.array(), out
+				.arrayOffset() + out.position(), options);
+			out.position(out.position() + length);
+		}
+		else {
+			final byte[] data = inOffset == 0 && inLength == in.length ? in
+				: Arrays.copyOfRange(in, inOffset, inOffset + inLength);
+			final byte[] decompressed = decompress(data, options);
+			if (decompressed == null) return 0;
+			length = Math.min(decompressed.length, out.remaining());
+			out.put(decompressed, 0, length);
+		}
+		return length;
+	}
+
 }
@@ -115,6 +115,19 @@ public class CodecOptions {
 	 */
 	public boolean ycbcr;
 
+	/**
+	 * Compression level for codecs which support levels, e.g. 0-9 for
+	 * {@link ZlibCodec}, or -1 for the codec's default level (WRITE).
+	 */
+	public int compressionLevel = -1;
+
+	/**
+	 * Compression strategy for {@link ZlibCodec}, as one of the
+	 * {@link java.util.zip.Deflater} strategy constants; default is
+	 * {@link java.util.zip.Deflater#DEFAULT_STRATEGY} (WRITE).
+	 */
+	public int compressionStrategy;
+
 	// -- Constructors --
 
 	/** Construct a new CodecOptions. */
@@ -140,6 +153,8 @@ public class CodecOptions {
 			this.tileGridXOffset = options.tileGridXOffset;
 			this.tileGridYOffset = options.tileGridYOffset;
 			this.ycbcr = options.ycbcr;
+			this.compressionLevel = options.compressionLevel;
+			this.compressionStrategy = options.compressionStrategy;
 		}
 	}
 
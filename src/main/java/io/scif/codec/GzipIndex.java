@@ -0,0 +1,906 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.codec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.scijava.io.handle.DataHandle;
+import org.scijava.io.location.FileLocation;
+import org.scijava.io.location.Location;
+
+/**
+ * Random access to the uncompressed contents of a GZIP stream.
+ * <p>
+ * DEFLATE data can normally only be decompressed from its start. This index
+ * records access points while the stream is decompressed for the first time:
+ * at the first block boundary after every {@code span} uncompressed bytes, it
+ * stores the compressed bit position and the preceding 32 KB of output, which
+ * is all that is needed to resume decompression there. The index is built
+ * lazily, as reads move past its end; reads before that point resume from the
+ * nearest preceding access point, so their cost is bounded by the span rather
+ * than by their position in the stream.
+ * </p>
+ * <p>
+ * As {@link Inflater} does not report block boundaries, the first pass
+ * through the stream is decompressed by a DEFLATE decoder of this class;
+ * later reads use an {@link Inflater} primed with the stored output. A
+ * complete index can be saved and loaded again, e.g. from the
+ * {@link #indexFile(Location) index file} next to the compressed file.
+ * </p>
+ * <p>
+ * Only the first member of a multi-member GZIP stream is read.
+ * </p>
+ */
+public class GzipIndex implements Closeable {
+
+	// -- Constants --
+
+	/** Default number of uncompressed bytes between access points. */
+	public static final long DEFAULT_SPAN = 1L << 20;
+
+	/** Suffix of index files stored next to the compressed file. */
+	public static final String SUFFIX = ".gzidx";
+
+	private static final int MAGIC = 0x475a4958; // "GZIX"
+
+	private static final int VERSION = 1;
+
+	private static final int WINDOW_SIZE = 1 << 15;
+
+	private static final int WINDOW_MASK = WINDOW_SIZE - 1;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	// DEFLATE block states
+	private static final int HEADER = 0, STORED = 1, CODES = 2;
+
+	// Base values and extra bits of length and distance codes (RFC 1951)
+	private static final int[] LENGTH_BASE = { 3, 4, 5, 6, 7, 8, 9, 10, 11, 13,
+		15, 17, 19, 23, 27, 31, 35, 43, 51, 59, 67, 83, 99, 115, 131, 163, 195,
+		227, 258 };
+
+	private static final int[] LENGTH_EXTRA = { 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1,
+		1, 2, 2, 2, 2, 3, 3, 3, 3, 4, 4, 4, 4, 5, 5, 5, 5, 0 };
+
+	private static final int[] DISTANCE_BASE = { 1, 2, 3, 4, 5, 7, 9, 13, 17,
+		25, 33, 49, 65, 97, 129, 193, 257, 385, 513, 769, 1025, 1537, 2049, 3073,
+		4097, 6145, 8193, 12289, 16385, 24577 };
+
+	private static final int[] DISTANCE_EXTRA = { 0, 0, 0, 0, 1, 1, 2, 2, 3, 3,
+		4, 4, 5, 5, 6, 6, 7, 7, 8, 8, 9, 9, 10, 10, 11, 11, 12, 12, 13, 13 };
+
+	/** Order in which code length code lengths are stored. */
+	private static final int[] CODE_LENGTH_ORDER = { 16, 17, 18, 0, 8, 7, 9, 6,
+		10, 5, 11, 4, 12, 3, 13, 2, 14, 1, 15 };
+
+	private static final Table FIXED_LITERALS;
+
+	private static final Table FIXED_DISTANCES;
+
+	static {
+		final int[] lengths = new int[288];
+		Arrays.fill(lengths, 0, 144, 8);
+		Arrays.fill(lengths, 144, 256, 9);
+		Arrays.fill(lengths, 256, 280, 7);
+		Arrays.fill(lengths, 280, 288, 8);
+		final int[] distances = new int[30];
+		Arrays.fill(distances, 5);
+		try {
+			FIXED_LITERALS = new Table(lengths);
+			FIXED_DISTANCES = new Table(distances);
+		}
+		catch (final IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	// -- Fields --
+
+	private final DataHandle<Location> handle;
+
+	/** Offset of the GZIP stream within {@link #handle}. */
+	private final long offset;
+
+	private final long span;
+
+	/** Access points, in order of uncompressed position. */
+	private final List<AccessPoint> points = new ArrayList<>();
+
+	/** Decoder extending the index, or null once the index is complete. */
+	private Builder builder;
+
+	/** Number of uncompressed bytes, or -1 while the index is incomplete. */
+	private long length = -1;
+
+	/** Inflater resumed from an access point, or null. */
+	private Cursor cursor;
+
+	// -- Constructors --
+
+	/**
+	 * Creates an index of the GZIP stream starting at the given offset of the
+	 * given handle, with access points every {@link #DEFAULT_SPAN} bytes.
+	 *
+	 * @see #GzipIndex(DataHandle, long, long)
+	 */
+	public GzipIndex(final DataHandle<Location> handle, final long offset)
+		throws IOException
+	{
+		this(handle, offset, DEFAULT_SPAN);
+	}
+
+	/**
+	 * Creates an index of the GZIP stream starting at the given offset of the
+	 * given handle. The handle is owned by the index from then on, and closed
+	 * along with it.
+	 *
+	 * @param handle Handle to the compressed data.
+	 * @param offset Offset of the GZIP header within the handle.
+	 * @param span Number of uncompressed bytes between access points.
+	 * @throws IOException If the data at the given offset is not GZIP
+	 *           compressed.
+	 */
+	public GzipIndex(final DataHandle<Location> handle, final long offset,
+		final long span) throws IOException
+	{
+		if (span <= 0) {
+			throw new IllegalArgumentException("Invalid span: " + span);
+		}
+		this.handle = handle;
+		this.offset = offset;
+		this.span = span;
+		builder = new Builder();
+	}
+
+	// -- GzipIndex methods --
+
+	/** Gets the number of uncompressed bytes between access points. */
+	public long getSpan() {
+		return span;
+	}
+
+	/** Gets the number of access points recorded so far. */
+	public int getAccessPointCount() {
+		return points.size();
+	}
+
+	/** Gets whether the whole stream has been indexed. */
+	public boolean isComplete() {
+		return builder == null;
+	}
+
+	/**
+	 * Gets the number of uncompressed bytes, or -1 if not known before the
+	 * index is complete.
+	 */
+	public long length() {
+		return length;
+	}
+
+	/**
+	 * Reads uncompressed bytes from the given position.
+	 *
+	 * @param pos Uncompressed position of the first byte to read.
+	 * @param buf Array to which the bytes are written.
+	 * @param off Index of the first byte to write.
+	 * @param len Number of bytes to read.
+	 * @throws EOFException If the stream ends before all bytes are read.
+	 */
+	public void read(final long pos, final byte[] buf, final int off,
+		final int len) throws IOException
+	{
+		if (pos < 0 || len < 0) {
+			throw new IllegalArgumentException("Invalid range: " + len +
+				" bytes at " + pos);
+		}
+		if (builder == null || pos + len <= builder.out) {
+			readIndexed(pos, buf, off, len);
+			return;
+		}
+		// NB: Read what the index already covers from an access point, and
+		// extend the index by decoding the rest.
+		final int head = (int) Math.max(0, builder.out - pos);
+		if (head > 0) readIndexed(pos, buf, off, head);
+		while (builder.out < pos + head) {
+			if (builder.inflate(null, 0, (int) Math.min(BUFFER_SIZE, pos + head -
+				builder.out)) < 0) break;
+		}
+		int n = head;
+		while (n < len) {
+			final int r = builder.inflate(buf, off + n, len - n);
+			if (r < 0) break;
+			n += r;
+		}
+		if (builder.atEnd()) {
+			builder.finish();
+			length = builder.out;
+			builder = null;
+		}
+		if (n < len) {
+			throw new EOFException("Cannot read " + len + " bytes at " + pos +
+				" of " + handle.get());
+		}
+	}
+
+	/**
+	 * Loads the access points of a previously {@link #save saved} index, if it
+	 * belongs to the same compressed data. The index is complete afterwards.
+	 *
+	 * @return False if the file does not exist or does not match the data.
+	 */
+	public boolean load(final Path file) throws IOException {
+		if (file == null || !Files.isRegularFile(file)) return false;
+		final long[] fingerprint = fingerprint();
+		final List<AccessPoint> loaded = new ArrayList<>();
+		final long loadedLength;
+		try (final DataInputStream in = new DataInputStream(
+			new BufferedInputStream(Files.newInputStream(file))))
+		{
+			if (in.readInt() != MAGIC || in.readInt() != VERSION || in
+				.readLong() != fingerprint[0] || in.readLong() != fingerprint[1])
+			{
+				return false;
+			}
+			loadedLength = in.readLong();
+			final int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				final long out = in.readLong();
+				final long position = in.readLong();
+				final int bits = in.readByte();
+				final int windowLength = in.readInt();
+				final byte[] window = new byte[in.readInt()];
+				in.readFully(window);
+				loaded.add(new AccessPoint(out, position, bits, window,
+					windowLength));
+			}
+		}
+		catch (final EOFException e) {
+			return false;
+		}
+		points.clear();
+		points.addAll(loaded);
+		length = loadedLength;
+		builder = null;
+		closeCursor();
+		return true;
+	}
+
+	/**
+	 * Saves the access points of this index to the given file, replacing it
+	 * atomically where possible.
+	 *
+	 * @throws IllegalStateException If the index is not complete.
+	 */
+	public void save(final Path file) throws IOException {
+		if (!isComplete()) {
+			throw new IllegalStateException("The index is not complete");
+		}
+		final long[] fingerprint = fingerprint();
+		final Path dir = file.toAbsolutePath().getParent();
+		final Path tmp = Files.createTempFile(dir, file.getFileName().toString(),
+			".tmp");
+		try {
+			try (final DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(tmp))))
+			{
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeLong(fingerprint[0]);
+				out.writeLong(fingerprint[1]);
+				out.writeLong(length);
+				out.writeInt(points.size());
+				for (final AccessPoint p : points) {
+					out.writeLong(p.out);
+					out.writeLong(p.position);
+					out.writeByte(p.bits);
+					out.writeInt(p.windowLength);
+					out.writeInt(p.window.length);
+					out.write(p.window);
+				}
+			}
+			try {
+				Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (final AtomicMoveNotSupportedException e) {
+				Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		finally {
+			Files.deleteIfExists(tmp);
+		}
+	}
+
+	/**
+	 * Gets the file in which the index of the given compressed file is kept: a
+	 * sibling with the same name plus {@link #SUFFIX}.
+	 *
+	 * @return The index file, or null if the location is not a local file.
+	 */
+	public static Path indexFile(final Location location) {
+		if (!(location instanceof FileLocation)) return null;
+		return Paths.get(((FileLocation) location).getFile().getPath() + SUFFIX);
+	}
+
+	// -- Closeable methods --
+
+	@Override
+	public void close() throws IOException {
+		closeCursor();
+		builder = null;
+		handle.close();
+	}
+
+	// -- Helper methods --
+
+	/** Reads bytes covered by the access points recorded so far. */
+	private void readIndexed(final long pos, final byte[] buf, final int off,
+		final int len) throws IOException
+	{
+		if (length >= 0 && pos + len > length) {
+			throw new EOFException("Cannot read " + len + " bytes at " + pos +
+				" of " + handle.get() + " (length " + length + ")");
+		}
+		final AccessPoint point = find(pos);
+		if (cursor == null || cursor.out > pos || cursor.out < point.out) {
+			closeCursor();
+			cursor = new Cursor(point);
+		}
+		if (cursor.out < pos) {
+			final byte[] skip = new byte[(int) Math.min(BUFFER_SIZE, pos -
+				cursor.out)];
+			while (cursor.out < pos) {
+				if (cursor.inflate(skip, 0, (int) Math.min(skip.length, pos -
+					cursor.out)) < 0) throw new EOFException();
+			}
+		}
+		int n = 0;
+		while (n < len) {
+			final int r = cursor.inflate(buf, off + n, len - n);
+			if (r < 0) throw new EOFException("Cannot read " + len + " bytes at " +
+				pos + " of " + handle.get());
+			n += r;
+		}
+	}
+
+	/** Gets the last access point at or before the given position. */
+	private AccessPoint find(final long pos) {
+		int lo = 0, hi = points.size() - 1;
+		while (lo < hi) {
+			final int mid = (lo + hi + 1) >>> 1;
+			if (points.get(mid).out <= pos) lo = mid;
+			else hi = mid - 1;
+		}
+		return points.get(lo);
+	}
+
+	private void closeCursor() {
+		if (cursor != null) cursor.inflater.end();
+		cursor = null;
+	}
+
+	/**
+	 * Identifies the compressed data: its length, and the GZIP trailer (CRC and
+	 * size) at its end.
+	 */
+	private long[] fingerprint() throws IOException {
+		final long size = handle.length() - offset;
+		long tail = 0;
+		if (size >= 8) {
+			final byte[] bytes = new byte[8];
+			handle.seek(offset + size - 8);
+			handle.readFully(bytes);
+			for (final byte b : bytes) {
+				tail = tail << 8 | b & 0xff;
+			}
+		}
+		return new long[] { size, tail };
+	}
+
+	// -- Helper classes --
+
+	/** State needed to resume decompression at a DEFLATE block boundary. */
+	private static final class AccessPoint {
+
+		/** Uncompressed position of the block. */
+		private final long out;
+
+		/** Offset, from the start of the stream, of the block's first byte. */
+		private final long position;
+
+		/** Number of bits of the first byte belonging to the previous block. */
+		private final int bits;
+
+		/** Compressed copy of the output preceding the block. */
+		private final byte[] window;
+
+		/** Uncompressed length of {@link #window}. */
+		private final int windowLength;
+
+		private AccessPoint(final long out, final long position, final int bits,
+			final byte[] window, final int windowLength)
+		{
+			this.out = out;
+			this.position = position;
+			this.bits = bits;
+			this.window = window;
+			this.windowLength = windowLength;
+		}
+
+		private byte[] window() throws IOException {
+			final Inflater inflater = new Inflater(true);
+			try {
+				inflater.setInput(window);
+				final byte[] w = new byte[windowLength];
+				int n = 0;
+				while (n < w.length) {
+					final int r = inflater.inflate(w, n, w.length - n);
+					if (r == 0 && (inflater.finished() || inflater.needsInput())) {
+						throw new IOException("Corrupt access point window");
+					}
+					n += r;
+				}
+				return w;
+			}
+			catch (final DataFormatException e) {
+				throw new IOException(e);
+			}
+			finally {
+				inflater.end();
+			}
+		}
+	}
+
+	/** Canonical Huffman code, decoded by a single table lookup. */
+	private static final class Table {
+
+		/** Symbol (upper bits) and code length (lower 4 bits) per code. */
+		private final int[] entries;
+
+		/** Length of the longest code. */
+		private final int bits;
+
+		private Table(final int[] lengths) throws IOException {
+			final int[] count = new int[16];
+			int max = 1;
+			for (final int l : lengths) {
+				count[l]++;
+				if (l > max) max = l;
+			}
+			count[0] = 0;
+			final int[] next = new int[16];
+			int code = 0;
+			for (int l = 1; l < 16; l++) {
+				code = (code + count[l - 1]) << 1;
+				next[l] = code;
+			}
+			bits = max;
+			entries = new int[1 << max];
+			for (int symbol = 0; symbol < lengths.length; symbol++) {
+				final int l = lengths[symbol];
+				if (l == 0) continue;
+				final int c = next[l]++;
+				if (c >= 1 << l) throw new IOException("Invalid Huffman code lengths");
+				// NB: Codes are packed starting with their most significant bit.
+				final int reversed = Integer.reverse(c) >>> (32 - l);
+				for (int i = reversed; i < entries.length; i += 1 << l) {
+					entries[i] = symbol << 4 | l;
+				}
+			}
+		}
+	}
+
+	/**
+	 * DEFLATE decoder for the first pass through the stream, recording access
+	 * points at block boundaries.
+	 */
+	private final class Builder {
+
+		private final byte[] in = new byte[BUFFER_SIZE];
+
+		/** Offset, from the start of the stream, of {@link #in}. */
+		private long inStart;
+
+		private int inPos;
+
+		private int inLength;
+
+		/** Number of zero bytes supplied beyond the end of the data. */
+		private int padding;
+
+		private long bitBuffer;
+
+		private int bitCount;
+
+		/** The last 32 KB of output. */
+		private final byte[] window = new byte[WINDOW_SIZE];
+
+		/** Number of bytes decoded so far. */
+		private long out;
+
+		private int state = HEADER;
+
+		private boolean last;
+
+		private int stored;
+
+		private Table literals;
+
+		private Table distances;
+
+		private int matchLength;
+
+		private int matchDistance;
+
+		private Builder() throws IOException {
+			// GZIP header (RFC 1952)
+			if (nextByte() != 0x1f || nextByte() != 0x8b) {
+				throw new IOException("Not a GZIP stream: " + handle.get());
+			}
+			if (nextByte() != 8) {
+				throw new IOException("Unsupported GZIP compression method");
+			}
+			final int flags = nextByte();
+			for (int i = 0; i < 6; i++)
+				nextByte();
+			if ((flags & 4) != 0) {
+				final int extra = nextByte() | nextByte() << 8;
+				for (int i = 0; i < extra; i++)
+					nextByte();
+			}
+			if ((flags & 8) != 0) while (nextByte() != 0) {}
+			if ((flags & 16) != 0) while (nextByte() != 0) {}
+			if ((flags & 2) != 0) {
+				nextByte();
+				nextByte();
+			}
+			if (padding > 0) throw new EOFException("Truncated GZIP header");
+		}
+
+		/**
+		 * Decodes up to {@code len} bytes.
+		 *
+		 * @param dst Array to which the bytes are written, or null to skip them.
+		 * @return The number of bytes decoded, or -1 at the end of the stream.
+		 */
+		private int inflate(final byte[] dst, final int off, final int len)
+			throws IOException
+		{
+			int n = 0;
+			while (n < len) {
+				if (matchLength > 0) {
+					final int count = Math.min(matchLength, len - n);
+					int from = (int) (out - matchDistance) & WINDOW_MASK;
+					int to = (int) out & WINDOW_MASK;
+					for (int i = 0; i < count; i++) {
+						final byte b = window[from];
+						window[to] = b;
+						from = from + 1 & WINDOW_MASK;
+						to = to + 1 & WINDOW_MASK;
+						if (dst != null) dst[off + n + i] = b;
+					}
+					out += count;
+					n += count;
+					matchLength -= count;
+					continue;
+				}
+				if (state == CODES) {
+					final int symbol = decode(literals);
+					if (symbol < 256) {
+						final byte b = (byte) symbol;
+						window[(int) out++ & WINDOW_MASK] = b;
+						if (dst != null) dst[off + n] = b;
+						n++;
+					}
+					else if (symbol == 256) state = HEADER;
+					else {
+						final int l = symbol - 257;
+						if (l >= LENGTH_BASE.length) throw new IOException(
+							"Invalid length code");
+						matchLength = LENGTH_BASE[l] + bits(LENGTH_EXTRA[l]);
+						final int d = decode(distances);
+						if (d >= DISTANCE_BASE.length) throw new IOException(
+							"Invalid distance code");
+						matchDistance = DISTANCE_BASE[d] + bits(DISTANCE_EXTRA[d]);
+						if (matchDistance > out) throw new IOException(
+							"Invalid distance");
+					}
+				}
+				else if (state == STORED) {
+					final byte b = (byte) bits(8);
+					window[(int) out++ & WINDOW_MASK] = b;
+					if (dst != null) dst[off + n] = b;
+					n++;
+					if (--stored == 0) state = HEADER;
+				}
+				else if (last) return n == 0 ? -1 : n;
+				else header();
+			}
+			return n;
+		}
+
+		/** Gets whether the final block has been fully decoded. */
+		private boolean atEnd() throws IOException {
+			if (last && state == CODES && matchLength == 0) {
+				// NB: Consume the end of block code, if it is next.
+				need(literals.bits);
+				final int entry = literals.entries[(int) bitBuffer & ((1 <<
+					literals.bits) - 1)];
+				if (entry >>> 4 == 256) {
+					bitBuffer >>>= entry & 15;
+					bitCount -= entry & 15;
+					state = HEADER;
+				}
+			}
+			return last && state == HEADER && matchLength == 0;
+		}
+
+		/** Checks the GZIP trailer after the final block. */
+		private void finish() throws IOException {
+			bits(bitCount & 7);
+			bits(16);
+			bits(16);
+			final long size = bits(16) | (long) bits(16) << 16;
+			if (padding > 0 || size != (out & 0xffffffffL)) {
+				throw new IOException("Corrupt GZIP trailer: " + handle.get());
+			}
+		}
+
+		/** Reads the header of the next block. */
+		private void header() throws IOException {
+			if (points.isEmpty() || out - points.get(points.size() - 1).out >= span) {
+				capture();
+			}
+			last = bits(1) == 1;
+			final int type = bits(2);
+			if (type == 0) {
+				bits(bitCount & 7);
+				stored = bits(16);
+				if ((stored ^ 0xffff) != bits(16)) {
+					throw new IOException("Invalid stored block length");
+				}
+				state = stored == 0 ? HEADER : STORED;
+			}
+			else if (type == 1) {
+				literals = FIXED_LITERALS;
+				distances = FIXED_DISTANCES;
+				state = CODES;
+			}
+			else if (type == 2) {
+				dynamicTables();
+				state = CODES;
+			}
+			else throw new IOException("Invalid block type");
+		}
+
+		private void dynamicTables() throws IOException {
+			final int literalCount = bits(5) + 257;
+			final int distanceCount = bits(5) + 1;
+			final int codeLengthCount = bits(4) + 4;
+			final int[] codeLengths = new int[19];
+			for (int i = 0; i < codeLengthCount; i++) {
+				codeLengths[CODE_LENGTH_ORDER[i]] = bits(3);
+			}
+			final Table codeLengthTable = new Table(codeLengths);
+
+			final int[] lengths = new int[literalCount + distanceCount];
+			int i = 0;
+			while (i < lengths.length) {
+				final int symbol = decode(codeLengthTable);
+				if (symbol < 16) {
+					lengths[i++] = symbol;
+					continue;
+				}
+				final int value;
+				final int repeat;
+				if (symbol == 16) {
+					if (i == 0) throw new IOException("Invalid code length repeat");
+					value = lengths[i - 1];
+					repeat = 3 + bits(2);
+				}
+				else {
+					value = 0;
+					repeat = symbol == 17 ? 3 + bits(3) : 11 + bits(7);
+				}
+				if (i + repeat > lengths.length) {
+					throw new IOException("Invalid code length repeat");
+				}
+				Arrays.fill(lengths, i, i + repeat, value);
+				i += repeat;
+			}
+			if (lengths[256] == 0) throw new IOException("Missing end of block code");
+			literals = new Table(Arrays.copyOf(lengths, literalCount));
+			distances = new Table(Arrays.copyOfRange(lengths, literalCount,
+				lengths.length));
+		}
+
+		/** Records an access point at the current block boundary. */
+		private void capture() {
+			final long bitPosition = (inStart + inPos) * 8 - bitCount;
+			final int windowLength = (int) Math.min(out, WINDOW_SIZE);
+			final byte[] w = new byte[windowLength];
+			final int start = (int) (out - windowLength) & WINDOW_MASK;
+			final int first = Math.min(windowLength, WINDOW_SIZE - start);
+			System.arraycopy(window, start, w, 0, first);
+			System.arraycopy(window, 0, w, first, windowLength - first);
+
+			// NB: Windows are kept compressed, as there may be many of them.
+			final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+			final ByteVector compressed = new ByteVector();
+			try {
+				deflater.setInput(w);
+				deflater.finish();
+				final byte[] buf = new byte[8192];
+				while (!deflater.finished()) {
+					compressed.add(buf, 0, deflater.deflate(buf));
+				}
+			}
+			finally {
+				deflater.end();
+			}
+			points.add(new AccessPoint(out, bitPosition >>> 3, (int) (bitPosition &
+				7), compressed.toByteArray(), windowLength));
+		}
+
+		private int decode(final Table table) throws IOException {
+			need(table.bits);
+			final int entry = table.entries[(int) bitBuffer & ((1 << table.bits) -
+				1)];
+			final int l = entry & 15;
+			if (l == 0) throw new IOException("Invalid Huffman code");
+			bitBuffer >>>= l;
+			bitCount -= l;
+			return entry >>> 4;
+		}
+
+		private int bits(final int n) throws IOException {
+			if (n == 0) return 0;
+			need(n);
+			final int value = (int) bitBuffer & ((1 << n) - 1);
+			bitBuffer >>>= n;
+			bitCount -= n;
+			return value;
+		}
+
+		private void need(final int n) throws IOException {
+			if (bitCount >= n) return;
+			if (inLength - inPos >= 8) {
+				while (bitCount <= 56) {
+					bitBuffer |= (long) (in[inPos++] & 0xff) << bitCount;
+					bitCount += 8;
+				}
+				return;
+			}
+			while (bitCount < n) {
+				bitBuffer |= (long) nextByte() << bitCount;
+				bitCount += 8;
+			}
+		}
+
+		private int nextByte() throws IOException {
+			if (inPos == inLength) {
+				inStart += inLength;
+				inPos = 0;
+				handle.seek(offset + inStart);
+				inLength = Math.max(0, handle.read(in, 0, in.length));
+				if (inLength == 0) {
+					// NB: Huffman codes are looked up by their maximum length, so the
+					// last code of the data may need a few bits beyond its end.
+					if (++padding > 4) throw new EOFException("Truncated GZIP stream: " +
+						handle.get());
+					return 0;
+				}
+			}
+			return in[inPos++] & 0xff;
+		}
+	}
+
+	/** {@link Inflater} resuming decompression at an access point. */
+	private final class Cursor {
+
+		private final Inflater inflater = new Inflater(true);
+
+		private final byte[] in = new byte[BUFFER_SIZE];
+
+		/** Offset, from the start of the stream, of the next byte to read. */
+		private long position;
+
+		/** Number of leading bits to drop from the data. */
+		private final int bits;
+
+		/** Uncompressed position of the next byte. */
+		private long out;
+
+		private Cursor(final AccessPoint point) throws IOException {
+			position = point.position;
+			bits = point.bits;
+			out = point.out;
+			if (point.windowLength > 0) inflater.setDictionary(point.window());
+		}
+
+		private int inflate(final byte[] dst, final int off, final int len)
+			throws IOException
+		{
+			try {
+				while (true) {
+					final int n = inflater.inflate(dst, off, len);
+					if (n > 0) {
+						out += n;
+						return n;
+					}
+					if (inflater.finished() || inflater.needsDictionary()) return -1;
+					if (inflater.needsInput()) fill();
+				}
+			}
+			catch (final DataFormatException e) {
+				throw new IOException(e);
+			}
+		}
+
+		private void fill() throws IOException {
+			handle.seek(offset + position);
+			final int r = handle.read(in, 0, in.length);
+			if (r <= 0) throw new EOFException("Truncated GZIP stream: " + handle
+				.get());
+			if (bits == 0) {
+				inflater.setInput(in, 0, r);
+				position += r;
+				return;
+			}
+			// NB: The access point is not byte aligned, so each byte passed to the
+			// inflater combines the upper bits of one stored byte with the lower
+			// bits of the next. The last byte read is used again by the next fill.
+			final int count = r == 1 ? 1 : r - 1;
+			for (int i = 0; i < count; i++) {
+				final int next = i + 1 < r ? in[i + 1] & 0xff : 0;
+				in[i] = (byte) ((in[i] & 0xff) >>> bits | next << (8 - bits));
+			}
+			inflater.setInput(in, 0, count);
+			position += count;
+		}
+	}
+
+}
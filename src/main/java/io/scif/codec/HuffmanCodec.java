@@ -33,7 +33,9 @@ import io.scif.FormatException;
 import io.scif.UnsupportedCompressionException;
 
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.scijava.io.handle.DataHandle;
 import org.scijava.io.location.Location;
@@ -53,9 +55,9 @@ public class HuffmanCodec extends AbstractCodec {
 
 	// -- Fields --
 
-	private int leafCounter;
-
-	private final HashMap<short[], Decoder> cachedDecoders = new HashMap<>();
+	/** Decoders by table; shared by threads decoding tiles in parallel. */
+	private final Map<short[], Decoder> cachedDecoders =
+		new ConcurrentHashMap<>();
 
 	// -- Codec API methods --
 
@@ -120,18 +122,24 @@ public class HuffmanCodec extends AbstractCodec {
 		}
 
 		final HuffmanCodecOptions huffman = (HuffmanCodecOptions) options;
-		Decoder decoder = cachedDecoders.get(huffman.table);
-		if (decoder == null) {
-			decoder = new Decoder(huffman.table);
-			cachedDecoders.put(huffman.table, decoder);
-		}
+		return getSample(bb, getDecoder(huffman.table));
+	}
 
+	// -- Package-private methods --
+
+	/** Gets the (cached) decoder of the given Huffman table. */
+	Decoder getDecoder(final short[] table) {
+		return cachedDecoders.computeIfAbsent(table, Decoder::new);
+	}
+
+	/** Decodes the next sample difference using the given decoder. */
+	int getSample(final BitBuffer bb, final Decoder decoder) {
 		int bitCount = decoder.decode(bb);
 		if (bitCount == 16) {
 			return 0x8000;
 		}
 		if (bitCount < 0) bitCount = 0;
-		int v = bb.getBits(bitCount) & ((int) Math.pow(2, bitCount) - 1);
+		int v = bb.getBits(bitCount) & ((1 << bitCount) - 1);
 		if ((v & (1 << (bitCount - 1))) == 0) {
 			v -= (1 << bitCount) - 1;
 		}
@@ -141,56 +149,89 @@ public class HuffmanCodec extends AbstractCodec {
 
 	// -- Helper class --
 
-	class Decoder {
+	/**
+	 * Decoder of a canonical Huffman code, as defined by a JPEG DHT segment: the
+	 * number of codes of each length from 1 to 16, followed by the code values.
+	 * <p>
+	 * Codes of up to {@link #LOOKUP_BITS} bits are resolved by a single table
+	 * lookup; longer codes are found by comparing against the largest code of
+	 * each length, as in the JPEG specification (F.2.2.3).
+	 * </p>
+	 */
+	static final class Decoder {
 
-		public Decoder[] branch = new Decoder[2];
+		/** Number of bits resolved by one table lookup. */
+		private static final int LOOKUP_BITS = 10;
 
-		private int leafValue = -1;
+		/** Maximum length of a code. */
+		private static final int MAX_BITS = 16;
 
-		public Decoder() {}
+		/**
+		 * Value (upper bits) and code length (lower 8 bits) for each possible
+		 * {@link #LOOKUP_BITS}-bit prefix, or 0 if the code is longer.
+		 */
+		private final int[] lookup = new int[1 << LOOKUP_BITS];
 
-		public Decoder(final short[] source) {
-			leafCounter = 0;
-			createDecoder(this, source, 0, 0);
-		}
+		/** Largest code of each length, or -1 if there are none. */
+		private final int[] maxCode = new int[MAX_BITS + 1];
 
-		private Decoder createDecoder(final short[] source, final int start,
-			final int level)
-		{
-			final Decoder dest = new Decoder();
-			createDecoder(dest, source, start, level);
-			return dest;
-		}
+		/** Difference between the value index and the code, for each length. */
+		private final int[] valueOffset = new int[MAX_BITS + 1];
 
-		private void createDecoder(final Decoder dest, final short[] source,
-			final int start, final int level)
-		{
-			int next = 0;
-			int i = 0;
-			while (i <= leafCounter && next < LEAVES_OFFSET) {
-				i += source[start + next++] & 0xff;
-			}
+		private final int[] values;
 
-			if (level < next && next < LEAVES_OFFSET) {
-				dest.branch[0] = createDecoder(source, start, level + 1);
-				dest.branch[1] = createDecoder(source, start, level + 1);
+		public Decoder(final short[] source) {
+			int total = 0;
+			for (int l = 0; l < LEAVES_OFFSET; l++) {
+				total += source[l] & 0xff;
 			}
-			else {
-				i = start + LEAVES_OFFSET + leafCounter++;
-				if (i < source.length) {
-					dest.leafValue = source[i] & 0xff;
+			values = new int[total];
+			for (int i = 0; i < total; i++) {
+				values[i] = LEAVES_OFFSET + i < source.length ? source[LEAVES_OFFSET +
+					i] & 0xff : -1;
+			}
+
+			int code = 0;
+			int index = 0;
+			for (int l = 1; l <= MAX_BITS; l++) {
+				// NB: Over-subscribed lengths are truncated to the available codes.
+				final int count = Math.min(source[l - 1] & 0xff, (1 << l) - code);
+				valueOffset[l] = index - code;
+				maxCode[l] = count > 0 ? code + count - 1 : -1;
+				for (int i = 0; i < count; i++, code++, index++) {
+					if (l > LOOKUP_BITS) continue;
+					final int entry = values[index] << 8 | l;
+					final int first = code << (LOOKUP_BITS - l);
+					Arrays.fill(lookup, first, first + (1 << (LOOKUP_BITS - l)), entry);
 				}
+				index += (source[l - 1] & 0xff) - count;
+				code <<= 1;
 			}
 		}
 
+		/**
+		 * Decodes the next value.
+		 *
+		 * @return The value, or -1 at the end of the buffer or for an invalid
+		 *         code.
+		 */
 		public int decode(final BitBuffer bb) {
-			Decoder d = this;
-			while (d.branch[0] != null) {
-				final int v = bb.getBits(1);
-				if (v < 0) break; // eof
-				d = d.branch[v];
+			final int bits = bb.peekBits(MAX_BITS);
+			if (bits < 0) return -1; // eof
+			final int entry = lookup[bits >>> (MAX_BITS - LOOKUP_BITS)];
+			if (entry != 0) {
+				bb.skipBits(entry & 0xff);
+				return entry >> 8;
+			}
+			for (int l = LOOKUP_BITS + 1; l <= MAX_BITS; l++) {
+				final int code = bits >>> (MAX_BITS - l);
+				if (code <= maxCode[l]) {
+					bb.skipBits(l);
+					return values[code + valueOffset[l]];
+				}
 			}
-			return d.leafValue;
+			bb.skipBits(MAX_BITS);
+			return -1;
 		}
 
 	}
@@ -104,6 +104,10 @@ public class LZWCodec extends AbstractCodec {
 	private static final int[] DECOMPR_MASKS = { 0x00, 0x01, 0x03, 0x07, 0x0f,
 		0x1f, 0x3f, 0x7f };
 
+	/** Code tables for decompression, one per thread. */
+	private static final ThreadLocal<Table> TABLES = ThreadLocal.withInitial(
+		Table::new);
+
 	@Override
 	public byte[] compress(final byte[] input, final CodecOptions options)
 		throws FormatException
@@ -257,6 +261,24 @@ public class LZWCodec extends AbstractCodec {
 		return result;
 	}
 
+	/**
+	 * The CodecOptions parameter should have the following fields set:
+	 * {@link CodecOptions#maxBytes maxBytes}
+	 *
+	 * @see Codec#decompress(byte[], CodecOptions)
+	 */
+	@Override
+	public byte[] decompress(final byte[] data, CodecOptions options)
+		throws FormatException
+	{
+		if (data == null || data.length == 0) return null;
+		if (options == null) options = CodecOptions.getDefaultOptions();
+
+		final byte[] output = new byte[options.maxBytes];
+		decode(data, 0, data.length, output, 0, output.length, TABLES.get());
+		return output;
+	}
+
 	/**
 	 * The CodecOptions parameter should have the following fields set:
 	 * {@link CodecOptions#maxBytes maxBytes}
@@ -270,26 +292,77 @@ public class LZWCodec extends AbstractCodec {
 		if (in == null || in.length() == 0) return null;
 		if (options == null) options = CodecOptions.getDefaultOptions();
 
-		// Output buffer
+		final long start = in.offset();
+		final long available = in.length() - start;
 		final byte[] output = new byte[options.maxBytes];
-		// Position in output buffer to write next byte to
-		int currOutPos = 0;
-
-		// Table mapping codes to strings.
-		// Its structure is based on the fact that a string for a code has form:
-		// (string for another code) + (new byte).
-		// Thus, at index 'code': first array contains 'another code', second
-		// array
-		// contains 'new byte', and third array contains length of the string.
-		// The length is needed to make retrieving the string faster.
-		final int[] anotherCodes = new int[4096];
-		final byte[] newBytes = new byte[4096];
-		final int[] lengths = new int[4096];
-		// We need to initialize only firt 256 entries in the table
-		for (int i = 0; i < 256; i++) {
-			newBytes[i] = (byte) i;
-			lengths[i] = 1;
+		final Table table = TABLES.get();
+
+		// NB: Every code but CLEAR and END_OF_INFORMATION yields at least one
+		// byte and takes at most 12 bits, so the compressed data normally ends
+		// within this window; the window is only widened if it does not.
+		long window = Math.min(available, (long) options.maxBytes * 3 / 2 + 8);
+		while (true) {
+			if (window > Integer.MAX_VALUE) {
+				throw new FormatException("Compressed data is greater than 2 GB");
+			}
+			final byte[] input = new byte[(int) window];
+			in.seek(start);
+			in.readFully(input);
+			final int n = decode(input, 0, input.length, output, 0, output.length,
+				table);
+			if (n == output.length || table.consumed < input.length ||
+				window == available)
+			{
+				break;
+			}
+			window = Math.min(available, 2 * window);
 		}
+		// NB: Leave the handle just past the compressed data, as when it was
+		// read byte by byte.
+		in.seek(start + table.consumed);
+		return output;
+	}
+
+	/**
+	 * Decodes directly into {@code out}, reusing this thread's code table, so
+	 * that no memory is allocated. At most {@link CodecOptions#maxBytes
+	 * maxBytes} bytes are written, if set.
+	 */
+	@Override
+	public int decompress(final byte[] in, final int inOffset,
+		final int inLength, final byte[] out, final int outOffset,
+		final CodecOptions options) throws FormatException
+	{
+		if (in == null || inLength == 0) return 0;
+		int outEnd = out.length;
+		if (options != null && options.maxBytes > 0) {
+			outEnd = (int) Math.min(outEnd, (long) outOffset + options.maxBytes);
+		}
+		return decode(in, inOffset, inOffset + inLength, out, outOffset, outEnd,
+			TABLES.get());
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Decodes {@code input[inPos..inEnd)} into {@code output[outOffset..outEnd)}.
+	 * Decoding stops at the end of the input, the {@code END_OF_INFORMATION}
+	 * code, or when the output is full.
+	 *
+	 * @return The number of bytes written.
+	 */
+	private static int decode(final byte[] input, int inPos, final int inEnd,
+		final byte[] output, final int outOffset, final int outEnd,
+		final Table table) throws FormatException
+	{
+		final int inStart = inPos;
+		// Position in output buffer to write next byte to
+		int currOutPos = outOffset;
+
+		// Table mapping codes to strings; see Table.
+		final int[] anotherCodes = table.anotherCodes;
+		final byte[] newBytes = table.newBytes;
+		final int[] lengths = table.lengths;
 
 		// Length of the code to be read from input
 		int currCodeLength = 9;
@@ -309,17 +382,20 @@ public class LZWCodec extends AbstractCodec {
 		// Previous code processed by decompressor.
 		int oldCode = 0; // without initializer, Java reports error later
 
+		// NB: Bytes past the end of the input read as 0xff, which is what
+		// DataHandle.read() & 0xff yields at the end of the stream.
 		try {
 			do {
 				// read next code
 				{
 					int bitsLeft = currCodeLength - bitsRead;
 					if (bitsLeft > 8) {
-						currRead = (currRead << 8) | (in.read() & 0xff);
+						currRead = (currRead << 8) | (inPos < inEnd ? input[inPos++] & 0xff
+							: 0xff);
 						bitsLeft -= 8;
 					}
 					bitsRead = 8 - bitsLeft;
-					final int nextByte = in.read() & 0xff;
+					final int nextByte = inPos < inEnd ? input[inPos++] & 0xff : 0xff;
 					currCode = (currRead << bitsLeft) | (nextByte >> bitsRead);
 					currRead = nextByte & DECOMPR_MASKS[bitsRead];
 				}
@@ -334,12 +410,13 @@ public class LZWCodec extends AbstractCodec {
 					{
 						int bitsLeft = currCodeLength - bitsRead;
 						if (bitsLeft > 8) {
-							currRead = (currRead << 8) | (in.read() & 0xff);
+							currRead = (currRead << 8) | (inPos < inEnd ? input[inPos++] &
+								0xff : 0xff);
 							bitsLeft -= 8;
 						}
 						bitsRead = 8 - bitsLeft;
 
-						final int nextByte = in.read() & 0xff;
+						final int nextByte = inPos < inEnd ? input[inPos++] & 0xff : 0xff;
 						currCode = (currRead << bitsLeft) | (nextByte >> bitsRead);
 						currRead = nextByte & DECOMPR_MASKS[bitsRead];
 					}
@@ -347,7 +424,7 @@ public class LZWCodec extends AbstractCodec {
 					// write string[curr_code] to output
 					// -- but here we are sure that string consists of a single
 					// byte
-					if (currOutPos >= output.length - 1) break;
+					if (currOutPos >= outEnd - 1) break;
 					output[currOutPos++] = newBytes[currCode];
 					oldCode = currCode;
 				}
@@ -357,7 +434,7 @@ public class LZWCodec extends AbstractCodec {
 					final int outLength = lengths[currCode];
 					int i = currOutPos + outLength;
 					int tablePos = currCode;
-					if (i > output.length) break;
+					if (i > outEnd) break;
 					while (i > currOutPos) {
 						output[--i] = newBytes[tablePos];
 						tablePos = anotherCodes[tablePos];
@@ -378,14 +455,14 @@ public class LZWCodec extends AbstractCodec {
 					final int outLength = lengths[oldCode];
 					int i = currOutPos + outLength;
 					int tablePos = oldCode;
-					if (i > output.length) break;
+					if (i > outEnd) break;
 					while (i > currOutPos) {
 						output[--i] = newBytes[tablePos];
 						tablePos = anotherCodes[tablePos];
 					}
 					currOutPos += outLength;
 					// 2) Write firstByte(string[old_code]) to output
-					if (currOutPos >= output.length) break;
+					if (currOutPos >= outEnd) break;
 					output[currOutPos++] = output[i];
 					// 3) Add string[old_code]+firstByte(string[old_code]) to
 					// the table
@@ -408,11 +485,43 @@ public class LZWCodec extends AbstractCodec {
 						break;
 				}
 			}
-			while (currOutPos < output.length && in.offset() < in.length());
+			while (currOutPos < outEnd && inPos < inEnd);
 		}
 		catch (final ArrayIndexOutOfBoundsException e) {
 			throw new FormatException("Invalid LZW data", e);
 		}
-		return output;
+		table.consumed = inPos - inStart;
+		return currOutPos - outOffset;
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * Table mapping codes to strings, kept per thread so that decoding does not
+	 * allocate. Its structure is based on the fact that a string for a code has
+	 * form: (string for another code) + (new byte). Thus, at index 'code': first
+	 * array contains 'another code', second array contains 'new byte', and third
+	 * array contains length of the string. The length is needed to make
+	 * retrieving the string faster.
+	 */
+	private static final class Table {
+
+		private final int[] anotherCodes = new int[4096];
+
+		private final byte[] newBytes = new byte[4096];
+
+		private final int[] lengths = new int[4096];
+
+		/** Number of input bytes consumed by the last decode. */
+		private int consumed;
+
+		private Table() {
+			// We need to initialize only first 256 entries in the table; codes
+			// from FIRST_CODE on are always written before they are read.
+			for (int i = 0; i < 256; i++) {
+				newBytes[i] = (byte) i;
+				lengths[i] = 1;
+			}
+		}
 	}
 }
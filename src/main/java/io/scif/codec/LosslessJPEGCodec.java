@@ -200,27 +200,28 @@ public class LosslessJPEGCodec extends AbstractCodec {
 
 				final BitBuffer bb = new BitBuffer(toDecode);
 				final HuffmanCodec huffman = codecService.getCodec(HuffmanCodec.class);
-				final HuffmanCodecOptions huffmanOptions = new HuffmanCodecOptions();
-				huffmanOptions.bitsPerSample = bitsPerSample;
-				huffmanOptions.maxBytes = buf.length / nComponents;
+
+				// NB: Look up the decoder of each component once, rather than for
+				// every sample.
+				final HuffmanCodec.Decoder[] decoders =
+					new HuffmanCodec.Decoder[nComponents];
+				for (int i = 0; i < nComponents; i++) {
+					final short[] table = huffmanTables == null ? null
+						: huffmanTables[dcTable[i]];
+					if (table == null) {
+						throw new UnsupportedCompressionException(
+							"Arithmetic coding not supported");
+					}
+					decoders[i] = huffman.getDecoder(table);
+				}
+				final int initialPrediction = 1 << (bitsPerSample - 1);
 
 				int nextSample = 0;
 				while (nextSample < buf.length / nComponents) {
 					for (int i = 0; i < nComponents; i++) {
-						if (huffmanTables != null) {
-							huffmanOptions.table = huffmanTables[dcTable[i]];
-						}
-						int v = 0;
-
-						if (huffmanOptions.table != null) {
-							v = huffman.getSample(bb, huffmanOptions);
-							if (nextSample == 0) {
-								v += (int) Math.pow(2, bitsPerSample - 1);
-							}
-						}
-						else {
-							throw new UnsupportedCompressionException(
-								"Arithmetic coding not supported");
+						int v = huffman.getSample(bb, decoders[i]);
+						if (nextSample == 0) {
+							v += initialPrediction;
 						}
 
 						// apply predictor to the sample
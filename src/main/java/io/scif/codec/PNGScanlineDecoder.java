@@ -0,0 +1,251 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.codec;
+
+import io.scif.FormatException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.scijava.io.handle.DataHandle;
+import org.scijava.io.location.Location;
+
+/**
+ * Decodes the scanlines of a non-interlaced PNG image, one row at a time.
+ * <p>
+ * The zlib stream is read from a list of segments of a {@link DataHandle},
+ * such as the payloads of the IDAT chunks of a PNG or the fdAT chunks of an
+ * APNG frame, and is inflated only as far as the rows which are requested. The
+ * PNG filters (None, Sub, Up, Average and Paeth) are reversed in place, so a
+ * row is only ever held in two buffers: the current row and its predecessor.
+ * </p>
+ *
+ * @see <a href="http://www.libpng.org/pub/png/spec/1.2/PNG-Filters.html">PNG
+ *      Filter Algorithms</a>
+ */
+public class PNGScanlineDecoder implements Closeable {
+
+	// -- Constants --
+
+	private static final int BUFFER_SIZE = 8192;
+
+	// -- Fields --
+
+	private final DataHandle<Location> handle;
+
+	private final long[] offsets;
+
+	private final int[] lengths;
+
+	private final Inflater inflater = new Inflater();
+
+	private final byte[] input;
+
+	/** Number of bytes between corresponding bytes of adjacent pixels. */
+	private final int bpp;
+
+	private final int rowBytes;
+
+	private byte[] current;
+
+	private byte[] prior;
+
+	private final byte[] filter = new byte[1];
+
+	/** Index of the next segment to feed to the inflater. */
+	private int segment;
+
+	/** Offset of the next unread byte within the current segment. */
+	private int segmentOffset;
+
+	// -- Constructor --
+
+	/**
+	 * @param handle Handle from which the compressed data is read.
+	 * @param offsets Offsets of the segments of the zlib stream, in order.
+	 * @param lengths Lengths of the segments of the zlib stream.
+	 * @param width Width of the image, in pixels.
+	 * @param samplesPerPixel Number of samples per pixel: 1 for grayscale and
+	 *          indexed, 2 for grayscale with alpha, 3 for RGB and 4 for RGBA.
+	 * @param bitDepth Number of bits per sample.
+	 */
+	public PNGScanlineDecoder(final DataHandle<Location> handle,
+		final long[] offsets, final int[] lengths, final int width,
+		final int samplesPerPixel, final int bitDepth)
+	{
+		this.handle = handle;
+		this.offsets = offsets;
+		this.lengths = lengths;
+		final int bitsPerPixel = samplesPerPixel * bitDepth;
+		bpp = Math.max(1, bitsPerPixel / 8);
+		rowBytes = (int) (((long) width * bitsPerPixel + 7) / 8);
+		current = new byte[rowBytes];
+		prior = new byte[rowBytes];
+		input = new byte[BUFFER_SIZE];
+	}
+
+	// -- PNGScanlineDecoder API methods --
+
+	/** @return The number of bytes in one unfiltered row. */
+	public int getRowBytes() {
+		return rowBytes;
+	}
+
+	/**
+	 * Decodes the next row.
+	 *
+	 * @return The unfiltered row, in the first {@link #getRowBytes()} bytes of
+	 *         the returned array. The array is reused by the next call.
+	 */
+	public byte[] nextRow() throws FormatException, IOException {
+		final byte[] row = prior;
+		prior = current;
+		current = row;
+
+		inflate(filter, 0, 1);
+		inflate(row, 0, rowBytes);
+		unfilter(filter[0], row, prior, rowBytes, bpp);
+		return row;
+	}
+
+	/**
+	 * Decodes and discards the given number of rows. Since every row may be
+	 * predicted from the previous one, skipped rows must still be unfiltered.
+	 */
+	public void skipRows(final int count) throws FormatException, IOException {
+		for (int i = 0; i < count; i++) {
+			nextRow();
+		}
+	}
+
+	// -- Closeable API methods --
+
+	@Override
+	public void close() {
+		inflater.end();
+	}
+
+	// -- Utility methods --
+
+	/**
+	 * Reverses the PNG filter of one row, in place.
+	 *
+	 * @param type The filter type byte preceding the row.
+	 * @param row The filtered row.
+	 * @param prior The previous unfiltered row, or all zeros for the first row.
+	 * @param length The number of bytes in the row.
+	 * @param bpp The number of bytes per complete pixel, rounded up to 1.
+	 */
+	public static void unfilter(final byte type, final byte[] row,
+		final byte[] prior, final int length, final int bpp)
+		throws FormatException
+	{
+		switch (type) {
+			case 0: // None
+				break;
+			case 1: // Sub
+				for (int i = bpp; i < length; i++) {
+					row[i] += row[i - bpp];
+				}
+				break;
+			case 2: // Up
+				for (int i = 0; i < length; i++) {
+					row[i] += prior[i];
+				}
+				break;
+			case 3: // Average
+				for (int i = 0; i < bpp; i++) {
+					row[i] += (prior[i] & 0xff) >>> 1;
+				}
+				for (int i = bpp; i < length; i++) {
+					row[i] += ((row[i - bpp] & 0xff) + (prior[i] & 0xff)) >>> 1;
+				}
+				break;
+			case 4: // Paeth
+				for (int i = 0; i < bpp; i++) {
+					row[i] += prior[i];
+				}
+				for (int i = bpp; i < length; i++) {
+					final int a = row[i - bpp] & 0xff;
+					final int b = prior[i] & 0xff;
+					final int c = prior[i - bpp] & 0xff;
+					final int pa = Math.abs(b - c);
+					final int pb = Math.abs(a - c);
+					final int pc = Math.abs(a + b - 2 * c);
+					row[i] += pa <= pb && pa <= pc ? a : pb <= pc ? b : c;
+				}
+				break;
+			default:
+				throw new FormatException("Invalid PNG filter type: " + type);
+		}
+	}
+
+	// -- Helper methods --
+
+	/** Inflates exactly {@code len} bytes, reading more input as needed. */
+	private void inflate(final byte[] buf, int off, int len)
+		throws FormatException, IOException
+	{
+		try {
+			while (len > 0) {
+				final int n = inflater.inflate(buf, off, len);
+				off += n;
+				len -= n;
+				if (n == 0) {
+					if (inflater.finished() || inflater.needsDictionary()) {
+						throw new FormatException("Truncated PNG image data");
+					}
+					if (inflater.needsInput()) fill();
+				}
+			}
+		}
+		catch (final DataFormatException e) {
+			throw new FormatException("Invalid PNG image data", e);
+		}
+	}
+
+	/** Feeds the next block of compressed data to the inflater. */
+	private void fill() throws FormatException, IOException {
+		while (segment < offsets.length && segmentOffset >= lengths[segment]) {
+			segment++;
+			segmentOffset = 0;
+		}
+		if (segment >= offsets.length) {
+			throw new FormatException("Truncated PNG image data");
+		}
+		final int n = Math.min(input.length, lengths[segment] - segmentOffset);
+		handle.seek(offsets[segment] + segmentOffset);
+		handle.readFully(input, 0, n);
+		segmentOffset += n;
+		inflater.setInput(input, 0, n);
+	}
+}
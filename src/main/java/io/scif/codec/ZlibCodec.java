@@ -31,59 +31,180 @@ package io.scif.codec;
 
 import io.scif.FormatException;
 
-import java.io.EOFException;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
 import java.util.zip.Deflater;
-import java.util.zip.InflaterInputStream;
+import java.util.zip.Inflater;
 
 import org.scijava.io.handle.DataHandle;
-import org.scijava.io.handle.DataHandleInputStream;
 import org.scijava.io.location.Location;
 import org.scijava.plugin.Plugin;
 
 /**
- * This class implements ZLIB decompression.
+ * This class implements ZLIB compression and decompression. {@link Inflater}
+ * and {@link Deflater} instances are kept per thread and reused, and data is
+ * inflated in one pass into an array of {@link CodecOptions#maxBytes maxBytes}
+ * when that is known.
  *
  * @author Melissa Linkert
  */
 @Plugin(type = Codec.class)
 public class ZlibCodec extends AbstractCodec {
 
+	/** Inflaters for decompression, one per thread. */
+	private static final ThreadLocal<Inflater> INFLATERS = ThreadLocal
+		.withInitial(Inflater::new);
+
+	/** Deflaters for compression, one per thread. */
+	private static final ThreadLocal<Deflater> DEFLATERS = ThreadLocal
+		.withInitial(Deflater::new);
+
+	/**
+	 * The CodecOptions parameter may have the following fields set:
+	 * {@link CodecOptions#compressionLevel compressionLevel},
+	 * {@link CodecOptions#compressionStrategy compressionStrategy}
+	 *
+	 * @see Codec#compress(byte[], CodecOptions)
+	 */
 	@Override
 	public byte[] compress(final byte[] data, final CodecOptions options)
 		throws FormatException
 	{
 		if (data == null || data.length == 0) throw new IllegalArgumentException(
 			"No data to compress");
-		final Deflater deflater = new Deflater();
+		final Deflater deflater = DEFLATERS.get();
+		deflater.reset();
+		deflater.setLevel(options == null ? Deflater.DEFAULT_COMPRESSION
+			: options.compressionLevel);
+		deflater.setStrategy(options == null ? Deflater.DEFAULT_STRATEGY
+			: options.compressionStrategy);
 		deflater.setInput(data);
 		deflater.finish();
-		final byte[] buf = new byte[8192];
-		final ByteVector bytes = new ByteVector();
-		int r = 0;
-		// compress until eof reached
-		while ((r = deflater.deflate(buf, 0, buf.length)) > 0) {
-			bytes.add(buf, 0, r);
+
+		// NB: Start from zlib's bound on the size of deflated data, so that
+		// incompressible data also deflates in one pass.
+		final long bound = (long) data.length + (data.length >> 12) +
+			(data.length >> 14) + (data.length >> 25) + 13;
+		byte[] buf = new byte[(int) Math.min(bound, Integer.MAX_VALUE - 8)];
+		int length = 0;
+		while (!deflater.finished()) {
+			if (length == buf.length) buf = grow(buf);
+			length += deflater.deflate(buf, length, buf.length - length);
 		}
-		return bytes.toByteArray();
+		return length == buf.length ? buf : Arrays.copyOf(buf, length);
+	}
+
+	/**
+	 * The CodecOptions parameter may have the following fields set:
+	 * {@link CodecOptions#maxBytes maxBytes}, used to size the output. All of
+	 * the data is decompressed, regardless.
+	 *
+	 * @see Codec#decompress(byte[], CodecOptions)
+	 */
+	@Override
+	public byte[] decompress(final byte[] data, final CodecOptions options)
+		throws FormatException
+	{
+		return inflate(data, 0, data.length, options);
 	}
 
 	@Override
 	public byte[] decompress(final DataHandle<Location> in,
 		final CodecOptions options) throws FormatException, IOException
 	{
-		final InflaterInputStream i = new InflaterInputStream(
-			new DataHandleInputStream<>(in));
-		final ByteVector bytes = new ByteVector();
-		final byte[] buf = new byte[8192];
-		int r = 0;
-		// read until eof reached
+		final long start = in.offset();
+		final long available = in.length() - start;
+		if (available > Integer.MAX_VALUE) {
+			throw new FormatException("Compressed data is greater than 2 GB");
+		}
+		final byte[] data = new byte[(int) available];
+		in.readFully(data);
+		final byte[] output = inflate(data, 0, data.length, options);
+		// NB: Leave the handle just past the compressed data.
+		in.seek(start + INFLATERS.get().getBytesRead());
+		return output;
+	}
+
+	/**
+	 * Inflates directly into {@code out}, using this thread's {@link Inflater},
+	 * so that no memory is allocated. At most {@link CodecOptions#maxBytes
+	 * maxBytes} bytes are written, if set.
+	 */
+	@Override
+	public int decompress(final byte[] in, final int inOffset,
+		final int inLength, final byte[] out, final int outOffset,
+		final CodecOptions options) throws FormatException
+	{
+		int outEnd = out.length;
+		if (options != null && options.maxBytes > 0) {
+			outEnd = (int) Math.min(outEnd, (long) outOffset + options.maxBytes);
+		}
+		final Inflater inflater = INFLATERS.get();
+		inflater.reset();
+		inflater.setInput(in, inOffset, inLength);
+		return inflate(inflater, out, outOffset, outEnd) - outOffset;
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Inflates all of the given data, into an array of
+	 * {@link CodecOptions#maxBytes maxBytes} if set and otherwise of a size
+	 * estimated from the input, grown as needed.
+	 */
+	private static byte[] inflate(final byte[] data, final int offset,
+		final int length, final CodecOptions options) throws FormatException
+	{
+		final Inflater inflater = INFLATERS.get();
+		inflater.reset();
+		inflater.setInput(data, offset, length);
+
+		final long estimate = options != null && options.maxBytes > 0
+			? options.maxBytes : 4L * length + 64;
+		byte[] buf = new byte[(int) Math.min(estimate, Integer.MAX_VALUE - 8)];
+		int n = inflate(inflater, buf, 0, buf.length);
+		while (n == buf.length && !inflater.finished() && !inflater
+			.needsInput())
+		{
+			buf = grow(buf);
+			n = inflate(inflater, buf, n, buf.length);
+		}
+		return n == buf.length ? buf : Arrays.copyOf(buf, n);
+	}
+
+	/**
+	 * Inflates into {@code buf[pos..end)} until the stream ends, the input is
+	 * exhausted, or the buffer is full.
+	 *
+	 * @return The position after the last byte written.
+	 */
+	private static int inflate(final Inflater inflater, final byte[] buf,
+		int pos, final int end) throws FormatException
+	{
 		try {
-			while ((r = i.read(buf, 0, buf.length)) > 0)
-				bytes.add(buf, 0, r);
+			while (pos < end && !inflater.finished()) {
+				final int n = inflater.inflate(buf, pos, end - pos);
+				if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					// NB: Truncated data yields as much as could be inflated.
+					break;
+				}
+				pos += n;
+			}
+		}
+		catch (final DataFormatException e) {
+			throw new FormatException("Invalid ZLIB data", e);
+		}
+		return pos;
+	}
+
+	/** @return A copy of the given array with twice its length. */
+	private static byte[] grow(final byte[] buf) {
+		final long length = Math.max(2L * buf.length, 64);
+		if (buf.length >= Integer.MAX_VALUE - 8) {
+			throw new IllegalStateException("Data is greater than 2 GB");
 		}
-		catch (final EOFException e) {}
-		return bytes.toByteArray();
+		return Arrays.copyOf(buf, (int) Math.min(length, Integer.MAX_VALUE - 8));
 	}
 
 }
@@ -33,9 +33,14 @@ import io.scif.Checker;
 import io.scif.Groupable;
 import io.scif.MetadataLevel;
 import io.scif.Parser;
+import io.scif.Reader;
 import io.scif.Writer;
 import io.scif.codec.CodecOptions;
 import io.scif.codec.CompressionType;
+import io.scif.codec.GzipIndex;
+import io.scif.formats.tiff.TiffPyramidWriter;
+import io.scif.formats.tiff.TiffPyramidWriter.Downsampling;
+import io.scif.formats.tiff.TileCache;
 import io.scif.img.ImageRegion;
 import io.scif.img.ImgFactoryHeuristic;
 import io.scif.img.ImgOpener;
@@ -45,6 +50,7 @@ import io.scif.img.converters.PlaneConverter;
 
 import java.awt.image.ColorModel;
 import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
 
 import net.imglib2.img.array.ArrayImgFactory;
 import net.imglib2.img.cell.CellImgFactory;
@@ -70,6 +76,7 @@ import org.scijava.plugin.Parameter;
  * @author Mark Hiner
  * @see Checker
  * @see Parser
+ * @see Reader
  * @see Writer
  * @see Groupable
  * @see ImgOpener
@@ -91,6 +98,19 @@ public class SCIFIOConfig extends HashMap<String, Object> {
 
 	private boolean saveOriginalMetadata;
 
+	private boolean metadataCached = false;
+
+	// Reader
+	private ExecutorService decodeExecutor = null;
+
+	private TileCache tileCache = null;
+
+	private boolean memoryMapped = false;
+
+	private long gzipIndexSpan = GzipIndex.DEFAULT_SPAN;
+
+	private boolean gzipIndexPersisted = false;
+
 	// Writer
 	private boolean writeSequential = false;
 
@@ -104,10 +124,18 @@ public class SCIFIOConfig extends HashMap<String, Object> {
 
 	private CodecOptions options = null;
 
+	private ExecutorService encodeExecutor = null;
+
 	// Groupable
 	/** Whether or not to group multi-file formats. */
 	private boolean group = false;
 
+	/** Number of initialized per-file readers kept open while stitching. */
+	private int readerPoolSize = 16;
+
+	/** Milliseconds after which an unused per-file reader is closed. */
+	private long readerIdleTimeout = 0;
+
 	// ImgOpener
 
 	/**
@@ -149,9 +177,26 @@ public class SCIFIOConfig extends HashMap<String, Object> {
 	// Custom heuristic for choosing an ImgFactory
 	private ImgFactoryHeuristic imgFactoryHeuristic = null;
 
+	// Number of planes to read ahead of conversion
+	private int prefetchDepth = 0;
+
+	// Resolution level to open
+	private int resolutionLevel = 0;
+
 	// ImgSaver
 	private boolean writeRGB = true;
 
+	// Whether to write tiled TIFF pyramids, and how
+	private boolean writePyramid = false;
+
+	private int tileWidth = TiffPyramidWriter.DEFAULT_TILE_SIZE;
+
+	private int tileHeight = TiffPyramidWriter.DEFAULT_TILE_SIZE;
+
+	private Downsampling downsampling = Downsampling.MEAN;
+
+	private int pyramidLevels = Integer.MAX_VALUE;
+
 	// Logger parameter
 	@Parameter
 	private LogService logService;
@@ -184,20 +229,36 @@ public class SCIFIOConfig extends HashMap<String, Object> {
 		level = config.level;
 		filterMetadata = config.filterMetadata;
 		saveOriginalMetadata = config.saveOriginalMetadata;
+		metadataCached = config.metadataCached;
+		decodeExecutor = config.decodeExecutor;
+		tileCache = config.tileCache;
+		memoryMapped = config.memoryMapped;
+		gzipIndexSpan = config.gzipIndexSpan;
+		gzipIndexPersisted = config.gzipIndexPersisted;
 		writeSequential = config.writeSequential;
 		failIfOverwriting = config.failIfOverwriting;
 		model = config.model;
 		fps = config.fps;
 		compression = config.compression;
 		options = config.options;
+		encodeExecutor = config.encodeExecutor;
 		group = config.group;
+		readerPoolSize = config.readerPoolSize;
+		readerIdleTimeout = config.readerIdleTimeout;
 		imgModes = config.imgModes;
 		range = config.range;
 		region = config.region;
 		computeMinMax = config.computeMinMax;
 		planeConverter = config.planeConverter;
 		imgFactoryHeuristic = config.imgFactoryHeuristic;
+		prefetchDepth = config.prefetchDepth;
+		resolutionLevel = config.resolutionLevel;
 		writeRGB = config.writeRGB;
+		writePyramid = config.writePyramid;
+		tileWidth = config.tileWidth;
+		tileHeight = config.tileHeight;
+		downsampling = config.downsampling;
+		pyramidLevels = config.pyramidLevels;
 		bufferedReading = config.bufferedReading;
 		logService = config.logService;
 	}
@@ -274,6 +335,140 @@ public class SCIFIOConfig extends HashMap<String, Object> {
 		return this;
 	}
 
+	/**
+	 * @return True if parsed metadata should be stored in, and loaded from, the
+	 *         persistent {@link io.scif.services.MetadataCacheService}.
+	 *         Default: false
+	 */
+	public boolean parserIsMetadataCached() {
+		return metadataCached;
+	}
+
+	/**
+	 * @param metadataCached Whether to reuse metadata cached on disk from a
+	 *          previous parse of the same, unmodified file.
+	 * @return This SCIFIOConfig for method chaining.
+	 */
+	public SCIFIOConfig parserSetMetadataCached(final boolean metadataCached) {
+		this.metadataCached = metadataCached;
+		return this;
+	}
+
+	// -- Reader methods --
+
+	/**
+	 * @return The executor readers may use to decode compressed blocks (e.g.
+	 *         TIFF tiles) of a plane concurrently, or null if decoding should
+	 *         happen on the calling thread. Default: null
+	 */
+	public ExecutorService readerGetDecodeExecutor() {
+		return decodeExecutor;
+	}
+
+	/**
+	 * Enables concurrent decoding of compressed blocks within a plane, for
+	 * readers which support it. The decoded pixels are identical to those
+	 * decoded serially. The executor is not shut down by SCIFIO.
+	 *
+	 * @param executor Executor to use for decoding, or null to decode serially.
+	 * @return This SCIFIOConfig for method chaining.
+	 */
+	public SCIFIOConfig readerSetDecodeExecutor(final ExecutorService executor) {
+		this.decodeExecutor = executor;
+		return this;
+	}
+
+	/**
+	 * @return The cache readers may use to keep decoded tiles, or null if tiles
+	 *         are decoded on every request. Default: null
+	 */
+	public TileCache readerGetTileCache() {
+		return tileCache;
+	}
+
+	/**
+	 * Enables caching of decoded tiles, for readers which support it (e.g.
+	 * TIFF). Useful when overlapping regions are read repeatedly. The same cache
+	 * may be shared by several configurations and readers.
+	 *
+	 * @param tileCache Cache to use, or null to disable caching.
+	 * @return This SCIFIOConfig for method chaining.
+	 */
+	public SCIFIOConfig readerSetTileCache(final TileCache tileCache) {
+		this.tileCache = tileCache;
+		return this;
+	}
+
+	/**
+	 * @return Whether readers of uncompressed data read local files via memory
+	 *         mapping. Default: false
+	 */
+	public boolean readerIsMemoryMapped() {
+		return memoryMapped;
+	}
+
+	/**
+	 * Enables memory-mapped reading of uncompressed planes from local files.
+	 * Plane data is then copied straight from the mapped file into the plane,
+	 * without intermediate buffering. Takes effect when the reader's source is
+	 * set.
+	 *
+	 * @param memoryMapped Whether to memory map local files.
+	 * @return This SCIFIOConfig for method chaining.
+	 */
+	public SCIFIOConfig readerSetMemoryMapped(final boolean memoryMapped) {
+		this.memoryMapped = memoryMapped;
+		return this;
+	}
+
+	/**
+	 * @return Number of uncompressed bytes between the access points of
+	 *         indices built over GZIP-compressed pixel data. Default:
+	 *         {@link GzipIndex#DEFAULT_SPAN}
+	 */
+	public long readerGetGzipIndexSpan() {
+		return gzipIndexSpan;
+	}
+
+	/**
+	 * Sets the spacing of the access points of indices built over
+	 * GZIP-compressed pixel data (e.g. ICS). Random reads decompress up to this
+	 * many bytes before reaching the requested data; each access point takes up
+	 * to 32 KB of memory.
+	 *
+	 * @param span Number of uncompressed bytes between access points.
+	 * @return This SCIFIOConfig for method chaining.
+	 */
+	public SCIFIOConfig readerSetGzipIndexSpan(final long span) {
+		if (span <= 0) {
+			throw new IllegalArgumentException("Invalid index span: " + span);
+		}
+		this.gzipIndexSpan = span;
+		return this;
+	}
+
+	/**
+	 * @return Whether indices built over GZIP-compressed pixel data are kept in
+	 *         a file next to the data. Default: false
+	 */
+	public boolean readerIsGzipIndexPersisted() {
+		return gzipIndexPersisted;
+	}
+
+	/**
+	 * Enables saving indices of GZIP-compressed pixel data next to local files
+	 * once complete (see {@link GzipIndex#indexFile}), and loading them when
+	 * the file is opened again, so that random access is fast from the first
+	 * read.
+	 *
+	 * @param persisted Whether to save and load indices.
+	 * @return This SCIFIOConfig for method chaining.
+	 */
+	public SCIFIOConfig readerSetGzipIndexPersisted(final boolean persisted) {
+		this.gzipIndexPersisted = persisted;
+		return this;
+	}
+
 	// -- Writer methods --
 
 	/**
@@ -407,6 +602,28 @@ public class SCIFIOConfig extends HashMap<String, Object> {
 		return options;
 	}
 
+	/**
+	 * Enables concurrent encoding of compressed blocks within a plane (e.g.
+	 * TIFF strips), for writers which support it. The file written is identical
+	 * to one encoded serially. The executor is not shut down by SCIFIO.
+	 *
+	 * @param executor Executor to use for encoding, or null to encode serially.
+	 * @return This SCIFIOConfig for method chaining.
+	 */
+	public SCIFIOConfig writerSetEncodeExecutor(final ExecutorService executor) {
+		this.encodeExecutor = executor;
+		return this;
+	}
+
+	/**
+	 * @return The executor writers may use to encode compressed blocks of a
+	 *         plane concurrently, or null if encoding should happen on the
+	 *         calling thread. Default: null
+	 */
+	public ExecutorService writerGetEncodeExecutor() {
+		return encodeExecutor;
+	}
+
 	// -- Groupable methods --
 
 	/**
@@ -427,6 +644,52 @@ public class SCIFIOConfig extends HashMap<String, Object> {
 		return group;
 	}
 
+	/**
+	 * @return The maximum number of initialized readers, one per file, which are
+	 *         kept open when stitching a multi-file dataset. Default: 16
+	 */
+	public int groupableGetReaderPoolSize() {
+		return readerPoolSize;
+	}
+
+	/**
+	 * @param poolSize Maximum number of per-file readers to keep open when
+	 *          stitching a multi-file dataset. The least recently used reader is
+	 *          closed when this limit is exceeded.
+	 * @return This SCIFIOConfig for method chaining.
+	 */
+	public SCIFIOConfig groupableSetReaderPoolSize(final int poolSize) {
+		if (poolSize < 1) {
+			throw new IllegalArgumentException("Reader pool size must be positive: " +
+				poolSize);
+		}
+		readerPoolSize = poolSize;
+		return this;
+	}
+
+	/**
+	 * @return The number of milliseconds a pooled per-file reader may go unused
+	 *         before it is closed, or zero if readers are only closed on
+	 *         eviction. Default: 0
+	 */
+	public long groupableGetReaderIdleTimeout() {
+		return readerIdleTimeout;
+	}
+
+	/**
+	 * @param idleTimeout Milliseconds a pooled per-file reader may go unused
+	 *          before it is closed, or zero to keep readers open until evicted.
+	 * @return This SCIFIOConfig for method chaining.
+	 */
+	public SCIFIOConfig groupableSetReaderIdleTimeout(final long idleTimeout) {
+		if (idleTimeout < 0) {
+			throw new IllegalArgumentException("Negative idle timeout: " +
+				idleTimeout);
+		}
+		readerIdleTimeout = idleTimeout;
+		return this;
+	}
+
 	// -- ImgOpener methods --
 
 	/**
@@ -543,6 +806,52 @@ public class SCIFIOConfig extends HashMap<String, Object> {
 		return this;
 	}
 
+	/**
+	 * @return The number of planes which may be read ahead, on a background
+	 *         thread, while earlier planes are copied into the image. Zero if
+	 *         planes should be read and copied in turn. Default: 0
+	 */
+	public int imgOpenerGetPrefetchDepth() {
+		return prefetchDepth;
+	}
+
+	/**
+	 * @param prefetchDepth Maximum number of planes to read ahead of the plane
+	 *          being copied into the image, or zero to disable prefetching.
+	 * @return This SCIFIOConfig for method chaining.
+	 */
+	public SCIFIOConfig imgOpenerSetPrefetchDepth(final int prefetchDepth) {
+		if (prefetchDepth < 0) {
+			throw new IllegalArgumentException("Negative prefetch depth: " +
+				prefetchDepth);
+		}
+		this.prefetchDepth = prefetchDepth;
+		return this;
+	}
+
+	/**
+	 * @return The resolution level to open, where 0 is full resolution. Images
+	 *         with fewer levels are opened at their smallest level. Default: 0
+	 */
+	public int imgOpenerGetResolutionLevel() {
+		return resolutionLevel;
+	}
+
+	/**
+	 * @param resolutionLevel Resolution level to open, where 0 is full
+	 *          resolution.
+	 * @return This SCIFIOConfig for method chaining.
+	 * @see io.scif.ImageMetadata#getResolution(int)
+	 */
+	public SCIFIOConfig imgOpenerSetResolutionLevel(final int resolutionLevel) {
+		if (resolutionLevel < 0) {
+			throw new IllegalArgumentException("Negative resolution level: " +
+				resolutionLevel);
+		}
+		this.resolutionLevel = resolutionLevel;
+		return this;
+	}
+
 	/**
 	 * @return The image range to be opened. Default: [0]
 	 */
@@ -597,6 +906,97 @@ public class SCIFIOConfig extends HashMap<String, Object> {
 		return this;
 	}
 
+	/**
+	 * @return True if the ImgSaver should write a tiled BigTIFF pyramid, with
+	 *         each plane's downsampled levels stored as SubIFDs. Default: false
+	 */
+	public boolean imgSaverIsWritePyramid() {
+		return writePyramid;
+	}
+
+	/**
+	 * @param pyramid Whether or not the ImgSaver should write a tiled BigTIFF
+	 *          pyramid. Only supported for TIFF destinations; compression is
+	 *          set via {@link #writerSetCompression(String)}.
+	 * @return This SCIFIOConfig for method chaining.
+	 */
+	public SCIFIOConfig imgSaverSetWritePyramid(final boolean pyramid) {
+		writePyramid = pyramid;
+		return this;
+	}
+
+	/**
+	 * @return The width of the tiles of a written pyramid. Default: 256
+	 */
+	public int imgSaverGetTileWidth() {
+		return tileWidth;
+	}
+
+	/**
+	 * @return The height of the tiles of a written pyramid. Default: 256
+	 */
+	public int imgSaverGetTileHeight() {
+		return tileHeight;
+	}
+
+	/**
+	 * @param width Width of the tiles of a written pyramid.
+	 * @param height Height of the tiles of a written pyramid.
+	 * @return This SCIFIOConfig for method chaining.
+	 * @throws IllegalArgumentException If either is not a positive multiple of
+	 *           16, as TIFF requires.
+	 */
+	public SCIFIOConfig imgSaverSetTileSize(final int width, final int height) {
+		if (width <= 0 || width % 16 != 0 || height <= 0 || height % 16 != 0) {
+			throw new IllegalArgumentException("Invalid tile size: " + width + "x" +
+				height + " (must be positive multiples of 16)");
+		}
+		tileWidth = width;
+		tileHeight = height;
+		return this;
+	}
+
+	/**
+	 * @return How pixels are reduced for each level of a written pyramid.
+	 *         Default: {@link Downsampling#MEAN}
+	 */
+	public Downsampling imgSaverGetDownsampling() {
+		return downsampling;
+	}
+
+	/**
+	 * @param downsampling How pixels are reduced for each level of a written
+	 *          pyramid.
+	 * @return This SCIFIOConfig for method chaining.
+	 */
+	public SCIFIOConfig imgSaverSetDownsampling(
+		final Downsampling downsampling)
+	{
+		this.downsampling = downsampling;
+		return this;
+	}
+
+	/**
+	 * @return The maximum number of downsampled levels of a written pyramid.
+	 *         Levels are otherwise added until one fits in a single tile.
+	 *         Default: unlimited
+	 */
+	public int imgSaverGetPyramidLevels() {
+		return pyramidLevels;
+	}
+
+	/**
+	 * @param levels Maximum number of downsampled levels of a written pyramid.
+	 * @return This SCIFIOConfig for method chaining.
+	 */
+	public SCIFIOConfig imgSaverSetPyramidLevels(final int levels) {
+		if (levels < 0) {
+			throw new IllegalArgumentException("Negative level count: " + levels);
+		}
+		pyramidLevels = levels;
+		return this;
+	}
+
 	// -- Clonable methods --
 
 	@Override
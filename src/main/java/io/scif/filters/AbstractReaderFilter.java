@@ -135,6 +135,18 @@ public abstract class AbstractReaderFilter extends AbstractFilter<Reader>
 	 */
 	protected void readPlaneHelper() {}
 
+	/**
+	 * Configures this filter like the given filter of the same type, which wraps
+	 * an equivalent reader. Filters with settings of their own should override
+	 * this to copy them.
+	 *
+	 * @param filter - Filter of the same type to copy the settings of.
+	 * @see ReaderFilter#duplicate(Reader)
+	 */
+	protected void copySettings(final AbstractReaderFilter filter) {
+		// No-op
+	}
+
 	/**
 	 * Convenience accessor for the parent's Metadata
 	 */
@@ -251,6 +263,25 @@ public abstract class AbstractReaderFilter extends AbstractFilter<Reader>
 		return getParent().openPlane(imageIndex, planeIndex, plane, bounds, config);
 	}
 
+	/**
+	 * NB: full resolution planes go through this filter, while reduced
+	 * resolution levels are read straight from the parent. Filters which change
+	 * the layout of the parent's planes must either override this method or not
+	 * expose the parent's resolution levels in their metadata.
+	 */
+	@Override
+	public Plane openPlane(final int imageIndex, final int resolution,
+		final long planeIndex, final Plane plane, final Interval bounds,
+		final SCIFIOConfig config) throws FormatException, IOException
+	{
+		if (resolution == 0) {
+			return openPlane(imageIndex, planeIndex, plane, bounds, config);
+		}
+		openPlaneHelper();
+		return getParent().openPlane(imageIndex, resolution, planeIndex, plane,
+			bounds, config);
+	}
+
 	@Override
 	public int fileGroupOption(final Location id) throws FormatException,
 		IOException
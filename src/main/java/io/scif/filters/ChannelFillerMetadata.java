@@ -40,6 +40,7 @@ import io.scif.services.InitializeService;
 import io.scif.util.FormatTools;
 
 import java.io.IOException;
+import java.util.ArrayList;
 
 import net.imagej.axis.Axes;
 import net.imglib2.display.ArrayColorTable;
@@ -85,6 +86,8 @@ public class ChannelFillerMetadata extends AbstractMetadataWrapper {
 
 			if (m.get(i).isIndexed()) {
 				iMeta.setIndexed(false);
+				// NB: reduced resolution levels are not filled
+				iMeta.setSubResolutionLengths(new ArrayList<>());
 				ColorTable cTable = null;
 
 				// Extract the color table. If the Metadata has one attached we
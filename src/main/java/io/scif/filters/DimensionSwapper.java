@@ -160,6 +160,21 @@ public class DimensionSwapper extends AbstractReaderFilter {
 
 	// -- AbstractReaderFilter API Methods --
 
+	@Override
+	protected void copySettings(final AbstractReaderFilter filter) {
+		if (!metaCheck() || !filter.metaCheck()) return;
+		final DimensionSwapperMetadata meta = (DimensionSwapperMetadata) filter
+			.getMetadata();
+		for (int i = 0; i < meta.getImageCount(); i++) {
+			getMetadata().get(i).setAxisTypes(meta.get(i).getAxes().stream().map(
+				CalibratedAxis::type).toArray(AxisType[]::new));
+			final List<AxisType> outputOrder = meta.getOutputOrder() == null ? null
+				: meta.getOutputOrder()[i];
+			setOutputOrder(i, outputOrder == null ? null : new ArrayList<>(
+				outputOrder));
+		}
+	}
+
 	@Override
 	protected void setSourceHelper(final Location source,
 		final SCIFIOConfig config)
@@ -247,6 +262,18 @@ public class DimensionSwapper extends AbstractReaderFilter {
 			bounds, config);
 	}
 
+	@Override
+	public Plane openPlane(final int imageIndex, final int resolution,
+		final long planeIndex, final Plane plane, final Interval bounds,
+		final SCIFIOConfig config) throws FormatException, IOException
+	{
+		if (resolution == 0) {
+			return openPlane(imageIndex, planeIndex, plane, bounds, config);
+		}
+		return getParent().openPlane(imageIndex, resolution, reorder(imageIndex,
+			planeIndex), plane, bounds, config);
+	}
+
 	@Override
 	public Metadata getMetadata() {
 //		FormatTools.assertId(getCurrentFile(), true, 2);
@@ -0,0 +1,245 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.filters;
+
+import io.scif.FormatException;
+import io.scif.Reader;
+import io.scif.config.SCIFIOConfig;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.scijava.io.location.Location;
+
+/**
+ * Bounded, least-recently-used pool of initialized {@link Reader}s, one per
+ * {@link Location}. Used by {@link FileStitcher} so that switching between the
+ * files of a stitched dataset costs a lookup rather than a metadata parse.
+ * <p>
+ * Pooled readers are created with the format of a given parent reader, and
+ * wrapped in the same filters as it, in the same configuration.
+ * </p>
+ * <p>
+ * Readers which have not been used for longer than the idle timeout are closed
+ * the next time the pool is accessed, or by an explicit call to
+ * {@link #closeIdle()}.
+ * </p>
+ */
+class FileReaderPool implements Closeable {
+
+	// -- Fields --
+
+	private final Reader parent;
+
+	private final SCIFIOConfig config;
+
+	private final int capacity;
+
+	private final long idleNanos;
+
+	/** Open readers, in access order (least recently used first). */
+	private final LinkedHashMap<Location, Entry> readers;
+
+	private long opens;
+
+	private long hits;
+
+	private long evictions;
+
+	// -- Constructor --
+
+	/**
+	 * @param parent Reader whose format and filters the pooled readers are
+	 *          created with.
+	 * @param config Configuration passed to each reader's
+	 *          {@link Reader#setSource(Location, SCIFIOConfig)}.
+	 * @param capacity Maximum number of readers kept open at once.
+	 * @param idleTimeout Milliseconds a reader may go unused before it is
+	 *          closed, or zero to close readers only on eviction.
+	 */
+	public FileReaderPool(final Reader parent, final SCIFIOConfig config,
+		final int capacity, final long idleTimeout)
+	{
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Invalid capacity: " + capacity);
+		}
+		this.parent = parent;
+		this.config = config;
+		this.capacity = capacity;
+		this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeout);
+		this.readers = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	// -- FileReaderPool methods --
+
+	/**
+	 * Returns an initialized reader for the given location, opening one if it is
+	 * not already pooled. The returned reader may be closed by any later call to
+	 * this pool, so callers sharing the pool between threads should hold its
+	 * monitor for as long as they use the reader.
+	 */
+	public synchronized Reader acquire(final Location location)
+		throws FormatException, IOException
+	{
+		final long now = System.nanoTime();
+		closeIdle(now);
+
+		Entry entry = readers.get(location);
+		if (entry != null) {
+			hits++;
+		}
+		else {
+			final Reader reader = parent.getFormat().createReader();
+			try {
+				reader.setSource(location, config);
+			}
+			catch (final IOException | RuntimeException e) {
+				reader.close();
+				throw e;
+			}
+			opens++;
+			entry = new Entry(parent instanceof Filter ? ReaderFilter.copyFilters(
+				parent, reader) : reader);
+			readers.put(location, entry);
+			evictOverflow();
+		}
+		entry.lastUsed = now;
+		return entry.reader;
+	}
+
+	/** Closes every reader which has exceeded the idle timeout. */
+	public synchronized void closeIdle() throws IOException {
+		closeIdle(System.nanoTime());
+	}
+
+	/** @return The number of readers currently open. */
+	public synchronized int size() {
+		return readers.size();
+	}
+
+	/** @return The number of readers this pool has opened. */
+	public synchronized long getOpenCount() {
+		return opens;
+	}
+
+	/** @return The number of requests served by an already open reader. */
+	public synchronized long getHitCount() {
+		return hits;
+	}
+
+	/**
+	 * @return The number of readers closed to make room, or because they were
+	 *         idle.
+	 */
+	public synchronized long getEvictionCount() {
+		return evictions;
+	}
+
+	// -- Closeable methods --
+
+	/**
+	 * Closes all pooled readers. The pool remains usable, and will reopen
+	 * readers as they are requested.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		final List<Reader> toClose = new ArrayList<>(readers.size());
+		for (final Entry entry : readers.values()) {
+			toClose.add(entry.reader);
+		}
+		readers.clear();
+		closeAll(toClose);
+	}
+
+	// -- Helper methods --
+
+	private void evictOverflow() throws IOException {
+		if (readers.size() <= capacity) return;
+		final List<Reader> toClose = new ArrayList<>();
+		final Iterator<Entry> iter = readers.values().iterator();
+		while (readers.size() > capacity && iter.hasNext()) {
+			toClose.add(iter.next().reader);
+			iter.remove();
+			evictions++;
+		}
+		closeAll(toClose);
+	}
+
+	private void closeIdle(final long now) throws IOException {
+		if (idleNanos <= 0 || readers.isEmpty()) return;
+		final List<Reader> toClose = new ArrayList<>();
+		final Iterator<Map.Entry<Location, Entry>> iter = readers.entrySet()
+			.iterator();
+		while (iter.hasNext()) {
+			final Entry entry = iter.next().getValue();
+			// NB: Iteration is in access order, so the first reader which is still
+			// fresh means all that follow are too.
+			if (now - entry.lastUsed < idleNanos) break;
+			toClose.add(entry.reader);
+			iter.remove();
+			evictions++;
+		}
+		closeAll(toClose);
+	}
+
+	/** Closes each reader, rethrowing the first failure once all are closed. */
+	private static void closeAll(final List<Reader> toClose) throws IOException {
+		IOException failure = null;
+		for (final Reader reader : toClose) {
+			try {
+				reader.close();
+			}
+			catch (final IOException e) {
+				if (failure == null) failure = e;
+				else failure.addSuppressed(e);
+			}
+		}
+		if (failure != null) throw failure;
+	}
+
+	// -- Helper classes --
+
+	private static final class Entry {
+
+		private final Reader reader;
+
+		private long lastUsed;
+
+		private Entry(final Reader reader) {
+			this.reader = reader;
+		}
+	}
+}
@@ -30,14 +30,16 @@
 package io.scif.filters;
 
 import io.scif.AxisGuesser;
-import io.scif.ByteArrayPlane;
 import io.scif.ByteArrayReader;
+import io.scif.ByteBufferPlane;
+import io.scif.ByteBufferReader;
 import io.scif.FilePattern;
 import io.scif.FormatException;
 import io.scif.ImageMetadata;
 import io.scif.Metadata;
 import io.scif.Plane;
 import io.scif.Reader;
+import io.scif.TypedReader;
 import io.scif.config.SCIFIOConfig;
 import io.scif.io.location.TestImgLocation;
 import io.scif.services.FilePatternService;
@@ -45,6 +47,7 @@ import io.scif.services.InitializeService;
 import io.scif.util.FormatTools;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
@@ -101,6 +104,9 @@ public class FileStitcher extends AbstractReaderFilter {
 
 	private Location[] localFiles;
 
+	/** Initialized readers for recently used files of the pattern. */
+	private FileReaderPool readerPool;
+
 	// -- Constructors --
 
 	/** Constructs a FileStitcher around a new image reader. */
@@ -144,6 +150,38 @@ public class FileStitcher extends AbstractReaderFilter {
 		return pattern;
 	}
 
+	/**
+	 * Gets the number of per-file readers which have been opened, i.e. the
+	 * number of times a file's metadata has been parsed, since the current
+	 * source was set.
+	 */
+	public long getReaderOpenCount() {
+		return readerPool == null ? 0 : readerPool.getOpenCount();
+	}
+
+	/**
+	 * Gets the number of plane requests served by an already open per-file
+	 * reader since the current source was set.
+	 */
+	public long getReaderHitCount() {
+		return readerPool == null ? 0 : readerPool.getHitCount();
+	}
+
+	/**
+	 * Gets the number of per-file readers closed, either to stay within
+	 * {@link SCIFIOConfig#groupableGetReaderPoolSize()} or because they exceeded
+	 * {@link SCIFIOConfig#groupableGetReaderIdleTimeout()}, since the current
+	 * source was set.
+	 */
+	public long getReaderEvictionCount() {
+		return readerPool == null ? 0 : readerPool.getEvictionCount();
+	}
+
+	/** Closes any per-file readers which have exceeded the idle timeout. */
+	public void closeIdleReaders() throws IOException {
+		if (readerPool != null) readerPool.closeIdle();
+	}
+
 	/**
 	 * Constructs a new FilePattern around the pattern extracted from the given
 	 * id.
@@ -283,6 +321,8 @@ public class FileStitcher extends AbstractReaderFilter {
 			}
 
 			imgMeta.setName(fp.getPattern());
+			// NB: reduced resolution levels are not stitched
+			imgMeta.setSubResolutionLengths(new ArrayList<>());
 			meta.setImgMeta(imgMeta);
 			meta.setSourceLocation(fp.getFiles()[0]);
 
@@ -310,6 +350,8 @@ public class FileStitcher extends AbstractReaderFilter {
 			}
 
 			planesPerFile = new long[localFiles.length];
+			readerPool = new FileReaderPool(getParent(), config, config
+				.groupableGetReaderPoolSize(), config.groupableGetReaderIdleTimeout());
 
 			for (int i = 0; i < localFiles.length; i++) {
 				final Location file = localFiles[i];
@@ -323,8 +365,7 @@ public class FileStitcher extends AbstractReaderFilter {
 						") does not exist.");
 				}
 
-				Reader r = getParent();
-				r.setSource(localFiles[i], config);
+				final Reader r = readerPool.acquire(localFiles[i]);
 
 				if (r.getImageCount() != 1) {
 					cleanUp();
@@ -346,11 +387,12 @@ public class FileStitcher extends AbstractReaderFilter {
 	// -- Filter API Methods --
 
 	/**
-	 * FileStitcher is only compatible with ByteArray formats.
+	 * FileStitcher is only compatible with ByteArray and ByteBuffer formats.
 	 */
 	@Override
 	public boolean isCompatible(final Class<?> c) {
-		return ByteArrayReader.class.isAssignableFrom(c);
+		return ByteArrayReader.class.isAssignableFrom(c) ||
+			ByteBufferReader.class.isAssignableFrom(c);
 	}
 
 	// -- Reader API methods --
@@ -360,6 +402,23 @@ public class FileStitcher extends AbstractReaderFilter {
 		return totalPlanes;
 	}
 
+	@Override
+	public Plane openPlane(final int imageIndex, final long planeIndex,
+		final SCIFIOConfig config) throws FormatException, IOException
+	{
+		final Interval bounds = planarBounds(imageIndex);
+		return openPlane(imageIndex, planeIndex, bounds, config);
+	}
+
+	@Override
+	public Plane openPlane(final int imageIndex, final long planeIndex,
+		final Plane plane, final SCIFIOConfig config) throws FormatException,
+		IOException
+	{
+		final Interval bounds = planarBounds(imageIndex);
+		return openPlane(imageIndex, planeIndex, plane, bounds, config);
+	}
+
 	@Override
 	public Plane openPlane(final int imageIndex, final long planeIndex,
 		final Interval bounds, final SCIFIOConfig config) throws FormatException,
@@ -387,13 +446,8 @@ public class FileStitcher extends AbstractReaderFilter {
 		}
 
 		// Check for plane compatibility
-		Plane bp;
-		if (!isCompatible(plane.getClass())) {
-			bp = new ByteArrayPlane();
-			bp.populate(plane);
-			((ByteArrayPlane) bp).setData(new byte[plane.getBytes().length]);
-		}
-		else bp = plane;
+		final Plane bp = isCompatible(plane) ? plane : createPlane(getMetadata()
+			.get(imageIndex), bounds);
 
 		// If this is a valid image index, get the appropriate reader and
 		// return the corresponding plane
@@ -401,14 +455,18 @@ public class FileStitcher extends AbstractReaderFilter {
 		if (adjustedIndex[0] < localFiles.length &&
 			adjustedIndex[1] < planesPerFile[imageIndex])
 		{
-			final Reader r = getParent();
-			r.setSource(localFiles[adjustedIndex[0]]);
-			return r.openPlane(0, adjustedIndex[1], bp, bounds, config);
+			// NB: Hold the pool while reading, so that the reader cannot be
+			// evicted by a concurrent request.
+			synchronized (readerPool) {
+				final Reader r = readerPool.acquire(localFiles[adjustedIndex[0]]);
+				return r.openPlane(0, adjustedIndex[1], bp, bounds, config);
+			}
 		}
 
 		// return a blank image to cover for the fact that
 		// this file does not contain enough image planes
-		Arrays.fill(bp.getBytes(), (byte) 0);
+		if (bp instanceof ByteBufferPlane) ((ByteBufferPlane) bp).fill((byte) 0);
+		else Arrays.fill(bp.getBytes(), (byte) 0);
 		return bp;
 	}
 
@@ -444,6 +502,19 @@ public class FileStitcher extends AbstractReaderFilter {
 		return outIndex;
 	}
 
+	/**
+	 * @return true iff the given plane can be read into directly by the
+	 *         per-file readers, i.e. it is of the type of their tail reader.
+	 */
+	private boolean isCompatible(final Plane plane) {
+		Object reader = getParent();
+		while (reader instanceof Filter) {
+			reader = ((Filter) reader).getParent();
+		}
+		return reader instanceof TypedReader && ((TypedReader<?, ?>) reader)
+			.getPlaneClass().isInstance(plane);
+	}
+
 	private BrowsableLocation asBrowsable(final Location loc) {
 		if (loc instanceof BrowsableLocation) {
 			return (BrowsableLocation) loc;
@@ -452,9 +523,20 @@ public class FileStitcher extends AbstractReaderFilter {
 			"The provided location is not browsable!");
 	}
 
+	@Override
+	public void close(final boolean fileOnly) throws IOException {
+		// NB: Pooled readers hold open file handles; they are reopened on demand.
+		if (fileOnly && readerPool != null) readerPool.close();
+		super.close(fileOnly);
+	}
+
 	@Override
 	protected void cleanUp() throws IOException {
 		super.cleanUp();
+		if (readerPool != null) {
+			readerPool.close();
+			readerPool = null;
+		}
 		patternIds = false;
 		doNotChangePattern = false;
 		planesPerFile = null;
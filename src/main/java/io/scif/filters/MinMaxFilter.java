@@ -29,19 +29,24 @@
 
 package io.scif.filters;
 
+import io.scif.ByteBufferPlane;
 import io.scif.FormatException;
 import io.scif.ImageMetadata;
-import io.scif.Metadata;
 import io.scif.Plane;
 import io.scif.config.SCIFIOConfig;
 import io.scif.util.FormatTools;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import net.imagej.axis.AxisType;
 import net.imagej.axis.CalibratedAxis;
@@ -50,16 +55,26 @@ import net.imglib2.Interval;
 import net.imglib2.util.Intervals;
 
 import org.scijava.plugin.Plugin;
-import org.scijava.util.Bytes;
 
 /**
  * Logic to compute minimum and maximum values for each plane. For each plane,
  * the min/max values for a given value of a specific planar axis can also be
  * queried.
+ * <p>
+ * Each plane is reduced in a single pass over its rows, decoding the pixels
+ * through typed buffer accessors. Large planes are split across the
+ * {@link SCIFIOConfig#readerGetDecodeExecutor() decode executor}, if one is
+ * configured.
+ * </p>
  */
 @Plugin(type = Filter.class)
 public class MinMaxFilter extends AbstractReaderFilter {
 
+	// -- Constants --
+
+	/** Minimum number of pixels of a plane to reduce concurrently. */
+	private static final long PARALLEL_THRESHOLD = 1 << 20;
+
 	// -- Fields --
 
 	/**
@@ -227,8 +242,9 @@ public class MinMaxFilter extends AbstractReaderFilter {
 
 		final int bytesPerPixel = FormatTools.getBytesPerPixel(//
 			getMetadata().get(imageIndex).getPixelType());
-		final int len = (int) (bytesPerPixel * Intervals.numElements(bounds));
-		updateMinMax(imageIndex, planeIndex, plane.getBytes(), len);
+		final long len = bytesPerPixel * Intervals.numElements(bounds);
+		updateMinMax(imageIndex, planeIndex, plane, len, config
+			.readerGetDecodeExecutor());
 		return plane;
 	}
 
@@ -253,22 +269,27 @@ public class MinMaxFilter extends AbstractReaderFilter {
 	// -- Helper methods --
 
 	/**
-	 * Updates min/max values based on the given byte array.
+	 * Updates min/max values based on the given plane.
 	 *
 	 * @param imageIndex the image index within the dataset
 	 * @param planeIndex the plane index within the image.
-	 * @param buf a pre-allocated buffer.
-	 * @param len as {@code buf} may be larger than the actual pixel count having
+	 * @param plane the plane which was read.
+	 * @param len as the plane may be larger than the actual pixel count having
 	 *          been written to it, the length (in bytes) of the those pixels.
+	 * @param executor executor to reduce large planes on concurrently, or null
+	 *          to reduce them on the calling thread.
 	 */
 	private void updateMinMax(final int imageIndex, final long planeIndex,
-		final byte[] buf, final int len)
+		final Plane plane, final long len, final ExecutorService executor)
+		throws FormatException, IOException
 	{
-		if (buf == null) return;
+		final ByteBufferPlane buffers = plane instanceof ByteBufferPlane
+			? (ByteBufferPlane) plane : null;
+		final byte[] buf = buffers == null ? plane.getBytes() : null;
+		if (buffers == null && buf == null) return;
 		initMinMax();
 
-		final Metadata m = getMetadata();
-		final ImageMetadata iMeta = m.get(imageIndex);
+		final ImageMetadata iMeta = getMetadata().get(imageIndex);
 		final int pixelType = iMeta.getPixelType();
 		final int bpp = FormatTools.getBytesPerPixel(pixelType);
 		final long planeSize = iMeta.getPlaneSize();
@@ -278,57 +299,55 @@ public class MinMaxFilter extends AbstractReaderFilter {
 		if (len == planeSize && !Double.isNaN(
 			planeMins[imageIndex][(int) planeIndex])) return;
 
-		final boolean little = iMeta.isLittleEndian();
-
-		final int pixels = len / bpp;
-
-		// populate the plane min/max to default values
-		planeMins[imageIndex][(int) planeIndex] = Double.POSITIVE_INFINITY;
-		planeMaxs[imageIndex][(int) planeIndex] = Double.NEGATIVE_INFINITY;
-
-		final boolean signed = FormatTools.isSigned(pixelType);
-		final long threshold = (long) Math.pow(2, bpp * 8 - 1);
+		final ByteOrder order = iMeta.isLittleEndian() ? ByteOrder.LITTLE_ENDIAN
+			: ByteOrder.BIG_ENDIAN;
+		final long[] lengths = iMeta.getAxesLengthsPlanar();
+		final List<CalibratedAxis> axes = iMeta.getAxesPlanar();
+
+		// Reduce straight into the running extrema of each planar axis
+		final Extrema extrema = new Extrema(new double[lengths.length][],
+			new double[lengths.length][]);
+		for (int d = 0; d < lengths.length; d++) {
+			final AxisType type = axes.get(d).type();
+			extrema.axisMin[d] = planarAxisMin.get(imageIndex).get(type);
+			extrema.axisMax[d] = planarAxisMax.get(imageIndex).get(type);
+		}
 
-		for (int i = 0; i < pixels; i++) {
-			// get the value for this pixel
-			final int idx = bpp * i;
-			long bits = Bytes.toLong(buf, idx, bpp, little);
-			if (signed) {
-				if (bits >= threshold) bits -= 2 * threshold;
-			}
-			double v = bits;
-			if (pixelType == FormatTools.FLOAT) {
-				v = Float.intBitsToFloat((int) bits);
-			}
-			else if (pixelType == FormatTools.DOUBLE) {
-				v = Double.longBitsToDouble(bits);
+		final Reduction reduction = new Reduction(buf == null ? null : ByteBuffer
+			.wrap(buf).order(order), buffers, order, pixelType, lengths, len / bpp);
+		if (executor == null || reduction.pixels < PARALLEL_THRESHOLD) {
+			reduction.run(0, reduction.rows, extrema);
+		}
+		else {
+			final int tasks = (int) Math.min(reduction.rows, Runtime.getRuntime()
+				.availableProcessors());
+			final List<Future<Extrema>> futures = new ArrayList<>(tasks);
+			for (int t = 0; t < tasks; t++) {
+				final long first = reduction.rows * t / tasks;
+				final long last = reduction.rows * (t + 1) / tasks;
+				futures.add(executor.submit(() -> {
+					final Extrema partial = new Extrema(lengths);
+					reduction.run(first, last, partial);
+					return partial;
+				}));
 			}
-
-			// Update the appropriate planar axis min/max if necessary
-			final long[] planarPositions = FormatTools.rasterToPosition(iMeta
-				.getAxesLengthsPlanar(), i);
-
-			for (int axis = 0; axis < planarPositions.length; axis++) {
-				final AxisType type = iMeta.getAxis(axis).type();
-				final double[] planarMin = planarAxisMin.get(imageIndex).get(type);
-				if (planarMin[(int) planarPositions[axis]] > v) {
-					planarMin[(int) planarPositions[axis]] = v;
+			for (final Future<Extrema> future : futures) {
+				try {
+					extrema.merge(future.get());
 				}
-				final double[] planarMax = planarAxisMax.get(imageIndex).get(type);
-				if (planarMax[(int) planarPositions[axis]] < v) {
-					planarMax[(int) planarPositions[axis]] = v;
+				catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IOException("Interrupted while computing min/max", e);
+				}
+				catch (final ExecutionException e) {
+					throw new FormatException("Error computing min/max", e.getCause());
 				}
-			}
-
-			// Update the plane min/max if necessary
-			if (v > planeMaxs[imageIndex][(int) planeIndex]) {
-				planeMaxs[imageIndex][(int) planeIndex] = v;
-			}
-			if (v < planeMins[imageIndex][(int) planeIndex]) {
-				planeMins[imageIndex][(int) planeIndex] = v;
 			}
 		}
 
+		planeMins[imageIndex][(int) planeIndex] = extrema.min;
+		planeMaxs[imageIndex][(int) planeIndex] = extrema.max;
+
 		// Set the number of planes complete for this image
 		minMaxDone[imageIndex] = Math.max(minMaxDone[imageIndex], (int) planeIndex +
 			1);
@@ -444,4 +463,190 @@ public class MinMaxFilter extends AbstractReaderFilter {
 
 		return planeValues[imageIndex][(int) planeIndex];
 	}
+
+	// -- Helper classes --
+
+	/** Minimum and maximum values of a plane and of each index of its axes. */
+	private static final class Extrema {
+
+		private final double[][] axisMin;
+
+		private final double[][] axisMax;
+
+		private double min = Double.POSITIVE_INFINITY;
+
+		private double max = Double.NEGATIVE_INFINITY;
+
+		private Extrema(final double[][] axisMin, final double[][] axisMax) {
+			this.axisMin = axisMin;
+			this.axisMax = axisMax;
+		}
+
+		/** Creates empty extrema for the given planar axis lengths. */
+		private Extrema(final long[] lengths) {
+			this(new double[lengths.length][], new double[lengths.length][]);
+			for (int d = 0; d < lengths.length; d++) {
+				axisMin[d] = new double[(int) lengths[d]];
+				axisMax[d] = new double[(int) lengths[d]];
+				Arrays.fill(axisMin[d], Double.POSITIVE_INFINITY);
+				Arrays.fill(axisMax[d], Double.NEGATIVE_INFINITY);
+			}
+		}
+
+		private void merge(final Extrema other) {
+			for (int d = 0; d < axisMin.length; d++) {
+				for (int i = 0; i < axisMin[d].length; i++) {
+					if (other.axisMin[d][i] < axisMin[d][i]) {
+						axisMin[d][i] = other.axisMin[d][i];
+					}
+					if (other.axisMax[d][i] > axisMax[d][i]) {
+						axisMax[d][i] = other.axisMax[d][i];
+					}
+				}
+			}
+			if (other.min < min) min = other.min;
+			if (other.max > max) max = other.max;
+		}
+	}
+
+	/**
+	 * Single-pass reduction of the rows of a plane, i.e. its runs of pixels
+	 * along the first planar axis. Each row is decoded into a scratch array, so
+	 * that the extrema along the first axis are updated element by element,
+	 * while those of the other axes are only updated once per row.
+	 */
+	private static final class Reduction {
+
+		/** Pixels of a plane held in a single buffer, or null. */
+		private final ByteBuffer pixelBuffer;
+
+		/** Pixels of a {@link ByteBufferPlane}, or null. */
+		private final ByteBufferPlane plane;
+
+		private final ByteOrder order;
+
+		private final int pixelType;
+
+		private final int bpp;
+
+		private final long[] lengths;
+
+		private final long pixels;
+
+		private final long rows;
+
+		private Reduction(final ByteBuffer pixelBuffer,
+			final ByteBufferPlane plane, final ByteOrder order, final int pixelType,
+			final long[] lengths, final long pixels)
+		{
+			this.pixelBuffer = pixelBuffer;
+			this.plane = plane;
+			this.order = order;
+			this.pixelType = pixelType;
+			this.bpp = FormatTools.getBytesPerPixel(pixelType);
+			this.lengths = lengths;
+			this.pixels = pixels;
+			this.rows = (pixels + lengths[0] - 1) / lengths[0];
+		}
+
+		/** Reduces rows {@code first} (inclusive) to {@code last} (exclusive). */
+		private void run(final long first, final long last, final Extrema e) {
+			final int width = (int) lengths[0];
+			final double[] row = new double[width];
+			final double[] min0 = e.axisMin[0];
+			final double[] max0 = e.axisMax[0];
+
+			// Position of the first row along the other planar axes
+			final int[] position = new int[lengths.length];
+			long r = first;
+			for (int d = 1; d < lengths.length; d++) {
+				position[d] = (int) (r % lengths[d]);
+				r /= lengths[d];
+			}
+
+			for (long y = first; y < last; y++) {
+				final long base = y * width;
+				final int n = (int) Math.min(width, pixels - base);
+				if (pixelBuffer != null) {
+					decode(pixelBuffer, (int) (base * bpp), n, row);
+				}
+				else {
+					decode(plane.view(base * bpp, n * bpp).order(order), 0, n, row);
+				}
+
+				double rowMin = Double.POSITIVE_INFINITY;
+				double rowMax = Double.NEGATIVE_INFINITY;
+				for (int x = 0; x < n; x++) {
+					final double v = row[x];
+					if (v < min0[x]) min0[x] = v;
+					if (v > max0[x]) max0[x] = v;
+					if (v < rowMin) rowMin = v;
+					if (v > rowMax) rowMax = v;
+				}
+
+				for (int d = 1; d < lengths.length; d++) {
+					if (rowMin < e.axisMin[d][position[d]]) {
+						e.axisMin[d][position[d]] = rowMin;
+					}
+					if (rowMax > e.axisMax[d][position[d]]) {
+						e.axisMax[d][position[d]] = rowMax;
+					}
+				}
+				if (rowMin < e.min) e.min = rowMin;
+				if (rowMax > e.max) e.max = rowMax;
+
+				// Advance to the next row
+				for (int d = 1; d < lengths.length; d++) {
+					if (++position[d] < lengths[d]) break;
+					position[d] = 0;
+				}
+			}
+		}
+
+		/**
+		 * Decodes {@code n} pixels, starting at byte {@code off} of the given
+		 * buffer, into {@code dest}.
+		 */
+		private void decode(final ByteBuffer src, final int off, final int n,
+			final double[] dest)
+		{
+			switch (pixelType) {
+				case FormatTools.INT8:
+					for (int i = 0; i < n; i++)
+						dest[i] = src.get(off + i);
+					break;
+				case FormatTools.UINT8:
+					for (int i = 0; i < n; i++)
+						dest[i] = src.get(off + i) & 0xff;
+					break;
+				case FormatTools.INT16:
+					for (int i = 0; i < n; i++)
+						dest[i] = src.getShort(off + 2 * i);
+					break;
+				case FormatTools.UINT16:
+					for (int i = 0; i < n; i++)
+						dest[i] = src.getShort(off + 2 * i) & 0xffff;
+					break;
+				case FormatTools.INT32:
+					for (int i = 0; i < n; i++)
+						dest[i] = src.getInt(off + 4 * i);
+					break;
+				case FormatTools.UINT32:
+					for (int i = 0; i < n; i++)
+						dest[i] = src.getInt(off + 4 * i) & 0xffffffffL;
+					break;
+				case FormatTools.FLOAT:
+					for (int i = 0; i < n; i++)
+						dest[i] = src.getFloat(off + 4 * i);
+					break;
+				case FormatTools.DOUBLE:
+					for (int i = 0; i < n; i++)
+						dest[i] = src.getDouble(off + 8 * i);
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown pixel type: " +
+						pixelType);
+			}
+		}
+	}
 }
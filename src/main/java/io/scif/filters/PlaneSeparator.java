@@ -30,7 +30,9 @@
 package io.scif.filters;
 
 import io.scif.ByteArrayPlane;
+import io.scif.ByteBufferPlane;
 import io.scif.FormatException;
+import io.scif.ImageMetadata;
 import io.scif.Metadata;
 import io.scif.Plane;
 import io.scif.config.SCIFIOConfig;
@@ -39,7 +41,9 @@ import io.scif.util.ImageTools;
 import io.scif.util.MemoryTools;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import net.imagej.axis.Axes;
 import net.imagej.axis.AxisType;
@@ -55,12 +59,26 @@ import org.scijava.util.ArrayUtils;
 
 /**
  * Logic to automatically separate the channels in a file.
+ * <p>
+ * Separated planes are copied into {@link ByteArrayPlane}s, or into
+ * {@link ByteBufferPlane}s if given one or if they are too large for a byte
+ * array. The planes of the parent are then read in strips small enough for a
+ * byte array each.
+ * </p>
  */
 @Plugin(type = Filter.class)
 public class PlaneSeparator extends AbstractReaderFilter {
 
+	// -- Constants --
+
+	/** Largest plane or strip held in a byte array. */
+	private static final long MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
 	// -- Fields --
 
+	/** Largest plane or strip held in a byte array. */
+	private long maxArraySize = MAX_ARRAY_SIZE;
+
 	/** Last plane opened. */
 	private Plane lastPlane = null;
 
@@ -127,6 +145,18 @@ public class PlaneSeparator extends AbstractReaderFilter {
 
 	// -- AbstractReaderFilter API Methods --
 
+	@Override
+	protected void copySettings(final AbstractReaderFilter filter) {
+		if (!filter.metaCheck()) return;
+		final PlaneSeparatorMetadata meta = (PlaneSeparatorMetadata) filter
+			.getMetadata();
+		final List<AxisType> types = new ArrayList<>();
+		for (final CalibratedAxis axis : filter.getParentMeta().get(0).getAxes()) {
+			if (meta.splitting(axis.type())) types.add(axis.type());
+		}
+		separate(types.toArray(new AxisType[types.size()]));
+	}
+
 	@Override
 	public void setSource(final Location source) throws IOException {
 		cleanUp();
@@ -199,6 +229,14 @@ public class PlaneSeparator extends AbstractReaderFilter {
 		return openPlane(imageIndex, planeIndex, plane, bounds, config);
 	}
 
+	@Override
+	public Plane createPlane(final ImageMetadata meta, final Interval bounds) {
+		if (size(meta, bounds) > maxArraySize) {
+			return new ByteBufferPlane(meta, bounds);
+		}
+		return super.createPlane(meta, bounds);
+	}
+
 	@Override
 	public Plane openPlane(final int imageIndex, final long planeIndex,
 		Plane plane, final Interval bounds, final SCIFIOConfig config)
@@ -241,10 +279,17 @@ public class PlaneSeparator extends AbstractReaderFilter {
 				final int bpp = FormatTools.getBytesPerPixel(meta.get(imageIndex)
 					.getPixelType());
 
-				// Need a byte array plane to copy data into
-				if (!ByteArrayPlane.class.isAssignableFrom(plane.getClass())) {
-					plane = new ByteArrayPlane(meta.get(imageIndex), bounds);
+				// Need a byte array or byte buffer plane to copy data into
+				if (!(plane instanceof ByteArrayPlane) &&
+					!(plane instanceof ByteBufferPlane))
+				{
+					plane = size(meta.get(imageIndex), bounds) > maxArraySize
+						? new ByteBufferPlane(meta.get(imageIndex), bounds)
+						: new ByteArrayPlane(meta.get(imageIndex), bounds);
 				}
+				// NB: Byte buffer planes are filled strip by strip, as their
+				// bytes are not an array which can be written to directly.
+				final boolean buffered = plane instanceof ByteBufferPlane;
 
 				if (!haveCached(source, imageIndex, bounds)) {
 					int strips = 1;
@@ -263,6 +308,15 @@ public class PlaneSeparator extends AbstractReaderFilter {
 						strips = (int) Math.sqrt(h);
 					}
 
+					// Each strip of the parent plane, with all of the separated
+					// axes, must fit in a byte array
+					long parentSize = size(meta.get(imageIndex), bounds);
+					for (final long length : separatedLengths) {
+						parentSize *= length;
+					}
+					strips = (int) Math.max(strips, Math.min(h, (parentSize +
+						maxArraySize - 1) / maxArraySize));
+
 					final long[] dims = Intervals.dimensionsAsLongArray(bounds);
 
 					// Compute strip height, and the height of the last strip
@@ -270,7 +324,7 @@ public class PlaneSeparator extends AbstractReaderFilter {
 					final long stripHeight = h / strips;
 					final long lastStripHeight = stripHeight + (h - (stripHeight *
 						strips));
-					byte[] strip = strips == 1 ? plane.getBytes()
+					byte[] strip = strips == 1 && !buffered ? plane.getBytes()
 						: new byte[(int) (stripHeight * ArrayUtils.safeMultiply32(Arrays
 							.copyOf(dims, dims.length - 1)) * bpp)];
 					updateLastPlaneInfo(source, imageIndex, splitOffset, bounds);
@@ -303,9 +357,14 @@ public class PlaneSeparator extends AbstractReaderFilter {
 						// Extract the requested channel from the plane
 						ImageTools.splitChannels(lastPlane.getBytes(), strip,
 							separatedPosition, separatedLengths, bpp, false, interleaved,
-							strips == 1 ? bpp * ArrayUtils.safeMultiply32(dims)
+							strips == 1 && !buffered ? bpp * ArrayUtils.safeMultiply32(dims)
 								: strip.length);
-						if (strips != 1) {
+						if (buffered) {
+							((ByteBufferPlane) plane).put(i * stripHeight * ArrayUtils
+								.safeMultiply64(Arrays.copyOf(dims, dims.length - 1)) * bpp,
+								strip, 0, strip.length);
+						}
+						else if (strips != 1) {
 							System.arraycopy(strip, 0, plane.getBytes(), (int) (i *
 								stripHeight * ArrayUtils.safeMultiply32(Arrays.copyOf(dims,
 									dims.length - 1))) * bpp, strip.length);
@@ -315,9 +374,14 @@ public class PlaneSeparator extends AbstractReaderFilter {
 				else {
 					// Have a cached instance of the plane containing the
 					// desired region
-					ImageTools.splitChannels(lastPlane.getBytes(), plane.getBytes(),
+					final byte[] bytes = buffered ? new byte[(int) size(meta.get(
+						imageIndex), bounds)] : plane.getBytes();
+					ImageTools.splitChannels(lastPlane.getBytes(), bytes,
 						separatedPosition, separatedLengths, bpp, false, interleaved, bpp *
 							ArrayUtils.safeMultiply32(Intervals.numElements(bounds)));
+					if (buffered) {
+						((ByteBufferPlane) plane).put(0, bytes, 0, bytes.length);
+					}
 				}
 
 				return plane;
@@ -343,8 +407,24 @@ public class PlaneSeparator extends AbstractReaderFilter {
 		return 2.0;
 	}
 
+	// -- Package-private methods --
+
+	/**
+	 * Sets the size of the largest plane or strip held in a byte array, so that
+	 * planes too large for a byte array can be tested without allocating them.
+	 */
+	void setMaxArraySize(final long maxArraySize) {
+		this.maxArraySize = maxArraySize;
+	}
+
 	// -- Helper Methods --
 
+	/** @return The number of bytes of the given region of a plane. */
+	private static long size(final ImageMetadata meta, final Interval bounds) {
+		return FormatTools.getBytesPerPixel(meta.getPixelType()) * Intervals
+			.numElements(bounds);
+	}
+
 	/**
 	 * Converts the given plane information using the current metadata to a format
 	 * usable by the wrapped reader, stored in the "lastPlane"... variables.
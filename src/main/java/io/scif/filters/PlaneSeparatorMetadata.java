@@ -33,6 +33,7 @@ import io.scif.DefaultImageMetadata;
 import io.scif.ImageMetadata;
 import io.scif.Metadata;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -121,6 +122,9 @@ public class PlaneSeparatorMetadata extends AbstractMetadataWrapper {
 				}
 			}
 
+			// NB: reduced resolution levels are not separated
+			if (offset > 0) iMeta.setSubResolutionLengths(new ArrayList<>());
+
 			add(iMeta, false);
 		}
 	}
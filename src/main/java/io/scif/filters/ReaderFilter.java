@@ -32,6 +32,8 @@ package io.scif.filters;
 import io.scif.Metadata;
 import io.scif.Reader;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -58,6 +60,19 @@ public class ReaderFilter extends AbstractReaderFilter implements
 		fHelper = new MasterFilterHelper<>(r, Reader.class);
 	}
 
+	// -- ReaderFilter API Methods --
+
+	/**
+	 * Wraps the given reader in a new {@code ReaderFilter} with the same filters
+	 * enabled, in the same configuration, as this one.
+	 *
+	 * @param r - Reader to be wrapped, on the same dataset as {@link #getTail()}
+	 * @return A new filter stack around {@code r}
+	 */
+	public ReaderFilter duplicate(final Reader r) {
+		return copyFilters(getParent(), r);
+	}
+
 	// -- MasterFilter API Methods --
 
 	@Override
@@ -103,4 +118,43 @@ public class ReaderFilter extends AbstractReaderFilter implements
 	public Metadata getMetadata() {
 		return fHelper.getParent().getMetadata();
 	}
+
+	// -- Helper Methods --
+
+	/**
+	 * Wraps a reader in a new {@code ReaderFilter} with the same filters
+	 * enabled, in the same configuration, as those from the given filter down.
+	 *
+	 * @param top - The outermost filter to copy, or a reader if there are none
+	 * @param r - Reader to be wrapped
+	 * @return A new filter stack around {@code r}
+	 */
+	static ReaderFilter copyFilters(final Reader top, final Reader r) {
+		final ReaderFilter copy = new ReaderFilter(r);
+		for (final Class<? extends Filter> filterClass : copy.getFilterClasses()) {
+			copy.disable(filterClass);
+		}
+
+		final List<Filter> filters = new ArrayList<>();
+		Object parent = top;
+		while (parent instanceof Filter) {
+			filters.add(0, (Filter) parent);
+			parent = ((Filter) parent).getParent();
+		}
+
+		final List<Filter> copies = new ArrayList<>();
+		for (final Filter filter : filters) {
+			copies.add(copy.enable(filter.getClass()));
+		}
+
+		// NB: Filters wrap the metadata of their parent when it is set, so each
+		// filter is rewrapped once the filters below it have been configured.
+		for (int i = 0; i < filters.size(); i++) {
+			if (!(copies.get(i) instanceof AbstractReaderFilter)) continue;
+			final AbstractReaderFilter f = (AbstractReaderFilter) copies.get(i);
+			f.setParent(f.getParent());
+			f.copySettings((AbstractReaderFilter) filters.get(i));
+		}
+		return copy;
+	}
 }
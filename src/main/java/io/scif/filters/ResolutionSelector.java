@@ -0,0 +1,174 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.filters;
+
+import io.scif.FormatException;
+import io.scif.Plane;
+import io.scif.config.SCIFIOConfig;
+
+import java.io.IOException;
+
+import net.imglib2.Interval;
+
+import org.scijava.io.location.Location;
+import org.scijava.plugin.Plugin;
+
+/**
+ * Exposes one resolution level of each image in place of its full resolution
+ * planes (see {@link io.scif.ImageMetadata#getResolution(int)}). Images with
+ * fewer levels than requested are read at their smallest level.
+ *
+ * @see io.scif.Reader#openPlane(int, int, long, Plane, Interval, SCIFIOConfig)
+ */
+@Plugin(type = Filter.class)
+public class ResolutionSelector extends AbstractReaderFilter {
+
+	// -- Fields --
+
+	/** Requested resolution level, where 0 is full resolution. */
+	private int resolution;
+
+	// -- Constructor --
+
+	public ResolutionSelector() {
+		super(ResolutionSelectorMetadata.class);
+	}
+
+	// -- ResolutionSelector API methods --
+
+	/** Returns the requested resolution level, where 0 is full resolution. */
+	public int getResolution() {
+		return resolution;
+	}
+
+	/**
+	 * Sets the resolution level to read, where 0 is full resolution.
+	 *
+	 * @throws IllegalArgumentException If the level is negative.
+	 */
+	public void setResolution(final int resolution) {
+		if (resolution < 0) {
+			throw new IllegalArgumentException("Invalid resolution level: " +
+				resolution);
+		}
+		this.resolution = resolution;
+		if (metaCheck()) {
+			((ResolutionSelectorMetadata) getMetadata()).setResolution(resolution);
+		}
+	}
+
+	// -- Reader API methods --
+
+	@Override
+	public Plane openPlane(final int imageIndex, final long planeIndex,
+		final SCIFIOConfig config) throws FormatException, IOException
+	{
+		return openPlane(imageIndex, planeIndex, planarBounds(imageIndex), config);
+	}
+
+	@Override
+	public Plane openPlane(final int imageIndex, final long planeIndex,
+		final Interval bounds, final SCIFIOConfig config) throws FormatException,
+		IOException
+	{
+		final Plane plane = createPlane(getMetadata().get(imageIndex), bounds);
+		return openPlane(imageIndex, planeIndex, plane, bounds, config);
+	}
+
+	@Override
+	public Plane openPlane(final int imageIndex, final long planeIndex,
+		final Plane plane, final SCIFIOConfig config) throws FormatException,
+		IOException
+	{
+		return openPlane(imageIndex, planeIndex, plane, planarBounds(imageIndex),
+			config);
+	}
+
+	@Override
+	public Plane openPlane(final int imageIndex, final long planeIndex,
+		final Plane plane, final Interval bounds, final SCIFIOConfig config)
+		throws FormatException, IOException
+	{
+		return getParent().openPlane(imageIndex, level(imageIndex), planeIndex,
+			plane, bounds, config);
+	}
+
+	/**
+	 * NB: resolution levels are relative to the selected one, which this filter
+	 * exposes as full resolution.
+	 */
+	@Override
+	public Plane openPlane(final int imageIndex, final int resolution,
+		final long planeIndex, final Plane plane, final Interval bounds,
+		final SCIFIOConfig config) throws FormatException, IOException
+	{
+		if (resolution == 0) {
+			return openPlane(imageIndex, planeIndex, plane, bounds, config);
+		}
+		return getParent().openPlane(imageIndex, level(imageIndex) + resolution,
+			planeIndex, plane, bounds, config);
+	}
+
+	// -- Prioritized API --
+
+	/**
+	 * NB: this filter must sit directly above the reader, as only readers can
+	 * read reduced resolution levels.
+	 */
+	@Override
+	public double getPriority() {
+		return -1.0;
+	}
+
+	// -- AbstractReaderFilter API Methods --
+
+	@Override
+	protected void copySettings(final AbstractReaderFilter filter) {
+		setResolution(((ResolutionSelector) filter).getResolution());
+	}
+
+	@Override
+	protected void setSourceHelper(final Location source,
+		final SCIFIOConfig config) throws IOException
+	{
+		super.setSourceHelper(source, config);
+		if (metaCheck()) {
+			((ResolutionSelectorMetadata) getMetadata()).setResolution(resolution);
+		}
+	}
+
+	// -- Helper methods --
+
+	/** Returns the parent's resolution level read for the given image. */
+	private int level(final int imageIndex) {
+		return ((ResolutionSelectorMetadata) getMetadata()).getResolution(
+			imageIndex);
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.filters;
+
+import io.scif.DefaultImageMetadata;
+import io.scif.ImageMetadata;
+import io.scif.Metadata;
+
+/**
+ * {@link io.scif.filters.MetadataWrapper} implementation specifically for use
+ * with the {@link io.scif.filters.ResolutionSelector}.
+ *
+ * @see io.scif.filters.MetadataWrapper
+ * @see io.scif.filters.ResolutionSelector
+ */
+public class ResolutionSelectorMetadata extends AbstractMetadataWrapper {
+
+	// -- Fields --
+
+	/** Requested resolution level. */
+	private int resolution;
+
+	// -- ResolutionSelectorMetadata API Methods --
+
+	/** Returns the requested resolution level, where 0 is full resolution. */
+	public int getResolution() {
+		return resolution;
+	}
+
+	/**
+	 * Returns the resolution level exposed for the given image: the requested
+	 * level, or the image's smallest level if it has fewer.
+	 */
+	public int getResolution(final int imageIndex) {
+		return Math.min(resolution, unwrap().get(imageIndex).getResolutionCount() -
+			1);
+	}
+
+	/** Sets the requested resolution level, where 0 is full resolution. */
+	public void setResolution(final int resolution) {
+		if (resolution < 0) {
+			throw new IllegalArgumentException("Invalid resolution level: " +
+				resolution);
+		}
+		this.resolution = resolution;
+		if (unwrap() != null) populateImageMetadata();
+	}
+
+	// -- Metadata API Methods --
+
+	@Override
+	public void populateImageMetadata() {
+		final Metadata m = unwrap();
+		createImageMetadata(0);
+
+		for (int i = 0; i < m.getImageCount(); i++) {
+			final ImageMetadata iMeta = new DefaultImageMetadata(m.get(i)
+				.getResolution(getResolution(i)));
+			add(iMeta, false);
+		}
+	}
+
+	// -- MetadataWrapper API Methods --
+
+	@Override
+	public Class<? extends Filter> filterType() {
+		return io.scif.filters.ResolutionSelector.class;
+	}
+}
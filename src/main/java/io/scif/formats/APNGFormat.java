@@ -40,9 +40,11 @@ import io.scif.Field;
 import io.scif.FieldPrinter;
 import io.scif.Format;
 import io.scif.FormatException;
+import io.scif.FormatSignature;
 import io.scif.ImageMetadata;
 import io.scif.Plane;
 import io.scif.Translator;
+import io.scif.codec.PNGScanlineDecoder;
 import io.scif.config.SCIFIOConfig;
 import io.scif.gui.AWTImageTools;
 import io.scif.gui.BufferedImageReader;
@@ -50,18 +52,24 @@ import io.scif.util.FormatTools;
 import io.scif.util.SCIFIOMetadataTools;
 
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
 import java.awt.image.IndexColorModel;
+import java.awt.image.SampleModel;
 import java.awt.image.WritableRaster;
 import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.zip.CRC32;
 import java.util.zip.DeflaterOutputStream;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.stream.ImageInputStream;
 
 import net.imagej.axis.Axes;
 import net.imglib2.FinalInterval;
@@ -382,6 +390,13 @@ public class APNGFormat extends AbstractFormat {
 			}
 			return true;
 		}
+
+		@Override
+		public FormatSignature[] getSignatures() {
+			return new FormatSignature[] { new FormatSignature(0, (byte) 0x89,
+				(byte) 0x50, (byte) 0x4e, (byte) 0x47, (byte) 0x0d, (byte) 0x0a,
+				(byte) 0x1a, (byte) 0x0a) };
+		}
 	}
 
 	/**
@@ -527,6 +542,16 @@ public class APNGFormat extends AbstractFormat {
 		// Plane index of the last plane that was returned.
 		private long lastPlaneIndex = -1;
 
+		// Fully decoded default image, onto which the other frames are pasted.
+		private BufferedImage defaultImage;
+
+		// Type of image that ImageIO creates for this dataset, or null if the
+		// image data can not be decoded natively.
+		private ImageTypeSpecifier imageType;
+
+		// Whether imageType has been determined.
+		private boolean imageTypeKnown;
+
 		// -- AbstractReader API Methods --
 
 		@Override
@@ -540,6 +565,9 @@ public class APNGFormat extends AbstractFormat {
 		public void setMetadata(final Metadata meta) throws IOException {
 			lastPlaneIndex = -1;
 			lastPlane = null;
+			defaultImage = null;
+			imageType = null;
+			imageTypeKnown = false;
 			super.setMetadata(meta);
 		}
 
@@ -563,7 +591,208 @@ public class APNGFormat extends AbstractFormat {
 				plane.setData(subImage);
 				return plane;
 			}
-			else if (lastPlane == null) {
+
+			if (getImageType() == null) {
+				return openPlaneImageIO(imageIndex, planeIndex, plane, bounds, config);
+			}
+
+			final ImageMetadata imageMeta = meta.get(imageIndex);
+			final boolean wholePlane = SCIFIOMetadataTools.wholePlane(imageIndex,
+				meta, bounds);
+			// Rows of the plane which need to be decoded
+			final int minY = (int) bounds.min(1);
+			final int maxY = (int) bounds.max(1) + 1;
+
+			BufferedImage image = defaultImage;
+			if (image == null) {
+				final IHDRChunk ihdr = meta.getIhdr();
+				image = getImageType().createBufferedImage(ihdr.getWidth(), ihdr
+					.getHeight());
+				decodeFrame(meta.getIdat(), 0, new int[] { 0, 0, ihdr.getWidth(),
+					ihdr.getHeight() }, image.getRaster(), minY, maxY);
+				// Only a complete default image can be pasted onto later
+				if (wholePlane) defaultImage = image;
+			}
+
+			if (planeIndex > 0) {
+				// Paste the frame onto a copy of the default image
+				if (image == defaultImage) {
+					image = new BufferedImage(image.getColorModel(), image.copyData(
+						null), image.isAlphaPremultiplied(), null);
+				}
+				final FCTLChunk fctl = meta.getFctl().get((int) (meta
+					.isSeparateDefault() ? planeIndex - 1 : planeIndex));
+				decodeFrame(fctl.getFdatChunks(), 4, fctl.getFrameCoordinates(), image
+					.getRaster(), minY, maxY);
+			}
+
+			if (imageMeta.isIndexed()) {
+				final PLTEChunk plte = meta.getPlte();
+				if (plte != null) {
+					plane.setColorTable(new ColorTable8(plte.getRed(), plte.getGreen(),
+						plte.getBlue()));
+				}
+			}
+
+			if (wholePlane) {
+				if (lastPlane == null) lastPlane = createPlane(bounds);
+				lastPlane.populate(imageMeta, image, bounds);
+				lastPlaneIndex = planeIndex;
+				plane.setData(image);
+			}
+			else {
+				plane.setData(AWTImageTools.getSubimage(image, imageMeta
+					.isLittleEndian(), bounds));
+			}
+			return plane;
+		}
+
+		@Override
+		public void close(final boolean fileOnly) throws IOException {
+			super.close(fileOnly);
+
+			if (!fileOnly) {
+				lastPlane = null;
+				lastPlaneIndex = -1;
+				defaultImage = null;
+				imageType = null;
+				imageTypeKnown = false;
+			}
+		}
+
+		// -- Helper methods --
+
+		/**
+		 * Determines the type of image ImageIO would create for this dataset, by
+		 * reading the header chunks only.
+		 *
+		 * @return The image type, or null if the image data can not be decoded by
+		 *         {@link #decodeFrame}: if it is interlaced, has fewer than 8 bits
+		 *         per sample, or ImageIO would not store one sample per data
+		 *         element.
+		 */
+		private ImageTypeSpecifier getImageType() throws IOException {
+			if (imageTypeKnown) return imageType;
+			imageTypeKnown = true;
+
+			final IHDRChunk ihdr = getMetadata().getIhdr();
+			final int bitDepth = ihdr.getBitDepth();
+			if (ihdr.getInterlaceMethod() != 0 || ihdr.getCompressionMethod() != 0 ||
+				ihdr.getFilterMethod() != 0 || (bitDepth != 8 && bitDepth != 16))
+			{
+				return null;
+			}
+
+			final DataHandle<Location> handle = getHandle();
+			handle.seek(0);
+			final ImageInputStream iis = ImageIO.createImageInputStream(
+				new BufferedInputStream(new DataHandleInputStream<>(handle), 4096));
+			final Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+			if (!readers.hasNext()) {
+				iis.close();
+				return null;
+			}
+			final ImageReader reader = readers.next();
+			try {
+				reader.setInput(iis, true, true);
+				final ImageTypeSpecifier type = reader.getImageTypes(0).next();
+				final SampleModel sampleModel = type.getSampleModel();
+				final int transferType = bitDepth == 8 ? DataBuffer.TYPE_BYTE
+					: DataBuffer.TYPE_USHORT;
+				if (sampleModel.getTransferType() == transferType && sampleModel
+					.getNumDataElements() == samplesPerPixel(ihdr.getColourType()))
+				{
+					imageType = type;
+				}
+			}
+			finally {
+				reader.dispose();
+				iis.close();
+			}
+			return imageType;
+		}
+
+		/**
+		 * Decodes the given frame directly into the raster, without going through
+		 * ImageIO. Only the rows between {@code minY} (inclusive) and {@code maxY}
+		 * (exclusive) are written, and the image data past the last of them is
+		 * not decompressed at all.
+		 *
+		 * @param chunks The IDAT or fdAT chunks holding the frame's image data.
+		 * @param skip The number of bytes preceding the image data in each chunk.
+		 * @param coords The x, y, width and height of the frame.
+		 */
+		private void decodeFrame(final List<? extends APNGChunk> chunks,
+			final int skip, final int[] coords, final WritableRaster raster,
+			final int minY, final int maxY) throws FormatException, IOException
+		{
+			final int x = coords[0], y = coords[1], w = coords[2], h = coords[3];
+			if (x < 0 || y < 0 || x + w > raster.getWidth() || y + h > raster
+				.getHeight())
+			{
+				throw new FormatException("Frame " + x + ", " + y + ", " + w + "x" +
+					h + " exceeds the image bounds");
+			}
+			final int firstRow = Math.max(0, minY - y);
+			final int lastRow = Math.min(h, maxY - y);
+			if (firstRow >= lastRow) return;
+
+			final long[] offsets = new long[chunks.size()];
+			final int[] lengths = new int[chunks.size()];
+			for (int i = 0; i < offsets.length; i++) {
+				offsets[i] = chunks.get(i).getOffset() + skip;
+				lengths[i] = chunks.get(i).getLength() - skip;
+			}
+
+			final IHDRChunk ihdr = getMetadata().getIhdr();
+			final int samples = samplesPerPixel(ihdr.getColourType());
+			final boolean sixteenBit = ihdr.getBitDepth() == 16;
+			final short[] shorts = sixteenBit ? new short[w * samples] : null;
+
+			try (final PNGScanlineDecoder decoder = new PNGScanlineDecoder(
+				getHandle(), offsets, lengths, w, samples, ihdr.getBitDepth()))
+			{
+				decoder.skipRows(firstRow);
+				for (int row = firstRow; row < lastRow; row++) {
+					final byte[] bytes = decoder.nextRow();
+					if (sixteenBit) {
+						// PNG samples are always big endian
+						for (int i = 0; i < shorts.length; i++) {
+							shorts[i] = (short) (((bytes[2 * i] & 0xff) << 8) | (bytes[2 * i +
+								1] & 0xff));
+						}
+						raster.setDataElements(x, y + row, w, 1, shorts);
+					}
+					else raster.setDataElements(x, y + row, w, 1, bytes);
+				}
+			}
+		}
+
+		/** @return The number of samples per pixel of the given colour type. */
+		private static int samplesPerPixel(final int colourType) {
+			switch (colourType) {
+				case 0x2:
+					return 3;
+				case 0x4:
+					return 2;
+				case 0x6:
+					return 4;
+				default:
+					return 1;
+			}
+		}
+
+		/**
+		 * Opens a plane with the standard Java ImageIO. Non-default frames are
+		 * rebuilt into standalone PNG images, decoded and pasted onto frame 0.
+		 */
+		private BufferedImagePlane openPlaneImageIO(final int imageIndex,
+			final long planeIndex, final BufferedImagePlane plane,
+			final Interval bounds, final SCIFIOConfig config) throws FormatException,
+			IOException
+		{
+			final Metadata meta = getMetadata();
+			if (lastPlane == null) {
 				lastPlane = createPlane(bounds);
 				if (getMetadata().get(imageIndex).isIndexed()) {
 					final PLTEChunk plte = meta.getPlte();
@@ -609,16 +838,16 @@ public class APNGFormat extends AbstractFormat {
 			final ByteArrayOutputStream stream = new ByteArrayOutputStream();
 			stream.write(APNGFormat.PNG_SIGNATURE);
 
-			final int[] coords = getMetadata().getFctl().get((int) planeIndex)
-				.getFrameCoordinates();
+			final FCTLChunk fctl = getMetadata().getFctl().get((int) (getMetadata()
+				.isSeparateDefault() ? planeIndex - 1 : planeIndex));
+			final int[] coords = fctl.getFrameCoordinates();
+
 			// process IHDR chunk
 			final IHDRChunk ihdr = getMetadata().getIhdr();
 			processChunk(imageIndex, ihdr.getLength(), ihdr.getOffset(), coords,
 				stream, true);
 
-			// process fcTL and fdAT chunks
-			final FCTLChunk fctl = getMetadata().getFctl().get((int) (getMetadata()
-				.isSeparateDefault() ? planeIndex - 1 : planeIndex));
+			// process fdAT chunks
 
 			// fdAT chunks are converted to IDAT chunks, as we are essentially
 			// building a standalone single-frame image
@@ -672,18 +901,6 @@ public class APNGFormat extends AbstractFormat {
 			return plane.populate(lastPlane);
 		}
 
-		@Override
-		public void close(final boolean fileOnly) throws IOException {
-			super.close(fileOnly);
-
-			if (!fileOnly) {
-				lastPlane = null;
-				lastPlaneIndex = -1;
-			}
-		}
-
-		// -- Helper methods --
-
 		private long computeCRC(final byte[] buf, final int len) {
 			final CRC32 crc = new CRC32();
 			crc.update(buf, 0, len);
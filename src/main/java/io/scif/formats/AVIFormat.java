@@ -39,6 +39,7 @@ import io.scif.ByteArrayPlane;
 import io.scif.ByteArrayReader;
 import io.scif.Format;
 import io.scif.FormatException;
+import io.scif.FormatSignature;
 import io.scif.HasColorTable;
 import io.scif.ImageMetadata;
 import io.scif.MetaTable;
@@ -449,6 +450,11 @@ public class AVIFormat extends AbstractFormat {
 			return type.equals(AVI_MAGIC_STRING) && format.equals("AVI ");
 		}
 
+		@Override
+		public FormatSignature[] getSignatures() {
+			return new FormatSignature[] { new FormatSignature(0, AVI_MAGIC_STRING) };
+		}
+
 	}
 
 	public static class Parser extends AbstractParser<Metadata> {
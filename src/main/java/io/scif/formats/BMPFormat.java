@@ -37,6 +37,7 @@ import io.scif.ByteArrayPlane;
 import io.scif.ByteArrayReader;
 import io.scif.Format;
 import io.scif.FormatException;
+import io.scif.FormatSignature;
 import io.scif.HasColorTable;
 import io.scif.ImageMetadata;
 import io.scif.MetaTable;
@@ -216,6 +217,11 @@ public class BMPFormat extends AbstractFormat {
 			if (!FormatTools.validStream(stream, blockLen, false)) return false;
 			return stream.readString(blockLen).startsWith(BMP_MAGIC_STRING);
 		}
+
+		@Override
+		public FormatSignature[] getSignatures() {
+			return new FormatSignature[] { new FormatSignature(0, BMP_MAGIC_STRING) };
+		}
 	}
 
 	public static class Parser extends AbstractParser<Metadata> {
@@ -32,11 +32,12 @@ package io.scif.formats;
 import io.scif.AbstractFormat;
 import io.scif.AbstractMetadata;
 import io.scif.AbstractParser;
-import io.scif.ByteArrayPlane;
-import io.scif.ByteArrayReader;
+import io.scif.ByteBufferPlane;
+import io.scif.ByteBufferReader;
 import io.scif.Format;
 import io.scif.FormatException;
 import io.scif.ImageMetadata;
+import io.scif.SelfContainedMetadata;
 import io.scif.config.SCIFIOConfig;
 import io.scif.util.FormatTools;
 
@@ -70,7 +71,9 @@ public class FITSFormat extends AbstractFormat {
 
 	// -- Nested Classes --
 
-	public static class Metadata extends AbstractMetadata {
+	public static class Metadata extends AbstractMetadata implements
+		SelfContainedMetadata
+	{
 
 		// -- Fields --
 
@@ -95,9 +98,8 @@ public class FITSFormat extends AbstractFormat {
 			if (iMeta.getAxisLength(Axes.Z) == 0) iMeta.setAxisLength(Axes.Z, 1);
 
 			// correct for truncated files
-			final int planeSize = (int) iMeta.getAxisLength(Axes.X) * (int) iMeta
-				.getAxisLength(Axes.Y) * FormatTools.getBytesPerPixel(iMeta
-					.getPixelType());
+			final long planeSize = iMeta.getAxisLength(Axes.X) * iMeta.getAxisLength(
+				Axes.Y) * FormatTools.getBytesPerPixel(iMeta.getPixelType());
 
 			try {
 				if (ArrayUtils.safeMultiply64(planeSize, iMeta.getAxisLength(
@@ -185,7 +187,7 @@ public class FITSFormat extends AbstractFormat {
 		}
 	}
 
-	public static class Reader extends ByteArrayReader<Metadata> {
+	public static class Reader extends ByteBufferReader<Metadata> {
 
 		// -- AbstractReader API Methods --
 
@@ -198,14 +200,19 @@ public class FITSFormat extends AbstractFormat {
 		// -- Reader API Methods --
 
 		@Override
-		public ByteArrayPlane openPlane(final int imageIndex, final long planeIndex,
-			final ByteArrayPlane plane, final Interval bounds,
+		public ByteBufferPlane openPlane(final int imageIndex,
+			final long planeIndex, final ByteBufferPlane plane, final Interval bounds,
 			final SCIFIOConfig config) throws FormatException, IOException
 		{
-			final byte[] buf = plane.getData();
-
+			// NB: Planes may exceed the int range of the buffer size check.
 			FormatTools.checkPlaneForReading(getMetadata(), imageIndex, planeIndex,
-				buf.length, bounds);
+				-1, bounds);
+			final long size = FormatTools.getPlaneSize(getMetadata(), bounds,
+				imageIndex);
+			if (plane.getSize() < size) {
+				throw new FormatException("Buffer too small (got " + plane.getSize() +
+					", expected " + size + ").");
+			}
 
 			getHandle().seek(getMetadata().getPixelOffset() + planeIndex * FormatTools
 				.getPlaneSize(this, imageIndex));
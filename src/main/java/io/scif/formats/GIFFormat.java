@@ -37,12 +37,17 @@ import io.scif.ByteArrayPlane;
 import io.scif.ByteArrayReader;
 import io.scif.Format;
 import io.scif.FormatException;
+import io.scif.FormatSignature;
 import io.scif.HasColorTable;
 import io.scif.ImageMetadata;
 import io.scif.config.SCIFIOConfig;
 import io.scif.util.FormatTools;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Vector;
 
 import net.imagej.axis.Axes;
@@ -112,16 +117,8 @@ public class GIFFormat extends AbstractFormat {
 		/** Transparent color index. */
 		private int transIndex;
 
-		// LZW working arrays
-		private transient short[] prefix;
-
-		private transient byte[] suffix;
-
-		private transient byte[] pixelStack;
-
-		private transient byte[] pixels;
-
-		private transient Vector<byte[]> images;
+		/** Location and layout of each frame's image data. */
+		private transient Vector<Frame> frames;
 
 		private transient Vector<int[]> colorTables;
 
@@ -243,44 +240,16 @@ public class GIFFormat extends AbstractFormat {
 			this.transIndex = transIndex;
 		}
 
-		public short[] getPrefix() {
-			return prefix;
-		}
-
-		public void setPrefix(final short[] prefix) {
-			this.prefix = prefix;
-		}
-
-		public byte[] getSuffix() {
-			return suffix;
-		}
-
-		public void setSuffix(final byte[] suffix) {
-			this.suffix = suffix;
-		}
-
-		public byte[] getPixelStack() {
-			return pixelStack;
-		}
-
-		public void setPixelStack(final byte[] pixelStack) {
-			this.pixelStack = pixelStack;
-		}
-
-		public byte[] getPixels() {
-			return pixels;
-		}
-
-		public void setPixels(final byte[] pixels) {
-			this.pixels = pixels;
-		}
-
-		public Vector<byte[]> getImages() {
-			return images;
+		/**
+		 * @return Location and layout of each frame, whose image data is decoded
+		 *         on demand by the {@link Reader}.
+		 */
+		public Vector<Frame> getFrames() {
+			return frames;
 		}
 
-		public void setImages(final Vector<byte[]> images) {
-			this.images = images;
+		public void setFrames(final Vector<Frame> frames) {
+			this.frames = frames;
 		}
 
 		public Vector<int[]> getColorTables() {
@@ -317,9 +286,7 @@ public class GIFFormat extends AbstractFormat {
 				ix = iy = iw = ih = blockSize = 0;
 				dispose = lastDispose = transIndex = 0;
 				gct = act;
-				prefix = null;
-				suffix = pixelStack = pixels = null;
-				images = null;
+				frames = null;
 				colorTables = null;
 				dBlock = new byte[length];
 			}
@@ -348,6 +315,67 @@ public class GIFFormat extends AbstractFormat {
 
 	}
 
+	/**
+	 * Where a frame's compressed image data starts, and how the decoded frame
+	 * is drawn onto the logical screen.
+	 */
+	public static class Frame {
+
+		private final long offset;
+
+		private final int ix, iy, iw, ih;
+
+		private final boolean interlace;
+
+		private final int base;
+
+		public Frame(final long offset, final int ix, final int iy, final int iw,
+			final int ih, final boolean interlace, final int base)
+		{
+			this.offset = offset;
+			this.ix = ix;
+			this.iy = iy;
+			this.iw = iw;
+			this.ih = ih;
+			this.interlace = interlace;
+			this.base = base;
+		}
+
+		/** @return Offset of the LZW minimum code size, before the data blocks. */
+		public long getOffset() {
+			return offset;
+		}
+
+		public int getIx() {
+			return ix;
+		}
+
+		public int getIy() {
+			return iy;
+		}
+
+		public int getIw() {
+			return iw;
+		}
+
+		public int getIh() {
+			return ih;
+		}
+
+		public boolean isInterlace() {
+			return interlace;
+		}
+
+		/**
+		 * @return Index of the frame whose pixels this frame is drawn over, as
+		 *         determined by the preceding frame's disposal method, or -1 to
+		 *         draw over a blank screen.
+		 */
+		public int getBase() {
+			return base;
+		}
+	}
+
 	public static class Checker extends AbstractChecker {
 
 		// -- Checker API methods --
@@ -358,6 +386,11 @@ public class GIFFormat extends AbstractFormat {
 			if (!FormatTools.validStream(in, blockLen, false)) return false;
 			return in.readString(blockLen).startsWith(GIF_MAGIC_STRING);
 		}
+
+		@Override
+		public FormatSignature[] getSignatures() {
+			return new FormatSignature[] { new FormatSignature(0, GIF_MAGIC_STRING) };
+		}
 	}
 
 	public static class Parser extends AbstractParser<Metadata> {
@@ -372,9 +405,6 @@ public class GIFFormat extends AbstractFormat {
 
 		private static final int GRAPHICS = 0xf9;
 
-		/** Maximum buffer size. */
-		private static final int MAX_STACK_SIZE = 4096;
-
 		// -- Parser API Methods --
 
 		@Override
@@ -385,7 +415,7 @@ public class GIFFormat extends AbstractFormat {
 			log().info("Verifying GIF format");
 
 			stream.setOrder(ByteOrder.LITTLE_ENDIAN);
-			meta.setImages(new Vector<byte[]>());
+			meta.setFrames(new Vector<Frame>());
 			meta.setColorTables(new Vector<int[]>());
 
 			final String ident = getSource().readString(6);
@@ -482,50 +512,300 @@ public class GIFFormat extends AbstractFormat {
 			if (metadata.getAct() == null) throw new FormatException(
 				"Color table not found.");
 
-			int save = 0;
-
-			if (metadata.isTransparency()) {
-				save = metadata.getAct()[metadata.getTransIndex()];
-				metadata.getAct()[metadata.getTransIndex()] = 0;
-			}
-
-			decodeImageData();
+			// NB: Frames are decoded on demand by the Reader; record where the
+			// image data starts and skip it.
+			final long offset = getSource().offset();
+			getSource().read();
+			metadata.getFrames().add(new Frame(offset, metadata.getIx(), metadata
+				.getIy(), metadata.getIw(), metadata.getIh(), metadata.isInterlace(),
+				getBase()));
+			metadata.getColorTables().add(metadata.getAct());
 			skipBlocks();
 
 			// Update the plane count
 			metadata.get(0).setAxisLength(Axes.TIME, metadata.get(0).getAxisLength(
 				Axes.TIME) + 1);
 
-			if (metadata.isTransparency()) metadata.getAct()[metadata
-				.getTransIndex()] = save;
-
 			metadata.setLastDispose(metadata.getDispose());
 		}
 
-		/** Decodes LZW image data into a pixel array. Adapted from ImageMagick. */
-		private void decodeImageData() throws IOException {
-			final int nullCode = -1;
-			final int npix = getMetadata().getIw() * getMetadata().getIh();
+		/**
+		 * @return The index of the frame over which the next frame is drawn,
+		 *         according to the last frame's disposal method, or -1 for none.
+		 */
+		private int getBase() {
+			long lastImage = -1;
+			if (getMetadata().getLastDispose() == 3) { // use image before last
+				final long n = getMetadata().get(0).getPlaneCount() - 2;
+				if (n > 0) lastImage = n - 1;
+			}
+			return (int) lastImage;
+		}
 
-			byte[] pixels = getMetadata().getPixels();
+		/** Reads the next variable length block. */
+		private int readBlock() throws IOException {
+			if (getSource().offset() == getSource().length()) return -1;
+			getMetadata().setBlockSize(getSource().read() & 0xff);
+			int n = 0;
+			int count;
 
-			if (pixels == null || pixels.length < npix) pixels = new byte[npix];
+			if (getMetadata().getBlockSize() > 0) {
+				try {
+					while (n < getMetadata().getBlockSize()) {
+						count = getSource().read(getMetadata().getdBlock(), n, getMetadata()
+							.getBlockSize() - n);
+						if (count == -1) break;
+						n += count;
+					}
+				}
+				catch (final IOException e) {
+					log().trace("Truncated block", e);
+				}
+			}
+			return n;
+		}
 
-			short[] prefix = getMetadata().getPrefix();
-			byte[] suffix = getMetadata().getSuffix();
-			byte[] pixelStack = getMetadata().getPixelStack();
+		/** Read a color lookup table of the specified size. */
+		private int[] readLut(final int size) throws FormatException {
+			final int nbytes = 3 * size;
+			final byte[] c = new byte[nbytes];
+			int n = 0;
+			try {
+				n = getSource().read(c);
+			}
+			catch (final IOException e) {}
+
+			if (n < nbytes) {
+				throw new FormatException("Color table not found");
+			}
 
+			final int[] lut = new int[256];
+			int j = 0;
+			for (int i = 0; i < size; i++) {
+				final int r = c[j++] & 0xff;
+				final int g = c[j++] & 0xff;
+				final int b = c[j++] & 0xff;
+				lut[i] = 0xff000000 | (r << 16) | (g << 8) | b;
+			}
+			return lut;
+		}
+	}
+
+	public static class Reader extends ByteArrayReader<Metadata> {
+
+		// -- Constants --
+
+		/** Maximum buffer size. */
+		private static final int MAX_STACK_SIZE = 4096;
+
+		/** Memory budget of each of the frame caches. */
+		private static final long CACHE_BYTES = 32L * 1024 * 1024;
+
+		/**
+		 * Interval at which composited frames are kept while compositing forward
+		 * to a requested frame, as starting points for later requests.
+		 */
+		private static final int KEYFRAME_INTERVAL = 16;
+
+		// -- Fields --
+
+		/** Recently decoded frames, before compositing. */
+		private FrameCache frames;
+
+		/** Recent keyframes, with transparent pixels composited. */
+		private FrameCache composites;
+
+		// LZW working arrays
+		private short[] prefix;
+
+		private byte[] suffix;
+
+		private byte[] pixelStack;
+
+		private byte[] pixels;
+
+		/** Current data block. */
+		private final byte[] dBlock = new byte[256];
+
+		// -- AbstractReader API Methods --
+
+		@Override
+		protected String[] createDomainArray() {
+			return new String[] { FormatTools.GRAPHICS_DOMAIN };
+		}
+
+		// -- Reader API Methods --
+
+		@Override
+		public ByteArrayPlane openPlane(final int imageIndex, final long planeIndex,
+			final ByteArrayPlane plane, final Interval bounds,
+			final SCIFIOConfig config) throws FormatException, IOException
+		{
+			final byte[] buf = plane.getData();
+			final Metadata meta = getMetadata();
+			final int xIndex = meta.get(imageIndex).getAxisIndex(Axes.X);
+			final int yIndex = meta.get(imageIndex).getAxisIndex(Axes.Y);
+			plane.setColorTable(meta.getColorTable(0, 0));
+			FormatTools.checkPlaneForReading(meta, imageIndex, planeIndex, buf.length,
+				bounds);
+			final int x = (int) bounds.min(xIndex);
+			final int y = (int) bounds.min(yIndex);
+			final int w = (int) bounds.dimension(xIndex);
+			final int h = (int) bounds.dimension(yIndex);
+
+			final byte[] b = openFrame((int) planeIndex);
+
+			for (int row = 0; row < h; row++) {
+				System.arraycopy(b, (row + y) * (int) meta.get(imageIndex)
+					.getAxisLength(Axes.X) + x, buf, row * w, w);
+			}
+
+			return plane;
+		}
+
+		@Override
+		public void close(final boolean fileOnly) throws IOException {
+			super.close(fileOnly);
+			if (!fileOnly) clearCaches();
+		}
+
+		@Override
+		public void setMetadata(final Metadata meta) throws IOException {
+			super.setMetadata(meta);
+			clearCaches();
+		}
+
+		// -- Helper methods --
+
+		/**
+		 * Obtains the given frame as displayed: with transparent pixels showing
+		 * the displayed preceding frame. Compositing starts from the nearest
+		 * cached keyframe, so reading frames in order decodes each frame once.
+		 */
+		private byte[] openFrame(final int index) throws IOException {
+			final Metadata meta = getMetadata();
+			if (index == 0 || !meta.isTransparency()) return decodeFrame(index);
+			if (composites == null) composites = new FrameCache(frameSize());
+
+			final byte[] cached = composites.get(index);
+			if (cached != null) return cached;
+
+			int start = index - 1;
+			byte[] prev = null;
+			while (start > 0 && (prev = composites.get(start)) == null)
+				start--;
+			if (prev == null) prev = decodeFrame(0);
+
+			int idx = meta.getTransIndex();
+			if (idx >= 127) idx = 0;
+			for (int i = start + 1; i <= index; i++) {
+				final byte[] b = decodeFrame(i).clone();
+				final int[] act = meta.getColorTables().get(i);
+				for (int p = 0; p < b.length; p++) {
+					if ((act[b[p] & 0xff] & 0xffffff) == idx) {
+						b[p] = prev[p];
+					}
+				}
+				if (i == index || i % KEYFRAME_INTERVAL == 0) composites.put(i, b);
+				prev = b;
+			}
+			return prev;
+		}
+
+		/**
+		 * Obtains the given frame drawn over its base frame, if any, but without
+		 * compositing transparent pixels. The returned array is shared with the
+		 * cache and must not be modified.
+		 */
+		private byte[] decodeFrame(final int index) throws IOException {
+			if (frames == null) frames = new FrameCache(frameSize());
+			final byte[] cached = frames.get(index);
+			if (cached != null) return cached;
+
+			// NB: Decode the chain of uncached base frames from the bottom up.
+			final Vector<Frame> list = getMetadata().getFrames();
+			final Deque<Integer> chain = new ArrayDeque<>();
+			byte[] base = null;
+			for (int i = index; i >= 0 && base == null; i = list.get(i).getBase()) {
+				chain.push(i);
+				final int b = list.get(i).getBase();
+				if (b >= 0) base = frames.get(b);
+			}
+			byte[] dest = null;
+			while (!chain.isEmpty()) {
+				final int i = chain.pop();
+				dest = base == null ? new byte[frameSize()] : base.clone();
+				drawFrame(list.get(i), dest);
+				frames.put(i, dest);
+				base = dest;
+			}
+			return dest;
+		}
+
+		/** Decodes the given frame's image data onto the logical screen. */
+		private void drawFrame(final Frame frame, final byte[] dest)
+			throws IOException
+		{
+			decodeImageData(frame);
+
+			final int width = (int) getMetadata().get(0).getAxisLength(Axes.X);
+			final int height = (int) getMetadata().get(0).getAxisLength(Axes.Y);
+
+			// copy each source line to the appropriate place in the destination
+
+			int pass = 1;
+			int inc = 8;
+			int iline = 0;
+			for (int i = 0; i < frame.getIh(); i++) {
+				int line = i;
+				if (frame.isInterlace()) {
+					if (iline >= frame.getIh()) {
+						pass++;
+						switch (pass) {
+							case 2:
+								iline = 4;
+								break;
+							case 3:
+								iline = 2;
+								inc = 4;
+								break;
+							case 4:
+								iline = 1;
+								inc = 2;
+								break;
+						}
+					}
+					line = iline;
+					iline += inc;
+				}
+				line += frame.getIy();
+				if (line < height) {
+					final int k = line * width;
+					final int dx = k + frame.getIx(); // start of line in dest
+					int dlim = dx + frame.getIw(); // end of dest line
+					if ((k + width) < dlim) dlim = k + width;
+					final int sx = i * frame.getIw(); // start of line in source
+					if (dlim > dx) System.arraycopy(pixels, sx, dest, dx, dlim - dx);
+				}
+			}
+		}
+
+		/**
+		 * Decodes LZW image data into {@link #pixels}. Adapted from ImageMagick.
+		 */
+		private void decodeImageData(final Frame frame) throws IOException {
+			final int nullCode = -1;
+			final int npix = frame.getIw() * frame.getIh();
+
+			if (pixels == null || pixels.length < npix) pixels = new byte[npix];
 			if (prefix == null) prefix = new short[MAX_STACK_SIZE];
 			if (suffix == null) suffix = new byte[MAX_STACK_SIZE];
 			if (pixelStack == null) pixelStack = new byte[MAX_STACK_SIZE + 1];
 
-			getMetadata().setPrefix(prefix);
-			getMetadata().setSuffix(suffix);
-			getMetadata().setPixelStack(pixelStack);
-
 			// initialize GIF data stream decoder
 
-			final int read = getSource().read();
+			getHandle().seek(frame.getOffset());
+			final int read = getHandle().read();
 			final int dataSize = read & 0xff;
 
 			final int clear = 1 << dataSize;
@@ -553,7 +833,7 @@ public class GIFFormat extends AbstractFormat {
 							if (count <= 0) break;
 							bi = 0;
 						}
-						datum += (getMetadata().getdBlock()[bi] & 0xff) << bits;
+						datum += (dBlock[bi] & 0xff) << bits;
 						bits += 8;
 						bi++;
 						count--;
@@ -617,91 +897,20 @@ public class GIFFormat extends AbstractFormat {
 
 			for (i = pi; i < npix; i++)
 				pixels[i] = 0;
-			getMetadata().setPixels(pixels);
-			setPixels();
-		}
-
-		private void setPixels() {
-			// expose destination image's pixels as an int array
-			final byte[] dest = new byte[(int) (getMetadata().get(0).getAxisLength(
-				Axes.X) * getMetadata().get(0).getAxisLength(Axes.Y))];
-			long lastImage = -1;
-
-			// fill in starting image contents based on last image's dispose
-			// code
-			if (getMetadata().getLastDispose() > 0) {
-				if (getMetadata().getLastDispose() == 3) { // use image before last
-					final long n = getMetadata().get(0).getPlaneCount() - 2;
-					if (n > 0) lastImage = n - 1;
-				}
-
-				if (lastImage != -1) {
-					final byte[] prev = getMetadata().getImages().get((int) lastImage);
-					System.arraycopy(prev, 0, dest, 0, (int) (getMetadata().get(0)
-						.getAxisLength(Axes.X) * getMetadata().get(0).getAxisLength(
-							Axes.Y)));
-				}
-			}
-
-			// copy each source line to the appropriate place in the destination
-
-			int pass = 1;
-			int inc = 8;
-			int iline = 0;
-			for (int i = 0; i < getMetadata().getIh(); i++) {
-				int line = i;
-				if (getMetadata().isInterlace()) {
-					if (iline >= getMetadata().getIh()) {
-						pass++;
-						switch (pass) {
-							case 2:
-								iline = 4;
-								break;
-							case 3:
-								iline = 2;
-								inc = 4;
-								break;
-							case 4:
-								iline = 1;
-								inc = 2;
-								break;
-						}
-					}
-					line = iline;
-					iline += inc;
-				}
-				line += getMetadata().getIy();
-				if (line < getMetadata().get(0).getAxisLength(Axes.Y)) {
-					final int k = line * (int) getMetadata().get(0).getAxisLength(Axes.X);
-					int dx = k + getMetadata().getIx(); // start of line in dest
-					int dlim = dx + getMetadata().getIw(); // end of dest line
-					if ((k + getMetadata().get(0).getAxisLength(Axes.X)) < dlim) dlim =
-						k + (int) getMetadata().get(0).getAxisLength(Axes.X);
-					int sx = i * getMetadata().getIw(); // start of line in
-					// source
-					while (dx < dlim) {
-						// map color and insert in destination
-						final int index = getMetadata().getPixels()[sx++] & 0xff;
-						dest[dx++] = (byte) index;
-					}
-				}
-			}
-			getMetadata().getColorTables().add(getMetadata().getAct());
-			getMetadata().getImages().add(dest);
 		}
 
-		/** Reads the next variable length block. */
+		/** Reads the next variable length block into {@link #dBlock}. */
 		private int readBlock() throws IOException {
-			if (getSource().offset() == getSource().length()) return -1;
-			getMetadata().setBlockSize(getSource().read() & 0xff);
+			final DataHandle<Location> stream = getHandle();
+			if (stream.offset() == stream.length()) return -1;
+			final int blockSize = stream.read() & 0xff;
 			int n = 0;
 			int count;
 
-			if (getMetadata().getBlockSize() > 0) {
+			if (blockSize > 0) {
 				try {
-					while (n < getMetadata().getBlockSize()) {
-						count = getSource().read(getMetadata().getdBlock(), n, getMetadata()
-							.getBlockSize() - n);
+					while (n < blockSize) {
+						count = stream.read(dBlock, n, blockSize - n);
 						if (count == -1) break;
 						n += count;
 					}
@@ -713,80 +922,41 @@ public class GIFFormat extends AbstractFormat {
 			return n;
 		}
 
-		/** Read a color lookup table of the specified size. */
-		private int[] readLut(final int size) throws FormatException {
-			final int nbytes = 3 * size;
-			final byte[] c = new byte[nbytes];
-			int n = 0;
-			try {
-				n = getSource().read(c);
-			}
-			catch (final IOException e) {}
-
-			if (n < nbytes) {
-				throw new FormatException("Color table not found");
-			}
+		/** @return The number of pixels of the logical screen. */
+		private int frameSize() {
+			final ImageMetadata iMeta = getMetadata().get(0);
+			return (int) (iMeta.getAxisLength(Axes.X) * iMeta.getAxisLength(
+				Axes.Y));
+		}
 
-			final int[] lut = new int[256];
-			int j = 0;
-			for (int i = 0; i < size; i++) {
-				final int r = c[j++] & 0xff;
-				final int g = c[j++] & 0xff;
-				final int b = c[j++] & 0xff;
-				lut[i] = 0xff000000 | (r << 16) | (g << 8) | b;
-			}
-			return lut;
+		private void clearCaches() {
+			frames = null;
+			composites = null;
+			pixels = null;
 		}
 	}
 
-	public static class Reader extends ByteArrayReader<Metadata> {
+	// -- Helper classes --
 
-		// -- AbstractReader API Methods --
+	/**
+	 * Least recently used frames, up to a memory budget but at least two
+	 * frames, so that the frame preceding the current one is always at hand.
+	 */
+	private static class FrameCache extends LinkedHashMap<Integer, byte[]> {
 
-		@Override
-		protected String[] createDomainArray() {
-			return new String[] { FormatTools.GRAPHICS_DOMAIN };
-		}
+		private final int capacity;
 
-		// -- Reader API Methods --
+		private FrameCache(final int frameSize) {
+			super(16, 0.75f, true);
+			capacity = (int) Math.max(2, Reader.CACHE_BYTES / Math.max(frameSize,
+				1));
+		}
 
 		@Override
-		public ByteArrayPlane openPlane(final int imageIndex, final long planeIndex,
-			final ByteArrayPlane plane, final Interval bounds,
-			final SCIFIOConfig config) throws FormatException, IOException
+		protected boolean removeEldestEntry(
+			final Map.Entry<Integer, byte[]> eldest)
 		{
-			final byte[] buf = plane.getData();
-			final Metadata meta = getMetadata();
-			final int xIndex = meta.get(imageIndex).getAxisIndex(Axes.X);
-			final int yIndex = meta.get(imageIndex).getAxisIndex(Axes.Y);
-			plane.setColorTable(meta.getColorTable(0, 0));
-			FormatTools.checkPlaneForReading(meta, imageIndex, planeIndex, buf.length,
-				bounds);
-			final int x = (int) bounds.min(xIndex);
-			final int y = (int) bounds.min(yIndex);
-			final int w = (int) bounds.dimension(xIndex);
-			final int h = (int) bounds.dimension(yIndex);
-			final int[] act = meta.getColorTables().get((int) planeIndex);
-
-			final byte[] b = meta.getImages().get((int) planeIndex);
-			if (planeIndex > 0 && meta.isTransparency()) {
-				final byte[] prev = meta.getImages().get((int) planeIndex - 1);
-				int idx = meta.getTransIndex();
-				if (idx >= 127) idx = 0;
-				for (int i = 0; i < b.length; i++) {
-					if ((act[b[i] & 0xff] & 0xffffff) == idx) {
-						b[i] = prev[i];
-					}
-				}
-				meta.getImages().setElementAt(b, (int) planeIndex);
-			}
-
-			for (int row = 0; row < h; row++) {
-				System.arraycopy(b, (row + y) * (int) meta.get(imageIndex)
-					.getAxisLength(Axes.X) + x, buf, row * w, w);
-			}
-
-			return plane;
+			return size() > capacity;
 		}
 	}
 }
@@ -36,11 +36,13 @@ import io.scif.AbstractTranslator;
 import io.scif.AbstractWriter;
 import io.scif.ByteArrayPlane;
 import io.scif.ByteArrayReader;
+import io.scif.ByteBufferPlane;
 import io.scif.Format;
 import io.scif.FormatException;
 import io.scif.ImageMetadata;
 import io.scif.Plane;
 import io.scif.Translator;
+import io.scif.codec.GzipIndex;
 import io.scif.common.DateTools;
 import io.scif.config.SCIFIOConfig;
 import io.scif.img.axes.SCIFIOAxes;
@@ -48,7 +50,11 @@ import io.scif.util.FormatTools;
 import io.scif.util.SCIFIOMetadataTools;
 
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -1393,8 +1399,17 @@ public class ICSFormat extends AbstractFormat {
 		/* Whether or not the pixels are GZIP-compressed. */
 		private boolean gzip;
 
-		/* Cached GZIPInputStream */
-		private GZIPInputStream gzipStream;
+		/* Forward-only stream of the decompressed GZIP pixels. */
+		private InputStream gzipStream;
+
+		/* Uncompressed position of gzipStream. */
+		private long gzipPosition;
+
+		/* Seek-point index of the GZIP-compressed pixels. */
+		private GzipIndex gzipIndex;
+
+		/* Whether gzipIndex still needs to be saved. */
+		private boolean saveGzipIndex;
 
 		/* Whether or not the image is inverted along the Y axis. */
 		private boolean invertY; // TODO only in oldInitFile
@@ -1442,40 +1457,24 @@ public class ICSFormat extends AbstractFormat {
 				getHandle().seek(getMetadata().offset + planeIndex * len);
 			}
 			else {
-				long toSkip = (planeIndex - prevPlane - 1) * len;
-				if (gzipStream == null || planeIndex <= prevPlane) {
-					DataHandle<Location> fis = null;
-					toSkip = planeIndex * len;
-					if (getMetadata().versionTwo) {
-						fis = dataHandleService.create(getMetadata().icsLocation);
-						fis.skip(getMetadata().offset);
-					}
-					else {
-						fis = dataHandleService.create(getMetadata().idsLocation);
-						toSkip += getMetadata().offset;
-					}
+				if (gzipIndex == null && gzipStream == null) {
 					try {
-						gzipStream = new GZIPInputStream(new DataHandleInputStream<>(fis));
+						openGzip(config);
 					}
 					catch (final IOException e) {
 						// the 'gzip' flag is set erroneously
 						gzip = false;
 						getHandle().seek(getMetadata().offset + planeIndex * len);
-						gzipStream = null;
 					}
 				}
 
-				if (gzipStream != null) {
-					while (toSkip > 0) {
-						toSkip -= gzipStream.skip(toSkip);
-					}
-
+				if (gzip) {
+					// NB: For version 1, the offset applies to the decompressed data
+					final long start = (getMetadata().versionTwo ? 0 : getMetadata()
+						.offset) + planeIndex * len;
 					data = new byte[(int) (len * (meta.storedRGB() ? meta.get(imageIndex)
 						.getAxisLength(Axes.CHANNEL) : 1))];
-					int toRead = data.length;
-					while (toRead > 0) {
-						toRead -= gzipStream.read(data, data.length - toRead, toRead);
-					}
+					readDecompressed(start, data, config);
 				}
 			}
 
@@ -1549,10 +1548,7 @@ public class ICSFormat extends AbstractFormat {
 				gzip = false;
 				invertY = false;
 				prevPlane = 0;
-				if (gzipStream != null) {
-					gzipStream.close();
-				}
-				gzipStream = null;
+				closeGzip();
 			}
 		}
 
@@ -1561,7 +1557,7 @@ public class ICSFormat extends AbstractFormat {
 			super.setMetadata(meta);
 			gzip = getMetadata().get("representation compression").equals("gzip");
 			prevPlane = -1;
-			gzipStream = null;
+			closeGzip();
 			invertY = false;
 			data = null;
 		}
@@ -1596,6 +1592,150 @@ public class ICSFormat extends AbstractFormat {
 
 			return domain;
 		}
+
+		// -- Package-private methods --
+
+		/**
+		 * Gets whether GZIP-compressed pixels are currently read through a
+		 * {@link GzipIndex}, rather than a forward-only stream.
+		 */
+		boolean isGzipIndexed() {
+			return gzipIndex != null;
+		}
+
+		// -- Helper methods --
+
+		/**
+		 * Starts decompressing the pixels: with a previously saved index, if
+		 * enabled in the given configuration and there is one, or else with a
+		 * plain GZIP stream.
+		 */
+		private void openGzip(final SCIFIOConfig config) throws IOException {
+			final Path indexFile = config.readerIsGzipIndexPersisted() ? GzipIndex
+				.indexFile(gzipLocation()) : null;
+			if (indexFile != null && Files.isRegularFile(indexFile)) {
+				gzipIndex = createGzipIndex(config);
+				return;
+			}
+			final DataHandle<Location> handle = dataHandleService.create(
+				gzipLocation());
+			try {
+				handle.seek(gzipOffset());
+				gzipStream = new GZIPInputStream(new DataHandleInputStream<>(handle),
+					1 << 16);
+			}
+			catch (final IOException e) {
+				handle.close();
+				throw e;
+			}
+			gzipPosition = 0;
+		}
+
+		/**
+		 * Reads decompressed pixel bytes. Reads which move forward are served by
+		 * the plain GZIP stream, so iterating over the planes in order
+		 * decompresses the data exactly once, natively. The first read going
+		 * backwards switches to a {@link GzipIndex} for random access.
+		 *
+		 * @param pos Position of the first byte within the decompressed data.
+		 */
+		private void readDecompressed(final long pos, final byte[] buf,
+			final SCIFIOConfig config) throws IOException
+		{
+			if (gzipStream != null && pos < gzipPosition) {
+				// NB: The stream cannot go back, so index the data instead.
+				closeGzipStream();
+				gzipIndex = createGzipIndex(config);
+			}
+
+			if (gzipIndex != null) {
+				gzipIndex.read(pos, buf, 0, buf.length);
+				if (saveGzipIndex && gzipIndex.isComplete()) {
+					saveGzipIndex = false;
+					try {
+						gzipIndex.save(GzipIndex.indexFile(gzipLocation()));
+					}
+					catch (final IOException e) {
+						log().debug("Could not save GZIP index", e);
+					}
+				}
+				return;
+			}
+
+			while (gzipPosition < pos) {
+				final long skipped = gzipStream.skip(pos - gzipPosition);
+				if (skipped <= 0) {
+					throw new EOFException("Cannot skip to " + pos + " of " +
+						gzipLocation());
+				}
+				gzipPosition += skipped;
+			}
+			int n = 0;
+			while (n < buf.length) {
+				final int r = gzipStream.read(buf, n, buf.length - n);
+				if (r < 0) {
+					throw new EOFException("Cannot read " + buf.length + " bytes at " +
+						pos + " of " + gzipLocation());
+				}
+				n += r;
+			}
+			gzipPosition += n;
+		}
+
+		/**
+		 * Creates the index of the GZIP-compressed pixels, loading a previously
+		 * saved one if enabled in the given configuration.
+		 */
+		private GzipIndex createGzipIndex(final SCIFIOConfig config)
+			throws IOException
+		{
+			final Location location = gzipLocation();
+			final DataHandle<Location> handle = dataHandleService.create(location);
+			final GzipIndex index;
+			try {
+				index = new GzipIndex(handle, gzipOffset(), config
+					.readerGetGzipIndexSpan());
+			}
+			catch (final IOException e) {
+				handle.close();
+				throw e;
+			}
+			if (config.readerIsGzipIndexPersisted()) {
+				final Path indexFile = GzipIndex.indexFile(location);
+				try {
+					saveGzipIndex = indexFile != null && !index.load(indexFile);
+				}
+				catch (final IOException e) {
+					log().debug("Could not load GZIP index " + indexFile, e);
+					saveGzipIndex = true;
+				}
+			}
+			return index;
+		}
+
+		/** @return The location of the compressed pixels. */
+		private Location gzipLocation() {
+			return getMetadata().versionTwo ? getMetadata().icsLocation
+				: getMetadata().idsLocation;
+		}
+
+		/** @return The offset of the compressed pixels within their file. */
+		private long gzipOffset() {
+			return getMetadata().versionTwo ? getMetadata().offset : 0;
+		}
+
+		private void closeGzipStream() throws IOException {
+			if (gzipStream != null) gzipStream.close();
+			gzipStream = null;
+			gzipPosition = 0;
+		}
+
+		private void closeGzip() throws IOException {
+			closeGzipStream();
+			if (gzipIndex != null) gzipIndex.close();
+			gzipIndex = null;
+			saveGzipIndex = false;
+		}
 	}
 
 	/**
@@ -1649,10 +1789,13 @@ public class ICSFormat extends AbstractFormat {
 			final Plane plane, final Interval bounds) throws FormatException,
 			IOException
 		{
-			checkParams(imageIndex, planeIndex, plane.getBytes(), bounds);
+			checkParams(imageIndex, planeIndex, plane, bounds);
 			final Metadata meta = getMetadata();
 			final boolean interleaved = plane.getImageMetadata()
 				.getInterleavedAxisCount() > 0;
+			// NB: Planes larger than a byte[] are streamed from their buffers.
+			final ByteBufferPlane buffers = plane instanceof ByteBufferPlane
+				? (ByteBufferPlane) plane : null;
 
 			final int xAxis = meta.get(imageIndex).getAxisIndex(Axes.X);
 			final int yAxis = meta.get(imageIndex).getAxisIndex(Axes.Y);
@@ -1669,25 +1812,33 @@ public class ICSFormat extends AbstractFormat {
 			final int sizeX = (int) meta.get(imageIndex).getAxisLength(Axes.X);
 			final int pixelType = getMetadata().get(imageIndex).getPixelType();
 			final int bytesPerPixel = FormatTools.getBytesPerPixel(pixelType);
-			final int planeSize = (int) (meta.get(0).getSize() / meta.get(0)
-				.getPlaneCount());
+			final long planeSize = meta.get(0).getSize() / meta.get(0)
+				.getPlaneCount();
 
 			pixels.seek(pixelOffset + planeIndex * planeSize);
 			if (SCIFIOMetadataTools.wholePlane(imageIndex, meta, bounds) &&
 				(interleaved || rgbChannels == 1))
 			{
-				pixels.write(plane.getBytes());
+				if (buffers == null) pixels.write(plane.getBytes());
+				else buffers.write(pixels, 0, buffers.getSize());
 			}
 			else {
+				final byte[] bytes = buffers == null ? plane.getBytes() : null;
+				final byte[] pixel = new byte[bytesPerPixel];
 				pixels.skipBytes(bytesPerPixel * rgbChannels * sizeX * y);
 				for (int row = 0; row < h; row++) {
 					final ByteArrayOutputStream strip = new ByteArrayOutputStream();
 					for (int col = 0; col < w; col++) {
 						for (int c = 0; c < rgbChannels; c++) {
-							final int index = interleaved ? rgbChannels * (row * w + col) + c
-								: w * (c * h + row) + col;
-							strip.write(plane.getBytes(), index * bytesPerPixel,
-								bytesPerPixel);
+							final long index = interleaved ? rgbChannels * ((long) row * w +
+								col) + c : w * ((long) c * h + row) + col;
+							if (bytes != null) {
+								strip.write(bytes, (int) index * bytesPerPixel, bytesPerPixel);
+							}
+							else {
+								buffers.get(index * bytesPerPixel, pixel, 0, bytesPerPixel);
+								strip.write(pixel, 0, bytesPerPixel);
+							}
 						}
 					}
 					pixels.skipBytes(bytesPerPixel * rgbChannels * x);
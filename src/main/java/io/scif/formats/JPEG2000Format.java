@@ -39,6 +39,7 @@ import io.scif.ByteArrayReader;
 import io.scif.DefaultImageMetadata;
 import io.scif.Format;
 import io.scif.FormatException;
+import io.scif.FormatSignature;
 import io.scif.HasColorTable;
 import io.scif.ImageMetadata;
 import io.scif.Plane;
@@ -51,9 +52,11 @@ import io.scif.codec.JPEG2000CodecOptions;
 import io.scif.codec.JPEG2000SegmentMarker;
 import io.scif.config.SCIFIOConfig;
 import io.scif.util.FormatTools;
+import io.scif.util.ImageTools;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
 
 import net.imagej.axis.Axes;
 import net.imglib2.Interval;
@@ -170,6 +173,16 @@ public class JPEG2000Format extends AbstractFormat {
 			// have.
 			if (getResolutionLevels() != null) {
 				final int imageCount = resolutionLevels + 1;
+
+				// Each resolution level halves the size of the one above it
+				final List<long[]> xyLengths = new ArrayList<>();
+				for (int level = 1; level < imageCount; level++) {
+					final long scale = 1L << level;
+					xyLengths.add(new long[] { //
+						(iMeta.getAxisLength(Axes.X) + scale - 1) / scale, //
+						(iMeta.getAxisLength(Axes.Y) + scale - 1) / scale });
+				}
+				iMeta.setSubResolutionLengths(xyLengths);
 				// TODO set resolution count get(0).resolutionCount =
 				// imageCount;
 
@@ -272,6 +285,12 @@ public class JPEG2000Format extends AbstractFormat {
 			final boolean validEnd = (handle.readShort() & 0xffff) == 0xffd9;
 			return validStart && validEnd;
 		}
+
+		@Override
+		public FormatSignature[] getSignatures() {
+			return new FormatSignature[] { new FormatSignature(0, (byte) 0xff,
+				(byte) 0x4f), new FormatSignature(4, "jP  ") };
+		}
 	}
 
 	public static class Parser extends AbstractParser<Metadata> {
@@ -796,6 +815,49 @@ public class JPEG2000Format extends AbstractFormat {
 			return plane;
 		}
 
+		@Override
+		public Plane openPlane(final int imageIndex, final int resolution,
+			final long planeIndex, final Plane plane, final Interval bounds,
+			final SCIFIOConfig config) throws FormatException, IOException
+		{
+			if (resolution == 0) {
+				return openPlane(imageIndex, planeIndex, plane, bounds, config);
+			}
+			final Metadata meta = getMetadata();
+			FormatTools.checkPlaneForReading(meta, imageIndex, resolution,
+				planeIndex, bounds);
+			final ImageMetadata iMeta = meta.get(imageIndex).getResolution(
+				resolution);
+
+			final JPEG2000CodecOptions options = JPEG2000CodecOptions
+				.getDefaultOptions();
+			options.interleaved = iMeta.getInterleavedAxisCount() > 0;
+			options.littleEndian = iMeta.isLittleEndian();
+			options.resolution = meta.getResolutionLevels() - resolution;
+
+			getHandle().seek(meta.getPixelsOffset());
+			final JPEG2000Codec codec = codecService.getCodec(JPEG2000Codec.class);
+			final byte[] level = codec.decompress(getHandle(), options);
+
+			final int sizeX = (int) iMeta.getAxisLength(Axes.X);
+			final int sizeY = (int) iMeta.getAxisLength(Axes.Y);
+			final int channels = (int) iMeta.getAxisLength(Axes.CHANNEL);
+			final int bpp = FormatTools.getBytesPerPixel(iMeta.getPixelType());
+			if (level.length < sizeX * sizeY * channels * bpp) {
+				throw new FormatException("Resolution level " + resolution +
+					" decoded to " + level.length + " bytes; expected " + sizeX + "x" +
+					sizeY);
+			}
+			final int xIndex = iMeta.getAxisIndex(Axes.X);
+			final int yIndex = iMeta.getAxisIndex(Axes.Y);
+			ImageTools.getSubimage(level, plane.getBytes(), sizeX, sizeY,
+				(int) bounds.min(xIndex), (int) bounds.min(yIndex), (int) bounds
+					.dimension(xIndex), (int) bounds.dimension(yIndex), bpp, channels,
+				options.interleaved);
+			plane.setColorTable(meta.getColorTable(imageIndex, planeIndex));
+			return plane;
+		}
+
 	}
 
 	public static class Writer extends AbstractWriter<Metadata> {
@@ -32,6 +32,7 @@ package io.scif.formats;
 import io.scif.AbstractChecker;
 import io.scif.Format;
 import io.scif.FormatException;
+import io.scif.FormatSignature;
 import io.scif.config.SCIFIOConfig;
 import io.scif.util.FormatTools;
 
@@ -141,6 +142,12 @@ public class JPEGFormat extends ImageIOFormat {
 
 			return true;
 		}
+
+		@Override
+		public FormatSignature[] getSignatures() {
+			return new FormatSignature[] { new FormatSignature(0, (byte) 0xff,
+				(byte) 0xd8, (byte) 0xff) };
+		}
 	}
 
 	public static class Parser extends ImageIOFormat.Parser<Metadata> {
@@ -38,6 +38,7 @@ import io.scif.ByteArrayReader;
 import io.scif.Field;
 import io.scif.Format;
 import io.scif.FormatException;
+import io.scif.FormatSignature;
 import io.scif.ImageMetadata;
 import io.scif.config.SCIFIOConfig;
 import io.scif.util.FormatTools;
@@ -165,6 +166,11 @@ public class KontronFormat extends AbstractFormat {
 
 			return true;
 		}
+
+		@Override
+		public FormatSignature[] getSignatures() {
+			return new FormatSignature[] { new FormatSignature(0, KONTRON_ID) };
+		}
 	}
 
 	public static class Reader extends ByteArrayReader<Metadata> {
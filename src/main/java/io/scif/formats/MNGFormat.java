@@ -36,6 +36,7 @@ import io.scif.AbstractParser;
 import io.scif.BufferedImagePlane;
 import io.scif.Format;
 import io.scif.FormatException;
+import io.scif.FormatSignature;
 import io.scif.config.SCIFIOConfig;
 import io.scif.gui.AWTImageTools;
 import io.scif.gui.BufferedImageReader;
@@ -153,6 +154,13 @@ public class MNGFormat extends AbstractFormat {
 			if (!FormatTools.validStream(stream, blockLen, false)) return false;
 			return stream.readLong() == MNG_MAGIC_BYTES;
 		}
+
+		@Override
+		public FormatSignature[] getSignatures() {
+			return new FormatSignature[] { new FormatSignature(0, (byte) 0x8a,
+				(byte) 0x4d, (byte) 0x4e, (byte) 0x47, (byte) 0x0d, (byte) 0x0a,
+				(byte) 0x1a, (byte) 0x0a) };
+		}
 	}
 
 	public static class Parser extends AbstractParser<Metadata> {
@@ -37,21 +37,27 @@ import io.scif.ByteArrayPlane;
 import io.scif.ByteArrayReader;
 import io.scif.Format;
 import io.scif.FormatException;
+import io.scif.FormatSignature;
 import io.scif.HasColorTable;
 import io.scif.ImageMetadata;
+import io.scif.Plane;
+import io.scif.SelfContainedMetadata;
 import io.scif.codec.JPEG2000CodecOptions;
 import io.scif.config.SCIFIOConfig;
 import io.scif.formats.tiff.IFD;
 import io.scif.formats.tiff.IFDList;
 import io.scif.formats.tiff.PhotoInterp;
 import io.scif.formats.tiff.TiffCompression;
+import io.scif.formats.tiff.TiffConstants;
 import io.scif.formats.tiff.TiffParser;
 import io.scif.services.FormatService;
 import io.scif.util.FormatTools;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import net.imagej.axis.Axes;
 import net.imglib2.Interval;
@@ -90,7 +96,7 @@ public class MinimalTIFFFormat extends AbstractFormat {
 	// -- Nested classes --
 
 	public static class Metadata extends AbstractMetadata implements
-		HasColorTable
+		HasColorTable, SelfContainedMetadata
 	{
 
 		// -- Fields --
@@ -107,7 +113,7 @@ public class MinimalTIFFFormat extends AbstractFormat {
 		 */
 		private List<IFDList> subResolutionIFDs;
 
-		private TiffParser tiffParser;
+		private transient TiffParser tiffParser;
 
 		private boolean equalStrips = false;
 
@@ -150,6 +156,13 @@ public class MinimalTIFFFormat extends AbstractFormat {
 		}
 
 		public TiffParser getTiffParser() {
+			// NB: The parser is not serialized; recreate it for the current source.
+			if (tiffParser == null && getSource() != null) {
+				tiffParser = new TiffParser(getContext(), getSource());
+				tiffParser.setDoCaching(false);
+				tiffParser.setUse64BitOffsets(use64Bit);
+				tiffParser.setAssumeEqualStrips(equalStrips);
+			}
 			return tiffParser;
 		}
 
@@ -249,36 +262,7 @@ public class MinimalTIFFFormat extends AbstractFormat {
 				}
 				ms0.setBitsPerPixel(firstIFD.getBitsPerSample()[0]);
 
-				// New core metadata now that we know how many sub-resolutions
-				// we have.
-				if (resolutionLevels != null && subResolutionIFDs.size() > 0) {
-					final IFDList ifds = subResolutionIFDs.get(0);
-
-					// FIXME: support sub resolutions in SCIFIO.. or something..
-					// int seriesCount = ifds.size() + 1;
-					// if (!hasFlattenedResolutions()) {
-					// ms0.resolutionCount = seriesCount;
-					// }
-
-					if (ifds.size() + 1 < ms0.getAxisLength(Axes.TIME)) {
-						ms0.setAxisLength(Axes.TIME, ms0.getAxisLength(Axes.TIME) - (ifds
-							.size() + 1));
-					}
-
-					for (final IFD ifd : ifds) {
-						final ImageMetadata ms = ms0.copy();
-						add(ms);
-						ms.setAxisLength(Axes.X, (int) ifd.getImageWidth());
-						ms.setAxisLength(Axes.Y, (int) ifd.getImageLength());
-						ms.setAxisLength(Axes.TIME, ms0.getAxisLength(Axes.TIME));
-						ms.setThumbnail(true);
-						ms.setThumbSizeX(ms0.getThumbSizeX());
-						ms.setThumbSizeY(ms0.getThumbSizeY());
-						// TODO subresolutions
-						// ms.resolutionCount = 1;
-					}
-
-				}
+				ms0.setSubResolutionLengths(getSubResolutionLengths());
 			}
 			catch (final FormatException e) {
 				log().error("Error populating TIFF image metadata", e);
@@ -296,6 +280,15 @@ public class MinimalTIFFFormat extends AbstractFormat {
 						}
 					}
 				}
+				if (subResolutionIFDs != null) {
+					for (final IFDList levels : subResolutionIFDs) {
+						for (final IFD ifd : levels) {
+							if (ifd.getOnDemandStripOffsets() != null) {
+								ifd.getOnDemandStripOffsets().close();
+							}
+						}
+					}
+				}
 				ifds = null;
 				thumbnailIFDs = null;
 				subResolutionIFDs = new ArrayList<>();
@@ -306,6 +299,40 @@ public class MinimalTIFFFormat extends AbstractFormat {
 			}
 		}
 
+		// -- Helper methods --
+
+		/**
+		 * @return The XY dimensions of the resolution levels shared by every
+		 *         plane, i.e. the leading levels whose sizes match those of the
+		 *         first plane.
+		 */
+		private List<long[]> getSubResolutionLengths() {
+			final List<long[]> lengths = new ArrayList<>();
+			if (subResolutionIFDs == null || subResolutionIFDs.isEmpty()) {
+				return lengths;
+			}
+			final IFDList firstLevels = subResolutionIFDs.get(0);
+			try {
+				for (int level = 0; level < firstLevels.size(); level++) {
+					final long width = firstLevels.get(level).getImageWidth();
+					final long length = firstLevels.get(level).getImageLength();
+					for (final IFDList levels : subResolutionIFDs) {
+						if (levels.size() <= level || levels.get(level)
+							.getImageWidth() != width || levels.get(level)
+								.getImageLength() != length)
+						{
+							return lengths;
+						}
+					}
+					lengths.add(new long[] { width, length });
+				}
+			}
+			catch (final FormatException e) {
+				log().debug("Could not read resolution level dimensions", e);
+			}
+			return lengths;
+		}
+
 		// -- HasColorTable API methods --
 
 		@Override
@@ -389,6 +416,24 @@ public class MinimalTIFFFormat extends AbstractFormat {
 		public boolean isFormat(final DataHandle<Location> stream) {
 			return new TiffParser(getContext(), stream).isValidHeader();
 		}
+
+		@Override
+		public FormatSignature[] getSignatures() {
+			return new FormatSignature[] { //
+				tiffSignature(true, TiffConstants.MAGIC_NUMBER), //
+				tiffSignature(false, TiffConstants.MAGIC_NUMBER), //
+				tiffSignature(true, TiffConstants.BIG_TIFF_MAGIC_NUMBER), //
+				tiffSignature(false, TiffConstants.BIG_TIFF_MAGIC_NUMBER) };
+		}
+
+		private static FormatSignature tiffSignature(final boolean little,
+			final int magic)
+		{
+			return little ? new FormatSignature(0, (byte) TiffConstants.LITTLE,
+				(byte) TiffConstants.LITTLE, (byte) magic, (byte) 0)
+				: new FormatSignature(0, (byte) TiffConstants.BIG,
+					(byte) TiffConstants.BIG, (byte) 0, (byte) magic);
+		}
 	}
 
 	public static class Parser<M extends Metadata> extends AbstractParser<M> {
@@ -417,17 +462,30 @@ public class MinimalTIFFFormat extends AbstractFormat {
 
 			log().debug("Reading IFDs");
 
-			final IFDList allIFDs = tiffParser.getIFDs();
+			final IFDList mainIFDs = tiffParser.getMainIFDs();
 
-			if (allIFDs == null || allIFDs.isEmpty()) {
+			if (mainIFDs == null || mainIFDs.isEmpty()) {
 				throw new FormatException("No IFDs found");
 			}
 
+			// SubIFDs forming a pyramid below their parent are kept as that
+			// IFD's resolution levels; any others are treated as images of their
+			// own, as before.
+			final IFDList allIFDs = new IFDList();
+			final Map<IFD, IFDList> pyramids = new IdentityHashMap<>();
+			for (final IFD ifd : mainIFDs) {
+				allIFDs.add(ifd);
+				final IFDList subIFDs = tiffParser.getSubIFDs(ifd);
+				if (isPyramid(ifd, subIFDs)) pyramids.put(ifd, subIFDs);
+				else allIFDs.addAll(subIFDs);
+			}
+
 			final IFDList ifds = new IFDList();
 			final IFDList thumbnailIFDs = new IFDList();
 
 			meta.setIfds(ifds);
 			meta.setThumbnailIFDs(thumbnailIFDs);
+			meta.setSubResolutionIFDs(new ArrayList<IFDList>());
 
 			for (final IFD ifd : allIFDs) {
 				final Number subfile = (Number) ifd.getIFDValue(IFD.NEW_SUBFILE_TYPE);
@@ -445,8 +503,15 @@ public class MinimalTIFFFormat extends AbstractFormat {
 			tiffParser.setAssumeEqualStrips(meta.isEqualStrips());
 			for (final IFD ifd : ifds) {
 				tiffParser.fillInIFD(ifd);
-				if (ifd.getCompression() == TiffCompression.JPEG_2000 || ifd
-					.getCompression() == TiffCompression.JPEG_2000_LOSSY)
+				final IFDList levels = pyramids.containsKey(ifd) ? pyramids.get(ifd)
+					: new IFDList();
+				for (final IFD level : levels) {
+					tiffParser.fillInIFD(level);
+				}
+				meta.getSubResolutionIFDs().add(levels);
+				if (levels.isEmpty() && (ifd
+					.getCompression() == TiffCompression.JPEG_2000 || ifd
+						.getCompression() == TiffCompression.JPEG_2000_LOSSY))
 				{
 					log().debug("Found IFD with JPEG 2000 compression");
 					final long[] stripOffsets = ifd.getStripOffsets();
@@ -472,8 +537,6 @@ public class MinimalTIFFFormat extends AbstractFormat {
 											.getImageLength(), ifd.getTileWidth(), ifd
 												.getTileLength()));
 							}
-							final IFDList theseSubResolutionIFDs = new IFDList();
-							meta.getSubResolutionIFDs().add(theseSubResolutionIFDs);
 							for (int level = 1; level <= meta
 								.getResolutionLevels(); level++)
 							{
@@ -514,7 +577,7 @@ public class MinimalTIFFFormat extends AbstractFormat {
 											"Tile %dx%d", resolutionLevel, newImageWidth,
 										newImageLength, newTileWidth, newTileLength));
 								}
-								theseSubResolutionIFDs.add(newIFD);
+								levels.add(newIFD);
 							}
 						}
 					}
@@ -525,6 +588,34 @@ public class MinimalTIFFFormat extends AbstractFormat {
 			}
 		}
 
+
+		// -- Helper methods --
+
+		/**
+		 * @return true if the given SubIFDs hold successively smaller versions of
+		 *         the given IFD's image, as in a pyramidal TIFF.
+		 */
+		private boolean isPyramid(final IFD ifd, final IFDList subIFDs) {
+			if (subIFDs.isEmpty()) return false;
+			try {
+				IFD previous = ifd;
+				for (final IFD sub : subIFDs) {
+					if (sub.getImageWidth() >= previous.getImageWidth() || sub
+						.getImageLength() >= previous.getImageLength() || sub
+							.getSamplesPerPixel() != ifd.getSamplesPerPixel() || sub
+								.getPixelType() != ifd.getPixelType())
+					{
+						return false;
+					}
+					previous = sub;
+				}
+				return true;
+			}
+			catch (final FormatException e) {
+				log().debug("Could not compare SubIFD dimensions", e);
+				return false;
+			}
+		}
 	}
 
 	public static class Reader<M extends Metadata> extends ByteArrayReader<M> {
@@ -542,6 +633,35 @@ public class MinimalTIFFFormat extends AbstractFormat {
 		public ByteArrayPlane openPlane(final int imageIndex, final long planeIndex,
 			final ByteArrayPlane plane, final Interval bounds,
 			final SCIFIOConfig config) throws FormatException, IOException
+		{
+			FormatTools.checkPlaneForReading(getMetadata(), imageIndex, planeIndex,
+				plane.getBytes().length, bounds);
+			openResolution(imageIndex, 0, planeIndex, plane, bounds, config);
+			return plane;
+		}
+
+		@Override
+		public Plane openPlane(final int imageIndex, final int resolution,
+			final long planeIndex, final Plane plane, final Interval bounds,
+			final SCIFIOConfig config) throws FormatException, IOException
+		{
+			FormatTools.checkPlaneForReading(getMetadata(), imageIndex, resolution,
+				planeIndex, bounds);
+			openResolution(imageIndex, resolution, planeIndex, plane, bounds, config);
+			return plane;
+		}
+
+		// -- Helper methods --
+
+		/**
+		 * Reads the given region of a plane at the given resolution level into the
+		 * plane's byte array. Level 0 is read from the plane's own IFD, and higher
+		 * levels from its SubIFDs or, for JPEG 2000 compressed data, by decoding
+		 * at a reduced resolution.
+		 */
+		private void openResolution(final int imageIndex, final int resolution,
+			final long planeIndex, final Plane plane, final Interval bounds,
+			final SCIFIOConfig config) throws FormatException, IOException
 		{
 			final Metadata meta = getMetadata();
 			plane.setColorTable(meta.getColorTable(imageIndex, planeIndex));
@@ -554,23 +674,20 @@ public class MinimalTIFFFormat extends AbstractFormat {
 			final int y = (int) bounds.min(yIndex);
 			final int w = (int) bounds.dimension(xIndex);
 			final int h = (int) bounds.dimension(yIndex);
-			FormatTools.checkPlaneForReading(meta, imageIndex, planeIndex, buf.length,
-				bounds);
 
 			final IFD firstIFD = ifds.get(0);
 			meta.setLastPlane(planeIndex);
-			final IFD ifd = ifds.get((int) planeIndex);
+			final IFD ifd = resolution == 0 ? ifds.get((int) planeIndex) : meta
+				.getSubResolutionIFDs().get((int) planeIndex).get(resolution - 1);
 			if ((firstIFD.getCompression() == TiffCompression.JPEG_2000 || firstIFD
 				.getCompression() == TiffCompression.JPEG_2000_LOSSY) && meta
 					.getResolutionLevels() != null)
 			{
-				// FIXME: resolution levels
-//        if (getCoreIndex() > 0) {
-//          ifd = meta.getSubResolutionIFDs().get(planeIndex).get(getCoreIndex() - 1);
-//        }
-				setResolutionLevel(ifd);
+				setResolutionLevel(ifd, resolution);
 			}
 
+			tiffParser.setExecutor(config.readerGetDecodeExecutor());
+			tiffParser.setTileCache(config.readerGetTileCache());
 			tiffParser.getSamples(ifd, buf, x, y, w, h);
 
 			final boolean float16 = meta.get(imageIndex)
@@ -624,8 +741,6 @@ public class MinimalTIFFFormat extends AbstractFormat {
 				}
 				System.arraycopy(newBuf, 0, buf, 0, newBuf.length);
 			}
-
-			return plane;
 		}
 
 		@Override
@@ -656,15 +771,25 @@ public class MinimalTIFFFormat extends AbstractFormat {
 		 * Sets the resolution level when we have JPEG 2000 compressed data.
 		 *
 		 * @param ifd The active IFD that is being used in our current
-		 *          {@code openBytes()} calling context. It will be the
-		 *          sub-resolution IFD if {@code currentSeries > 0}.
+		 *          {@code openPlane()} calling context.
 		 */
 		protected void setResolutionLevel(final IFD ifd) {
+			setResolutionLevel(ifd, 0);
+		}
+
+		/**
+		 * Sets the resolution level when we have JPEG 2000 compressed data.
+		 *
+		 * @param ifd The active IFD that is being used in our current
+		 *          {@code openPlane()} calling context. It will be the
+		 *          sub-resolution IFD if {@code resolution > 0}.
+		 * @param resolution The resolution level being read, 0 being the full
+		 *          resolution image.
+		 */
+		protected void setResolutionLevel(final IFD ifd, final int resolution) {
 			final Metadata meta = getMetadata();
 			final JPEG2000CodecOptions j2kCodecOptions = meta.getJ2kCodecOptions();
-			j2kCodecOptions.resolution = 0;
-			// FIXME: resolution levels
-//      j2kCodecOptions.resolution = Math.abs(getCoreIndex() - resolutionLevels);
+			j2kCodecOptions.resolution = meta.getResolutionLevels() - resolution;
 			log().debug("Using JPEG 2000 resolution level " +
 				j2kCodecOptions.resolution);
 			meta.getTiffParser().setCodecOptions(j2kCodecOptions);
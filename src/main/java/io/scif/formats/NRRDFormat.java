@@ -37,22 +37,33 @@ import io.scif.ByteArrayPlane;
 import io.scif.ByteArrayReader;
 import io.scif.Format;
 import io.scif.FormatException;
+import io.scif.FormatSignature;
 import io.scif.ImageMetadata;
 import io.scif.MetadataLevel;
 import io.scif.UnsupportedCompressionException;
+import io.scif.codec.BZip2Index;
+import io.scif.codec.GzipIndex;
 import io.scif.config.SCIFIOConfig;
 import io.scif.services.FormatService;
 import io.scif.util.FormatTools;
+import io.scif.util.SCIFIOMetadataTools;
 
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
 
 import net.imagej.axis.Axes;
 import net.imglib2.Interval;
 
 import org.scijava.io.handle.DataHandle;
+import org.scijava.io.handle.DataHandleInputStream;
 import org.scijava.io.handle.DataHandleService;
 import org.scijava.io.location.BrowsableLocation;
+import org.scijava.io.location.BytesLocation;
 import org.scijava.io.location.Location;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
@@ -228,6 +239,11 @@ public class NRRDFormat extends AbstractFormat {
 			if (!FormatTools.validStream(stream, blockLen, false)) return false;
 			return stream.readString(blockLen).startsWith(NRRD_MAGIC_STRING);
 		}
+
+		@Override
+		public FormatSignature[] getSignatures() {
+			return new FormatSignature[] { new FormatSignature(0, NRRD_MAGIC_STRING) };
+		}
 	}
 
 	public static class Parser extends AbstractParser<Metadata> {
@@ -391,7 +407,8 @@ public class NRRDFormat extends AbstractFormat {
 					final Location dataLocation = f.sibling(dataFile);
 					meta.setDataFile(dataLocation);
 				}
-				meta.setInitializeHelper(!meta.getEncoding().equals("raw"));
+				meta.setInitializeHelper(!meta.getEncoding().equals("raw") &&
+					!isCompressed(meta.getEncoding()));
 			}
 
 			if (meta.isInitializeHelper()) {
@@ -443,6 +460,23 @@ public class NRRDFormat extends AbstractFormat {
 		@Parameter
 		private DataHandleService dataHandleService;
 
+		// -- Fields --
+
+		/* Forward-only stream of the decompressed GZIP pixels. */
+		private InputStream gzipStream;
+
+		/* Uncompressed position of gzipStream. */
+		private long gzipPosition;
+
+		/* Seek-point index of the GZIP-compressed pixels. */
+		private GzipIndex gzipIndex;
+
+		/* Whether gzipIndex still needs to be saved. */
+		private boolean saveGzipIndex;
+
+		/* Block index of the BZIP2-compressed pixels. */
+		private BZip2Index bzip2Index;
+
 		@Override
 		protected String[] createDomainArray() {
 			return new String[] { FormatTools.UNKNOWN_DOMAIN };
@@ -487,6 +521,29 @@ public class NRRDFormat extends AbstractFormat {
 			FormatTools.checkPlaneForReading(meta, imageIndex, planeIndex, buf.length,
 				bounds);
 
+			if (isCompressed(meta.getEncoding())) {
+				final long planeSize = FormatTools.getPlaneSize(this, imageIndex);
+				// NB: The byte skip of a detached data file applies to the
+				// decompressed data.
+				final long start = (meta.getDataFile() == null ? 0 : meta
+					.getOffset()) + planeIndex * planeSize;
+				if (SCIFIOMetadataTools.wholePlane(imageIndex, meta, bounds) &&
+					buf.length == planeSize)
+				{
+					readDecompressed(start, buf, config);
+				}
+				else {
+					final byte[] bytes = new byte[(int) planeSize];
+					readDecompressed(start, bytes, config);
+					try (final DataHandle<Location> s = dataHandleService.create(
+						new BytesLocation(bytes)))
+					{
+						readPlane(s, imageIndex, bounds, plane);
+					}
+				}
+				return plane;
+			}
+
 			// TODO : add support for additional encoding types
 			if (meta.getDataFile() == null) {
 				if (meta.getEncoding().equals("raw")) {
@@ -521,5 +578,204 @@ public class NRRDFormat extends AbstractFormat {
 			throw new FormatException("Could not find a supporting Format");
 		}
 
+		@Override
+		public void close(final boolean fileOnly) throws IOException {
+			super.close(fileOnly);
+			if (!fileOnly) closeDecompressors();
+		}
+
+		@Override
+		public void setMetadata(final Metadata meta) throws IOException {
+			super.setMetadata(meta);
+			closeDecompressors();
+		}
+
+		// -- Package-private methods --
+
+		/**
+		 * Gets whether GZIP-compressed pixels are currently read through a
+		 * {@link GzipIndex}, rather than a forward-only stream.
+		 */
+		boolean isGzipIndexed() {
+			return gzipIndex != null;
+		}
+
+		// -- Helper methods --
+
+		/**
+		 * Reads decompressed pixel bytes. Reads which move forward are served by
+		 * a plain GZIP stream, so iterating over the planes in order decompresses
+		 * the data exactly once. The first read going backwards switches to a
+		 * {@link GzipIndex} for random access. BZIP2 data is always read through
+		 * a {@link BZip2Index}, which serves both access patterns.
+		 *
+		 * @param pos Position of the first byte within the decompressed data.
+		 */
+		private void readDecompressed(final long pos, final byte[] buf,
+			final SCIFIOConfig config) throws IOException
+		{
+			final Metadata meta = getMetadata();
+			if (isBzip2(meta.getEncoding())) {
+				if (bzip2Index == null) {
+					final DataHandle<Location> handle = createDataHandle();
+					try {
+						bzip2Index = new BZip2Index(handle, compressedOffset());
+					}
+					catch (final IOException e) {
+						handle.close();
+						throw e;
+					}
+				}
+				bzip2Index.read(pos, buf, 0, buf.length);
+				return;
+			}
+
+			if (gzipIndex == null && gzipStream == null) {
+				// Start with a previously saved index, if there is one
+				final Path indexFile = config.readerIsGzipIndexPersisted() ? GzipIndex
+					.indexFile(dataLocation()) : null;
+				if (indexFile != null && Files.isRegularFile(indexFile)) {
+					gzipIndex = createGzipIndex(config);
+				}
+				else openGzipStream();
+			}
+			else if (gzipStream != null && pos < gzipPosition) {
+				// NB: The stream cannot go back, so index the data instead.
+				closeGzipStream();
+				gzipIndex = createGzipIndex(config);
+			}
+
+			if (gzipIndex != null) {
+				gzipIndex.read(pos, buf, 0, buf.length);
+				if (saveGzipIndex && gzipIndex.isComplete()) {
+					saveGzipIndex = false;
+					try {
+						gzipIndex.save(GzipIndex.indexFile(dataLocation()));
+					}
+					catch (final IOException e) {
+						log().debug("Could not save GZIP index", e);
+					}
+				}
+				return;
+			}
+
+			while (gzipPosition < pos) {
+				final long skipped = gzipStream.skip(pos - gzipPosition);
+				if (skipped <= 0) {
+					throw new EOFException("Cannot skip to " + pos + " of " +
+						dataLocation());
+				}
+				gzipPosition += skipped;
+			}
+			int n = 0;
+			while (n < buf.length) {
+				final int r = gzipStream.read(buf, n, buf.length - n);
+				if (r < 0) {
+					throw new EOFException("Cannot read " + buf.length + " bytes at " +
+						pos + " of " + dataLocation());
+				}
+				n += r;
+			}
+			gzipPosition += n;
+		}
+
+		private void openGzipStream() throws IOException {
+			final DataHandle<Location> handle = createDataHandle();
+			try {
+				handle.seek(compressedOffset());
+				gzipStream = new GZIPInputStream(new DataHandleInputStream<>(handle),
+					1 << 16);
+			}
+			catch (final IOException e) {
+				handle.close();
+				throw e;
+			}
+			gzipPosition = 0;
+		}
+
+		/**
+		 * Creates an index of the GZIP-compressed pixels, loading a previously
+		 * saved one if enabled in the given configuration.
+		 */
+		private GzipIndex createGzipIndex(final SCIFIOConfig config)
+			throws IOException
+		{
+			final DataHandle<Location> handle = createDataHandle();
+			final GzipIndex index;
+			try {
+				index = new GzipIndex(handle, compressedOffset(), config
+					.readerGetGzipIndexSpan());
+			}
+			catch (final IOException e) {
+				handle.close();
+				throw e;
+			}
+			if (config.readerIsGzipIndexPersisted()) {
+				final Path indexFile = GzipIndex.indexFile(dataLocation());
+				try {
+					saveGzipIndex = indexFile != null && !index.load(indexFile);
+				}
+				catch (final IOException e) {
+					log().debug("Could not load GZIP index " + indexFile, e);
+					saveGzipIndex = true;
+				}
+			}
+			return index;
+		}
+
+		/** @return The location of the compressed pixels. */
+		private Location dataLocation() {
+			final Location dataFile = getMetadata().getDataFile();
+			return dataFile == null ? getHandle().get() : dataFile;
+		}
+
+		/** @return The offset of the compressed pixels within their file. */
+		private long compressedOffset() {
+			return getMetadata().getDataFile() == null ? getMetadata().getOffset()
+				: 0;
+		}
+
+		/**
+		 * Opens a separate handle to the compressed pixels, which is owned by the
+		 * decompressor reading from it.
+		 */
+		private DataHandle<Location> createDataHandle() throws IOException {
+			final DataHandle<Location> handle = dataHandleService.create(
+				dataLocation());
+			if (handle == null) {
+				throw new IOException("Cannot open " + dataLocation());
+			}
+			return handle;
+		}
+
+		private void closeGzipStream() throws IOException {
+			if (gzipStream != null) gzipStream.close();
+			gzipStream = null;
+			gzipPosition = 0;
+		}
+
+		private void closeDecompressors() throws IOException {
+			closeGzipStream();
+			if (gzipIndex != null) gzipIndex.close();
+			gzipIndex = null;
+			saveGzipIndex = false;
+			if (bzip2Index != null) bzip2Index.close();
+			bzip2Index = null;
+		}
+	}
+
+	// -- Helper methods --
+
+	private static boolean isGzip(final String encoding) {
+		return "gzip".equals(encoding) || "gz".equals(encoding);
+	}
+
+	private static boolean isBzip2(final String encoding) {
+		return "bzip2".equals(encoding) || "bz2".equals(encoding);
+	}
+
+	/** @return Whether pixels of the given encoding are read by decompression. */
+	private static boolean isCompressed(final String encoding) {
+		return isGzip(encoding) || isBzip2(encoding);
 	}
 }
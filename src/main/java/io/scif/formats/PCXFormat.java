@@ -37,6 +37,7 @@ import io.scif.ByteArrayPlane;
 import io.scif.ByteArrayReader;
 import io.scif.Format;
 import io.scif.FormatException;
+import io.scif.FormatSignature;
 import io.scif.HasColorTable;
 import io.scif.ImageMetadata;
 import io.scif.config.SCIFIOConfig;
@@ -164,6 +165,11 @@ public class PCXFormat extends AbstractFormat {
 			if (!FormatTools.validStream(stream, blockLen, false)) return false;
 			return stream.read() == PCX_MAGIC_BYTE;
 		}
+
+		@Override
+		public FormatSignature[] getSignatures() {
+			return new FormatSignature[] { new FormatSignature(0, PCX_MAGIC_BYTE) };
+		}
 	}
 
 	public static class Parser extends AbstractParser<Metadata> {
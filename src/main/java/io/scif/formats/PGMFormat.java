@@ -37,6 +37,7 @@ import io.scif.ByteArrayPlane;
 import io.scif.ByteArrayReader;
 import io.scif.Format;
 import io.scif.FormatException;
+import io.scif.FormatSignature;
 import io.scif.ImageMetadata;
 import io.scif.config.SCIFIOConfig;
 import io.scif.util.FormatTools;
@@ -145,6 +146,12 @@ public class PGMFormat extends AbstractFormat {
 				.read());
 		}
 
+		@Override
+		public FormatSignature[] getSignatures() {
+			return new FormatSignature[] { new FormatSignature(0,
+				(byte) PGM_MAGIC_CHAR) };
+		}
+
 	}
 
 	public static class Parser extends AbstractParser<Metadata> {
@@ -38,6 +38,7 @@ import io.scif.ByteArrayReader;
 import io.scif.Field;
 import io.scif.Format;
 import io.scif.FormatException;
+import io.scif.FormatSignature;
 import io.scif.ImageMetadata;
 import io.scif.config.SCIFIOConfig;
 import io.scif.util.FormatTools;
@@ -141,6 +142,11 @@ public class ScancoISQFormat extends AbstractFormat {
 			final String fileStart = new String(firstBytes);
 			return ISQ_ID.equals(fileStart);
 		}
+
+		@Override
+		public FormatSignature[] getSignatures() {
+			return new FormatSignature[] { new FormatSignature(0, ISQ_ID) };
+		}
 	}
 
 	public static class Metadata extends AbstractMetadata {
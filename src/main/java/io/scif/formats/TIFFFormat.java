@@ -49,6 +49,7 @@ import io.scif.formats.tiff.IFDList;
 import io.scif.formats.tiff.PhotoInterp;
 import io.scif.formats.tiff.TiffCompression;
 import io.scif.formats.tiff.TiffParser;
+import io.scif.formats.tiff.TiffPyramidWriter;
 import io.scif.formats.tiff.TiffRational;
 import io.scif.formats.tiff.TiffSaver;
 import io.scif.gui.AWTImageTools;
@@ -1438,6 +1439,39 @@ public class TIFFFormat extends AbstractFormat {
 					imageIndex == getMetadata().getImageCount() - 1);
 		}
 
+		/**
+		 * Creates a {@link TiffPyramidWriter} for the given image, replacing any
+		 * previous content of the destination. Its planes are written as tiled
+		 * images, each with its reduced-resolution levels stored as SubIFDs, using
+		 * this writer's compression and codec options. BigTIFF is written unless
+		 * it was explicitly disabled.
+		 * <p>
+		 * {@link TiffPyramidWriter#finish()} must be called before closing this
+		 * writer.
+		 * </p>
+		 */
+		public TiffPyramidWriter createPyramidWriter(final int imageIndex)
+			throws FormatException, IOException
+		{
+			final ImageMetadata imageMeta = getMetadata().get(imageIndex);
+			if (isBigTIFF == null) isBigTIFF = true;
+			tiffSaver.setBigTiff(isBigTiff());
+			tiffSaver.setWritingSequentially(true);
+			getHandle().setLength(0);
+			tiffSaver.writeHeader();
+
+			final IFD ifd = new IFD(log());
+			formatCompression(ifd);
+			formatResolution(ifd);
+			formatSampleFormat(ifd, imageMeta.getPixelType());
+			addDimensionalAxisInfo(ifd, imageIndex);
+
+			final int channels = imageMeta.isMultichannel() ? (int) imageMeta
+				.getAxisLength(Axes.CHANNEL) : 1;
+			return new TiffPyramidWriter(tiffSaver, ifd, imageMeta.getPixelType(),
+				channels);
+		}
+
 		// -- AbstractWriter Methods --
 
 		@Override
@@ -1491,6 +1525,7 @@ public class TIFFFormat extends AbstractFormat {
 
 			synchronized (this) {
 				setupTiffSaver(dest, imageIndex);
+				tiffSaver.setExecutor(config.writerGetEncodeExecutor());
 			}
 		}
 
@@ -1622,16 +1657,7 @@ public class TIFFFormat extends AbstractFormat {
 			ifd.put(new Integer(IFD.IMAGE_WIDTH), new Long(width));
 			ifd.put(new Integer(IFD.IMAGE_LENGTH), new Long(height));
 
-			final double avgScaleX = meta.get(0).getAxis(Axes.X).averageScale(0, 1);
-			final double physicalSizeX = avgScaleX == 0 ? 0 : 1 / avgScaleX;
-			final double avgScaleY = meta.get(0).getAxis(Axes.Y).averageScale(0, 1);
-			final double physicalSizeY = avgScaleY == 0 ? 0 : 1 / avgScaleY;
-
-			ifd.put(IFD.RESOLUTION_UNIT, 3);
-			ifd.put(IFD.X_RESOLUTION, new TiffRational((long) (physicalSizeX * 1000 *
-				10000), 1000));
-			ifd.put(IFD.Y_RESOLUTION, new TiffRational((long) (physicalSizeY * 1000 *
-				10000), 1000));
+			formatResolution(ifd);
 
 			DataHandle<Location> handle = getHandle();
 			if (!isBigTiff()) {
@@ -1660,10 +1686,7 @@ public class TIFFFormat extends AbstractFormat {
 			ifd.putIFDValue(IFD.PLANAR_CONFIGURATION, interleaved || meta.get(
 				imageIndex).getAxisLength(Axes.CHANNEL) == 1 ? 1 : 2);
 
-			int sampleFormat = 1;
-			if (FormatTools.isSigned(type)) sampleFormat = 2;
-			if (FormatTools.isFloatingPoint(type)) sampleFormat = 3;
-			ifd.putIFDValue(IFD.SAMPLE_FORMAT, sampleFormat);
+			formatSampleFormat(ifd, type);
 
 			long index = planeIndex;
 			final int realSeries = imageIndex;
@@ -1673,6 +1696,38 @@ public class TIFFFormat extends AbstractFormat {
 			return index;
 		}
 
+		/**
+		 * Sets the physical pixel size entries for the specified IFD.
+		 *
+		 * @param ifd The IFD table to handle.
+		 */
+		private void formatResolution(final IFD ifd) {
+			final Metadata meta = getMetadata();
+			final double avgScaleX = meta.get(0).getAxis(Axes.X).averageScale(0, 1);
+			final double physicalSizeX = avgScaleX == 0 ? 0 : 1 / avgScaleX;
+			final double avgScaleY = meta.get(0).getAxis(Axes.Y).averageScale(0, 1);
+			final double physicalSizeY = avgScaleY == 0 ? 0 : 1 / avgScaleY;
+
+			ifd.put(IFD.RESOLUTION_UNIT, 3);
+			ifd.put(IFD.X_RESOLUTION, new TiffRational((long) (physicalSizeX * 1000 *
+				10000), 1000));
+			ifd.put(IFD.Y_RESOLUTION, new TiffRational((long) (physicalSizeY * 1000 *
+				10000), 1000));
+		}
+
+		/**
+		 * Sets the sample format code for the specified IFD.
+		 *
+		 * @param ifd The IFD table to handle.
+		 * @param type The pixel type being written.
+		 */
+		private void formatSampleFormat(final IFD ifd, final int type) {
+			int sampleFormat = 1;
+			if (FormatTools.isSigned(type)) sampleFormat = 2;
+			if (FormatTools.isFloatingPoint(type)) sampleFormat = 3;
+			ifd.putIFDValue(IFD.SAMPLE_FORMAT, sampleFormat);
+		}
+
 		private void setupTiffSaver(final DataHandle<Location> handle,
 			final int imageIndex)
 		{
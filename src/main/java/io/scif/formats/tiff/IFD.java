@@ -323,7 +323,8 @@ public class IFD extends HashMap<Integer, Object> {
 
 	// -- Fields --
 
-	private final LogService log;
+	/** Logger; null if this IFD was deserialized. */
+	private transient LogService log;
 
 	// -- Constructors --
 
@@ -704,8 +705,10 @@ public class IFD extends HashMap<Integer, Object> {
 
 		final int samplesPerPixel = getSamplesPerPixel();
 		if (bitsPerSample.length < samplesPerPixel) {
-			log.debug("BitsPerSample length (" + bitsPerSample.length +
-				") does not match SamplesPerPixel (" + samplesPerPixel + ")");
+			if (log != null) {
+				log.debug("BitsPerSample length (" + bitsPerSample.length +
+					") does not match SamplesPerPixel (" + samplesPerPixel + ")");
+			}
 			final int bits = bitsPerSample[0];
 			bitsPerSample = new int[samplesPerPixel];
 			Arrays.fill(bitsPerSample, bits);
@@ -1118,6 +1121,7 @@ public class IFD extends HashMap<Integer, Object> {
 
 	/** Prints the contents of this IFD. */
 	public void printIFD() {
+		if (log == null) return;
 		log.trace("IFD directory entry values:");
 
 		for (final Integer tag : keySet()) {
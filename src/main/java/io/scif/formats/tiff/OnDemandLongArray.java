@@ -30,6 +30,9 @@
 package io.scif.formats.tiff;
 
 import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
 
 import org.scijava.io.handle.DataHandle;
 import org.scijava.io.location.Location;
@@ -37,9 +40,9 @@ import org.scijava.io.location.Location;
 /**
  * @author Melissa Linkert
  */
-public class OnDemandLongArray {
+public class OnDemandLongArray implements Serializable {
 
-	private DataHandle<Location> stream;
+	private transient DataHandle<Location> stream;
 
 	private int size;
 
@@ -66,6 +69,18 @@ public class OnDemandLongArray {
 		return size;
 	}
 
+	/** Reads all values into an array. */
+	public long[] toArray() throws IOException {
+		final long fp = stream.offset();
+		stream.seek(start);
+		final long[] values = new long[size];
+		for (int i = 0; i < size; i++) {
+			values[i] = stream.readLong();
+		}
+		stream.seek(fp);
+		return values;
+	}
+
 	public void close() throws IOException {
 		stream.close();
 		stream = null;
@@ -73,4 +88,20 @@ public class OnDemandLongArray {
 		start = 0;
 	}
 
+	// -- Serializable methods --
+
+	/**
+	 * Serializes the values themselves, since the underlying stream cannot be
+	 * serialized.
+	 */
+	private Object writeReplace() throws ObjectStreamException {
+		try {
+			return toArray();
+		}
+		catch (final IOException e) {
+			throw new InvalidObjectException("Could not read values: " + e
+				.getMessage());
+		}
+	}
+
 }
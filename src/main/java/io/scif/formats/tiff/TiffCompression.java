@@ -274,6 +274,26 @@ public enum TiffCompression implements CodedEnum {
 		return codec.decompress(input, options);
 	}
 
+	/**
+	 * Decodes a strip of data into the given buffer, which for codecs that
+	 * support it avoids allocating memory.
+	 *
+	 * @return The number of bytes written to {@code output}.
+	 * @see Codec#decompress(byte[], int, int, byte[], int, CodecOptions)
+	 */
+	public int decompress(final CodecService codecService, final byte[] input,
+		final int length, final byte[] output, final CodecOptions options)
+		throws FormatException
+	{
+		if (codecClass == null) {
+			throw new UnsupportedCompressionException("Sorry, " + getCodecName() +
+				" compression mode is not supported");
+		}
+
+		final Codec codec = codecService.getCodec(codecClass);
+		return codec.decompress(input, 0, length, output, 0, options);
+	}
+
 	// -- TiffCompression methods - compression --
 
 	/**
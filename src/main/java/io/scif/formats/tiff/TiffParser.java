@@ -33,13 +33,22 @@ import io.scif.FormatException;
 import io.scif.SCIFIO;
 import io.scif.codec.BitBuffer;
 import io.scif.codec.CodecOptions;
+import io.scif.codec.JPEG2000CodecOptions;
 import io.scif.common.Constants;
 import io.scif.enumeration.EnumException;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Date;
+import java.util.List;
 import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.scijava.AbstractContextual;
 import org.scijava.Context;
@@ -60,6 +69,15 @@ import org.scijava.util.IntRect;
  */
 public class TiffParser extends AbstractContextual implements Closeable {
 
+	// -- Constants --
+
+	/**
+	 * Maximum number of tiles decoded concurrently before their contents are
+	 * copied into the output buffer. Bounds the memory used by parallel decoding
+	 * of large regions.
+	 */
+	private static final int TILE_BATCH_SIZE = 64;
+
 	// -- Fields --
 
 	/** Input source from which to parse TIFF data. */
@@ -68,6 +86,9 @@ public class TiffParser extends AbstractContextual implements Closeable {
 	/** Cached tile buffer to avoid re-allocations when reading tiles. */
 	private byte[] cachedTileBuffer;
 
+	/** Reused buffer for the compressed bytes of tiles read serially. */
+	private byte[] compressedTileBuffer;
+
 	/** Whether or not the TIFF file contains BigTIFF data. */
 	private boolean bigTiff;
 
@@ -93,6 +114,12 @@ public class TiffParser extends AbstractContextual implements Closeable {
 	/** Codec options to be used when decoding compressed pixel data. */
 	private CodecOptions codecOptions = CodecOptions.getDefaultOptions();
 
+	/** Executor used to decode tiles concurrently, or null to decode serially. */
+	private ExecutorService executor;
+
+	/** Cache of decoded tiles, or null to decode tiles on every request. */
+	private TileCache tileCache;
+
 	// -- Constructors --
 
 	/** Constructs a new TIFF parser from the given file name. */
@@ -146,6 +173,44 @@ public class TiffParser extends AbstractContextual implements Closeable {
 		return codecOptions;
 	}
 
+	/**
+	 * Sets the executor used to decode tiles and strips concurrently in
+	 * {@link #getSamples(IFD, byte[], int, int, long, long, int, int)}.
+	 * Compressed tile data is still read sequentially from the input source; only
+	 * decompression and unpacking are delegated to the executor. The samples
+	 * returned are identical to those of serial decoding.
+	 *
+	 * @param executor Executor to use, or null to decode tiles serially (the
+	 *          default).
+	 */
+	public void setExecutor(final ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Gets the executor used to decode tiles concurrently, or null if tiles are
+	 * decoded serially.
+	 */
+	public ExecutorService getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Sets the cache used to avoid decoding the same tile repeatedly, e.g. when
+	 * reading overlapping regions. The cache may be shared between parsers.
+	 *
+	 * @param tileCache Cache to use, or null to decode tiles on every request
+	 *          (the default).
+	 */
+	public void setTileCache(final TileCache tileCache) {
+		this.tileCache = tileCache;
+	}
+
+	/** Gets the cache of decoded tiles, or null if tiles are not cached. */
+	public TileCache getTileCache() {
+		return tileCache;
+	}
+
 	/** Sets whether or not IFD entries should be cached. */
 	public void setDoCaching(final boolean doCaching) {
 		this.doCaching = doCaching;
@@ -247,6 +312,43 @@ public class TiffParser extends AbstractContextual implements Closeable {
 		return ifds;
 	}
 
+	/**
+	 * Returns the top-level IFDs in the file. Unlike {@link #getIFDs()}, the
+	 * IFDs referenced by each IFD's {@link IFD#SUB_IFD} tag are not included;
+	 * see {@link #getSubIFDs(IFD)}.
+	 */
+	public IFDList getMainIFDs() throws IOException {
+		final IFDList ifds = new IFDList();
+		for (final long offset : getIFDOffsets()) {
+			final IFD ifd = getIFD(offset);
+			if (ifd != null && ifd.containsKey(IFD.IMAGE_WIDTH)) ifds.add(ifd);
+		}
+		return ifds;
+	}
+
+	/**
+	 * Returns the IFDs referenced by the given IFD's {@link IFD#SUB_IFD} tag, in
+	 * the order listed. In pyramidal TIFFs these hold the reduced-resolution
+	 * levels of the parent image.
+	 */
+	public IFDList getSubIFDs(final IFD ifd) throws IOException {
+		final IFDList subs = new IFDList();
+		if (!ifd.containsKey(IFD.SUB_IFD)) return subs;
+		long[] subOffsets = null;
+		try {
+			if (!doCaching) fillInIFD(ifd);
+			subOffsets = ifd.getIFDLongArray(IFD.SUB_IFD);
+		}
+		catch (final FormatException e) {}
+		if (subOffsets != null) {
+			for (final long subOffset : subOffsets) {
+				final IFD sub = getIFD(subOffset);
+				if (sub != null) subs.add(sub);
+			}
+		}
+		return subs;
+	}
+
 	/** Returns thumbnail IFDs. */
 	public IFDList getThumbnailIFDs() throws IOException {
 		final IFDList ifds = getIFDs();
@@ -633,98 +735,19 @@ public class TiffParser extends AbstractContextual implements Closeable {
 	public byte[] getTile(final IFD ifd, byte[] buf, final int row, final int col)
 		throws FormatException, IOException
 	{
-		final byte[] jpegTable = (byte[]) ifd.getIFDValue(IFD.JPEG_TABLES);
-
-		codecOptions.interleaved = true;
-		codecOptions.littleEndian = ifd.isLittleEndian();
-
-		final long tileWidth = ifd.getTileWidth();
-		final long tileLength = ifd.getTileLength();
-		final int samplesPerPixel = ifd.getSamplesPerPixel();
-		final int planarConfig = ifd.getPlanarConfiguration();
-		final TiffCompression compression = ifd.getCompression();
-
-		final long numTileCols = ifd.getTilesPerRow();
-
-		final int pixel = ifd.getBytesPerSample()[0];
-		final int effectiveChannels = planarConfig == 2 ? 1 : samplesPerPixel;
-
-		final long[] stripByteCounts = ifd.getStripByteCounts();
-		final long[] rowsPerStrip = ifd.getRowsPerStrip();
-
-		final int offsetIndex = (int) (row * numTileCols + col);
-		int countIndex = offsetIndex;
-		if (equalStrips) {
-			countIndex = 0;
-		}
-		if (stripByteCounts[countIndex] == (rowsPerStrip[0] * tileWidth) &&
-			pixel > 1)
-		{
-			stripByteCounts[countIndex] *= pixel;
-		}
-
-		long stripOffset = 0;
-		long nStrips = 0;
-
-		if (ifd.getOnDemandStripOffsets() != null) {
-			final OnDemandLongArray stripOffsets = ifd.getOnDemandStripOffsets();
-			stripOffset = stripOffsets.get(offsetIndex);
-			nStrips = stripOffsets.size();
-		}
-		else {
-			final long[] stripOffsets = ifd.getStripOffsets();
-			stripOffset = stripOffsets[offsetIndex];
-			nStrips = stripOffsets.length;
-		}
-
-		final int size = (int) (tileWidth * tileLength * pixel * effectiveChannels);
-
-		if (buf == null) buf = new byte[size];
-		if (stripByteCounts[countIndex] == 0 || stripOffset >= in.length()) {
+		if (buf == null) buf = new byte[getTileSize(ifd)];
+		final FileIdentity file = fileIdentity();
+		final byte[] cached = getCachedTile(file, ifd, row, col);
+		if (cached != null) {
+			System.arraycopy(cached, 0, buf, 0, Math.min(cached.length, buf.length));
 			return buf;
 		}
-		byte[] tile = new byte[(int) stripByteCounts[countIndex]];
-
-		log.debug("Reading tile Length " + tile.length + " Offset " + stripOffset);
-		in.seek(stripOffset);
-		in.read(tile);
-
-		codecOptions.maxBytes = Math.max(size, tile.length);
-		codecOptions.ycbcr = ifd
-			.getPhotometricInterpretation() == PhotoInterp.Y_CB_CR && ifd
-				.getIFDIntValue(IFD.Y_CB_CR_SUB_SAMPLING) == 1 && ycbcrCorrection;
-
-		if (jpegTable != null) {
-			final byte[] q = new byte[jpegTable.length + tile.length - 4];
-			System.arraycopy(jpegTable, 0, q, 0, jpegTable.length - 2);
-			System.arraycopy(tile, 2, q, jpegTable.length - 2, tile.length - 2);
-			tile = compression.decompress(scifio.codec(), q, codecOptions);
-		}
-		else tile = compression.decompress(scifio.codec(), tile, codecOptions);
-		scifio.tiff().undifference(tile, ifd);
-		unpackBytes(buf, 0, tile, ifd);
-
-		if (planarConfig == 2 && !ifd.isTiled() && ifd.getSamplesPerPixel() > 1) {
-			final int channel = (int) (row % nStrips);
-			if (channel < ifd.getBytesPerSample().length) {
-				final int realBytes = ifd.getBytesPerSample()[channel];
-				if (realBytes != pixel) {
-					// re-pack pixels to account for differing bits per sample
-
-					final boolean littleEndian = ifd.isLittleEndian();
-					final int[] samples = new int[buf.length / pixel];
-					for (int i = 0; i < samples.length; i++) {
-						samples[i] = Bytes.toInt(buf, i * realBytes, realBytes,
-							littleEndian);
-					}
-
-					for (int i = 0; i < samples.length; i++) {
-						Bytes.unpack(samples[i], buf, i * pixel, pixel, littleEndian);
-					}
-				}
-			}
-		}
-
+		final int count = getTileByteCount(ifd, row, col);
+		if (count == 0) return buf;
+		compressedTileBuffer = readTile(ifd, row, col, count,
+			compressedTileBuffer);
+		decodeTile(ifd, buf, row, compressedTileBuffer, count, codecOptions);
+		if (tileCache != null) cacheTile(file, ifd, row, col, buf.clone());
 		return buf;
 	}
 
@@ -863,11 +886,11 @@ public class TiffParser extends AbstractContextual implements Closeable {
 		final int bufferSize = (int) tileWidth * (int) tileLength *
 			bufferSizeSamplesPerPixel * bpp;
 
-		cachedTileBuffer = new byte[bufferSize];
-
 		final IntRect tileBounds = new IntRect(0, 0, (int) tileWidth,
 			(int) tileLength);
 
+		// gather the tiles intersecting the requested region: {row, col, x, y}
+		final List<int[]> tiles = new ArrayList<>();
 		for (int row = 0; row < numTileRows; row++) {
 			// make the first row shorter to account for row overlap
 			if (row == 0) {
@@ -889,12 +912,34 @@ public class TiffParser extends AbstractContextual implements Closeable {
 
 				if (!imageBounds.intersects(tileBounds)) continue;
 
-				getTile(ifd, cachedTileBuffer, row, col);
+				tiles.add(new int[] { row, col, tileBounds.x, tileBounds.y });
+			}
+		}
+
+		cachedTileBuffer = new byte[bufferSize];
+		final FileIdentity file = fileIdentity();
+
+		final int batchSize = executor == null ? tiles.size() : TILE_BATCH_SIZE;
+		for (int first = 0; first < tiles.size(); first += batchSize) {
+			final List<int[]> batch = tiles.subList(first, Math.min(first +
+				batchSize, tiles.size()));
+			final byte[][] decoded = executor == null ? null : decodeTiles(file,
+				ifd, batch, bufferSize);
+
+			for (int t = 0; t < batch.size(); t++) {
+				final int row = batch.get(t)[0];
+				final int col = batch.get(t)[1];
+
+				final byte[] tileBuffer;
+				if (decoded == null) {
+					tileBuffer = loadTile(file, ifd, row, col, bufferSize);
+				}
+				else tileBuffer = decoded[t];
 
 				// adjust tile bounds, if necessary
 
-				final int tileX = Math.max(tileBounds.x, x);
-				final int tileY = Math.max(tileBounds.y, y);
+				final int tileX = Math.max(batch.get(t)[2], x);
+				final int tileY = Math.max(batch.get(t)[3], y);
 				int realX = tileX % (int) (tileWidth - overlapX);
 				int realY = tileY % (int) (tileLength - overlapY);
 
@@ -926,11 +971,11 @@ public class TiffParser extends AbstractContextual implements Closeable {
 					// (or the current tile may be overwritten by a subsequent
 					// tile)
 					if (rowLen == outputRowLen && overlapX == 0 && overlapY == 0) {
-						System.arraycopy(cachedTileBuffer, src, buf, dest, copy * theight);
+						System.arraycopy(tileBuffer, src, buf, dest, copy * theight);
 					}
 					else {
 						for (int tileRow = 0; tileRow < theight; tileRow++) {
-							System.arraycopy(cachedTileBuffer, src, buf, dest, copy);
+							System.arraycopy(tileBuffer, src, buf, dest, copy);
 							src += rowLen;
 							dest += outputRowLen;
 						}
@@ -976,8 +1021,313 @@ public class TiffParser extends AbstractContextual implements Closeable {
 		in.close();
 	}
 
+	// -- Helper methods - tile decoding --
+
+	/** Computes the size in bytes of one decoded tile of the given IFD. */
+	private int getTileSize(final IFD ifd) throws FormatException {
+		final long tileWidth = ifd.getTileWidth();
+		final long tileLength = ifd.getTileLength();
+		final int samplesPerPixel = ifd.getSamplesPerPixel();
+		final int planarConfig = ifd.getPlanarConfiguration();
+		final int pixel = ifd.getBytesPerSample()[0];
+		final int effectiveChannels = planarConfig == 2 ? 1 : samplesPerPixel;
+		return (int) (tileWidth * tileLength * pixel * effectiveChannels);
+	}
+
+	/** Gets the offset of the given tile's compressed data. */
+	private long getTileOffset(final IFD ifd, final int row, final int col)
+		throws FormatException, IOException
+	{
+		final int offsetIndex = (int) (row * ifd.getTilesPerRow() + col);
+		if (ifd.getOnDemandStripOffsets() != null) {
+			return ifd.getOnDemandStripOffsets().get(offsetIndex);
+		}
+		return ifd.getStripOffsets()[offsetIndex];
+	}
+
+	/**
+	 * Gets the identity of the parsed file under which its tiles are cached, so
+	 * that it is queried once per request rather than once per tile.
+	 *
+	 * @return The identity, or null if there is no {@link #setTileCache tile
+	 *         cache}.
+	 */
+	private FileIdentity fileIdentity() throws IOException {
+		if (tileCache == null) return null;
+		final Date date = in.lastModified();
+		return new FileIdentity(in.get(), in.length(), date == null ? -1 : date
+			.getTime());
+	}
+
+	/**
+	 * Looks up the given tile in the {@link #setTileCache tile cache}.
+	 *
+	 * @return The shared decoded tile, or null if it is not cached.
+	 */
+	private byte[] getCachedTile(final FileIdentity file, final IFD ifd,
+		final int row, final int col) throws FormatException, IOException
+	{
+		if (file == null) return null;
+		return tileCache.get(file.loc, file.length, file.lastModified,
+			getTileOffset(ifd, row, col), row, col);
+	}
+
+	/** Adds the given decoded tile to the {@link #setTileCache tile cache}. */
+	private void cacheTile(final FileIdentity file, final IFD ifd,
+		final int row, final int col, final byte[] decoded)
+		throws FormatException, IOException
+	{
+		tileCache.put(file.loc, file.length, file.lastModified, getTileOffset(
+			ifd, row, col), row, col, decoded);
+	}
+
+	/**
+	 * Obtains the given decoded tile for serial decoding in
+	 * {@link #getSamples(IFD, byte[], int, int, long, long, int, int)}. Without a
+	 * tile cache, the tile is decoded into {@link #cachedTileBuffer}; with one,
+	 * it is looked up or decoded into a new buffer, since cached tiles are
+	 * shared.
+	 */
+	private byte[] loadTile(final FileIdentity file, final IFD ifd,
+		final int row, final int col, final int bufferSize) throws FormatException,
+		IOException
+	{
+		if (file == null) return getTile(ifd, cachedTileBuffer, row, col);
+
+		byte[] decoded = getCachedTile(file, ifd, row, col);
+		if (decoded == null) {
+			final byte[] tile = readTile(ifd, row, col);
+			// NB: An empty tile leaves the previous tile's samples in place.
+			if (tile == null) return cachedTileBuffer;
+			decoded = decodeTile(ifd, new byte[bufferSize], row, tile, tile.length,
+				codecOptions);
+			cacheTile(file, ifd, row, col, decoded);
+		}
+		cachedTileBuffer = decoded;
+		return decoded;
+	}
+
+	/**
+	 * Reads the compressed bytes of the given tile from the input source.
+	 *
+	 * @return The compressed tile, or null if the tile is empty.
+	 */
+	private byte[] readTile(final IFD ifd, final int row, final int col)
+		throws FormatException, IOException
+	{
+		final int count = getTileByteCount(ifd, row, col);
+		return count == 0 ? null : readTile(ifd, row, col, count, null);
+	}
+
+	/**
+	 * Reads the {@code count} compressed bytes of the given tile into
+	 * {@code buf}, or into a new array if {@code buf} is null or too small.
+	 *
+	 * @return The array holding the compressed tile.
+	 */
+	private byte[] readTile(final IFD ifd, final int row, final int col,
+		final int count, final byte[] buf) throws FormatException, IOException
+	{
+		final byte[] tile = buf != null && buf.length >= count ? buf
+			: new byte[count];
+		final long stripOffset = getTileOffset(ifd, row, col);
+		log.debug("Reading tile Length " + count + " Offset " + stripOffset);
+		in.seek(stripOffset);
+		// NB: A truncated tile is decoded as if padded with zeroes.
+		final int n = Math.max(in.read(tile, 0, count), 0);
+		if (n < count) Arrays.fill(tile, n, count, (byte) 0);
+		return tile;
+	}
+
+	/**
+	 * @return The number of compressed bytes of the given tile, or 0 if the tile
+	 *         is empty.
+	 */
+	private int getTileByteCount(final IFD ifd, final int row, final int col)
+		throws FormatException, IOException
+	{
+		final long tileWidth = ifd.getTileWidth();
+		final long numTileCols = ifd.getTilesPerRow();
+		final int pixel = ifd.getBytesPerSample()[0];
+
+		final long[] stripByteCounts = ifd.getStripByteCounts();
+		final long[] rowsPerStrip = ifd.getRowsPerStrip();
+
+		final int offsetIndex = (int) (row * numTileCols + col);
+		int countIndex = offsetIndex;
+		if (equalStrips) {
+			countIndex = 0;
+		}
+		if (stripByteCounts[countIndex] == (rowsPerStrip[0] * tileWidth) &&
+			pixel > 1)
+		{
+			stripByteCounts[countIndex] *= pixel;
+		}
+
+		final long stripOffset = getTileOffset(ifd, row, col);
+
+		if (stripByteCounts[countIndex] == 0 || stripOffset >= in.length()) {
+			return 0;
+		}
+		return (int) stripByteCounts[countIndex];
+	}
+
+	/**
+	 * Decompresses and unpacks the given compressed tile into {@code buf}. This
+	 * method does not touch the input source, so it may be called concurrently
+	 * provided each caller uses its own buffer and codec options.
+	 */
+	private byte[] decodeTile(final IFD ifd, final byte[] buf, final int row,
+		byte[] tile, final int length, final CodecOptions options)
+		throws FormatException
+	{
+		final byte[] jpegTable = (byte[]) ifd.getIFDValue(IFD.JPEG_TABLES);
+		final int pixel = ifd.getBytesPerSample()[0];
+		final int planarConfig = ifd.getPlanarConfiguration();
+		final TiffCompression compression = ifd.getCompression();
+
+		options.interleaved = true;
+		options.littleEndian = ifd.isLittleEndian();
+		options.maxBytes = Math.max(getTileSize(ifd), length);
+		options.ycbcr = ifd.getPhotometricInterpretation() == PhotoInterp.Y_CB_CR &&
+			ifd.getIFDIntValue(IFD.Y_CB_CR_SUB_SAMPLING) == 1 && ycbcrCorrection;
+
+		if (jpegTable != null) {
+			final byte[] q = new byte[jpegTable.length + length - 4];
+			System.arraycopy(jpegTable, 0, q, 0, jpegTable.length - 2);
+			System.arraycopy(tile, 2, q, jpegTable.length - 2, length - 2);
+			tile = compression.decompress(scifio.codec(), q, options);
+		}
+		else if (isUnpackedVerbatim(ifd)) {
+			// NB: Unpacking would copy the decompressed bytes as they are, so
+			// decompress straight into the destination instead.
+			final int n = compression.decompress(scifio.codec(), tile, length, buf,
+				options);
+			Arrays.fill(buf, n, buf.length, (byte) 0);
+			scifio.tiff().undifference(buf, n, ifd);
+			tile = null;
+		}
+		else {
+			if (length < tile.length) tile = Arrays.copyOf(tile, length);
+			tile = compression.decompress(scifio.codec(), tile, options);
+		}
+		if (tile != null) {
+			scifio.tiff().undifference(tile, ifd);
+			unpackBytes(buf, 0, tile, ifd);
+		}
+
+		if (planarConfig == 2 && !ifd.isTiled() && ifd.getSamplesPerPixel() > 1) {
+			final long nStrips = ifd.getOnDemandStripOffsets() != null ? ifd
+				.getOnDemandStripOffsets().size() : ifd.getStripOffsets().length;
+			final int channel = (int) (row % nStrips);
+			if (channel < ifd.getBytesPerSample().length) {
+				final int realBytes = ifd.getBytesPerSample()[channel];
+				if (realBytes != pixel) {
+					// re-pack pixels to account for differing bits per sample
+
+					final boolean littleEndian = ifd.isLittleEndian();
+					final int[] samples = new int[buf.length / pixel];
+					for (int i = 0; i < samples.length; i++) {
+						samples[i] = Bytes.toInt(buf, i * realBytes, realBytes,
+							littleEndian);
+					}
+
+					for (int i = 0; i < samples.length; i++) {
+						Bytes.unpack(samples[i], buf, i * pixel, pixel, littleEndian);
+					}
+				}
+			}
+		}
+
+		return buf;
+	}
+
+	/**
+	 * Decodes the given tiles using the {@link #setExecutor executor}. The
+	 * compressed data is read sequentially, then each tile is decoded into its
+	 * own buffer.
+	 *
+	 * @param tiles Tiles to decode, as {row, col, ...} entries.
+	 * @return The decoded tiles, in the same order as {@code tiles}.
+	 */
+	private byte[][] decodeTiles(final FileIdentity file, final IFD ifd,
+		final List<int[]> tiles, final int bufferSize) throws FormatException,
+		IOException
+	{
+		final List<Future<byte[]>> futures = new ArrayList<>(tiles.size());
+		final boolean[] cached = new boolean[tiles.size()];
+		for (int i = 0; i < tiles.size(); i++) {
+			final int row = tiles.get(i)[0];
+			final byte[] hit = getCachedTile(file, ifd, row, tiles.get(i)[1]);
+			if (hit != null) {
+				cached[i] = true;
+				futures.add(CompletableFuture.completedFuture(hit));
+				continue;
+			}
+			final byte[] tile = readTile(ifd, row, tiles.get(i)[1]);
+			if (tile == null) {
+				futures.add(null);
+				continue;
+			}
+			final CodecOptions options = codecOptions instanceof JPEG2000CodecOptions
+				? new JPEG2000CodecOptions(codecOptions) : new CodecOptions(
+					codecOptions);
+			final byte[] tileBuffer = new byte[bufferSize];
+			futures.add(executor.submit(() -> decodeTile(ifd, tileBuffer, row, tile,
+				tile.length, options)));
+		}
+
+		final byte[][] decoded = new byte[tiles.size()][];
+		for (int t = 0; t < decoded.length; t++) {
+			final Future<byte[]> future = futures.get(t);
+			if (future == null) {
+				// NB: An empty tile leaves the previous tile's samples in place,
+				// exactly as happens with the shared buffer when decoding serially.
+				decoded[t] = t == 0 ? cachedTileBuffer : decoded[t - 1];
+				continue;
+			}
+			try {
+				decoded[t] = future.get();
+				if (file != null && !cached[t]) {
+					cacheTile(file, ifd, tiles.get(t)[0], tiles.get(t)[1], decoded[t]);
+				}
+			}
+			catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while decoding tiles", e);
+			}
+			catch (final ExecutionException e) {
+				final Throwable cause = e.getCause();
+				if (cause instanceof FormatException) throw (FormatException) cause;
+				if (cause instanceof IOException) throw (IOException) cause;
+				throw new FormatException("Error decoding tile", cause);
+			}
+		}
+		cachedTileBuffer = decoded[decoded.length - 1];
+		return decoded;
+	}
+
 	// -- Helper methods - byte stream decoding --
 
+	/**
+	 * Whether {@link #unpackBytes} copies decompressed samples unchanged, i.e.
+	 * for single-channel 8- or 16-bit samples without inversion or color space
+	 * conversion.
+	 */
+	private boolean isUnpackedVerbatim(final IFD ifd) throws FormatException {
+		final int[] bitsPerSample = ifd.getBitsPerSample();
+		final int bps0 = bitsPerSample[0];
+		final int nChannels = ifd.getPlanarConfiguration() == 2 ? 1
+			: bitsPerSample.length;
+		PhotoInterp photoInterp = ifd.getPhotometricInterpretation();
+		if (ifd.getCompression() == TiffCompression.JPEG) {
+			photoInterp = PhotoInterp.RGB;
+		}
+		return (bps0 == 8 || bps0 == 16) && nChannels == 1 &&
+			photoInterp != PhotoInterp.WHITE_IS_ZERO &&
+			photoInterp != PhotoInterp.CMYK && photoInterp != PhotoInterp.Y_CB_CR;
+	}
+
 	/**
 	 * Extracts pixel information from the given byte array according to the bits
 	 * per sample, photometric interpretation and color map IFD directory entry
@@ -1209,4 +1559,23 @@ public class TiffParser extends AbstractContextual implements Closeable {
 		return buf;
 	}
 
+	// -- Helper classes --
+
+	/** Location, length and modification time of the parsed file. */
+	private static final class FileIdentity {
+
+		private final Location loc;
+
+		private final long length;
+
+		private final long lastModified;
+
+		private FileIdentity(final Location loc, final long length,
+			final long lastModified)
+		{
+			this.loc = loc;
+			this.length = length;
+			this.lastModified = lastModified;
+		}
+	}
 }
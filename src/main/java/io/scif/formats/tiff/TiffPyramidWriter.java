@@ -0,0 +1,482 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.formats.tiff;
+
+import io.scif.FormatException;
+import io.scif.util.FormatTools;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.imglib2.Cursor;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.view.Views;
+
+import org.scijava.io.handle.DataHandle;
+import org.scijava.io.location.Location;
+import org.scijava.log.LogService;
+
+/**
+ * Writes planes as tiled TIFF images, each followed by successively
+ * downsampled versions of itself stored as SubIFDs.
+ * <p>
+ * Each plane is read one tile at a time, and its levels are built in the same
+ * pass: the tiles are visited depth first, so that every reduced tile is
+ * computed from the four tiles below it as soon as they are written. Only one
+ * tile per level is held in memory, whatever the size of the plane.
+ * </p>
+ * <p>
+ * The IFDs are written once all planes are done, by {@link #finish()}.
+ * </p>
+ */
+public class TiffPyramidWriter {
+
+	// -- Constants --
+
+	/** Default width and height of the written tiles. */
+	public static final int DEFAULT_TILE_SIZE = 256;
+
+	// -- Fields --
+
+	private final TiffSaver saver;
+
+	private final IFD template;
+
+	private final int pixelType;
+
+	private final int channels;
+
+	private final LogService log;
+
+	private int tileWidth = DEFAULT_TILE_SIZE;
+
+	private int tileHeight = DEFAULT_TILE_SIZE;
+
+	private Downsampling downsampling = Downsampling.MEAN;
+
+	private int maxLevels = Integer.MAX_VALUE;
+
+	/** IFDs of each plane written so far, full resolution first. */
+	private final List<IFDList> planes = new ArrayList<>();
+
+	// -- Per-plane state --
+
+	private RandomAccessibleInterval<? extends RealType<?>> source;
+
+	private IFDList levels;
+
+	private long[] widths;
+
+	private long[] heights;
+
+	/** One tile of samples per level, chunky and padded past the edges. */
+	private double[][] tiles;
+
+	private byte[] tileBytes;
+
+	// -- Constructor --
+
+	/**
+	 * @param saver TIFF saver whose output already holds a header.
+	 * @param template IFD entries to write with every image, such as the
+	 *          compression and resolution.
+	 * @param pixelType Pixel type to write, one of the {@link FormatTools}
+	 *          types.
+	 * @param channels Number of samples per pixel.
+	 */
+	public TiffPyramidWriter(final TiffSaver saver, final IFD template,
+		final int pixelType, final int channels)
+	{
+		this.saver = saver;
+		this.template = template;
+		this.pixelType = pixelType;
+		this.channels = channels;
+		this.log = saver.getContext().getService(LogService.class);
+	}
+
+	// -- TiffPyramidWriter methods --
+
+	/**
+	 * Sets the size of the written tiles. TIFF requires both to be multiples of
+	 * 16.
+	 */
+	public void setTileSize(final int tileWidth, final int tileHeight) {
+		if (tileWidth <= 0 || tileWidth % 16 != 0 || tileHeight <= 0 ||
+			tileHeight % 16 != 0)
+		{
+			throw new IllegalArgumentException("Invalid tile size: " + tileWidth +
+				"x" + tileHeight + " (must be positive multiples of 16)");
+		}
+		this.tileWidth = tileWidth;
+		this.tileHeight = tileHeight;
+	}
+
+	public int getTileWidth() {
+		return tileWidth;
+	}
+
+	public int getTileHeight() {
+		return tileHeight;
+	}
+
+	/** Sets how each 2x2 block of pixels is reduced to one pixel. */
+	public void setDownsampling(final Downsampling downsampling) {
+		this.downsampling = downsampling;
+	}
+
+	public Downsampling getDownsampling() {
+		return downsampling;
+	}
+
+	/**
+	 * Sets the maximum number of reduced levels written per plane. Levels are
+	 * otherwise added until one fits in a single tile.
+	 */
+	public void setMaxLevels(final int maxLevels) {
+		if (maxLevels < 0) {
+			throw new IllegalArgumentException("Negative level count: " +
+				maxLevels);
+		}
+		this.maxLevels = maxLevels;
+	}
+
+	public int getMaxLevels() {
+		return maxLevels;
+	}
+
+	/**
+	 * Writes the tiles of one plane and of its reduced levels.
+	 *
+	 * @param plane The plane's pixels, with X and Y as the first two dimensions
+	 *          and, if there are several samples per pixel, the channels as the
+	 *          third.
+	 */
+	public void writePlane(
+		final RandomAccessibleInterval<? extends RealType<?>> plane)
+		throws FormatException, IOException
+	{
+		final int expected = channels > 1 ? 3 : 2;
+		if (plane.numDimensions() != expected || channels > 1 && plane.dimension(
+			2) != channels)
+		{
+			throw new FormatException("Expected a plane of " + expected +
+				" dimensions with " + channels + " channels");
+		}
+
+		source = Views.zeroMin(plane);
+		computeLevels(plane.dimension(0), plane.dimension(1));
+
+		tiles = new double[levels.size()][tileWidth * tileHeight * channels];
+		tileBytes = new byte[tileWidth * tileHeight * channels * FormatTools
+			.getBytesPerPixel(pixelType)];
+
+		final int top = levels.size() - 1;
+		final long tilesPerRow = levels.get(top).getTilesPerRow();
+		final long tilesPerColumn = levels.get(top).getTilesPerColumn();
+		for (long ty = 0; ty < tilesPerColumn; ty++) {
+			for (long tx = 0; tx < tilesPerRow; tx++) {
+				writeTile(top, tx, ty);
+			}
+		}
+
+		planes.add(levels);
+		source = null;
+		tiles = null;
+	}
+
+	/**
+	 * Writes the IFDs of all planes, with each plane's levels as SubIFDs of its
+	 * full resolution IFD, and points the header at the first one.
+	 */
+	public void finish() throws FormatException, IOException {
+		// NB: Written last to first, so that each IFD knows where the next is.
+		long next = 0;
+		for (int p = planes.size() - 1; p >= 0; p--) {
+			final IFDList ifds = planes.get(p);
+			final long[] subOffsets = new long[ifds.size() - 1];
+			for (int level = ifds.size() - 1; level > 0; level--) {
+				subOffsets[level - 1] = writeIFD(ifds.get(level), 0);
+			}
+			if (subOffsets.length > 0) {
+				ifds.get(0).putIFDValue(IFD.SUB_IFD, subOffsets);
+			}
+			next = writeIFD(ifds.get(0), next);
+		}
+
+		final DataHandle<Location> out = saver.getStream();
+		out.seek(saver.isBigTiff() ? 8 : 4);
+		if (saver.isBigTiff()) out.writeLong(next);
+		else out.writeInt((int) next);
+		planes.clear();
+	}
+
+	// -- Helper methods --
+
+	/** Creates the IFDs of the next plane's levels. */
+	private void computeLevels(final long width, final long height)
+		throws FormatException
+	{
+		final List<long[]> sizes = new ArrayList<>();
+		long w = width, h = height;
+		sizes.add(new long[] { w, h });
+		while (sizes.size() - 1 < maxLevels && (w > tileWidth ||
+			h > tileHeight) && w > 1 && h > 1)
+		{
+			w = (w + 1) / 2;
+			h = (h + 1) / 2;
+			sizes.add(new long[] { w, h });
+		}
+
+		levels = new IFDList();
+		widths = new long[sizes.size()];
+		heights = new long[sizes.size()];
+		for (int level = 0; level < sizes.size(); level++) {
+			widths[level] = sizes.get(level)[0];
+			heights[level] = sizes.get(level)[1];
+
+			final IFD ifd = new IFD(template, log);
+			if (level > 0 || !planes.isEmpty()) ifd.remove(IFD.IMAGE_DESCRIPTION);
+			ifd.putIFDValue(IFD.NEW_SUBFILE_TYPE, level == 0 ? 0L : 1L);
+			ifd.putIFDValue(IFD.IMAGE_WIDTH, widths[level]);
+			ifd.putIFDValue(IFD.IMAGE_LENGTH, heights[level]);
+			ifd.putIFDValue(IFD.TILE_WIDTH, (long) tileWidth);
+			ifd.putIFDValue(IFD.TILE_LENGTH, (long) tileHeight);
+			ifd.putIFDValue(IFD.PLANAR_CONFIGURATION, 1);
+			// NB: Read by the codecs; TiffSaver does not write this entry.
+			ifd.putIFDValue(IFD.LITTLE_ENDIAN, saver.isLittleEndian());
+			saver.makeValidIFD(ifd, pixelType, channels);
+			ifd.remove(IFD.ROWS_PER_STRIP);
+
+			final int tileCount = (int) (ifd.getTilesPerRow() * ifd
+				.getTilesPerColumn());
+			ifd.putIFDValue(IFD.TILE_OFFSETS, new long[tileCount]);
+			ifd.putIFDValue(IFD.TILE_BYTE_COUNTS, new long[tileCount]);
+			levels.add(ifd);
+		}
+	}
+
+	/**
+	 * Computes and writes the given tile, first writing the tiles of the level
+	 * below that it is reduced from. The tile's samples are left in
+	 * {@code tiles[level]}.
+	 */
+	private void writeTile(final int level, final long tx, final long ty)
+		throws FormatException, IOException
+	{
+		final double[] tile = tiles[level];
+		Arrays.fill(tile, 0);
+		if (level == 0) readTile(tx, ty);
+		else {
+			final IFD below = levels.get(level - 1);
+			for (long cy = 2 * ty; cy < Math.min(2 * ty + 2, below
+				.getTilesPerColumn()); cy++)
+			{
+				for (long cx = 2 * tx; cx < Math.min(2 * tx + 2, below
+					.getTilesPerRow()); cx++)
+				{
+					writeTile(level - 1, cx, cy);
+					reduce(level, cx, cy, (int) (cx - 2 * tx) * tileWidth / 2,
+						(int) (cy - 2 * ty) * tileHeight / 2);
+				}
+			}
+		}
+
+		// Encode, compress and append the tile
+		final ByteBuffer bb = ByteBuffer.wrap(tileBytes).order(saver
+			.isLittleEndian() ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+		for (final double v : tile) {
+			put(bb, v);
+		}
+		final IFD ifd = levels.get(level);
+		final byte[] data = saver.compressTile(ifd, tileBytes);
+
+		final DataHandle<Location> out = saver.getStream();
+		final long offset = out.length();
+		out.seek(offset);
+		out.write(data);
+
+		final int index = (int) (ty * ifd.getTilesPerRow() + tx);
+		ifd.getIFDLongArray(IFD.TILE_OFFSETS)[index] = offset;
+		ifd.getIFDLongArray(IFD.TILE_BYTE_COUNTS)[index] = data.length;
+	}
+
+	/** Reads the given full resolution tile from the source plane. */
+	private void readTile(final long tx, final long ty) {
+		final double[] tile = tiles[0];
+		final long x0 = tx * tileWidth, y0 = ty * tileHeight;
+		final int w = (int) Math.min(tileWidth, widths[0] - x0);
+		final int h = (int) Math.min(tileHeight, heights[0] - y0);
+
+		final long[] min = new long[source.numDimensions()];
+		final long[] max = new long[source.numDimensions()];
+		min[0] = x0;
+		min[1] = y0;
+		max[0] = x0 + w - 1;
+		max[1] = y0 + h - 1;
+		if (channels > 1) max[2] = channels - 1;
+
+		// NB: Flat iteration order is X, then Y, then channel.
+		final Cursor<? extends RealType<?>> cursor = Views.flatIterable(Views
+			.interval(source, min, max)).cursor();
+		for (int c = 0; c < channels; c++) {
+			for (int y = 0; y < h; y++) {
+				for (int x = 0; x < w; x++) {
+					tile[(y * tileWidth + x) * channels + c] = cursor.next()
+						.getRealDouble();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reduces the tile just written at {@code level - 1} into the given offset
+	 * of the tile at {@code level}.
+	 */
+	private void reduce(final int level, final long cx, final long cy,
+		final int offsetX, final int offsetY)
+	{
+		final double[] child = tiles[level - 1];
+		final double[] parent = tiles[level];
+		final int w = (int) Math.min(tileWidth, widths[level - 1] - cx *
+			tileWidth);
+		final int h = (int) Math.min(tileHeight, heights[level - 1] - cy *
+			tileHeight);
+		final boolean integer = !FormatTools.isFloatingPoint(pixelType);
+
+		for (int y = 0; y < (h + 1) / 2; y++) {
+			final int y1 = 2 * y, y2 = Math.min(2 * y + 1, h - 1);
+			for (int x = 0; x < (w + 1) / 2; x++) {
+				final int x1 = 2 * x, x2 = Math.min(2 * x + 1, w - 1);
+				for (int c = 0; c < channels; c++) {
+					final double a = child[(y1 * tileWidth + x1) * channels + c];
+					final double b = child[(y1 * tileWidth + x2) * channels + c];
+					final double d = child[(y2 * tileWidth + x1) * channels + c];
+					final double e = child[(y2 * tileWidth + x2) * channels + c];
+					parent[((offsetY + y) * tileWidth + offsetX + x) * channels + c] =
+						downsampling.reduce(a, b, d, e, integer);
+				}
+			}
+		}
+	}
+
+	/** Writes one sample of the pixel type to the buffer. */
+	private void put(final ByteBuffer bb, final double v) {
+		switch (pixelType) {
+			case FormatTools.INT8:
+			case FormatTools.UINT8:
+				bb.put((byte) (long) v);
+				break;
+			case FormatTools.INT16:
+			case FormatTools.UINT16:
+				bb.putShort((short) (long) v);
+				break;
+			case FormatTools.INT32:
+			case FormatTools.UINT32:
+				bb.putInt((int) (long) v);
+				break;
+			case FormatTools.FLOAT:
+				bb.putFloat((float) v);
+				break;
+			default:
+				bb.putDouble(v);
+		}
+	}
+
+	/**
+	 * Appends the given IFD to the output, on a word boundary as TIFF requires.
+	 *
+	 * @return The offset of the IFD.
+	 */
+	private long writeIFD(final IFD ifd, final long nextOffset)
+		throws FormatException, IOException
+	{
+		final DataHandle<Location> out = saver.getStream();
+		long offset = out.length();
+		out.seek(offset);
+		if (offset % 2 != 0) {
+			out.writeByte(0);
+			offset++;
+		}
+		saver.writeIFD(ifd, nextOffset);
+		return offset;
+	}
+
+	// -- Helper classes --
+
+	/** Ways of reducing each 2x2 block of pixels to one pixel. */
+	public enum Downsampling {
+
+		/** Keeps the top left pixel of each block. */
+		NEAREST {
+
+			@Override
+			double reduce(final double a, final double b, final double c,
+				final double d, final boolean integer)
+			{
+				return a;
+			}
+		},
+
+		/** Averages each block, rounding to the nearest integer if needed. */
+		MEAN {
+
+			@Override
+			double reduce(final double a, final double b, final double c,
+				final double d, final boolean integer)
+			{
+				final double mean = (a + b + c + d) / 4;
+				return integer ? Math.round(mean) : mean;
+			}
+		},
+
+		/** Keeps the brightest pixel of each block. */
+		MAX {
+
+			@Override
+			double reduce(final double a, final double b, final double c,
+				final double d, final boolean integer)
+			{
+				return Math.max(Math.max(a, b), Math.max(c, d));
+			}
+		};
+
+		/**
+		 * Reduces a 2x2 block of samples, given row by row. Blocks cut by the
+		 * image edge repeat their last row or column.
+		 */
+		abstract double reduce(double a, double b, double c, double d,
+			boolean integer);
+	}
+}
@@ -34,14 +34,15 @@ import io.scif.SCIFIO;
 import io.scif.codec.CodecOptions;
 import io.scif.util.FormatTools;
 
-import java.io.ByteArrayOutputStream;
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.scijava.AbstractContextual;
 import org.scijava.Context;
@@ -84,6 +85,9 @@ public class TiffSaver extends AbstractContextual {
 	/** The codec options if set. */
 	private CodecOptions options;
 
+	/** Executor used to compress strips concurrently, or null. */
+	private ExecutorService executor;
+
 	private SCIFIO scifio;
 
 	@Parameter
@@ -205,6 +209,26 @@ public class TiffSaver extends AbstractContextual {
 		this.options = options;
 	}
 
+	/**
+	 * Sets the executor used to compress strips and tiles concurrently in
+	 * {@link #writeImage}. Strips are still written to the output in order, so
+	 * the file layout is identical to that of serial compression.
+	 *
+	 * @param executor Executor to use, or null to compress strips serially (the
+	 *          default).
+	 */
+	public void setExecutor(final ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Gets the executor used to compress strips concurrently, or null if strips
+	 * are compressed serially.
+	 */
+	public ExecutorService getExecutor() {
+		return executor;
+	}
+
 	/** Writes the TIFF file header. */
 	public void writeHeader() throws IOException {
 		// write endianness indicator
@@ -309,13 +333,12 @@ public class TiffSaver extends AbstractContextual {
 		}
 
 		// These operations are synchronized
-		TiffCompression compression;
-		int tileWidth, tileHeight, nStrips;
-		boolean interleaved;
-		ByteArrayOutputStream[] stripBuf;
+		final TiffCompression compression;
+		final int tileWidth, tileHeight, tilesPerRow, nStrips, bytesPerPixel;
+		final boolean interleaved;
+		final int[] bps;
 		synchronized (this) {
-			final int bytesPerPixel = FormatTools.getBytesPerPixel(pixelType);
-			final int blockSize = w * h * bytesPerPixel;
+			bytesPerPixel = FormatTools.getBytesPerPixel(pixelType);
 			if (nChannels == null) {
 				nChannels = buf.length / (w * h * bytesPerPixel);
 			}
@@ -323,89 +346,44 @@ public class TiffSaver extends AbstractContextual {
 
 			makeValidIFD(ifd, pixelType, nChannels);
 
-			// create pixel output buffers
-
 			compression = ifd.getCompression();
 			tileWidth = (int) ifd.getTileWidth();
 			tileHeight = (int) ifd.getTileLength();
-			final int tilesPerRow = (int) ifd.getTilesPerRow();
-			final int rowsPerStrip = (int) ifd.getRowsPerStrip()[0];
-			int stripSize = rowsPerStrip * tileWidth * bytesPerPixel;
-			nStrips = ((w + tileWidth - 1) / tileWidth) * ((h + tileHeight - 1) /
-				tileHeight);
+			tilesPerRow = (int) ifd.getTilesPerRow();
+			int stripCount = ((w + tileWidth - 1) / tileWidth) * ((h + tileHeight -
+				1) / tileHeight);
+			if (!interleaved) stripCount *= nChannels;
+			nStrips = stripCount;
+			bps = ifd.getBitsPerSample();
+		}
 
-			if (interleaved) stripSize *= nChannels;
-			else nStrips *= nChannels;
+		// Copy pixel strips to their own buffers, then compress them according
+		// to the given differencing and compression schemes. These operations
+		// are NOT synchronized and are the ONLY portion of the
+		// TiffWriter.saveBytes() --> TiffSaver.writeImage() stack that is NOT
+		// synchronized.
+		final byte[][] strips = copyStrips(buf, w, h, bytesPerPixel, nChannels,
+			bps, interleaved, tileWidth, tileHeight, tilesPerRow, nStrips,
+			copyDirectly);
 
-			stripBuf = new ByteArrayOutputStream[nStrips];
-			final DataOutputStream[] stripOut = new DataOutputStream[nStrips];
+		final CodecOptions[] codecOptions = new CodecOptions[nStrips];
+		for (int strip = 0; strip < nStrips; strip++) {
+			codecOptions[strip] = compression.getCompressionCodecOptions(ifd,
+				options);
+			codecOptions[strip].height = tileHeight;
+			codecOptions[strip].width = tileWidth;
+			codecOptions[strip].channels = interleaved ? nChannels : 1;
+		}
+		if (executor == null) {
 			for (int strip = 0; strip < nStrips; strip++) {
-				stripBuf[strip] = new ByteArrayOutputStream(stripSize);
-				stripOut[strip] = new DataOutputStream(stripBuf[strip]);
-			}
-			final int[] bps = ifd.getBitsPerSample();
-			int off;
-
-			// write pixel strips to output buffers
-			final int effectiveStrips = !interleaved ? nStrips / nChannels : nStrips;
-			if (effectiveStrips == 1 && copyDirectly) {
-				stripOut[0].write(buf);
-			}
-			else {
-				for (int strip = 0; strip < effectiveStrips; strip++) {
-					final int xOffset = (strip % tilesPerRow) * tileWidth;
-					final int yOffset = (strip / tilesPerRow) * tileHeight;
-					for (int row = 0; row < tileHeight; row++) {
-						for (int col = 0; col < tileWidth; col++) {
-							final int ndx = ((row + yOffset) * w + col + xOffset) *
-								bytesPerPixel;
-							for (int c = 0; c < nChannels; c++) {
-								for (int n = 0; n < bps[c] / 8; n++) {
-									if (interleaved) {
-										off = ndx * nChannels + c * bytesPerPixel + n;
-										if (row >= h || col >= w) {
-											stripOut[strip].writeByte(0);
-										}
-										else {
-											stripOut[strip].writeByte(buf[off]);
-										}
-									}
-									else {
-										off = c * blockSize + ndx + n;
-										if (row >= h || col >= w) {
-											stripOut[strip].writeByte(0);
-										}
-										else {
-											stripOut[c * (nStrips / nChannels) + strip].writeByte(
-												buf[off]);
-										}
-									}
-								}
-							}
-						}
-					}
-				}
+				strips[strip] = compressStrip(ifd, compression, strips[strip],
+					codecOptions[strip]);
 			}
 		}
+		else compressStrips(ifd, compression, strips, codecOptions);
 
-		// Compress strips according to given differencing and compression
-		// schemes,
-		// this operation is NOT synchronized and is the ONLY portion of the
-		// TiffWriter.saveBytes() --> TiffSaver.writeImage() stack that is NOT
-		// synchronized.
-		final byte[][] strips = new byte[nStrips][];
-		for (int strip = 0; strip < nStrips; strip++) {
-			strips[strip] = stripBuf[strip].toByteArray();
-			scifio.tiff().difference(strips[strip], ifd);
-			final CodecOptions codecOptions = compression.getCompressionCodecOptions(
-				ifd, options);
-			codecOptions.height = tileHeight;
-			codecOptions.width = tileWidth;
-			codecOptions.channels = interleaved ? nChannels : 1;
-
-			strips[strip] = compression.compress(scifio.codec(), strips[strip],
-				codecOptions);
-			if (log.isDebug()) {
+		if (log.isDebug()) {
+			for (int strip = 0; strip < nStrips; strip++) {
 				log.debug(String.format("Compressed strip %d/%d length %d", strip + 1,
 					nStrips, strips[strip].length));
 			}
@@ -914,6 +892,151 @@ public class TiffSaver extends AbstractContextual {
 		overwriteIFDValue(in, 0, IFD.IMAGE_DESCRIPTION, value);
 	}
 
+	// -- Helper methods - strip encoding --
+
+	/**
+	 * Copies the pixels of each strip (or tile) out of the given block. Strips
+	 * extending past the edge of the block are padded with zeros.
+	 *
+	 * @return The uncompressed strips, in the order they are written.
+	 */
+	private byte[][] copyStrips(final byte[] buf, final int w, final int h,
+		final int bytesPerPixel, final int nChannels, final int[] bps,
+		final boolean interleaved, final int tileWidth, final int tileHeight,
+		final int tilesPerRow, final int nStrips, final boolean copyDirectly)
+	{
+		final byte[][] strips = new byte[nStrips][];
+		final int effectiveStrips = interleaved ? nStrips : nStrips / nChannels;
+		if (effectiveStrips == 1 && copyDirectly) {
+			strips[0] = buf.clone();
+			for (int strip = 1; strip < nStrips; strip++) {
+				strips[strip] = new byte[0];
+			}
+			return strips;
+		}
+
+		final int blockSize = w * h * bytesPerPixel;
+		final int[] sampleBytes = new int[nChannels];
+		final int[] sampleOffsets = new int[nChannels];
+		int pixelBytes = 0;
+		boolean uniform = true;
+		for (int c = 0; c < nChannels; c++) {
+			sampleBytes[c] = bps[c] / 8;
+			sampleOffsets[c] = pixelBytes;
+			pixelBytes += sampleBytes[c];
+			uniform &= sampleBytes[c] == bytesPerPixel;
+		}
+
+		for (int strip = 0; strip < effectiveStrips; strip++) {
+			final int xOffset = (strip % tilesPerRow) * tileWidth;
+			final int yOffset = (strip / tilesPerRow) * tileHeight;
+			final int rows = Math.max(0, Math.min(tileHeight, h - yOffset));
+			final int cols = Math.max(0, Math.min(tileWidth, w - xOffset));
+
+			if (interleaved) {
+				final byte[] dest = new byte[tileWidth * tileHeight * pixelBytes];
+				for (int row = 0; row < rows; row++) {
+					final int src = ((row + yOffset) * w + xOffset) * bytesPerPixel *
+						nChannels;
+					final int destRow = row * tileWidth * pixelBytes;
+					if (uniform) {
+						System.arraycopy(buf, src, dest, destRow, cols * pixelBytes);
+						continue;
+					}
+					for (int col = 0; col < cols; col++) {
+						for (int c = 0; c < nChannels; c++) {
+							System.arraycopy(buf, src + (col * nChannels + c) *
+								bytesPerPixel, dest, destRow + col * pixelBytes +
+									sampleOffsets[c], sampleBytes[c]);
+						}
+					}
+				}
+				strips[strip] = dest;
+			}
+			else {
+				for (int c = 0; c < nChannels; c++) {
+					final byte[] dest = new byte[tileWidth * tileHeight *
+						sampleBytes[c]];
+					for (int row = 0; row < rows; row++) {
+						final int src = c * blockSize + ((row + yOffset) * w + xOffset) *
+							bytesPerPixel;
+						final int destRow = row * tileWidth * sampleBytes[c];
+						if (sampleBytes[c] == bytesPerPixel) {
+							System.arraycopy(buf, src, dest, destRow, cols * bytesPerPixel);
+							continue;
+						}
+						for (int col = 0; col < cols; col++) {
+							System.arraycopy(buf, src + col * bytesPerPixel, dest, destRow +
+								col * sampleBytes[c], sampleBytes[c]);
+						}
+					}
+					strips[c * effectiveStrips + strip] = dest;
+				}
+			}
+		}
+		return strips;
+	}
+
+	/**
+	 * Differences and compresses one tile of the given tiled IFD, ready to be
+	 * appended to the output. The tile holds {@code TileWidth * TileLength}
+	 * pixels laid out as described by the IFD, padded past the image edges.
+	 */
+	public byte[] compressTile(final IFD ifd, final byte[] tile)
+		throws FormatException
+	{
+		final TiffCompression compression = ifd.getCompression();
+		final CodecOptions codecOptions = compression.getCompressionCodecOptions(
+			ifd, options);
+		codecOptions.width = (int) ifd.getTileWidth();
+		codecOptions.height = (int) ifd.getTileLength();
+		codecOptions.channels = ifd.getPlanarConfiguration() == 1 ? ifd
+			.getSamplesPerPixel() : 1;
+		return compressStrip(ifd, compression, tile, codecOptions);
+	}
+
+	/** Differences and compresses a single strip. */
+	private byte[] compressStrip(final IFD ifd,
+		final TiffCompression compression, final byte[] strip,
+		final CodecOptions codecOptions) throws FormatException
+	{
+		scifio.tiff().difference(strip, ifd);
+		return compression.compress(scifio.codec(), strip, codecOptions);
+	}
+
+	/**
+	 * Compresses the given strips in place using the {@link #setExecutor
+	 * executor}. Each strip is compressed independently, so the result is
+	 * identical to serial compression.
+	 */
+	private void compressStrips(final IFD ifd, final TiffCompression compression,
+		final byte[][] strips, final CodecOptions[] codecOptions)
+		throws FormatException, IOException
+	{
+		final List<Future<byte[]>> futures = new ArrayList<>(strips.length);
+		for (int strip = 0; strip < strips.length; strip++) {
+			final byte[] data = strips[strip];
+			final CodecOptions stripOptions = codecOptions[strip];
+			futures.add(executor.submit(() -> compressStrip(ifd, compression, data,
+				stripOptions)));
+		}
+		for (int strip = 0; strip < strips.length; strip++) {
+			try {
+				strips[strip] = futures.get(strip).get();
+			}
+			catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while compressing strips", e);
+			}
+			catch (final ExecutionException e) {
+				final Throwable cause = e.getCause();
+				if (cause instanceof FormatException) throw (FormatException) cause;
+				if (cause instanceof IOException) throw (IOException) cause;
+				throw new FormatException("Error compressing strip", cause);
+			}
+		}
+	}
+
 	// -- Helper methods --
 
 	/**
@@ -954,7 +1077,7 @@ public class TiffSaver extends AbstractContextual {
 	 * @param pixelType The pixel type.
 	 * @param nChannels The number of channels.
 	 */
-	private void makeValidIFD(final IFD ifd, final int pixelType,
+	void makeValidIFD(final IFD ifd, final int pixelType,
 		final int nChannels)
 	{
 		final int bytesPerPixel = FormatTools.getBytesPerPixel(pixelType);
@@ -32,6 +32,8 @@ package io.scif.formats.tiff;
 import io.scif.FormatException;
 import io.scif.SCIFIOService;
 
+import java.util.Arrays;
+
 /**
  * Interface for services that work with TIFF files.
  *
@@ -45,4 +47,21 @@ public interface TiffService extends SCIFIOService {
 	/** Undoes in-place differencing according to the given predictor value. */
 	void undifference(byte[] input, IFD ifd) throws FormatException;
 
+	/**
+	 * Undoes in-place differencing of the first {@code length} bytes according
+	 * to the given predictor value. By default, the bytes are undifferenced in
+	 * a copy of that length, unless it spans the whole array.
+	 */
+	default void undifference(final byte[] input, final int length,
+		final IFD ifd) throws FormatException
+	{
+		if (length == input.length) {
+			undifference(input, ifd);
+			return;
+		}
+		final byte[] prefix = Arrays.copyOf(input, length);
+		undifference(prefix, ifd);
+		System.arraycopy(prefix, 0, input, 0, length);
+	}
+
 }
@@ -0,0 +1,209 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.formats.tiff;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.scijava.io.location.Location;
+
+/**
+ * A cache of decoded TIFF tiles, bounded by the total number of bytes held and
+ * evicting the least recently used tiles first. A single cache may be shared
+ * by any number of {@link TiffParser}s, on any number of files, and is safe
+ * for concurrent use.
+ * <p>
+ * Tiles are keyed by the location of the file, its length and modification
+ * time, the offset of the tile's compressed data within that file, and the
+ * tile's row and column. The data offset identifies the IFD a tile belongs to,
+ * so tiles of different planes or resolution levels never collide, and the
+ * length and modification time keep a file rewritten in place from being
+ * served its old tiles. Cached tiles are shared and must not be modified.
+ * </p>
+ *
+ * @see TiffParser#setTileCache(TileCache)
+ */
+public class TileCache {
+
+	// -- Fields --
+
+	/** Maximum number of bytes of decoded tiles to hold. */
+	private final long maxBytes;
+
+	/** Number of bytes of decoded tiles currently held. */
+	private long bytes;
+
+	/** Cached tiles, in access order. */
+	private final LinkedHashMap<Key, byte[]> tiles = new LinkedHashMap<>(16,
+		0.75f, true);
+
+	private long hits;
+
+	private long misses;
+
+	private long evictions;
+
+	// -- Constructor --
+
+	/**
+	 * @param maxBytes Memory budget of this cache, in bytes of decoded tiles.
+	 */
+	public TileCache(final long maxBytes) {
+		if (maxBytes < 0) {
+			throw new IllegalArgumentException("Invalid budget: " + maxBytes);
+		}
+		this.maxBytes = maxBytes;
+	}
+
+	// -- TileCache methods --
+
+	/**
+	 * Looks up a decoded tile, counting a hit or a miss.
+	 *
+	 * @param loc Location of the file.
+	 * @param length Length of the file, in bytes.
+	 * @param lastModified Modification time of the file, or -1 if unknown.
+	 * @param offset Offset of the tile's compressed data within the file.
+	 * @return The decoded tile, or null if it is not cached.
+	 */
+	public synchronized byte[] get(final Location loc, final long length,
+		final long lastModified, final long offset, final int row, final int col)
+	{
+		final byte[] tile = tiles.get(new Key(loc, length, lastModified, offset,
+			row, col));
+		if (tile == null) misses++;
+		else hits++;
+		return tile;
+	}
+
+	/**
+	 * Adds a decoded tile, evicting the least recently used tiles as needed to
+	 * stay within the budget. Tiles larger than the whole budget are not cached.
+	 *
+	 * @see #get(Location, long, long, long, int, int)
+	 */
+	public synchronized void put(final Location loc, final long length,
+		final long lastModified, final long offset, final int row, final int col,
+		final byte[] tile)
+	{
+		if (tile.length > maxBytes) return;
+		final byte[] old = tiles.put(new Key(loc, length, lastModified, offset,
+			row, col), tile);
+		if (old != null) bytes -= old.length;
+		bytes += tile.length;
+
+		final Iterator<Map.Entry<Key, byte[]>> iter = tiles.entrySet().iterator();
+		while (bytes > maxBytes && iter.hasNext()) {
+			bytes -= iter.next().getValue().length;
+			iter.remove();
+			evictions++;
+		}
+	}
+
+	/** Removes all tiles from this cache. The counters are left unchanged. */
+	public synchronized void clear() {
+		tiles.clear();
+		bytes = 0;
+	}
+
+	/** Gets the memory budget of this cache, in bytes. */
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	/** Gets the number of bytes of decoded tiles currently cached. */
+	public synchronized long getBytes() {
+		return bytes;
+	}
+
+	/** Gets the number of tiles currently cached. */
+	public synchronized int size() {
+		return tiles.size();
+	}
+
+	/** Gets the number of lookups which found a cached tile. */
+	public synchronized long getHitCount() {
+		return hits;
+	}
+
+	/** Gets the number of lookups which did not find a cached tile. */
+	public synchronized long getMissCount() {
+		return misses;
+	}
+
+	/** Gets the number of tiles evicted to stay within the budget. */
+	public synchronized long getEvictionCount() {
+		return evictions;
+	}
+
+	// -- Helper classes --
+
+	private static final class Key {
+
+		private final Location loc;
+
+		private final long length;
+
+		private final long lastModified;
+
+		private final long offset;
+
+		private final int row;
+
+		private final int col;
+
+		private Key(final Location loc, final long length,
+			final long lastModified, final long offset, final int row, final int col)
+		{
+			this.loc = loc;
+			this.length = length;
+			this.lastModified = lastModified;
+			this.offset = offset;
+			this.row = row;
+			this.col = col;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (!(o instanceof Key)) return false;
+			final Key k = (Key) o;
+			return offset == k.offset && row == k.row && col == k.col &&
+				length == k.length && lastModified == k.lastModified && Objects.equals(
+					loc, k.loc);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(loc, length, lastModified, offset, row, col);
+		}
+	}
+}
@@ -35,6 +35,7 @@ import io.scif.ImageMetadata;
 import io.scif.Metadata;
 import io.scif.Plane;
 import io.scif.Reader;
+import io.scif.config.SCIFIOConfig;
 import io.scif.util.FormatTools;
 import io.scif.util.ImageTools;
 
@@ -870,6 +871,30 @@ public final class AWTImageTools {
 		return img;
 	}
 
+	/**
+	 * Creates a thumbnail image of the given plane, reading only as much of it
+	 * as the thumbnail needs via {@link Reader#openThumbPlane}, and scaling the
+	 * result to the specified thumbnail dimensions.
+	 *
+	 * @param r - Reader to open the plane with
+	 * @param imageIndex - index of the image to read from
+	 * @param planeIndex - index of the plane to read
+	 * @param thumbSizeX - width to scale to
+	 * @param thumbSizeY - height to scale to
+	 * @param pad - whether to pad when scaling
+	 * @throws FormatException
+	 * @throws IOException
+	 */
+	public static BufferedImage openThumbImage(final Reader r,
+		final int imageIndex, final long planeIndex, final int thumbSizeX,
+		final int thumbSizeY, final boolean pad) throws FormatException, IOException
+	{
+		final Plane plane = r.openThumbPlane(imageIndex, planeIndex, thumbSizeX,
+			thumbSizeY, new SCIFIOConfig());
+		return openThumbImage(plane, r, imageIndex, plane.getLengths(), thumbSizeX,
+			thumbSizeY, pad);
+	}
+
 	// -- Data extraction --
 
 	/**
@@ -31,7 +31,6 @@ package io.scif.gui;
 
 import io.scif.FormatException;
 import io.scif.ImageMetadata;
-import io.scif.Plane;
 import io.scif.Reader;
 import io.scif.services.InitializeService;
 
@@ -283,17 +282,15 @@ public class PreviewPane extends JPanel implements PropertyChangeListener,
 
 				// open middle image thumbnail
 				final long planeIndex = iMeta.getPlaneCount() / 2;
-				Plane thumbPlane = null;
+				BufferedImage thumb = null;
 				try {
-					thumbPlane = reader.openPlane(0, planeIndex);
+					thumb = AWTImageTools.openThumbImage(reader, 0, planeIndex,
+						(int) iMeta.getThumbSizeX(), (int) iMeta.getThumbSizeY(), false);
 				}
 				catch (FormatException | IOException exc) {
 					logService.debug("Failed to read thumbnail #" + planeIndex +
 						" from " + id, exc);
 				}
-				final BufferedImage thumb = AWTImageTools.openThumbImage(thumbPlane,
-					reader, 0, iMeta.getAxesLengthsPlanar(), (int) iMeta.getThumbSizeX(),
-					(int) iMeta.getThumbSizeY(), false);
 				icon = new ImageIcon(thumb == null ? makeImage("Failed") : thumb);
 				iconText = "";
 
@@ -40,6 +40,7 @@ import io.scif.filters.ChannelFiller;
 import io.scif.filters.MinMaxFilter;
 import io.scif.filters.PlaneSeparator;
 import io.scif.filters.ReaderFilter;
+import io.scif.filters.ResolutionSelector;
 import io.scif.img.cell.SCIFIOCellImgFactory;
 import io.scif.img.converters.PlaneConverter;
 import io.scif.img.converters.PlaneConverterService;
@@ -47,12 +48,22 @@ import io.scif.services.InitializeService;
 import io.scif.util.FormatTools;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import net.imagej.ImgPlus;
 import net.imagej.axis.Axes;
@@ -396,7 +407,13 @@ public class ImgOpener extends AbstractImgIOComponent {
 			final long[] dimLengths = utils().getConstrainedLengths(reader
 				.getMetadata(), i(imageIndex), config);
 			if (SCIFIOCellImgFactory.class.isAssignableFrom(imgFactory.getClass())) {
-				((SCIFIOCellImgFactory<?>) imgFactory).setReader(reader, i(imageIndex));
+				// NB: Additional readers let cells be loaded concurrently, one per
+				// I/O thread of the factory.
+				final Reader original = reader;
+				final SCIFIOConfig readerConfig = config;
+				((SCIFIOCellImgFactory<?>) imgFactory).setReader(reader, i(imageIndex),
+					reader.getCurrentLocation() == null ? null : () -> initializeService
+						.duplicateReader(original, readerConfig));
 				((SCIFIOCellImgFactory<?>) imgFactory).setSubRegion(config
 					.imgOpenerGetRegion());
 			}
@@ -485,6 +502,10 @@ public class ImgOpener extends AbstractImgIOComponent {
 				throw new IOException("File does not exist: " + source);
 			}
 			r = initializeService.initializeReader(source, config);
+			final int resolution = config.imgOpenerGetResolutionLevel();
+			if (resolution > 0) {
+				r.enable(ResolutionSelector.class).setResolution(resolution);
+			}
 			r.enable(ChannelFiller.class);
 			r.enable(PlaneSeparator.class).separate(axesToSplit(r));
 			if (computeMinMax) r.enable(MinMaxFilter.class);
@@ -613,6 +634,7 @@ public class ImgOpener extends AbstractImgIOComponent {
 	 * Reads planes from the given initialized {@link Reader} into the specified
 	 * {@link Img}.
 	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
 	private <T> void readPlanes(final Reader r,
 		final int imageIndex, final ImgPlus<T> imgPlus, final SCIFIOConfig config)
 		throws FormatException, IOException
@@ -701,8 +723,16 @@ public class ImgOpener extends AbstractImgIOComponent {
 			else converter = pcService.getDefaultConverter();
 		}
 
-		read(imageIndex, imgPlus, r, config, converter, bounds, npRanges,
-			npIndices);
+		final PlaneConverter.Pipeline pipeline = converter.createPipeline(r,
+			imageIndex, (ImgPlus) imgPlus, config);
+		if (config.imgOpenerGetPrefetchDepth() > 0) {
+			readPrefetched(imageIndex, imgPlus, r, config, pipeline, bounds,
+				npRanges, npIndices);
+		}
+		else {
+			read(imageIndex, imgPlus, r, config, pipeline, bounds, npRanges,
+				npIndices);
+		}
 
 		if (config.imgOpenerIsComputeMinMax()) populateMinMax(r, imgPlus,
 			imageIndex);
@@ -710,7 +740,7 @@ public class ImgOpener extends AbstractImgIOComponent {
 
 	@SuppressWarnings("rawtypes")
 	private void read(final int imageIndex, final ImgPlus imgPlus, final Reader r,
-		final SCIFIOConfig config, final PlaneConverter converter,
+		final SCIFIOConfig config, final PlaneConverter.Pipeline converter,
 		final Interval bounds, final Range[] npRanges, final long[] npIndices)
 		throws FormatException, IOException
 	{
@@ -720,9 +750,10 @@ public class ImgOpener extends AbstractImgIOComponent {
 
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	private Plane read(final int imageIndex, final ImgPlus imgPlus,
-		final Reader r, final SCIFIOConfig config, final PlaneConverter converter,
-		Plane tmpPlane, final Interval bounds, final Range[] npRanges,
-		final long[] npIndices, final int depth, final int[] planeCount)
+		final Reader r, final SCIFIOConfig config,
+		final PlaneConverter.Pipeline converter, Plane tmpPlane,
+		final Interval bounds, final Range[] npRanges, final long[] npIndices,
+		final int depth, final int[] planeCount)
 		throws FormatException, IOException
 	{
 		if (depth < npRanges.length) {
@@ -749,7 +780,7 @@ public class ImgOpener extends AbstractImgIOComponent {
 			// FIXME: what if tmpPlane length does not match bounds size?
 			// Invent a utility method for checking tmpPlane vs. bounds.
 			if (tmpPlane == null) {
-				tmpPlane = r.openPlane(imageIndex, planeIndex, bounds);
+				tmpPlane = r.openPlane(imageIndex, planeIndex, bounds, config);
 			}
 			else {
 				tmpPlane = r.openPlane(imageIndex, planeIndex, tmpPlane, bounds,
@@ -757,8 +788,7 @@ public class ImgOpener extends AbstractImgIOComponent {
 			}
 
 			// copy the data to the ImgPlus
-			converter.populatePlane(r, imageIndex, planeCount[0], tmpPlane.getBytes(),
-				imgPlus, config);
+			converter.populatePlane(planeCount[0], tmpPlane);
 
 			// store color table
 			imgPlus.setColorTable(tmpPlane.getColorTable(), planeCount[0]);
@@ -770,6 +800,119 @@ public class ImgOpener extends AbstractImgIOComponent {
 		return tmpPlane;
 	}
 
+	/**
+	 * As {@link #read}, but opens upcoming planes on a background thread while
+	 * earlier planes are copied into the image. At most
+	 * {@link SCIFIOConfig#imgOpenerGetPrefetchDepth()} planes are read ahead,
+	 * and plane buffers are recycled once copied.
+	 */
+	@SuppressWarnings("rawtypes")
+	private void readPrefetched(final int imageIndex, final ImgPlus imgPlus,
+		final Reader r, final SCIFIOConfig config,
+		final PlaneConverter.Pipeline converter, final Interval bounds,
+		final Range[] npRanges, final long[] npIndices) throws FormatException,
+		IOException
+	{
+		final List<Integer> planeIndices = new ArrayList<>();
+		collectPlaneIndices(r, npRanges, npIndices, 0, planeIndices);
+
+		final int depth = config.imgOpenerGetPrefetchDepth();
+		final Queue<Plane> buffers = new ConcurrentLinkedQueue<>();
+		final Deque<Future<Plane>> pending = new ArrayDeque<>();
+		// NB: A single thread, so that the reader is never used concurrently and
+		// planes are read in order.
+		final ExecutorService executor = Executors.newSingleThreadExecutor(
+			runnable -> {
+				final Thread t = new Thread(runnable, "SCIFIO-Prefetch");
+				t.setDaemon(true);
+				return t;
+			});
+		try {
+			int next = 0;
+			for (int planeCount = 0; planeCount < planeIndices.size(); planeCount++) {
+				while (next < planeIndices.size() && pending.size() <= depth) {
+					final int planeIndex = planeIndices.get(next++);
+					pending.add(executor.submit(() -> {
+						final Plane buffer = buffers.poll();
+						return buffer == null ? r.openPlane(imageIndex, planeIndex, bounds,
+							config) : r.openPlane(imageIndex, planeIndex, buffer, bounds,
+								config);
+					}));
+				}
+
+				final Plane plane = awaitPlane(pending.remove());
+
+				// copy the data to the ImgPlus
+				converter.populatePlane(planeCount, plane);
+
+				// store color table
+				imgPlus.setColorTable(plane.getColorTable(), planeCount);
+
+				buffers.add(plane);
+			}
+		}
+		finally {
+			for (final Future<Plane> future : pending) {
+				future.cancel(false);
+			}
+			executor.shutdown();
+			// NB: The reader must not be in use once this method returns.
+			boolean interrupted = false;
+			while (!executor.isTerminated()) {
+				try {
+					executor.awaitTermination(1, TimeUnit.SECONDS);
+				}
+				catch (final InterruptedException exc) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Collects the indices of the planes to read, in the order used by
+	 * {@link #read}.
+	 */
+	private void collectPlaneIndices(final Reader r, final Range[] npRanges,
+		final long[] npIndices, final int depth, final List<Integer> planeIndices)
+	{
+		if (depth < npRanges.length) {
+			final int npPosition = npRanges.length - 1 - depth;
+			for (int i = 0; i < npRanges[npPosition].size(); i++) {
+				npIndices[npPosition] = npRanges[npPosition].get(i);
+				collectPlaneIndices(r, npRanges, npIndices, depth + 1, planeIndices);
+			}
+		}
+		else {
+			planeIndices.add((int) FormatTools.positionToRaster(0, r, npIndices));
+		}
+	}
+
+	/** Waits for a prefetched plane, rethrowing any failure to read it. */
+	private Plane awaitPlane(final Future<Plane> future) throws FormatException,
+		IOException
+	{
+		try {
+			return future.get();
+		}
+		catch (final InterruptedException exc) {
+			Thread.currentThread().interrupt();
+			final InterruptedIOException ioe = new InterruptedIOException(
+				"Interrupted while waiting for a plane");
+			ioe.initCause(exc);
+			throw ioe;
+		}
+		catch (final ExecutionException exc) {
+			final Throwable cause = exc.getCause();
+			if (cause instanceof FormatException) throw (FormatException) cause;
+			if (cause instanceof IOException) throw (IOException) cause;
+			if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+			if (cause instanceof Error) throw (Error) cause;
+			throw new IOException(cause);
+		}
+	}
+
 	private void populateMinMax(final Reader r, final ImgPlus<?> imgPlus,
 		final int imageIndex)
 	{
@@ -30,14 +30,18 @@
 package io.scif.img;
 
 import io.scif.ByteArrayPlane;
+import io.scif.ByteBufferPlane;
 import io.scif.DefaultImageMetadata;
 import io.scif.DefaultMetadata;
 import io.scif.FormatException;
 import io.scif.ImageMetadata;
 import io.scif.Metadata;
+import io.scif.Plane;
 import io.scif.Translator;
 import io.scif.Writer;
 import io.scif.config.SCIFIOConfig;
+import io.scif.formats.TIFFFormat;
+import io.scif.formats.tiff.TiffPyramidWriter;
 import io.scif.services.FormatService;
 import io.scif.services.TranslatorService;
 import io.scif.util.FormatTools;
@@ -45,6 +49,8 @@ import io.scif.util.SCIFIOMetadataTools;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -54,32 +60,27 @@ import net.imagej.axis.Axes;
 import net.imagej.axis.CalibratedAxis;
 import net.imglib2.FinalInterval;
 import net.imglib2.RandomAccess;
+import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.exception.ImgLibException;
 import net.imglib2.exception.IncompatibleTypeException;
 import net.imglib2.img.Img;
 import net.imglib2.img.array.ArrayImg;
-import net.imglib2.img.basictypeaccess.array.ByteArray;
-import net.imglib2.img.basictypeaccess.array.CharArray;
-import net.imglib2.img.basictypeaccess.array.DoubleArray;
-import net.imglib2.img.basictypeaccess.array.FloatArray;
-import net.imglib2.img.basictypeaccess.array.IntArray;
-import net.imglib2.img.basictypeaccess.array.LongArray;
-import net.imglib2.img.basictypeaccess.array.ShortArray;
+import net.imglib2.img.basictypeaccess.array.ArrayDataAccess;
+import net.imglib2.img.cell.AbstractCellImg;
+import net.imglib2.img.cell.Cell;
+import net.imglib2.img.cell.CellGrid;
 import net.imglib2.img.planar.PlanarImg;
+import net.imglib2.type.NativeType;
 import net.imglib2.type.numeric.ComplexType;
-import net.imglib2.type.numeric.integer.GenericByteType;
-import net.imglib2.type.numeric.integer.GenericIntType;
-import net.imglib2.type.numeric.integer.GenericShortType;
-import net.imglib2.type.numeric.integer.LongType;
-import net.imglib2.type.numeric.real.DoubleType;
-import net.imglib2.type.numeric.real.FloatType;
+import net.imglib2.type.numeric.IntegerType;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.view.Views;
 
 import org.scijava.Context;
 import org.scijava.app.StatusService;
 import org.scijava.io.location.Location;
 import org.scijava.io.location.LocationService;
 import org.scijava.plugin.Parameter;
-import org.scijava.util.Bytes;
 
 /**
  * Writes out an {@link ImgPlus} using SCIFIO.
@@ -89,6 +90,9 @@ import org.scijava.util.Bytes;
  */
 public class ImgSaver extends AbstractImgIOComponent {
 
+	/** Largest plane which is assembled in a {@link ByteArrayPlane}. */
+	private static final long MAX_ARRAY_PLANE = Integer.MAX_VALUE - 8;
+
 	@Parameter
 	private StatusService statusService;
 
@@ -101,6 +105,12 @@ public class ImgSaver extends AbstractImgIOComponent {
 	@Parameter
 	private LocationService locationService;
 
+	/** Largest plane which is assembled in a {@link ByteArrayPlane}. */
+	private long maxArrayPlane = MAX_ARRAY_PLANE;
+
+	/** Capacity of the buffers of planes too large for a {@code byte[]}. */
+	private int chunkSize = ByteBufferPlane.CHUNK_SIZE;
+
 	// -- Constructors --
 
 	public ImgSaver() {
@@ -491,6 +501,18 @@ public class ImgSaver extends AbstractImgIOComponent {
 		return newOrder;
 	}
 
+	// -- Package-private methods --
+
+	/**
+	 * Sets the size above which planes are assembled in a
+	 * {@link ByteBufferPlane}, and the capacity of its buffers, so that planes
+	 * spanning several buffers can be saved without exceeding 2 GB.
+	 */
+	void setPlaneLimits(final long maxArrayPlane, final int chunkSize) {
+		this.maxArrayPlane = maxArrayPlane;
+		this.chunkSize = chunkSize;
+	}
+
 	// -- Helper methods --
 
 	private Location resolve(final String dest) {
@@ -580,21 +602,24 @@ public class ImgSaver extends AbstractImgIOComponent {
 			}
 		}
 
-		return writeImg(w, imgPlus, imageIndex, sliceCount);
+		return writeImg(w, imgPlus, imageIndex, config, sliceCount);
 	}
 
 	/**
 	 * Terminal {@link #writeImg} method. Performs actual pixel output.
 	 */
 	private Metadata writeImg(final Writer w, final SCIFIOImgPlus<?> imgPlus,
-		final int imageIndex, final int sliceCount) throws ImgIOException,
-		IncompatibleTypeException
+		final int imageIndex, final SCIFIOConfig config, final int sliceCount)
+		throws ImgIOException, IncompatibleTypeException
 	{
 		if (imgPlus.numDimensions() > 0) {
 			final long startTime = System.currentTimeMillis();
 
 			// write pixels
-			writePlanes(w, imageIndex, imgPlus);
+			if (config.imgSaverIsWritePyramid()) {
+				writePyramid(w, imageIndex, imgPlus, config);
+			}
+			else writePlanes(w, imageIndex, imgPlus);
 
 			// Print time statistics
 			final long endTime = System.currentTimeMillis();
@@ -630,7 +655,8 @@ public class ImgSaver extends AbstractImgIOComponent {
 	/**
 	 * Iterates through the planes of the provided {@link SCIFIOImgPlus},
 	 * converting each to a byte[] if necessary (the SCIFIO writer requires a
-	 * byte[]) and saving the plane.
+	 * byte[]) and saving the plane. Planes too large for a byte[] are passed to
+	 * the writer as {@link ByteBufferPlane}s.
 	 */
 	private void writePlanes(final Writer w, final int imageIndex,
 		final SCIFIOImgPlus<?> imgPlus) throws ImgIOException,
@@ -645,8 +671,6 @@ public class ImgSaver extends AbstractImgIOComponent {
 		final boolean interleaved = mOut.get(imageIndex)
 			.getInterleavedAxisCount() > 0;
 
-		byte[] sourcePlane = null;
-
 		// iterate over each plane
 		final long planeOutCount = w.getMetadata().get(imageIndex).getPlaneCount();
 
@@ -674,65 +698,38 @@ public class ImgSaver extends AbstractImgIOComponent {
 				for (int d = 0; d < planarMax.length; d++)
 					planarMax[d] = planarMin[d] + planarLengths[d] - 1;
 				final FinalInterval bounds = new FinalInterval(planarMin, planarMax);
-				final ByteArrayPlane destPlane = new ByteArrayPlane(meta.get(
-					imageIndex), bounds);
+				final int pixelType = meta.get(imageIndex).getPixelType();
+				long planeBytes = FormatTools.getBytesPerPixel(pixelType);
+				for (final long length : planarLengths)
+					planeBytes *= length;
+
+				// NB: Planes too large for a byte[] are assembled in direct buffers.
+				final Plane destPlane;
+				final ByteBuffer[] destBuffers;
+				if (planeBytes <= maxArrayPlane) {
+					final ByteArrayPlane arrayPlane = new ByteArrayPlane(meta.get(
+						imageIndex), bounds);
+					destPlane = arrayPlane;
+					destBuffers = new ByteBuffer[] { ByteBuffer.wrap(arrayPlane
+						.getData()) };
+				}
+				else {
+					final ByteBufferPlane bufferPlane = new ByteBufferPlane(meta.get(
+						imageIndex), bounds, chunkSize);
+					destPlane = bufferPlane;
+					destBuffers = bufferPlane.getData().clone();
+				}
+				final ByteOrder order = meta.get(imageIndex).isLittleEndian()
+					? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+				for (int i = 0; i < destBuffers.length; i++) {
+					destBuffers[i] = destBuffers[i].duplicate().order(order);
+				}
 
 				for (int cIndex = 0; cIndex < rgbChannelCount; cIndex++) {
-					final Object curPlane = getPlaneArray(img, rgbChannelCount, cIndex,
-						planeIndex);
-
-					final Class<?> planeClass = curPlane.getClass();
-
-					// Convert current plane if necessary
-					if (planeClass == int[].class) {
-						sourcePlane = Bytes.fromInts((int[]) curPlane, false);
-					}
-					else if (planeClass == byte[].class) {
-						sourcePlane = (byte[]) curPlane;
-					}
-					else if (planeClass == short[].class) {
-						sourcePlane = Bytes.fromShorts((short[]) curPlane, false);
-					}
-					else if (planeClass == long[].class) {
-						sourcePlane = Bytes.fromLongs((long[]) curPlane, false);
-					}
-					else if (planeClass == double[].class) {
-						sourcePlane = Bytes.fromDoubles((double[]) curPlane, false);
-					}
-					else if (planeClass == float[].class) {
-						sourcePlane = Bytes.fromFloats((float[]) curPlane, false);
-					}
-					else {
-						throw new IncompatibleTypeException(new ImgLibException(),
-							"Plane data type: " + planeClass + " not supported.");
-					}
-
-					if (interleaved) {
-						final int bpp = FormatTools.getBytesPerPixel(meta.get(imageIndex)
-							.getPixelType());
-
-						// TODO: Assign all elements in a for loop rather than
-						// using many small System.arraycopy calls. Calling
-						// System.arraycopy is less efficient than
-						// element-by-element
-						// copying for small array lengths (~24 elements or
-						// less).
-						// See: http://stackoverflow.com/a/12366983
-						for (int i = 0; i < sourcePlane.length / bpp; i++) {
-							System.arraycopy(sourcePlane, i * bpp, destPlane.getData(), ((i *
-								rgbChannelCount) + cIndex) * bpp, bpp);
-						}
-					}
-					else {
-						// TODO: Consider using destPlane.setData(sourcePlane)
-						// instead.
-						// Ideally would also make modifications to avoid the
-						// initial
-						// allocation overhead of the destPlane's internal
-						// buffer.
-						System.arraycopy(sourcePlane, 0, destPlane.getData(), cIndex *
-							sourcePlane.length, sourcePlane.length);
-					}
+					final PlaneTarget target = new PlaneTarget(destBuffers, pixelType,
+						planeSize(img), rgbChannelCount, cIndex, interleaved);
+					final int slice = cIndex + (planeIndex * rgbChannelCount);
+					if (!copyDirect(img, slice, target)) copyPixels(img, slice, target);
 				}
 				w.savePlane(imageIndex, planeIndex, destPlane);
 			}
@@ -752,6 +749,71 @@ public class ImgSaver extends AbstractImgIOComponent {
 		}
 	}
 
+	/**
+	 * Writes the planes of the provided {@link SCIFIOImgPlus} as a tiled TIFF
+	 * pyramid. Each plane is read tile by tile, so the image is never held in
+	 * memory as a whole.
+	 */
+	private void writePyramid(final Writer w, final int imageIndex,
+		final SCIFIOImgPlus<?> imgPlus, final SCIFIOConfig config)
+		throws ImgIOException, IncompatibleTypeException
+	{
+		final Metadata mOut = w.getMetadata();
+		validate(mOut, w);
+		if (!(w instanceof TIFFFormat.Writer)) {
+			throw new ImgIOException("Pyramids can only be written as TIFF, not " +
+				w.getFormat().getFormatName());
+		}
+
+		final Img<?> img = imgPlus.getImg();
+		if (!(img.firstElement() instanceof RealType)) {
+			throw new IncompatibleTypeException(new ImgLibException(),
+				"Unsupported ImgPlus data type: " + img.firstElement().getClass());
+		}
+		@SuppressWarnings("unchecked")
+		final RandomAccessibleInterval<? extends RealType<?>> source =
+			(RandomAccessibleInterval<? extends RealType<?>>) img;
+
+		// Channels stored as samples of each pixel are kept in the plane
+		final ImageMetadata iMeta = mOut.get(imageIndex);
+		final int firstSliceAxis = iMeta.isMultichannel() ? 3 : 2;
+		final long[] sliceLengths = new long[Math.max(0, img.numDimensions() -
+			firstSliceAxis)];
+		for (int d = 0; d < sliceLengths.length; d++) {
+			sliceLengths[d] = img.dimension(d + firstSliceAxis);
+		}
+		final long planeOutCount = iMeta.getPlaneCount();
+
+		try {
+			final TiffPyramidWriter pyramid = ((TIFFFormat.Writer<?>) w)
+				.createPyramidWriter(imageIndex);
+			pyramid.setTileSize(config.imgSaverGetTileWidth(), config
+				.imgSaverGetTileHeight());
+			pyramid.setDownsampling(config.imgSaverGetDownsampling());
+			pyramid.setMaxLevels(config.imgSaverGetPyramidLevels());
+
+			for (int planeIndex = 0; planeIndex < planeOutCount; planeIndex++) {
+				statusService.showStatus(planeIndex, (int) planeOutCount,
+					"Saving plane " + (planeIndex + 1) + "/" + planeOutCount);
+				final long[] position = sliceLengths.length == 0 ? new long[0]
+					: FormatTools.rasterToPosition(sliceLengths, planeIndex);
+				RandomAccessibleInterval<? extends RealType<?>> plane = source;
+				for (int d = img.numDimensions() - 1; d >= firstSliceAxis; d--) {
+					plane = Views.hyperSlice(plane, d, position[d - firstSliceAxis]);
+				}
+				pyramid.writePlane(plane);
+			}
+			pyramid.finish();
+			w.close();
+		}
+		catch (final FormatException e) {
+			throw new ImgIOException(e);
+		}
+		catch (final IOException e) {
+			throw new ImgIOException(e);
+		}
+	}
+
 	/**
 	 * Check if the provided Metadata and Writer are sufficiently populated for
 	 * writing.
@@ -762,171 +824,168 @@ public class ImgSaver extends AbstractImgIOComponent {
 	}
 
 	/**
-	 * @return An array of data corresponding to the given plane and channel
-	 *         indices.
+	 * Copies the given slice of an {@link ArrayImg}, {@link PlanarImg} or
+	 * {@link AbstractCellImg} straight from its backing primitive arrays.
+	 *
+	 * @return false if the image is not backed by primitive arrays matching the
+	 *         target pixel type, in which case nothing was copied.
 	 */
-	private Object getPlaneArray(final Img<?> img, final int rgbChannelCount,
-		final int cIndex, final int planeIndex)
+	private boolean copyDirect(final Img<?> img, final int slice,
+		final PlaneTarget target)
 	{
+		if (!(img.firstElement() instanceof NativeType) || //
+			((NativeType<?>) img.firstElement()).getEntitiesPerPixel()
+				.getRatio() != 1)
+		{
+			return false;
+		}
+		// NB: Planes of array-backed images always fit into an int.
+		final long planeSize = target.planeSize;
+
 		// PlanarImg case
-		if (PlanarImg.class.isAssignableFrom(img.getClass())) {
-			final PlanarImg<?, ?> planarImg = (PlanarImg<?, ?>) img;
-			return planarImg.getPlane(cIndex + (planeIndex * rgbChannelCount))
-				.getCurrentStorageArray();
+		if (img instanceof PlanarImg) {
+			final Object array = storageArray(((PlanarImg<?, ?>) img).getPlane(
+				slice), target);
+			if (array == null) return false;
+			target.put(array, 0, 0, (int) planeSize);
+			return true;
 		}
-		final int planeSize = (int) (img.dimension(0) * img.dimension(1));
 
 		// ArrayImg case
-		if (ArrayImg.class.isAssignableFrom(img.getClass())) {
-			final ArrayImg<?, ?> arrayImg = (ArrayImg<?, ?>) img;
-			final Object store = arrayImg.update(null);
-
-			// For each array type, just create an appropriate container array
-			// and System.arraycopy the relevant data.
-			if (store instanceof ByteArray) {
-				final byte[] source = ((ByteArray) store).getCurrentStorageArray();
-				final byte[] bytes = new byte[planeSize];
-				System.arraycopy(source, planeSize * (cIndex + (planeIndex *
-					rgbChannelCount)), bytes, 0, bytes.length);
-				return bytes;
-			}
-			else if (store instanceof ShortArray) {
-				final short[] source = ((ShortArray) store).getCurrentStorageArray();
-				final short[] shorts = new short[planeSize];
-				System.arraycopy(source, planeSize * (cIndex + (planeIndex *
-					rgbChannelCount)), shorts, 0, shorts.length);
-				return shorts;
-			}
-			else if (store instanceof LongArray) {
-				final long[] source = ((LongArray) store).getCurrentStorageArray();
-				final long[] longs = new long[planeSize];
-				System.arraycopy(source, planeSize * (cIndex + (planeIndex *
-					rgbChannelCount)), longs, 0, longs.length);
-				return longs;
-			}
-			else if (store instanceof CharArray) {
-				final char[] source = ((CharArray) store).getCurrentStorageArray();
-				final char[] chars = new char[planeSize];
-				System.arraycopy(source, planeSize * (cIndex + (planeIndex *
-					rgbChannelCount)), chars, 0, chars.length);
-				return chars;
-			}
-			else if (store instanceof DoubleArray) {
-				final double[] source = ((DoubleArray) store).getCurrentStorageArray();
-				final double[] doubles = new double[planeSize];
-				System.arraycopy(source, planeSize * (cIndex + (planeIndex *
-					rgbChannelCount)), doubles, 0, doubles.length);
-				return doubles;
-			}
-			else if (store instanceof FloatArray) {
-				final float[] source = ((FloatArray) store).getCurrentStorageArray();
-				final float[] floats = new float[planeSize];
-				System.arraycopy(source, planeSize * (cIndex + (planeIndex *
-					rgbChannelCount)), floats, 0, floats.length);
-				return floats;
-			}
-			else if (store instanceof IntArray) {
-				final int[] source = ((IntArray) store).getCurrentStorageArray();
-				final int[] ints = new int[planeSize];
-				System.arraycopy(source, planeSize * (cIndex + (planeIndex *
-					rgbChannelCount)), ints, 0, ints.length);
-				return ints;
+		if (img instanceof ArrayImg) {
+			final Object array = storageArray(((ArrayImg<?, ?>) img).update(null),
+				target);
+			final long offset = planeSize * slice;
+			if (array == null || offset > Integer.MAX_VALUE) return false;
+			target.put(array, (int) offset, 0, (int) planeSize);
+			return true;
+		}
+
+		// CellImg case
+		if (img instanceof AbstractCellImg) {
+			final AbstractCellImg<?, ?, ?, ?> cellImg =
+				(AbstractCellImg<?, ?, ?, ?>) img;
+			final CellGrid grid = cellImg.getCellGrid();
+			final long[] position = planePosition(img, slice);
+			final long[] cellPos = new long[position.length];
+			grid.getCellPosition(position, cellPos);
+			final long[] gridDims = grid.getGridDimensions();
+			final long width = img.dimension(0);
+
+			final RandomAccess<? extends Cell<?>> cells = cellImg.getCells()
+				.randomAccess();
+			for (long gy = 0; gy < gridDims[1]; gy++) {
+				for (long gx = 0; gx < gridDims[0]; gx++) {
+					cellPos[0] = gx;
+					cellPos[1] = gy;
+					cells.setPosition(cellPos);
+					final Cell<?> cell = cells.get();
+					final Object array = storageArray(cell.getData(), target);
+					if (array == null) return false;
+
+					// Offset of the requested slice within the cell, and its row length
+					int base = 0;
+					int stride = 1;
+					for (int d = 0; d < position.length; d++) {
+						if (d >= 2) base += (int) (position[d] - cell.min(d)) * stride;
+						stride *= (int) cell.dimension(d);
+					}
+					final int rowLength = (int) cell.dimension(0);
+					for (int y = 0; y < cell.dimension(1); y++) {
+						target.put(array, base + y * rowLength, (cell.min(1) + y) * width +
+							cell.min(0), rowLength);
+					}
+				}
 			}
+			return true;
 		}
+		return false;
+	}
+
+	/**
+	 * Copies the given slice pixel by pixel through a {@link RandomAccess}. Used
+	 * for images which are not backed by suitable primitive arrays.
+	 */
+	private void copyPixels(final Img<?> img, final int slice,
+		final PlaneTarget target) throws IncompatibleTypeException
+	{
+		final Object type = img.firstElement();
+		if (!(type instanceof ComplexType)) {
+			throw new IncompatibleTypeException(new ImgLibException(),
+				"Unsupported ImgPlus data type: " + type.getClass());
+		}
+		final boolean integer = type instanceof IntegerType;
 
-		// Fallback default case - SLOW
+		final long[] position = planePosition(img, slice);
+		final RandomAccess<?> randomAccess = img.randomAccess();
+		randomAccess.setPosition(position);
 
-		// Get dimensions array
+		// Iterate over the positions in this plane, copying the values at
+		// each position to the output buffer.
+		long pixel = 0;
+		for (int y = 0; y < img.dimension(1); y++) {
+			for (int x = 0; x < img.dimension(0); x++) {
+				final Object value = randomAccess.get();
+				// NB: IntegerType values are read as longs, which unlike doubles
+				// represent every LongType value exactly.
+				if (integer) target.putInteger(pixel++, ((IntegerType<?>) value)
+					.getIntegerLong());
+				else target.putReal(pixel++, ((ComplexType<?>) value).getRealDouble());
+				randomAccess.fwd(0);
+			}
+			position[1]++;
+			randomAccess.setPosition(position);
+		}
+	}
+
+	/**
+	 * @return The position of the first pixel of the given slice, i.e. with X
+	 *         and Y at 0 and the remaining axes at the slice's raster position.
+	 */
+	private long[] planePosition(final Img<?> img, final int slice) {
 		final long[] dimensions = new long[img.numDimensions()];
 		img.dimensions(dimensions);
-
-		// Truncate X, Y axes
 		final long[] lengths = Arrays.copyOfRange(dimensions, 2, dimensions.length);
-
-		// Get non-X,Y position array
-		final long[] planePosition = FormatTools.rasterToPosition(lengths, cIndex +
-			(planeIndex * rgbChannelCount));
-
-		// Copy plane positions back to dimensions array and set X, Y to start
-		// at 0
+		final long[] planePosition = FormatTools.rasterToPosition(lengths, slice);
 		System.arraycopy(planePosition, 0, dimensions, 2, planePosition.length);
 		dimensions[0] = dimensions[1] = 0;
+		return dimensions;
+	}
 
-		// Create a primitive array appropriate for the ImgPlus type
-		final Class<?> typeClass = img.firstElement().getClass();
-		Object array = null;
+	/** @return The number of pixels in one XY plane of the given image. */
+	private long planeSize(final Img<?> img) {
+		return img.dimension(0) * img.dimension(1);
+	}
 
-		if (GenericIntType.class.isAssignableFrom(typeClass)) {
-			array = new int[planeSize];
-		}
-		else if (GenericByteType.class.isAssignableFrom(typeClass)) {
-			array = new byte[planeSize];
-		}
-		else if (GenericShortType.class.isAssignableFrom(typeClass)) {
-			array = new short[planeSize];
-		}
-		else if (LongType.class.isAssignableFrom(typeClass)) {
-			array = new long[planeSize];
-		}
-		else if (DoubleType.class.isAssignableFrom(typeClass)) {
-			array = new double[planeSize];
+	/**
+	 * @return The primitive array backing the given access, or null if there is
+	 *         none or if its element type does not match the target pixel type.
+	 */
+	private Object storageArray(final Object access, final PlaneTarget target) {
+		if (!(access instanceof ArrayDataAccess)) return null;
+		final Object array = ((ArrayDataAccess<?>) access)
+			.getCurrentStorageArray();
+		final int elementBytes;
+		final boolean floating;
+		if (array instanceof byte[]) {
+			elementBytes = 1;
+			floating = false;
 		}
-		else if (FloatType.class.isAssignableFrom(typeClass)) {
-			array = new float[planeSize];
+		else if (array instanceof short[] || array instanceof char[]) {
+			elementBytes = 2;
+			floating = false;
 		}
-
-		// Ensure we have a compatible type
-		if (array == null) {
-			throw new IllegalArgumentException("Unsupported ImgPlus data type: " +
-				typeClass);
+		else if (array instanceof int[] || array instanceof float[]) {
+			elementBytes = 4;
+			floating = array instanceof float[];
 		}
-
-		// Create a cursor and move it to the first position of the requested
-		// plane
-		final RandomAccess<?> randomAccess = img.randomAccess();
-		randomAccess.setPosition(dimensions);
-
-		// TODO jump ahead to the requested channel? Not sure if that is needed or
-		// not..
-
-		// Iterate over the positions in this plane, copying the values at
-		// each position to the output array.
-		int idx = 0;
-		for (int i = 0; i < img.dimension(1); i++) {
-			for (int j = 0; j < img.dimension(0); j++) {
-				final Object value = randomAccess.get();
-
-				if (GenericIntType.class.isAssignableFrom(typeClass)) {
-					((int[]) array)[idx++] = (int) ((ComplexType<?>) value)
-						.getRealDouble();
-				}
-				else if (GenericByteType.class.isAssignableFrom(typeClass)) {
-					((byte[]) array)[idx++] = (byte) ((ComplexType<?>) value)
-						.getRealDouble();
-				}
-				else if (GenericShortType.class.isAssignableFrom(typeClass)) {
-					((short[]) array)[idx++] = (short) ((ComplexType<?>) value)
-						.getRealDouble();
-				}
-				else if (LongType.class.isAssignableFrom(typeClass)) {
-					((long[]) array)[idx++] = (long) ((ComplexType<?>) value)
-						.getRealDouble();
-				}
-				else if (DoubleType.class.isAssignableFrom(typeClass)) {
-					((double[]) array)[idx++] = ((ComplexType<?>) value).getRealDouble();
-				}
-				else if (FloatType.class.isAssignableFrom(typeClass)) {
-					((float[]) array)[idx++] = (float) ((ComplexType<?>) value)
-						.getRealDouble();
-				}
-				randomAccess.fwd(0);
-			}
-			dimensions[1]++;
-			randomAccess.setPosition(dimensions);
+		else if (array instanceof long[] || array instanceof double[]) {
+			elementBytes = 8;
+			floating = array instanceof double[];
 		}
-
-		// Return the populated array
-		return array;
+		else return null;
+		return elementBytes == target.bpp && floating == target.floating ? array
+			: null;
 	}
 
 	/**
@@ -1021,4 +1080,173 @@ public class ImgSaver extends AbstractImgIOComponent {
 		w.setMetadata(meta);
 		w.setDest(id, imageIndex, config);
 	}
+
+	// -- Helper classes --
+
+	/**
+	 * Destination of one channel of a plane being saved. Pixels are written in
+	 * the byte order of the wrapped buffers, either contiguously or interleaved
+	 * with the other channels. A plane is either a single buffer or, when it is
+	 * too large for one, the equally sized buffers of a {@link ByteBufferPlane}.
+	 */
+	private static final class PlaneTarget {
+
+		private final ByteBuffer[] dest;
+
+		/** Log2 of the capacity of all buffers but the last. */
+		private final int shift;
+
+		private final long mask;
+
+		private final int bpp;
+
+		private final boolean floating;
+
+		private final long planeSize;
+
+		private final int channels;
+
+		private final int channel;
+
+		private final boolean interleaved;
+
+		private PlaneTarget(final ByteBuffer[] dest, final int pixelType,
+			final long planeSize, final int channels, final int channel,
+			final boolean interleaved)
+		{
+			this.dest = dest;
+			// NB: A single buffer holds fewer than 2^31 bytes.
+			this.shift = dest.length == 1 ? 31 : Integer.numberOfTrailingZeros(
+				dest[0].capacity());
+			this.mask = (1L << shift) - 1;
+			this.bpp = FormatTools.getBytesPerPixel(pixelType);
+			this.floating = FormatTools.isFloatingPoint(pixelType);
+			this.planeSize = planeSize;
+			this.channels = channels;
+			this.channel = channel;
+			this.interleaved = interleaved;
+		}
+
+		/**
+		 * Copies {@code count} elements of the given primitive array, starting at
+		 * {@code offset}, to the pixels starting at {@code pixel}.
+		 */
+		private void put(final Object array, int offset, long pixel, int count) {
+			if (!interleaved || channels == 1) {
+				// Contiguous destination: bulk copy through a typed view, split at
+				// buffer boundaries
+				while (count > 0) {
+					final long b = byteIndex(pixel);
+					final ByteBuffer buffer = buffer(b);
+					final ByteBuffer bb = buffer.duplicate().order(buffer.order());
+					bb.position(index(b));
+					final int n = Math.min(count, bb.remaining() / bpp);
+					if (array instanceof byte[]) bb.put((byte[]) array, offset, n);
+					else if (array instanceof short[]) bb.asShortBuffer().put(
+						(short[]) array, offset, n);
+					else if (array instanceof char[]) bb.asCharBuffer().put(
+						(char[]) array, offset, n);
+					else if (array instanceof int[]) bb.asIntBuffer().put((int[]) array,
+						offset, n);
+					else if (array instanceof float[]) bb.asFloatBuffer().put(
+						(float[]) array, offset, n);
+					else if (array instanceof long[]) bb.asLongBuffer().put(
+						(long[]) array, offset, n);
+					else bb.asDoubleBuffer().put((double[]) array, offset, n);
+					offset += n;
+					pixel += n;
+					count -= n;
+				}
+				return;
+			}
+
+			// Interleaved destination: strided absolute writes
+			final long step = channels * bpp;
+			long b = byteIndex(pixel);
+			if (array instanceof byte[]) {
+				final byte[] a = (byte[]) array;
+				for (int i = offset; i < offset + count; i++, b += step)
+					buffer(b).put(index(b), a[i]);
+			}
+			else if (array instanceof short[]) {
+				final short[] a = (short[]) array;
+				for (int i = offset; i < offset + count; i++, b += step)
+					buffer(b).putShort(index(b), a[i]);
+			}
+			else if (array instanceof char[]) {
+				final char[] a = (char[]) array;
+				for (int i = offset; i < offset + count; i++, b += step)
+					buffer(b).putChar(index(b), a[i]);
+			}
+			else if (array instanceof int[]) {
+				final int[] a = (int[]) array;
+				for (int i = offset; i < offset + count; i++, b += step)
+					buffer(b).putInt(index(b), a[i]);
+			}
+			else if (array instanceof float[]) {
+				final float[] a = (float[]) array;
+				for (int i = offset; i < offset + count; i++, b += step)
+					buffer(b).putFloat(index(b), a[i]);
+			}
+			else if (array instanceof long[]) {
+				final long[] a = (long[]) array;
+				for (int i = offset; i < offset + count; i++, b += step)
+					buffer(b).putLong(index(b), a[i]);
+			}
+			else {
+				final double[] a = (double[]) array;
+				for (int i = offset; i < offset + count; i++, b += step)
+					buffer(b).putDouble(index(b), a[i]);
+			}
+		}
+
+		/** Writes an integer value, narrowed to the pixel type, to a pixel. */
+		private void putInteger(final long pixel, final long value) {
+			if (floating) {
+				putReal(pixel, value);
+				return;
+			}
+			final long b = byteIndex(pixel);
+			final ByteBuffer buffer = buffer(b);
+			switch (bpp) {
+				case 1:
+					buffer.put(index(b), (byte) value);
+					break;
+				case 2:
+					buffer.putShort(index(b), (short) value);
+					break;
+				case 4:
+					buffer.putInt(index(b), (int) value);
+					break;
+				default:
+					buffer.putLong(index(b), value);
+			}
+		}
+
+		/** Writes a real value, converted to the pixel type, to a pixel. */
+		private void putReal(final long pixel, final double value) {
+			if (!floating) {
+				putInteger(pixel, (long) value);
+				return;
+			}
+			final long b = byteIndex(pixel);
+			if (bpp == 4) buffer(b).putFloat(index(b), (float) value);
+			else buffer(b).putDouble(index(b), value);
+		}
+
+		private long byteIndex(final long pixel) {
+			return (interleaved ? pixel * channels + channel : channel * planeSize +
+				pixel) * bpp;
+		}
+
+		/** @return The buffer holding the given byte of the plane. */
+		private ByteBuffer buffer(final long byteIndex) {
+			return dest[(int) (byteIndex >>> shift)];
+		}
+
+		/** @return The index of the given byte of the plane within its buffer. */
+		private int index(final long byteIndex) {
+			return (int) (byteIndex & mask);
+		}
+	}
 }
@@ -0,0 +1,292 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.img.cell;
+
+import io.scif.ImageMetadata;
+import io.scif.Metadata;
+import io.scif.Reader;
+import io.scif.filters.ReaderFilter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.scijava.log.LogService;
+
+/**
+ * A bounded pool of {@link Reader}s on the same dataset, allowing the cells of
+ * a {@link SCIFIOCellImg} to be loaded concurrently instead of contending for a
+ * single reader.
+ * <p>
+ * The pool always contains the reader it was created with. Additional readers
+ * are opened lazily with the given factory, up to the pool's capacity, only
+ * when every existing reader is in use. Each additional reader has its own
+ * {@link Metadata}, copied or parsed again (see
+ * {@link io.scif.services.InitializeService#duplicateReader}): formats keep
+ * per-stream state (e.g. the TIFF parser and its handle) in their metadata, so
+ * a single instance cannot be shared between readers reading concurrently.
+ * An additional reader whose dimensions do not match those of the original
+ * reader is discarded, and the pool stops growing.
+ * </p>
+ *
+ * @see SCIFIOCellImgFactory#setReader(Reader, int, Callable, int)
+ */
+public class ReaderPool implements Closeable {
+
+	// -- Fields --
+
+	/** The reader this pool was created with. */
+	private final Reader reader;
+
+	/** Opens additional readers on the same dataset; may be null. */
+	private final Callable<? extends Reader> readerFactory;
+
+	/** Maximum number of readers in this pool. */
+	private int capacity;
+
+	/** All readers opened by this pool, including {@link #reader}. */
+	private final List<Reader> readers = new ArrayList<>();
+
+	/** Readers not currently handed out. */
+	private final Deque<Reader> idle = new ArrayDeque<>();
+
+	/** Number of additional readers currently being opened. */
+	private int opening;
+
+	private boolean closed;
+
+	// -- Constructors --
+
+	/**
+	 * Creates a pool containing only the given reader. Equivalent to
+	 * synchronizing on the reader.
+	 */
+	public ReaderPool(final Reader reader) {
+		this(reader, 1, null);
+	}
+
+	/**
+	 * @param reader Initialized reader. Its metadata describes the dataset for
+	 *          all readers of this pool.
+	 * @param capacity Maximum number of readers, including {@code reader}.
+	 * @param readerFactory Opens a new, initialized reader on the same dataset,
+	 *          wrapped in the same filters as {@code reader}. If null, the pool
+	 *          contains only {@code reader}.
+	 */
+	public ReaderPool(final Reader reader, final int capacity,
+		final Callable<? extends Reader> readerFactory)
+	{
+		this.reader = reader;
+		this.readerFactory = readerFactory;
+		this.capacity = readerFactory == null ? 1 : Math.max(1, capacity);
+		readers.add(reader);
+		idle.push(reader);
+	}
+
+	// -- ReaderPool methods --
+
+	/**
+	 * @return The reader this pool was created with.
+	 */
+	public Reader reader() {
+		return reader;
+	}
+
+	/**
+	 * @return The maximum number of readers in this pool.
+	 */
+	public synchronized int capacity() {
+		return capacity;
+	}
+
+	/**
+	 * @return The number of readers opened so far, including the original one.
+	 */
+	public synchronized int size() {
+		return readers.size();
+	}
+
+	/**
+	 * Hands out a reader for exclusive use by the calling thread, opening a new
+	 * one if all readers are busy and the pool is not yet full; otherwise, waits
+	 * for one to be {@link #release released}.
+	 *
+	 * @return A reader, which must be passed to {@link #release} when done.
+	 * @throws IOException If the pool is closed or the wait is interrupted.
+	 */
+	public Reader acquire() throws IOException {
+		synchronized (this) {
+			while (idle.isEmpty()) {
+				if (closed) throw new IOException("Reader pool is closed");
+				if (readers.size() + opening < capacity) {
+					opening++;
+					break;
+				}
+				try {
+					wait();
+				}
+				catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IOException("Interrupted while waiting for a reader", e);
+				}
+			}
+			if (closed) throw new IOException("Reader pool is closed");
+			if (!idle.isEmpty()) return idle.pop();
+		}
+
+		// NB: Open the new reader without holding the lock, so that other threads
+		// can keep acquiring and releasing readers in the meantime.
+		final Reader r = open();
+		synchronized (this) {
+			opening--;
+			if (r == null) {
+				capacity = readers.size() + opening;
+				notifyAll();
+			}
+			else if (closed) {
+				close(r);
+			}
+			else {
+				readers.add(r);
+				return r;
+			}
+		}
+		return acquire();
+	}
+
+	/**
+	 * Returns a reader obtained from {@link #acquire()} to the pool. If the pool
+	 * has been closed in the meantime, the reader is closed instead.
+	 */
+	public void release(final Reader r) {
+		synchronized (this) {
+			if (!closed) {
+				idle.push(r);
+				notifyAll();
+				return;
+			}
+		}
+		close(r);
+	}
+
+	// -- Closeable methods --
+
+	/**
+	 * Closes all readers of this pool, including the original one. Readers which
+	 * are in use are closed once they are {@link #release released}.
+	 */
+	@Override
+	public void close() throws IOException {
+		final List<Reader> toClose;
+		synchronized (this) {
+			closed = true;
+			toClose = new ArrayList<>(idle);
+			readers.clear();
+			idle.clear();
+			notifyAll();
+		}
+		for (final Reader r : toClose) {
+			r.close();
+		}
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Opens an additional reader with the factory.
+	 *
+	 * @return The new reader, or null if it could not be opened or does not
+	 *         match the original reader.
+	 */
+	private Reader open() {
+		final Reader r;
+		try {
+			r = readerFactory.call();
+		}
+		catch (final Exception e) {
+			log().warn("Could not open an additional reader; " +
+				"cells will be loaded with " + size() + " reader(s)", e);
+			return null;
+		}
+		if (r == null) return null;
+		if (!matches(r.getMetadata())) {
+			log().warn("Additional reader does not match the original; " +
+				"cells will be loaded with " + size() + " reader(s)");
+			close(r);
+			return null;
+		}
+		return r;
+	}
+
+	/**
+	 * @return true iff the given metadata has the same images, pixel types and
+	 *         dimensions as the metadata of the original reader.
+	 */
+	private boolean matches(final Metadata meta) {
+		final Metadata expected = reader.getMetadata();
+		if (meta == null || meta.getImageCount() != expected.getImageCount()) {
+			return false;
+		}
+		for (int i = 0; i < expected.getImageCount(); i++) {
+			final ImageMetadata e = expected.get(i);
+			final ImageMetadata m = meta.get(i);
+			if (e.getPixelType() != m.getPixelType() || !Arrays.equals(e
+				.getAxesLengths(), m.getAxesLengths()))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return The log of the original reader, or of the reader it wraps, as
+	 *         {@link ReaderFilter}s are not injected with a context.
+	 */
+	private LogService log() {
+		return (reader instanceof ReaderFilter ? ((ReaderFilter) reader)
+			.getTail() : reader).log();
+	}
+
+	private void close(final Reader r) {
+		try {
+			r.close();
+		}
+		catch (final IOException e) {
+			log().debug("Could not close reader", e);
+		}
+	}
+
+}
@@ -62,6 +62,8 @@ public class SCIFIOCellImg<T extends NativeType<T>, A extends DataAccess> extend
 
 	private final Reader reader;
 
+	private final ReaderPool readers;
+
 	private SCIFIOArrayLoader<?> loader;
 
 	private final SCIFIOCellImgFactory<T> factory;
@@ -78,6 +80,7 @@ public class SCIFIOCellImg<T extends NativeType<T>, A extends DataAccess> extend
 		super(grid, entitiesPerPixel, cache, accessType);
 		this.factory = factory;
 		reader = factory.reader();
+		readers = factory.readerPool();
 		this.iosync = iosync;
 	}
 
@@ -130,7 +133,7 @@ public class SCIFIOCellImg<T extends NativeType<T>, A extends DataAccess> extend
 	public void dispose() {
 		iosync.shutdown();
 		try {
-			reader.close();
+			readers.close();
 		}
 		catch (final IOException e) {}
 	}
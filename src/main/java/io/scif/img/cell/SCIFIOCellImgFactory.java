@@ -44,6 +44,7 @@ import io.scif.img.cell.loaders.ShortArrayLoader;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.Callable;
 import java.util.function.Function;
 
 import net.imglib2.Dimensions;
@@ -98,6 +99,8 @@ public class SCIFIOCellImgFactory<T extends NativeType<T>> extends
 
 	private Reader reader;
 
+	private ReaderPool readers;
+
 	private ImageRegion subregion;
 
 	private int[] defaultCellDimensions;
@@ -154,14 +157,64 @@ public class SCIFIOCellImgFactory<T extends NativeType<T>> extends
 		return reader;
 	}
 
+	/**
+	 * @return The {@link ReaderPool} used by any created {@link SCIFIOCellImg}s
+	 *         to load cells.
+	 */
+	public ReaderPool readerPool() {
+		return readers;
+	}
+
 	/**
 	 * @param r Reader to use for any created {@link SCIFIOCellImg}s.
 	 * @param imageIndex Image index within the given reader that will be loaded
 	 *          by {@link SCIFIOCellImg}s.
 	 */
-	public void setReader(Reader r, final int imageIndex) {
+	public void setReader(final Reader r, final int imageIndex) {
+		setReader(r, imageIndex, null, 1);
+	}
+
+	/**
+	 * As {@link #setReader(Reader, int)}, but allows cells to be loaded
+	 * concurrently by up to {@link DiskCachedCellImgOptions#numIoThreads(int)}
+	 * readers, which defaults to a single one. Additional readers are opened on
+	 * demand with the given factory.
+	 *
+	 * @param r Reader to use for any created {@link SCIFIOCellImg}s.
+	 * @param imageIndex Image index within the given reader that will be loaded
+	 *          by {@link SCIFIOCellImg}s.
+	 * @param readerFactory Opens a new reader on the same dataset as {@code r}.
+	 *          If null, all cells are loaded with {@code r}.
+	 * @see ReaderPool
+	 */
+	public void setReader(final Reader r, final int imageIndex,
+		final Callable<? extends Reader> readerFactory)
+	{
+		setReader(r, imageIndex, readerFactory, factoryOptions.values
+			.numIoThreads());
+	}
+
+	/**
+	 * As {@link #setReader(Reader, int)}, but allows cells to be loaded
+	 * concurrently by up to {@code maxReaders} readers. Additional readers are
+	 * opened on demand with the given factory.
+	 *
+	 * @param r Reader to use for any created {@link SCIFIOCellImg}s.
+	 * @param imageIndex Image index within the given reader that will be loaded
+	 *          by {@link SCIFIOCellImg}s.
+	 * @param readerFactory Opens a new reader on the same dataset as {@code r}.
+	 *          If null, all cells are loaded with {@code r}.
+	 * @param maxReaders Maximum number of readers loading cells concurrently,
+	 *          including {@code r}; typically the number of threads which may
+	 *          access the created images in parallel.
+	 * @see ReaderPool
+	 */
+	public void setReader(Reader r, final int imageIndex,
+		final Callable<? extends Reader> readerFactory, final int maxReaders)
+	{
 		reader = r;
 		index = imageIndex;
+		readers = new ReaderPool(r, maxReaders, readerFactory);
 
 		if (r instanceof ReaderFilter) r = ((ReaderFilter) r).getTail();
 
@@ -207,25 +260,25 @@ public class SCIFIOCellImgFactory<T extends NativeType<T>> extends
 	{
 		switch (typeFactory.getPrimitiveType()) {
 			case BYTE:
-				return new SCIFIOCellLoader(new ByteArrayLoader(reader, subregion),
+				return new SCIFIOCellLoader(new ByteArrayLoader(readers, subregion),
 					o -> new ByteArray((byte[]) o));
 			case CHAR:
-				return new SCIFIOCellLoader(new CharArrayLoader(reader, subregion),
+				return new SCIFIOCellLoader(new CharArrayLoader(readers, subregion),
 					o -> new CharArray((char[]) o));
 			case DOUBLE:
-				return new SCIFIOCellLoader(new DoubleArrayLoader(reader, subregion),
+				return new SCIFIOCellLoader(new DoubleArrayLoader(readers, subregion),
 					o -> new DoubleArray((double[]) o));
 			case FLOAT:
-				return new SCIFIOCellLoader(new FloatArrayLoader(reader, subregion),
+				return new SCIFIOCellLoader(new FloatArrayLoader(readers, subregion),
 					o -> new FloatArray((float[]) o));
 			case INT:
-				return new SCIFIOCellLoader(new IntArrayLoader(reader, subregion),
+				return new SCIFIOCellLoader(new IntArrayLoader(readers, subregion),
 					o -> new IntArray((int[]) o));
 			case LONG:
-				return new SCIFIOCellLoader(new LongArrayLoader(reader, subregion),
+				return new SCIFIOCellLoader(new LongArrayLoader(readers, subregion),
 					o -> new LongArray((long[]) o));
 			case SHORT:
-				return new SCIFIOCellLoader(new ShortArrayLoader(reader, subregion),
+				return new SCIFIOCellLoader(new ShortArrayLoader(readers, subregion),
 					o -> new ShortArray((short[]) o));
 			default:
 				throw new IllegalArgumentException();
@@ -36,6 +36,7 @@ import io.scif.Reader;
 import io.scif.img.ImageRegion;
 import io.scif.img.ImgUtilityService;
 import io.scif.img.Range;
+import io.scif.img.cell.ReaderPool;
 import io.scif.util.FormatTools;
 
 import java.io.IOException;
@@ -65,7 +66,7 @@ public abstract class AbstractArrayLoader<A> implements SCIFIOArrayLoader<A> {
 
 	private int index = 0;
 
-	final private Reader reader;
+	final private ReaderPool readers;
 
 	final private ImageRegion subRegion;
 
@@ -79,8 +80,19 @@ public abstract class AbstractArrayLoader<A> implements SCIFIOArrayLoader<A> {
 	private boolean[][] loadedTable;
 
 	public AbstractArrayLoader(final Reader reader, final ImageRegion subRegion) {
-		this.reader = reader;
+		this(new ReaderPool(reader), subRegion);
+	}
+
+	/**
+	 * Creates a loader which reads each array with a reader acquired from the
+	 * given pool, so that several arrays can be loaded concurrently.
+	 */
+	public AbstractArrayLoader(final ReaderPool readers,
+		final ImageRegion subRegion)
+	{
+		this.readers = readers;
 		this.subRegion = subRegion;
+		final Reader reader = readers.reader();
 		reader.getContext().inject(this);
 		final Type<?> inputType = //
 			imgUtilityService.makeType(reader.getMetadata().get(0).getPixelType());
@@ -97,15 +109,21 @@ public abstract class AbstractArrayLoader<A> implements SCIFIOArrayLoader<A> {
 		throws FormatException, IOException
 	{
 		ColorTable ct = getTable(imageIndex, planeIndex);
-		if (ct == null && !loadedTable()[imageIndex][planeIndex]) {
-			final long[] planeMin = new long[reader.getMetadata().get(imageIndex)
-				.getAxesPlanar().size()];
-			final long[] planeMax = new long[planeMin.length];
-			for (int i = 0; i < planeMax.length; i++)
-				planeMax[i] = 1;
-
-			final FinalInterval bounds = new FinalInterval(planeMin, planeMax);
-			ct = reader.openPlane(imageIndex, planeIndex, bounds).getColorTable();
+		if (ct == null && !isTableLoaded(imageIndex, planeIndex)) {
+			final Reader reader = readers.acquire();
+			try {
+				final long[] planeMin = new long[reader.getMetadata().get(imageIndex)
+					.getAxesPlanar().size()];
+				final long[] planeMax = new long[planeMin.length];
+				for (int i = 0; i < planeMax.length; i++)
+					planeMax[i] = 1;
+
+				final FinalInterval bounds = new FinalInterval(planeMin, planeMax);
+				ct = reader.openPlane(imageIndex, planeIndex, bounds).getColorTable();
+			}
+			finally {
+				readers.release(reader);
+			}
 
 			addTable(imageIndex, planeIndex, ct);
 		}
@@ -118,7 +136,15 @@ public abstract class AbstractArrayLoader<A> implements SCIFIOArrayLoader<A> {
 	}
 
 	public A loadArray(final Interval bounds, A data) {
-		synchronized (reader) {
+		final Reader reader;
+		try {
+			reader = readers.acquire();
+		}
+		catch (final IOException e) {
+			throw new IllegalStateException(
+				"Could not open a plane for the given dimensions", e);
+		}
+		try {
 			final Metadata meta = reader.getMetadata();
 
 			int entities = 1;
@@ -184,7 +210,7 @@ public abstract class AbstractArrayLoader<A> implements SCIFIOArrayLoader<A> {
 
 			try {
 				final Interval planarBounds = new FinalInterval(planarMin, planarMax);
-				read(data, planarBounds, npRanges, npIndices);
+				read(reader, data, planarBounds, npRanges, npIndices);
 			}
 			catch (final FormatException e) {
 				throw new IllegalStateException(
@@ -197,23 +223,28 @@ public abstract class AbstractArrayLoader<A> implements SCIFIOArrayLoader<A> {
 
 			return data;
 		}
+		finally {
+			readers.release(reader);
+		}
 	}
 
 	/**
 	 * Entry point for
-	 * {@link #read(Object, Plane, Interval, Range[], long[], int, int)}
+	 * {@link #read(Reader, Object, Plane, Interval, Range[], long[], int, int)}
 	 */
-	private void read(final A data, final Interval bounds, final Range[] npRanges,
-		final long[] npIndices) throws FormatException, IOException
+	private void read(final Reader reader, final A data, final Interval bounds,
+		final Range[] npRanges, final long[] npIndices) throws FormatException,
+		IOException
 	{
-		read(data, null, bounds, npRanges, npIndices, 0, 0);
+		read(reader, data, null, bounds, npRanges, npIndices, 0, 0);
 	}
 
 	/**
 	 * Recurses over all the provided {@link Range}s, reading the corresponding
 	 * bytes and storing them in the provided data object.
 	 */
-	private void read(final A data, Plane tmpPlane, final Interval bounds,
+	private void read(final Reader reader, final A data, Plane tmpPlane,
+		final Interval bounds,
 		final Range[] npRanges, final long[] npIndices, final int depth,
 		int planeCount) throws FormatException, IOException
 	{
@@ -224,12 +255,12 @@ public abstract class AbstractArrayLoader<A> implements SCIFIOArrayLoader<A> {
 			final int npPosition = npRanges.length - 1 - depth;
 			for (int i = 0; i < npRanges[npPosition].size(); i++) {
 				npIndices[npPosition] = npRanges[npPosition].get(i);
-				read(data, tmpPlane, bounds, npRanges, npIndices, depth + 1,
+				read(reader, data, tmpPlane, bounds, npRanges, npIndices, depth + 1,
 					planeCount);
 				planeCount++;
 			}
 		}
-		else if (inSubregion(npIndices)) {
+		else if (inSubregion(reader, npIndices)) {
 			final int planeIndex = (int) FormatTools.positionToRaster(0, reader,
 				npIndices);
 
@@ -251,7 +282,7 @@ public abstract class AbstractArrayLoader<A> implements SCIFIOArrayLoader<A> {
 			convertBytes(data, tmpPlane.getBytes(), planeCount);
 
 			// update color table
-			if (!loadedTable()[index][planeIndex]) {
+			if (!isTableLoaded(index, planeIndex)) {
 				addTable(index, planeIndex, tmpPlane.getColorTable());
 			}
 		}
@@ -272,9 +303,19 @@ public abstract class AbstractArrayLoader<A> implements SCIFIOArrayLoader<A> {
 		}
 	}
 
+	/**
+	 * @return true iff the {@link ColorTable} at the specified image and plane
+	 *         indices has already been read
+	 */
+	private synchronized boolean isTableLoaded(final int imageIndex,
+		final int planeIndex)
+	{
+		return loadedTable()[imageIndex][planeIndex];
+	}
+
 	private boolean[][] loadedTable() {
 		if (loadedTable == null) {
-			final Metadata m = reader.getMetadata();
+			final Metadata m = readers.reader().getMetadata();
 			loadedTable = new boolean[m.getImageCount()][(int) m.get(0)
 				.getPlaneCount()];
 		}
@@ -295,7 +336,9 @@ public abstract class AbstractArrayLoader<A> implements SCIFIOArrayLoader<A> {
 	 * @return the possibly null {@link ColorTable} at the specified image and
 	 *         plane indices
 	 */
-	private ColorTable getTable(final int imageIndex, final int planeIndex) {
+	private synchronized ColorTable getTable(final int imageIndex,
+		final int planeIndex)
+	{
 		final List<List<ColorTable>> tables = tables();
 
 		// Ensure capacity
@@ -313,7 +356,7 @@ public abstract class AbstractArrayLoader<A> implements SCIFIOArrayLoader<A> {
 	/**
 	 * Inserts the given {@link ColorTable} at the specified indices.
 	 */
-	private void addTable(final int imageIndex, final int planeIndex,
+	private synchronized void addTable(final int imageIndex, final int planeIndex,
 		final ColorTable colorTable)
 	{
 		final ColorTable ct = getTable(imageIndex, planeIndex);
@@ -338,7 +381,7 @@ public abstract class AbstractArrayLoader<A> implements SCIFIOArrayLoader<A> {
 	 * Returns true if this loader's {@link ImageRegion} contains all of the given
 	 * indices
 	 */
-	private boolean inSubregion(final long[] npIndices) {
+	private boolean inSubregion(final Reader reader, final long[] npIndices) {
 		boolean inSubregion = true;
 
 		if (subRegion != null) {
@@ -369,7 +412,7 @@ public abstract class AbstractArrayLoader<A> implements SCIFIOArrayLoader<A> {
 	 * @return Reader used for plane loading
 	 */
 	protected Reader reader() {
-		return reader;
+		return readers.reader();
 	}
 
 	/**
@@ -32,6 +32,8 @@ package io.scif.img.cell.loaders;
 import io.scif.ImageMetadata;
 import io.scif.Reader;
 import io.scif.img.ImageRegion;
+import io.scif.img.cell.ReaderPool;
+import io.scif.util.ConversionTools;
 import io.scif.util.FormatTools;
 
 import net.imglib2.img.basictypeaccess.array.ByteArray;
@@ -48,6 +50,12 @@ public class ByteArrayLoader extends AbstractArrayLoader<ByteArray> {
 		super(reader, subRegion);
 	}
 
+	public ByteArrayLoader(final ReaderPool readers,
+		final ImageRegion subRegion)
+	{
+		super(readers, subRegion);
+	}
+
 	@Override
 	public void convertBytes(final ByteArray data, final byte[] bytes,
 		final int planesRead)
@@ -63,12 +71,8 @@ public class ByteArrayLoader extends AbstractArrayLoader<ByteArray> {
 			final int pixelType = iMeta.getPixelType();
 			final int bpp = FormatTools.getBytesPerPixel(pixelType);
 			final int offset = planesRead * (bytes.length / bpp);
-
-			for (int index = 0; index < bytes.length / bpp; index++) {
-				final byte value = (byte) utils().decodeWord(bytes, index * bpp,
-					pixelType, iMeta.isLittleEndian());
-				data.setValue(offset + index, value);
-			}
+			ConversionTools.toBytes(bytes, pixelType, iMeta.isLittleEndian(), data
+				.getCurrentStorageArray(), offset);
 		}
 	}
 
@@ -32,6 +32,8 @@ package io.scif.img.cell.loaders;
 import io.scif.ImageMetadata;
 import io.scif.Reader;
 import io.scif.img.ImageRegion;
+import io.scif.img.cell.ReaderPool;
+import io.scif.util.ConversionTools;
 import io.scif.util.FormatTools;
 
 import java.nio.ByteBuffer;
@@ -51,6 +53,12 @@ public class CharArrayLoader extends AbstractArrayLoader<CharArray> {
 		super(reader, subRegion);
 	}
 
+	public CharArrayLoader(final ReaderPool readers,
+		final ImageRegion subRegion)
+	{
+		super(readers, subRegion);
+	}
+
 	@Override
 	public void convertBytes(final CharArray data, final byte[] bytes,
 		final int planesRead)
@@ -70,12 +78,8 @@ public class CharArrayLoader extends AbstractArrayLoader<CharArray> {
 			final int pixelType = iMeta.getPixelType();
 			final int bpp = FormatTools.getBytesPerPixel(pixelType);
 			final int offset = planesRead * (bytes.length / bpp);
-
-			for (int index = 0; index < bytes.length / bpp; index++) {
-				final char value = (char) utils().decodeWord(bytes, index * bpp,
-					pixelType, iMeta.isLittleEndian());
-				data.setValue(offset + index, value);
-			}
+			ConversionTools.toChars(bytes, pixelType, iMeta.isLittleEndian(), data
+				.getCurrentStorageArray(), offset);
 		}
 	}
 
@@ -32,6 +32,7 @@ package io.scif.img.cell.loaders;
 import io.scif.ImageMetadata;
 import io.scif.Reader;
 import io.scif.img.ImageRegion;
+import io.scif.util.ConversionTools;
 import io.scif.util.FormatTools;
 
 import java.nio.ByteBuffer;
@@ -79,10 +80,11 @@ public class FloatAccessLoader extends AbstractArrayLoader<FloatAccess> {
 			final int pixelType = iMeta.getPixelType();
 			final int bpp = FormatTools.getBytesPerPixel(pixelType);
 			final int offset = planesRead * (bytes.length / bpp);
-			for (int index = 0; index < bytes.length / bpp; index++) {
-				final float value = (float) utils().decodeWord(bytes, index * bpp,
-					pixelType, iMeta.isLittleEndian());
-				data.setValue(offset + index, value);
+			final float[] values = new float[bytes.length / bpp];
+			ConversionTools.toFloats(bytes, pixelType, iMeta.isLittleEndian(), values,
+				0);
+			for (int index = 0; index < values.length; index++) {
+				data.setValue(offset + index, values[index]);
 			}
 		}
 	}
@@ -32,6 +32,8 @@ package io.scif.img.cell.loaders;
 import io.scif.ImageMetadata;
 import io.scif.Reader;
 import io.scif.img.ImageRegion;
+import io.scif.img.cell.ReaderPool;
+import io.scif.util.ConversionTools;
 import io.scif.util.FormatTools;
 
 import java.nio.ByteBuffer;
@@ -51,6 +53,12 @@ public class FloatArrayLoader extends AbstractArrayLoader<FloatArray> {
 		super(reader, subRegion);
 	}
 
+	public FloatArrayLoader(final ReaderPool readers,
+		final ImageRegion subRegion)
+	{
+		super(readers, subRegion);
+	}
+
 	@Override
 	public void convertBytes(final FloatArray data, final byte[] bytes,
 		final int planesRead)
@@ -71,11 +79,8 @@ public class FloatArrayLoader extends AbstractArrayLoader<FloatArray> {
 			final int pixelType = iMeta.getPixelType();
 			final int bpp = FormatTools.getBytesPerPixel(pixelType);
 			final int offset = planesRead * (bytes.length / bpp);
-			for (int index = 0; index < bytes.length / bpp; index++) {
-				final float value = (float) utils().decodeWord(bytes, index * bpp,
-					pixelType, iMeta.isLittleEndian());
-				data.setValue(offset + index, value);
-			}
+			ConversionTools.toFloats(bytes, pixelType, iMeta.isLittleEndian(), data
+				.getCurrentStorageArray(), offset);
 		}
 	}
 
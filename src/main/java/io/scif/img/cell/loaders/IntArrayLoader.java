@@ -32,6 +32,8 @@ package io.scif.img.cell.loaders;
 import io.scif.ImageMetadata;
 import io.scif.Reader;
 import io.scif.img.ImageRegion;
+import io.scif.img.cell.ReaderPool;
+import io.scif.util.ConversionTools;
 import io.scif.util.FormatTools;
 
 import java.nio.ByteBuffer;
@@ -51,6 +53,12 @@ public class IntArrayLoader extends AbstractArrayLoader<IntArray> {
 		super(reader, subRegion);
 	}
 
+	public IntArrayLoader(final ReaderPool readers,
+		final ImageRegion subRegion)
+	{
+		super(readers, subRegion);
+	}
+
 	@Override
 	public void convertBytes(final IntArray data, final byte[] bytes,
 		final int planesRead)
@@ -71,12 +79,8 @@ public class IntArrayLoader extends AbstractArrayLoader<IntArray> {
 			final int pixelType = iMeta.getPixelType();
 			final int bpp = FormatTools.getBytesPerPixel(pixelType);
 			final int offset = planesRead * (bytes.length / bpp);
-
-			for (int index = 0; index < bytes.length / bpp; index++) {
-				final int value = (int) utils().decodeWord(bytes, index * bpp,
-					pixelType, iMeta.isLittleEndian());
-				data.setValue(offset + index, value);
-			}
+			ConversionTools.toInts(bytes, pixelType, iMeta.isLittleEndian(), data
+				.getCurrentStorageArray(), offset);
 		}
 	}
 
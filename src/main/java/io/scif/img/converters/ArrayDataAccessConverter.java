@@ -31,6 +31,8 @@ package io.scif.img.converters;
 
 import io.scif.Reader;
 import io.scif.config.SCIFIOConfig;
+import io.scif.img.ImageRegion;
+import io.scif.img.cell.loaders.AbstractArrayLoader;
 import io.scif.img.cell.loaders.ByteAccessLoader;
 import io.scif.img.cell.loaders.ByteArrayLoader;
 import io.scif.img.cell.loaders.CharAccessLoader;
@@ -80,12 +82,23 @@ public class ArrayDataAccessConverter extends AbstractPlaneConverter {
 	public <T extends RealType<T>> void populatePlane(final Reader reader,
 		final int imageIndex, final int planeIndex, final byte[] source,
 		final ImgPlus<T> dest, final SCIFIOConfig config)
+	{
+		createPipeline(reader, imageIndex, dest, config).populatePlane(planeIndex,
+			source);
+	}
+
+	/**
+	 * Resolves the array of the destination image and creates the matching
+	 * loader once, so that they are reused for every plane.
+	 */
+	@Override
+	public <T extends RealType<T>> Pipeline createPipeline(final Reader reader,
+		final int imageIndex, final ImgPlus<T> dest, final SCIFIOConfig config)
 	{
 		final ArrayImg<?, ?> arrayImg = (ArrayImg<?, ?>) dest.getImg();
 
 		final Object store = arrayImg.update(null);
-
-		// FIXME actually do need to pass a reader w/ metadata to the loader
+		final ImageRegion region = config.imgOpenerGetRegion();
 
 		// FIXME loaders are faster than byte buffers but of course slower than
 		// a
@@ -95,77 +108,69 @@ public class ArrayDataAccessConverter extends AbstractPlaneConverter {
 		// types.
 
 		if (store instanceof ByteArray) {
-			final ByteArrayLoader loader = new ByteArrayLoader(reader, config
-				.imgOpenerGetRegion());
-			loader.convertBytes((ByteArray) store, source, planeIndex);
+			return pipeline(new ByteArrayLoader(reader, region), (ByteArray) store);
 		}
 		else if (store instanceof ShortArray) {
-			final ShortArrayLoader loader = new ShortArrayLoader(reader, config
-				.imgOpenerGetRegion());
-			loader.convertBytes((ShortArray) store, source, planeIndex);
+			return pipeline(new ShortArrayLoader(reader, region),
+				(ShortArray) store);
 		}
 		else if (store instanceof LongArray) {
-			final LongArrayLoader loader = new LongArrayLoader(reader, config
-				.imgOpenerGetRegion());
-			loader.convertBytes((LongArray) store, source, planeIndex);
+			return pipeline(new LongArrayLoader(reader, region), (LongArray) store);
 		}
 		else if (store instanceof CharArray) {
-			final CharArrayLoader loader = new CharArrayLoader(reader, config
-				.imgOpenerGetRegion());
-			loader.convertBytes((CharArray) store, source, planeIndex);
+			return pipeline(new CharArrayLoader(reader, region), (CharArray) store);
 		}
 		else if (store instanceof DoubleArray) {
-			final DoubleArrayLoader loader = new DoubleArrayLoader(reader, config
-				.imgOpenerGetRegion());
-			loader.convertBytes((DoubleArray) store, source, planeIndex);
+			return pipeline(new DoubleArrayLoader(reader, region),
+				(DoubleArray) store);
 		}
 		else if (store instanceof FloatArray) {
-			final FloatArrayLoader loader = new FloatArrayLoader(reader, config
-				.imgOpenerGetRegion());
-			loader.convertBytes((FloatArray) store, source, planeIndex);
+			return pipeline(new FloatArrayLoader(reader, region),
+				(FloatArray) store);
 		}
 		else if (store instanceof IntArray) {
-			final IntArrayLoader loader = new IntArrayLoader(reader, config
-				.imgOpenerGetRegion());
-			loader.convertBytes((IntArray) store, source, planeIndex);
+			return pipeline(new IntArrayLoader(reader, region), (IntArray) store);
 		}
 		else if (store instanceof ByteAccess) {
-			final ByteAccessLoader loader = new ByteAccessLoader(reader, config
-				.imgOpenerGetRegion(), ByteArray::new);
-			loader.convertBytes((ByteAccess) store, source, planeIndex);
-
+			return pipeline(new ByteAccessLoader(reader, region, ByteArray::new),
+				(ByteAccess) store);
 		}
 		else if (store instanceof ShortAccess) {
-			final ShortAccessLoader loader = new ShortAccessLoader(reader, config
-				.imgOpenerGetRegion(), ShortArray::new);
-			loader.convertBytes((ShortAccess) store, source, planeIndex);
+			return pipeline(new ShortAccessLoader(reader, region, ShortArray::new),
+				(ShortAccess) store);
 		}
 		else if (store instanceof LongAccess) {
-			final LongAccessLoader loader = new LongAccessLoader(reader, config
-				.imgOpenerGetRegion(), LongArray::new);
-			loader.convertBytes((LongAccess) store, source, planeIndex);
+			return pipeline(new LongAccessLoader(reader, region, LongArray::new),
+				(LongAccess) store);
 		}
 		else if (store instanceof CharAccess) {
-			final CharAccessLoader loader = new CharAccessLoader(reader, config
-				.imgOpenerGetRegion(), CharArray::new);
-			loader.convertBytes((CharAccess) store, source, planeIndex);
+			return pipeline(new CharAccessLoader(reader, region, CharArray::new),
+				(CharAccess) store);
 		}
 		else if (store instanceof DoubleAccess) {
-			final DoubleAccessLoader loader = new DoubleAccessLoader(reader, config
-				.imgOpenerGetRegion(), DoubleArray::new);
-			loader.convertBytes((DoubleAccess) store, source, planeIndex);
+			return pipeline(new DoubleAccessLoader(reader, region,
+				DoubleArray::new), (DoubleAccess) store);
 		}
 		else if (store instanceof FloatAccess) {
-			final FloatAccessLoader loader = new FloatAccessLoader(reader, config
-				.imgOpenerGetRegion(), FloatArray::new);
-			loader.convertBytes((FloatAccess) store, source, planeIndex);
+			return pipeline(new FloatAccessLoader(reader, region, FloatArray::new),
+				(FloatAccess) store);
 		}
 		else if (store instanceof IntAccess) {
-			final IntAccessLoader loader = new IntAccessLoader(reader, config
-				.imgOpenerGetRegion(), IntArray::new);
-			loader.convertBytes((IntAccess) store, source, planeIndex);
+			return pipeline(new IntAccessLoader(reader, region, IntArray::new),
+				(IntAccess) store);
 		}
 
+		// NB: Unsupported array type; leave the image unpopulated, as before.
+		return (planeIndex, source) -> {};
+	}
+
+	// -- Helper methods --
+
+	private static <A> Pipeline pipeline(final AbstractArrayLoader<A> loader,
+		final A store)
+	{
+		return (planeIndex, source) -> loader.convertBytes(store, source,
+			planeIndex);
 	}
 
 }
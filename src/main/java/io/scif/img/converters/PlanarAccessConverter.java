@@ -29,12 +29,17 @@
 
 package io.scif.img.converters;
 
+import io.scif.ByteBufferPlane;
 import io.scif.Metadata;
+import io.scif.Plane;
 import io.scif.Reader;
 import io.scif.config.SCIFIOConfig;
 import io.scif.img.ImgUtilityService;
 import io.scif.util.FormatTools;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 import net.imagej.ImgPlus;
 import net.imglib2.img.basictypeaccess.PlanarAccess;
 import net.imglib2.type.numeric.RealType;
@@ -80,4 +85,76 @@ public class PlanarAccessConverter extends AbstractPlaneConverter {
 		planarAccess.setPlane(planeIndex, imgUtilService.makeArray(planeArray));
 	}
 
+	/**
+	 * Populates a {@link ByteBufferPlane} by reference, decoding its buffers
+	 * straight into the primitive array of the destination plane.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T extends RealType<T>> void populatePlane(final Reader reader,
+		final int imageIndex, final int planeIndex, final Plane plane,
+		final ImgPlus<T> planarImg, final SCIFIOConfig config)
+	{
+		if (!(plane instanceof ByteBufferPlane)) {
+			populatePlane(reader, imageIndex, planeIndex, plane.getBytes(),
+				planarImg, config);
+			return;
+		}
+		final Metadata m = reader.getMetadata();
+
+		@SuppressWarnings("rawtypes")
+		final PlanarAccess planarAccess = imgUtilService.getPlanarAccess(planarImg);
+		final int pixelType = m.get(imageIndex).getPixelType();
+		final int bpp = FormatTools.getBytesPerPixel(pixelType);
+		final boolean fp = FormatTools.isFloatingPoint(pixelType);
+		final boolean little = m.get(imageIndex).isLittleEndian();
+		final Object planeArray = makeArray((ByteBufferPlane) plane, bpp, fp,
+			little);
+		planarAccess.setPlane(planeIndex, imgUtilService.makeArray(planeArray));
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * As {@link Bytes#makeArray}, but reading the plane's buffers through typed
+	 * views, so that no intermediate {@code byte[]} is needed.
+	 */
+	private static Object makeArray(final ByteBufferPlane plane, final int bpp,
+		final boolean fp, final boolean little)
+	{
+		final long count = plane.getSize() / bpp;
+		if (count > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Plane of " + count +
+				" pixels is too large for an array");
+		}
+		final int n = (int) count;
+		final Object array;
+		if (bpp == 1) array = new byte[n];
+		else if (bpp == 2) array = new short[n];
+		else if (bpp == 4) array = fp ? new float[n] : new int[n];
+		else array = fp ? new double[n] : new long[n];
+
+		final ByteOrder order = little ? ByteOrder.LITTLE_ENDIAN
+			: ByteOrder.BIG_ENDIAN;
+		final int batch = ByteBufferPlane.CHUNK_SIZE / bpp;
+		int off = 0;
+		while (off < n) {
+			final int len = Math.min(batch, n - off);
+			final ByteBuffer view = plane.view((long) off * bpp, len * bpp).order(
+				order);
+			if (array instanceof byte[]) view.get((byte[]) array, off, len);
+			else if (array instanceof short[]) view.asShortBuffer().get(
+				(short[]) array, off, len);
+			else if (array instanceof float[]) view.asFloatBuffer().get(
+				(float[]) array, off, len);
+			else if (array instanceof int[]) view.asIntBuffer().get((int[]) array,
+				off, len);
+			else if (array instanceof double[]) view.asDoubleBuffer().get(
+				(double[]) array, off, len);
+			else view.asLongBuffer().get((long[]) array, off, len);
+			off += len;
+		}
+		return array;
+	}
+
 }
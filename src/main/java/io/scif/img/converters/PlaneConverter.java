@@ -29,6 +29,7 @@
 
 package io.scif.img.converters;
 
+import io.scif.Plane;
 import io.scif.Reader;
 import io.scif.SCIFIOPlugin;
 import io.scif.config.SCIFIOConfig;
@@ -56,4 +57,80 @@ public interface PlaneConverter extends SCIFIOPlugin, SingletonPlugin {
 	 */
 	<T extends RealType<T>> void populatePlane(Reader reader, int imageIndex,
 		int planeIndex, byte[] source, ImgPlus<T> dest, SCIFIOConfig config);
+
+	/**
+	 * As {@link #populatePlane(Reader, int, int, byte[], ImgPlus, SCIFIOConfig)},
+	 * but taking the opened plane itself. Implementations may override this to
+	 * read planes such as {@link io.scif.ByteBufferPlane}s without copying them
+	 * into a {@code byte[]}, which also lifts the 2 GB limit of that array.
+	 *
+	 * @param reader Reader that was used to open the source plane
+	 * @param imageIndex image index within the dataset
+	 * @param planeIndex plane index within the image
+	 * @param source the opened plane
+	 * @param dest the ImgPlus to populate
+	 * @param config SCIFIOConfig for opening this plane
+	 */
+	default <T extends RealType<T>> void populatePlane(final Reader reader,
+		final int imageIndex, final int planeIndex, final Plane source,
+		final ImgPlus<T> dest, final SCIFIOConfig config)
+	{
+		populatePlane(reader, imageIndex, planeIndex, source.getBytes(), dest,
+			config);
+	}
+
+	/**
+	 * Prepares the conversion of many planes of one image into the same
+	 * {@link ImgPlus}. Implementations may resolve everything which does not
+	 * depend on the individual plane once, rather than in every
+	 * {@link #populatePlane} call.
+	 *
+	 * @param reader Reader that is used to open the source planes
+	 * @param imageIndex image index within the dataset
+	 * @param dest the ImgPlus to populate
+	 * @param config SCIFIOConfig for opening the planes
+	 * @return A {@link Pipeline} populating {@code dest} with single planes.
+	 */
+	default <T extends RealType<T>> Pipeline createPipeline(final Reader reader,
+		final int imageIndex, final ImgPlus<T> dest, final SCIFIOConfig config)
+	{
+		return new Pipeline() {
+
+			@Override
+			public void populatePlane(final int planeIndex, final byte[] source) {
+				PlaneConverter.this.populatePlane(reader, imageIndex, planeIndex,
+					source, dest, config);
+			}
+
+			@Override
+			public void populatePlane(final int planeIndex, final Plane source) {
+				PlaneConverter.this.populatePlane(reader, imageIndex, planeIndex,
+					source, dest, config);
+			}
+		};
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * Conversion of planes into an {@link ImgPlus}, as created by
+	 * {@link PlaneConverter#createPipeline}.
+	 */
+	@FunctionalInterface
+	interface Pipeline {
+
+		/**
+		 * @param planeIndex plane index within the image
+		 * @param source the opened plane
+		 */
+		void populatePlane(int planeIndex, byte[] source);
+
+		/**
+		 * @param planeIndex plane index within the image
+		 * @param source the opened plane
+		 */
+		default void populatePlane(final int planeIndex, final Plane source) {
+			populatePlane(planeIndex, source.getBytes());
+		}
+	}
 }
@@ -29,11 +29,14 @@
 
 package io.scif.img.converters;
 
+import io.scif.ByteBufferPlane;
 import io.scif.ImageMetadata;
 import io.scif.Metadata;
+import io.scif.Plane;
 import io.scif.Reader;
 import io.scif.config.SCIFIOConfig;
 import io.scif.img.ImgUtilityService;
+import io.scif.util.ConversionTools;
 import io.scif.util.FormatTools;
 
 import net.imagej.ImgPlus;
@@ -85,6 +88,9 @@ public class RandomAccessConverter extends AbstractPlaneConverter {
 
 		final RandomAccess<T> randomAccess = img.randomAccess();
 
+		final double[] values = new double[plane.length / FormatTools
+			.getBytesPerPixel(pixelType)];
+		ConversionTools.toDoubles(plane, pixelType, little, values, 0);
 		int index = 0;
 
 		for (int y = 0; y < sY; ++y) {
@@ -94,13 +100,67 @@ public class RandomAccessConverter extends AbstractPlaneConverter {
 			randomAccess.setPosition(pos);
 
 			for (int x = 1; x < sX; ++x) {
-				randomAccess.get().setReal(imgUtilService.decodeWord(plane, index++,
-					pixelType, little));
+				randomAccess.get().setReal(values[index++]);
 				randomAccess.fwd(planeX);
 			}
 
-			randomAccess.get().setReal(imgUtilService.decodeWord(plane, index++,
-				pixelType, little));
+			randomAccess.get().setReal(values[index++]);
+		}
+	}
+
+	/**
+	 * Populates the image from a {@link ByteBufferPlane} one row at a time, so
+	 * that neither the plane's bytes nor its converted values need to fit into
+	 * a single array.
+	 */
+	@Override
+	public <T extends RealType<T>> void populatePlane(final Reader reader,
+		final int imageIndex, final int planeIndex, final Plane plane,
+		final ImgPlus<T> img, final SCIFIOConfig config)
+	{
+		if (!(plane instanceof ByteBufferPlane)) {
+			populatePlane(reader, imageIndex, planeIndex, plane.getBytes(), img,
+				config);
+			return;
+		}
+		final ByteBufferPlane buffers = (ByteBufferPlane) plane;
+		final Metadata m = reader.getMetadata();
+
+		final int pixelType = m.get(imageIndex).getPixelType();
+		final boolean little = m.get(imageIndex).isLittleEndian();
+
+		final long[] dimLengths = imgUtilService.getDimLengths(m, imageIndex,
+			config);
+		final long[] pos = new long[dimLengths.length];
+
+		final int planeX = 0;
+		final int planeY = 1;
+
+		getPosition(m, imageIndex, planeIndex, pos);
+
+		final int sX = (int) img.dimension(0);
+		final int sY = (int) img.dimension(1);
+
+		final RandomAccess<T> randomAccess = img.randomAccess();
+
+		final byte[] row = new byte[sX * FormatTools.getBytesPerPixel(pixelType)];
+		final double[] values = new double[sX];
+
+		for (int y = 0; y < sY; ++y) {
+			buffers.get((long) y * row.length, row, 0, row.length);
+			ConversionTools.toDoubles(row, pixelType, little, values, 0);
+
+			pos[planeX] = 0;
+			pos[planeY] = y;
+
+			randomAccess.setPosition(pos);
+
+			for (int x = 1; x < sX; ++x) {
+				randomAccess.get().setReal(values[x - 1]);
+				randomAccess.fwd(planeX);
+			}
+
+			randomAccess.get().setReal(values[sX - 1]);
 		}
 	}
 
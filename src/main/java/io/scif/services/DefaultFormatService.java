@@ -54,6 +54,7 @@ import java.util.WeakHashMap;
 
 import org.scijava.app.AppService;
 import org.scijava.io.handle.DataHandle;
+import org.scijava.io.handle.DataHandleService;
 import org.scijava.io.location.Location;
 import org.scijava.io.location.RemoteLocation;
 import org.scijava.log.LogService;
@@ -89,6 +90,9 @@ public class DefaultFormatService extends AbstractService implements
 	@Parameter
 	private LogService logService;
 
+	@Parameter
+	private DataHandleService dataHandleService;
+
 	// -- Fields --
 
 	/*
@@ -133,6 +137,11 @@ public class DefaultFormatService extends AbstractService implements
 	 */
 	private Map<Location, Format> formatCache;
 
+	/*
+	 * Signatures of all available Formats, for detection by header.
+	 */
+	private FormatSignatureIndex signatureIndex;
+
 	private boolean dirtyFormatCache = false;
 
 	// Flag to mark if this service has been initialized or not.
@@ -178,12 +187,19 @@ public class DefaultFormatService extends AbstractService implements
 		}
 
 		if (format.getContext() == null) format.setContext(getContext());
+		try {
+			signatureIndex().add(format);
+		}
+		catch (final FormatException exc) {
+			logService.debug("Cannot index signatures of " + format.getFormatName(), exc);
+		}
 		return true;
 	}
 
 	@Override
 	public boolean removeFormat(final Format format) {
 		removeComponents(format);
+		signatureIndex().remove(format);
 		formatMap().remove(format.getClass());
 		dirtyFormatCache = true;
 		return formats().remove(format);
@@ -350,8 +366,19 @@ public class DefaultFormatService extends AbstractService implements
 
 		final List<Format> formatList = new ArrayList<>();
 
+		// NB: Read the header at most once, for all formats that would otherwise
+		// open the source to check their signatures one by one.
+		Set<Class<?>> matches = null;
+
 		for (final Format format : formats()) {
-			if (format.isEnabled() && format.createChecker().isFormat(id, config)) {
+			if (!format.isEnabled()) continue;
+			if (config.checkerIsOpen() && signatureIndex().needsHeader(format,
+				FormatTools.checkSuffix(id.getName(), format.getSuffixes())))
+			{
+				if (matches == null) matches = matchSignatures(id);
+				if (signatureIndex().excludes(format, matches)) continue;
+			}
+			if (format.createChecker().isFormat(id, config)) {
 
 				formatList.add(format);
 
@@ -392,23 +419,24 @@ public class DefaultFormatService extends AbstractService implements
 	{
 		final List<Format> formatList = new ArrayList<>();
 
-		boolean found = false;
+		try {
+			final Set<Class<?>> matches = matchSignatures(source);
 
-		for (final Format format : formats()) {
-			try {
-				if (!found && format.isEnabled() && format.createChecker().isFormat(
-					source))
-				{
-					// if greedy is true, we can end after finding the first format
-					found = greedy;
+			for (final Format format : formats()) {
+				if (!format.isEnabled() || signatureIndex().excludes(format,
+					matches)) continue;
+				if (format.createChecker().isFormat(source)) {
 					formatList.add(format);
 				}
 				// Reset the stream
 				source.seek(0);
+
+				// if greedy is true, we can end after finding the first format
+				if (greedy && !formatList.isEmpty()) break;
 			}
-			catch (final IOException e) {
-				throw new FormatException(e);
-			}
+		}
+		catch (final IOException e) {
+			throw new FormatException(e);
 		}
 
 		return formatList;
@@ -449,6 +477,7 @@ public class DefaultFormatService extends AbstractService implements
 			writerMap = new HashMap<>();
 			metadataMap = new HashMap<>();
 			formatCache = new WeakHashMap<>();
+			signatureIndex = new FormatSignatureIndex();
 
 			// HACK: Wait until the FormatService is available from the context
 			// before initializing all the formats. Otherwise, any Format that
@@ -509,6 +538,46 @@ public class DefaultFormatService extends AbstractService implements
 		return metadataMap;
 	}
 
+	private FormatSignatureIndex signatureIndex() {
+		checkLock();
+		return signatureIndex;
+	}
+
+	/**
+	 * Reads the header of the given source and matches it against the
+	 * signatures of all formats. Leaves the source at offset 0.
+	 */
+	private Set<Class<?>> matchSignatures(final DataHandle<Location> source)
+		throws IOException
+	{
+		final byte[] header = new byte[signatureIndex().getHeaderLength()];
+		source.seek(0);
+		int length = 0;
+		while (length < header.length) {
+			final int r = source.read(header, length, header.length - length);
+			if (r <= 0) break;
+			length += r;
+		}
+		source.seek(0);
+		return signatureIndex().match(header, length);
+	}
+
+	/**
+	 * As {@link #matchSignatures(DataHandle)}, opening the given location. If it
+	 * cannot be read, no signature matches.
+	 */
+	private Set<Class<?>> matchSignatures(final Location loc) {
+		try (final DataHandle<Location> handle = dataHandleService.readBuffer(
+			loc))
+		{
+			if (handle != null) return matchSignatures(handle);
+		}
+		catch (final IOException exc) {
+			logService.debug("", exc);
+		}
+		return signatureIndex().match(new byte[0], 0);
+	}
+
 	private Map<Location, Format> formatCache() {
 		checkLock();
 		if (dirtyFormatCache) {
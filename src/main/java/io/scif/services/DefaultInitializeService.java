@@ -35,6 +35,7 @@ import io.scif.FormatException;
 import io.scif.Metadata;
 import io.scif.Parser;
 import io.scif.Reader;
+import io.scif.SelfContainedMetadata;
 import io.scif.Writer;
 import io.scif.config.SCIFIOConfig;
 import io.scif.filters.ReaderFilter;
@@ -43,6 +44,7 @@ import java.io.IOException;
 
 import org.scijava.Priority;
 import org.scijava.io.location.Location;
+import org.scijava.log.LogService;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
 import org.scijava.plugin.PluginService;
@@ -71,6 +73,12 @@ public class DefaultInitializeService extends AbstractService implements
 	@Parameter
 	private TranslatorService translatorService;
 
+	@Parameter(required = false)
+	private MetadataCacheService metadataCacheService;
+
+	@Parameter
+	private LogService log;
+
 	// -- InitializeService API Methods --
 
 	@Override
@@ -88,10 +96,42 @@ public class DefaultInitializeService extends AbstractService implements
 		if(r.getClass() == DefaultReader.class) {
 			throw new IOException("Format is write-only!");
 		}
-		r.setSource(id, config);
+		final Metadata cached = loadCached(id, r.getFormat(), config);
+		if (cached == null) {
+			r.setSource(id, config);
+			saveCached(r.getMetadata(), config);
+		}
+		else {
+			r.setMetadata(cached);
+			r.setSource(cached.getSource(), config);
+		}
 		return new ReaderFilter(r);
 	}
 
+	@Override
+	public Reader duplicateReader(final Reader reader, final SCIFIOConfig config)
+		throws FormatException, IOException
+	{
+		final Reader tail = reader instanceof ReaderFilter ? ((ReaderFilter) reader)
+			.getTail() : reader;
+		final Reader r = tail.getFormat().createReader();
+		// NB: Only self-contained metadata survives copying; other formats keep
+		// reader state in transient fields, so their source is parsed again.
+		final Metadata copy = tail.getMetadata() instanceof SelfContainedMetadata
+			? duplicateMetadata(tail.getMetadata(), config) : null;
+		if (copy == null) {
+			final Location id = tail.getCurrentLocation();
+			if (id == null) throw new IOException("Reader has no source to reopen");
+			r.setSource(id, config);
+		}
+		else {
+			r.setMetadata(copy);
+			r.setSource(copy.getSource(), config);
+		}
+		return reader instanceof ReaderFilter ? ((ReaderFilter) reader).duplicate(
+			r) : r;
+	}
+
 	@Override
 	public Writer initializeWriter(final Location source,
 		final Location destination) throws FormatException, IOException
@@ -165,11 +205,68 @@ public class DefaultInitializeService extends AbstractService implements
 		throws FormatException, IOException
 	{
 		final Format format = formatService.getFormat(id, config);
-		return format.createParser().parse(id, config);
+		final Metadata cached = loadCached(id, format, config);
+		if (cached != null) return cached;
+		final Metadata meta = format.createParser().parse(id, config);
+		saveCached(meta, config);
+		return meta;
 	}
 
 	// -- Helper Methods --
 
+	/**
+	 * Loads previously parsed metadata from the {@link MetadataCacheService},
+	 * if enabled by the given configuration.
+	 *
+	 * @return The cached metadata, or null if not available.
+	 */
+	private Metadata loadCached(final Location id, final Format format,
+		final SCIFIOConfig config)
+	{
+		if (!config.parserIsMetadataCached() || metadataCacheService == null) {
+			return null;
+		}
+		try {
+			return metadataCacheService.load(id, format, config);
+		}
+		catch (final IOException | RuntimeException exc) {
+			log.debug("Could not load cached metadata for " + id, exc);
+			return null;
+		}
+	}
+
+	/**
+	 * Copies the given metadata with the {@link MetadataCacheService}.
+	 *
+	 * @return The copy, or null if the metadata cannot be copied.
+	 */
+	private Metadata duplicateMetadata(final Metadata meta,
+		final SCIFIOConfig config)
+	{
+		if (meta == null || metadataCacheService == null) return null;
+		try {
+			return metadataCacheService.duplicate(meta, config);
+		}
+		catch (final IOException | RuntimeException exc) {
+			log.debug("Could not copy metadata of " + meta.getSourceLocation(), exc);
+			return null;
+		}
+	}
+
+	/** Stores freshly parsed metadata in the {@link MetadataCacheService}. */
+	private void saveCached(final Metadata meta, final SCIFIOConfig config) {
+		if (!config.parserIsMetadataCached() || metadataCacheService == null) {
+			return;
+		}
+		try {
+			metadataCacheService.save(meta, config);
+		}
+		catch (final IOException | RuntimeException exc) {
+			log.debug("Could not cache metadata for " + meta.getSourceLocation(),
+				exc);
+		}
+	}
+
 	/*
 	 * Hide the suppress warnings in an atomic cast method <p> NB: endType
 	 * parameter is just there to guarantee a return type </p>
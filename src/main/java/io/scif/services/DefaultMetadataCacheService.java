@@ -0,0 +1,651 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.services;
+
+import io.scif.AbstractMetadata;
+import io.scif.DefaultMetaTable;
+import io.scif.Format;
+import io.scif.FormatException;
+import io.scif.ImageMetadata;
+import io.scif.Metadata;
+import io.scif.Parser;
+import io.scif.SelfContainedMetadata;
+import io.scif.config.SCIFIOConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import net.imagej.axis.Axes;
+import net.imagej.axis.AxisType;
+import net.imagej.axis.CalibratedAxis;
+import net.imagej.axis.DefaultLinearAxis;
+import net.imagej.axis.LinearAxis;
+
+import org.scijava.Context;
+import org.scijava.io.handle.DataHandle;
+import org.scijava.io.handle.DataHandleService;
+import org.scijava.io.location.FileLocation;
+import org.scijava.io.location.Location;
+import org.scijava.log.LogService;
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+import org.scijava.service.AbstractService;
+import org.scijava.service.Service;
+
+/**
+ * Default {@link MetadataCacheService} implementation.
+ * <p>
+ * Each entry is a file named after a hash of its key, containing the key, the
+ * serialized fields of the {@link AbstractMetadata} and the state of each of
+ * its {@link ImageMetadata}. Other transient fields and injected services are
+ * not stored; they are restored by creating the metadata with its
+ * {@link Format} and calling {@link Metadata#populateImageMetadata()}, as after
+ * parsing. Hence only {@link SelfContainedMetadata} of single files is cached,
+ * and only if doing so reproduces its images exactly.
+ * </p>
+ * <p>
+ * Only {@code io.scif} and core JDK classes are deserialized from the cache.
+ * </p>
+ * <p>
+ * The cache is stored in the directory given by the
+ * {@code scifio.metadata.cache.dir} system property, or else in
+ * {@code $XDG_CACHE_HOME/scifio/metadata}, defaulting to
+ * {@code ~/.cache/scifio/metadata}.
+ * </p>
+ */
+@Plugin(type = Service.class)
+public class DefaultMetadataCacheService extends AbstractService implements
+	MetadataCacheService
+{
+
+	// -- Constants --
+
+	/** System property overriding the cache directory. */
+	public static final String CACHE_DIR_PROPERTY = "scifio.metadata.cache.dir";
+
+	private static final String SUFFIX = ".meta";
+
+	// -- Parameters --
+
+	@Parameter
+	private DataHandleService dataHandleService;
+
+	@Parameter
+	private LogService log;
+
+	// -- Fields --
+
+	private Path cacheDir;
+
+	// -- MetadataCacheService API Methods --
+
+	@Override
+	public Metadata load(final Location loc, final Format format,
+		final SCIFIOConfig config) throws IOException
+	{
+		final String key = key(loc, format, config);
+		if (key == null) return null;
+		final Path entry = entry(key);
+		if (!Files.isRegularFile(entry)) return null;
+
+		try (final InputStream in = Files.newInputStream(entry)) {
+			return read(in, key, loc, format, config);
+		}
+		catch (final IOException | FormatException | ReflectiveOperationException
+				| RuntimeException exc)
+		{
+			log.debug("Discarding unreadable metadata cache entry " + entry, exc);
+			Files.deleteIfExists(entry);
+			return null;
+		}
+	}
+
+	@Override
+	public void save(final Metadata meta, final SCIFIOConfig config)
+		throws IOException
+	{
+		if (!(meta instanceof AbstractMetadata)) return;
+		final String key = key(meta.getSourceLocation(), meta.getFormat(), config);
+		if (key == null) return;
+
+		final byte[] bytes = serialize(meta, key);
+		if (bytes == null) return;
+
+		// NB: Only cache metadata whose images are rebuilt exactly when loaded.
+		final Metadata loaded = deserialize(bytes, key, meta, config);
+		if (loaded == null) return;
+		loaded.close();
+
+		// NB: Write to a temporary file first, so that concurrent readers never
+		// see a partially written entry.
+		final Path dir = getCacheDirectory();
+		Files.createDirectories(dir);
+		final Path tmp = Files.createTempFile(dir, "entry", ".tmp");
+		try {
+			Files.write(tmp, bytes);
+			try {
+				Files.move(tmp, entry(key), StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (final AtomicMoveNotSupportedException exc) {
+				Files.move(tmp, entry(key), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		finally {
+			Files.deleteIfExists(tmp);
+		}
+	}
+
+	@Override
+	public Metadata duplicate(final Metadata meta, final SCIFIOConfig config)
+		throws IOException
+	{
+		if (!(meta instanceof AbstractMetadata) ||
+			!(meta instanceof SelfContainedMetadata) || meta
+				.getSourceLocation() == null) return null;
+		final byte[] bytes = serialize(meta, "");
+		return bytes == null ? null : deserialize(bytes, "", meta, config);
+	}
+
+	@Override
+	public void clear() throws IOException {
+		final Path dir = getCacheDirectory();
+		if (!Files.isDirectory(dir)) return;
+		try (final DirectoryStream<Path> entries = Files.newDirectoryStream(dir,
+			"*" + SUFFIX))
+		{
+			for (final Path entry : entries) {
+				Files.deleteIfExists(entry);
+			}
+		}
+	}
+
+	@Override
+	public Path getCacheDirectory() {
+		if (cacheDir == null) cacheDir = defaultCacheDirectory();
+		return cacheDir;
+	}
+
+	@Override
+	public void setCacheDirectory(final Path dir) {
+		cacheDir = dir;
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Serializes the given metadata under the given key.
+	 *
+	 * @return The serialized metadata, or null if it cannot be serialized.
+	 */
+	private byte[] serialize(final Metadata meta, final String key)
+		throws IOException
+	{
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeUTF(key);
+			final DataHandle<Location> source = meta.getSource();
+			out.writeBoolean(source != null && source.isLittleEndian());
+			out.writeObject(capture(meta));
+			out.writeObject(captureImages(meta));
+		}
+		catch (final NotSerializableException exc) {
+			log.debug(meta.getFormatName() + " metadata cannot be serialized: " +
+				exc.getMessage());
+			return null;
+		}
+		catch (final IllegalAccessException | UnsupportedOperationException exc) {
+			// NB: Location-only formats have a handle supporting none of the
+			// DataHandle methods, so cannot be restored from their location.
+			log.debug(meta.getFormatName() + " metadata cannot be serialized", exc);
+			return null;
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Restores serialized metadata, attached to a newly opened handle on the
+	 * source of the original metadata.
+	 *
+	 * @return The restored metadata, or null if its images do not match those
+	 *         of the original exactly.
+	 */
+	private Metadata deserialize(final byte[] bytes, final String key,
+		final Metadata meta, final SCIFIOConfig config)
+	{
+		try {
+			final Metadata loaded = read(new ByteArrayInputStream(bytes), key, meta
+				.getSourceLocation(), meta.getFormat(), config);
+			if (captureImages(meta).equals(captureImages(loaded))) return loaded;
+			loaded.close();
+			log.debug(meta.getFormatName() +
+				" metadata cannot be restored: its images are not rebuilt exactly");
+		}
+		catch (final IOException | FormatException | ReflectiveOperationException
+				| RuntimeException exc)
+		{
+			log.debug(meta.getFormatName() + " metadata cannot be restored", exc);
+		}
+		return null;
+	}
+
+	/**
+	 * Reads a cache entry and restores its metadata, attached to a newly opened
+	 * handle on {@code loc}.
+	 *
+	 * @return The metadata, or null if the entry is for another key.
+	 */
+	private Metadata read(final InputStream stream, final String key,
+		final Location loc, final Format format, final SCIFIOConfig config)
+		throws IOException, FormatException, ReflectiveOperationException
+	{
+		final ObjectInputStream in = new ContextObjectInputStream(stream);
+		if (!key.equals(in.readUTF())) return null;
+		final boolean littleEndian = in.readBoolean();
+		@SuppressWarnings("unchecked")
+		final Map<String, Object> values = (Map<String, Object>) in.readObject();
+		@SuppressWarnings("unchecked")
+		final List<CachedImage> images = (List<CachedImage>) in.readObject();
+
+		final Metadata meta = format.createMetadata();
+		restore(meta, values);
+		meta.createImageMetadata(images.size());
+		for (int i = 0; i < images.size(); i++) {
+			images.get(i).restore(meta.get(i));
+		}
+
+		final DataHandle<Location> handle = config.bufferedReadingEnabled()
+			? dataHandleService.readBuffer(loc) : dataHandleService.create(loc);
+		try {
+			handle.setLittleEndian(littleEndian);
+			meta.setSource(handle);
+			meta.setSourceLocation(loc);
+			meta.populateImageMetadata();
+		}
+		catch (final RuntimeException exc) {
+			handle.close();
+			throw exc;
+		}
+		return meta;
+	}
+
+	private static Path defaultCacheDirectory() {
+		final String dir = System.getProperty(CACHE_DIR_PROPERTY);
+		if (dir != null) return Paths.get(dir);
+		final String xdg = System.getenv("XDG_CACHE_HOME");
+		final Path base = xdg != null && !xdg.isEmpty() ? Paths.get(xdg) : Paths
+			.get(System.getProperty("user.home"), ".cache");
+		return base.resolve("scifio").resolve("metadata");
+	}
+
+	/**
+	 * Builds the key identifying the given source: the file's path, size and
+	 * modification time, the format and its version, and the parsing options.
+	 *
+	 * @return The key, or null if the source cannot be cached.
+	 */
+	private static String key(final Location loc, final Format format,
+		final SCIFIOConfig config) throws IOException
+	{
+		if (!(loc instanceof FileLocation) || format == null) return null;
+		final File file = ((FileLocation) loc).getFile();
+		if (!file.isFile() || !isCacheable(loc, format)) return null;
+
+		final Class<?> metaClass = format.getMetadataClass();
+		final ObjectStreamClass metaStream = ObjectStreamClass.lookup(metaClass);
+		final Package pkg = format.getClass().getPackage();
+		return file.getCanonicalPath() + "\n" + file.length() + "\n" + file
+			.lastModified() + "\n" + format.getClass().getName() + "\n" + (pkg ==
+				null ? null : pkg.getImplementationVersion()) + "\n" + (metaStream ==
+					null ? 0 : metaStream.getSerialVersionUID()) + "\n" + config
+						.parserGetLevel() + "\n" + config.parserIsFiltered();
+	}
+
+	/**
+	 * Gets whether metadata of the given format can be cached: it must be
+	 * {@link SelfContainedMetadata}, and the source must be a single file.
+	 * <p>
+	 * NB: The key covers only the source file, so the metadata of formats with
+	 * companion files is never cached, as it would not be invalidated when
+	 * they change.
+	 * </p>
+	 */
+	private static boolean isCacheable(final Location loc, final Format format)
+		throws IOException
+	{
+		if (!SelfContainedMetadata.class.isAssignableFrom(format
+			.getMetadataClass())) return false;
+		try {
+			final Parser parser = format.createParser();
+			return !parser.hasCompanionFiles() && parser.isSingleFile(loc);
+		}
+		catch (final FormatException exc) {
+			return false;
+		}
+	}
+
+	/** Gets the cache file of the given key. */
+	private Path entry(final String key) {
+		try {
+			final byte[] digest = MessageDigest.getInstance("SHA-1").digest(key
+				.getBytes(StandardCharsets.UTF_8));
+			final StringBuilder sb = new StringBuilder();
+			for (final byte b : digest) {
+				sb.append(String.format("%02x", b));
+			}
+			return getCacheDirectory().resolve(sb.toString() + SUFFIX);
+		}
+		catch (final NoSuchAlgorithmException exc) {
+			throw new IllegalStateException(exc);
+		}
+	}
+
+	/**
+	 * Gets the persistent fields of the given metadata class: all non-static,
+	 * non-transient fields declared by {@link AbstractMetadata} and its
+	 * subclasses, except injected services.
+	 */
+	private static List<Field> fields(final Class<?> type) {
+		final List<Field> fields = new ArrayList<>();
+		for (Class<?> c = type; c != null && AbstractMetadata.class
+			.isAssignableFrom(c); c = c.getSuperclass())
+		{
+			for (final Field f : c.getDeclaredFields()) {
+				final int mods = f.getModifiers();
+				if (Modifier.isStatic(mods) || Modifier.isTransient(mods)) continue;
+				if (f.getAnnotation(Parameter.class) != null) continue;
+				f.setAccessible(true);
+				fields.add(f);
+			}
+		}
+		return fields;
+	}
+
+	private static HashMap<String, Object> capture(final Metadata meta)
+		throws IllegalAccessException
+	{
+		final HashMap<String, Object> values = new HashMap<>();
+		for (final Field f : fields(meta.getClass())) {
+			values.put(f.getDeclaringClass().getName() + "#" + f.getName(), f.get(
+				meta));
+		}
+		return values;
+	}
+
+	private static ArrayList<CachedImage> captureImages(final Metadata meta)
+		throws NotSerializableException
+	{
+		final ArrayList<CachedImage> images = new ArrayList<>();
+		for (final ImageMetadata image : meta.getAll()) {
+			images.add(new CachedImage(image));
+		}
+		return images;
+	}
+
+	private static void restore(final Metadata meta,
+		final Map<String, Object> values) throws ReflectiveOperationException
+	{
+		for (final Field f : fields(meta.getClass())) {
+			final String name = f.getDeclaringClass().getName() + "#" + f.getName();
+			if (!values.containsKey(name)) {
+				throw new NoSuchFieldException("No cached value for " + name);
+			}
+			f.set(meta, values.get(name));
+		}
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * The state of an {@link ImageMetadata}, as copied by
+	 * {@link ImageMetadata#copy(ImageMetadata)}. Axes must be linear, and are
+	 * stored by the label of their type and their calibration.
+	 */
+	private static class CachedImage implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String name;
+
+		private final String[] labels;
+
+		private final boolean[] spatial;
+
+		private final String[] units;
+
+		private final double[] scales;
+
+		private final double[] origins;
+
+		private final long[] lengths;
+
+		private final int pixelType;
+
+		private final int bitsPerPixel;
+
+		private final int planarAxisCount;
+
+		private final boolean orderCertain;
+
+		private final boolean littleEndian;
+
+		private final boolean indexed;
+
+		private final boolean falseColor;
+
+		private final boolean metadataComplete;
+
+		private final boolean thumbnail;
+
+		private final long thumbSizeX;
+
+		private final long thumbSizeY;
+
+		private final HashMap<String, Object> table;
+
+		private final ArrayList<long[]> subResolutionLengths;
+
+		private final Object rois;
+
+		private final Object tables;
+
+		private CachedImage(final ImageMetadata image)
+			throws NotSerializableException
+		{
+			final List<CalibratedAxis> axes = image.getAxes();
+			labels = new String[axes.size()];
+			spatial = new boolean[axes.size()];
+			units = new String[axes.size()];
+			scales = new double[axes.size()];
+			origins = new double[axes.size()];
+			for (int i = 0; i < labels.length; i++) {
+				final CalibratedAxis axis = axes.get(i);
+				if (!(axis instanceof LinearAxis)) {
+					throw new NotSerializableException(axis.getClass().getName());
+				}
+				labels[i] = axis.type().getLabel();
+				spatial[i] = axis.type().isSpatial();
+				units[i] = axis.unit();
+				scales[i] = ((LinearAxis) axis).scale();
+				origins[i] = ((LinearAxis) axis).origin();
+			}
+			name = image.getName();
+			lengths = image.getAxesLengths();
+			pixelType = image.getPixelType();
+			bitsPerPixel = image.getBitsPerPixel();
+			planarAxisCount = image.getPlanarAxisCount();
+			orderCertain = image.isOrderCertain();
+			littleEndian = image.isLittleEndian();
+			indexed = image.isIndexed();
+			falseColor = image.isFalseColor();
+			metadataComplete = image.isMetadataComplete();
+			thumbnail = image.isThumbnail();
+			thumbSizeX = image.getThumbSizeX();
+			thumbSizeY = image.getThumbSizeY();
+			table = image.getTable() == null ? null : new HashMap<>(image
+				.getTable());
+			subResolutionLengths = new ArrayList<>(image.getSubResolutionLengths());
+			rois = image.getROIs();
+			tables = image.getTables();
+		}
+
+		private void restore(final ImageMetadata image) {
+			final List<CalibratedAxis> axes = new ArrayList<>();
+			for (int i = 0; i < labels.length; i++) {
+				final AxisType type = Axes.UNKNOWN_LABEL.equals(labels[i]) ? Axes
+					.unknown() : Axes.get(labels[i], spatial[i]);
+				axes.add(new DefaultLinearAxis(type, units[i], scales[i],
+					origins[i]));
+			}
+			image.populate(name, axes, lengths, pixelType, bitsPerPixel,
+				orderCertain, littleEndian, indexed, falseColor, metadataComplete);
+			image.setPlanarAxisCount(planarAxisCount);
+			image.setThumbnail(thumbnail);
+			image.setThumbSizeX(thumbSizeX);
+			image.setThumbSizeY(thumbSizeY);
+			if (table != null) image.setTable(new DefaultMetaTable(table));
+			image.setSubResolutionLengths(subResolutionLengths);
+			image.setROIs(rois);
+			image.setTables(tables);
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (!(o instanceof CachedImage)) return false;
+			final CachedImage c = (CachedImage) o;
+			if (subResolutionLengths.size() != c.subResolutionLengths.size()) {
+				return false;
+			}
+			for (int i = 0; i < subResolutionLengths.size(); i++) {
+				if (!Arrays.equals(subResolutionLengths.get(i), c.subResolutionLengths
+					.get(i))) return false;
+			}
+			return Objects.equals(name, c.name) && Arrays.equals(labels,
+				c.labels) && Arrays.equals(spatial, c.spatial) && Arrays.equals(units,
+					c.units) && Arrays.equals(scales, c.scales) && Arrays.equals(
+						origins, c.origins) && Arrays.equals(lengths, c.lengths) &&
+				pixelType == c.pixelType && bitsPerPixel == c.bitsPerPixel &&
+				planarAxisCount == c.planarAxisCount &&
+				orderCertain == c.orderCertain && littleEndian == c.littleEndian &&
+				indexed == c.indexed && falseColor == c.falseColor &&
+				metadataComplete == c.metadataComplete && thumbnail == c.thumbnail &&
+				thumbSizeX == c.thumbSizeX && thumbSizeY == c.thumbSizeY && Objects
+					.equals(table, c.table) && Objects.equals(rois, c.rois) && Objects
+						.equals(tables, c.tables);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(name, Arrays.hashCode(lengths), pixelType);
+		}
+	}
+
+	/**
+	 * Resolves classes with the SciJava class loader, as plugins do. Only
+	 * {@code io.scif} and core JDK classes, and arrays of them, are resolved.
+	 * <p>
+	 * NB: This is the look-ahead check {@link java.io.ObjectInputStream} allows
+	 * on Java 8, which lacks {@code ObjectInputFilter}.
+	 * </p>
+	 */
+	private static class ContextObjectInputStream extends ObjectInputStream {
+
+		private static final String[] ALLOWED = { "io.scif.", "java.lang.",
+			"java.util.", "java.math.", "java.time." };
+
+		private ContextObjectInputStream(final InputStream in) throws IOException {
+			super(in);
+		}
+
+		@Override
+		protected Class<?> resolveClass(final ObjectStreamClass desc)
+			throws IOException, ClassNotFoundException
+		{
+			final String name = desc.getName();
+			if (!isAllowed(name)) {
+				throw new InvalidClassException(name, "Not allowed in metadata cache");
+			}
+			try {
+				return Class.forName(name, false, Context.getClassLoader());
+			}
+			catch (final ClassNotFoundException exc) {
+				return super.resolveClass(desc);
+			}
+		}
+
+		@Override
+		protected Class<?> resolveProxyClass(final String[] interfaces)
+			throws IOException
+		{
+			throw new InvalidClassException("Proxy classes are not allowed in " +
+				"metadata cache");
+		}
+
+		private static boolean isAllowed(final String name) {
+			int i = 0;
+			while (i < name.length() && name.charAt(i) == '[') i++;
+			// NB: Arrays of primitives, e.g. [J.
+			if (i > 0 && name.charAt(i) != 'L') return true;
+			final String element = i > 0 ? name.substring(i + 1, name.length() - 1)
+				: name;
+			if (element.startsWith("java.lang.invoke.") || element.startsWith(
+				"java.lang.reflect.")) return false;
+			for (final String prefix : ALLOWED) {
+				if (element.startsWith(prefix)) return true;
+			}
+			return false;
+		}
+	}
+}
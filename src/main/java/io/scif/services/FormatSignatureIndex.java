@@ -0,0 +1,229 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.services;
+
+import io.scif.AbstractChecker;
+import io.scif.Checker;
+import io.scif.Format;
+import io.scif.FormatException;
+import io.scif.FormatSignature;
+import io.scif.config.SCIFIOConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.scijava.io.location.Location;
+
+/**
+ * Index of the {@link FormatSignature}s declared by {@link Format}s, used by
+ * {@link DefaultFormatService} to rule out formats from a single read of a
+ * source's header.
+ * <p>
+ * Signatures at offset 0 are bucketed by their first byte, so a header is
+ * only compared against the signatures which can possibly match it.
+ * </p>
+ */
+class FormatSignatureIndex {
+
+	// -- Fields --
+
+	/** Maps indexed Format classes to their entries. */
+	private final Map<Class<?>, Entry> entries = new HashMap<>();
+
+	/** Immutable lookup table, rebuilt whenever a format is (un)indexed. */
+	private volatile Table table = new Table(Collections.emptyList());
+
+	// -- FormatSignatureIndex methods --
+
+	/**
+	 * Indexes the signatures of the given format's {@link Checker}, if any.
+	 *
+	 * @throws FormatException If the format's checker cannot be created.
+	 */
+	public synchronized void add(final Format format) throws FormatException {
+		final Checker checker = format.createChecker();
+		final FormatSignature[] signatures = checker.getSignatures();
+		if (signatures == null || signatures.length == 0) return;
+		entries.put(format.getClass(), new Entry(format.getClass(), signatures,
+			checker.suffixSufficient(), usesDefaultLocationCheck(checker)));
+		table = new Table(entries.values());
+	}
+
+	/** Removes the given format from this index. */
+	public synchronized void remove(final Format format) {
+		if (entries.remove(format.getClass()) != null) {
+			table = new Table(entries.values());
+		}
+	}
+
+	/**
+	 * Gets the number of header bytes needed to test all indexed signatures.
+	 */
+	public int getHeaderLength() {
+		return table.headerLength;
+	}
+
+	/**
+	 * Gets the classes of the indexed formats with a signature matching the
+	 * given header.
+	 *
+	 * @param header The first bytes of a source.
+	 * @param length The number of valid bytes in {@code header}.
+	 */
+	public Set<Class<?>> match(final byte[] header, final int length) {
+		final Table t = table;
+		final Set<Class<?>> matches = new HashSet<>();
+		if (length > 0) {
+			addMatches(t.byFirstByte.get(header[0] & 0xff), header, length, matches);
+		}
+		addMatches(t.offset, header, length, matches);
+		return matches;
+	}
+
+	/**
+	 * Checks whether the given format has been ruled out by its signatures.
+	 *
+	 * @param format The format to check.
+	 * @param matches The result of {@link #match} for the source's header.
+	 * @return True iff the format declares signatures, none of which matched.
+	 */
+	public boolean excludes(final Format format, final Set<Class<?>> matches) {
+		return table.entries.containsKey(format.getClass()) && !matches.contains(
+			format.getClass());
+	}
+
+	/**
+	 * Checks whether {@link Checker#isFormat(Location, SCIFIOConfig)} of the
+	 * given format is decided by the header of the named source, i.e. it would
+	 * have to open the source, and the checker uses the default logic of
+	 * {@link AbstractChecker}.
+	 */
+	public boolean needsHeader(final Format format, final boolean suffixMatch) {
+		final Entry entry = table.entries.get(format.getClass());
+		return entry != null && entry.defaultLocationCheck && !(suffixMatch &&
+			entry.suffixSufficient);
+	}
+
+	// -- Helper methods --
+
+	private static void addMatches(final List<Signed> candidates,
+		final byte[] header, final int length, final Set<Class<?>> matches)
+	{
+		for (final Signed candidate : candidates) {
+			if (candidate.signature.matches(header, length)) {
+				matches.add(candidate.formatClass);
+			}
+		}
+	}
+
+	private static boolean usesDefaultLocationCheck(final Checker checker) {
+		try {
+			return checker.getClass().getMethod("isFormat", Location.class,
+				SCIFIOConfig.class).getDeclaringClass() == AbstractChecker.class;
+		}
+		catch (final NoSuchMethodException exc) {
+			return false;
+		}
+	}
+
+	// -- Helper classes --
+
+	private static class Entry {
+
+		private final Class<?> formatClass;
+
+		private final FormatSignature[] signatures;
+
+		private final boolean suffixSufficient;
+
+		private final boolean defaultLocationCheck;
+
+		private Entry(final Class<?> formatClass,
+			final FormatSignature[] signatures, final boolean suffixSufficient,
+			final boolean defaultLocationCheck)
+		{
+			this.formatClass = formatClass;
+			this.signatures = signatures.clone();
+			this.suffixSufficient = suffixSufficient;
+			this.defaultLocationCheck = defaultLocationCheck;
+		}
+	}
+
+	private static class Signed {
+
+		private final Class<?> formatClass;
+
+		private final FormatSignature signature;
+
+		private Signed(final Class<?> formatClass,
+			final FormatSignature signature)
+		{
+			this.formatClass = formatClass;
+			this.signature = signature;
+		}
+	}
+
+	private static class Table {
+
+		private final Map<Class<?>, Entry> entries = new HashMap<>();
+
+		/** Signatures at offset 0, bucketed by their first byte. */
+		private final List<List<Signed>> byFirstByte = new ArrayList<>(256);
+
+		/** Signatures at a nonzero offset. */
+		private final List<Signed> offset = new ArrayList<>();
+
+		private final int headerLength;
+
+		private Table(final Iterable<Entry> source) {
+			for (int i = 0; i < 256; i++) {
+				byFirstByte.add(new ArrayList<>());
+			}
+			int length = 0;
+			for (final Entry entry : source) {
+				entries.put(entry.formatClass, entry);
+				for (final FormatSignature signature : entry.signatures) {
+					final Signed signed = new Signed(entry.formatClass, signature);
+					if (signature.getOffset() == 0) {
+						byFirstByte.get(signature.getByte(0) & 0xff).add(signed);
+					}
+					else offset.add(signed);
+					length = Math.max(length, signature.getEnd());
+				}
+			}
+			headerLength = length;
+		}
+	}
+}
@@ -31,6 +31,7 @@ package io.scif.services;
 
 import io.scif.FormatException;
 import io.scif.Metadata;
+import io.scif.Reader;
 import io.scif.SCIFIOService;
 import io.scif.Writer;
 import io.scif.config.SCIFIOConfig;
@@ -78,6 +79,22 @@ public interface InitializeService extends SCIFIOService {
 	ReaderFilter initializeReader(Location id, SCIFIOConfig config)
 		throws FormatException, IOException;
 
+	/**
+	 * Creates another {@code Reader} on the same image source as the given one,
+	 * ready to open planes independently of it. If the given reader's
+	 * {@code Metadata} is {@link io.scif.SelfContainedMetadata}, the new reader
+	 * gets a copy of it rather than parsing the source again; otherwise, the
+	 * source is parsed again. The new reader is wrapped in the same filters, in
+	 * the same configuration.
+	 *
+	 * @param reader Initialized reader to duplicate.
+	 * @param config Configuration for this method execution.
+	 * @return An initialized {@code Reader}, wrapped in a {@link ReaderFilter}
+	 *         if {@code reader} is one.
+	 */
+	Reader duplicateReader(Reader reader, SCIFIOConfig config)
+		throws FormatException, IOException;
+
 	/**
 	 * See {@link #initializeWriter(Location, Location, SCIFIOConfig)}. Will not
 	 * open the image source while parsing metadata.
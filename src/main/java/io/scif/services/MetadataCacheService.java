@@ -0,0 +1,98 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.services;
+
+import io.scif.Format;
+import io.scif.Metadata;
+import io.scif.SCIFIOService;
+import io.scif.config.SCIFIOConfig;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.scijava.io.location.Location;
+
+/**
+ * A persistent, on-disk cache of parsed {@link Metadata}, allowing unchanged
+ * files to be reopened without parsing them again.
+ * <p>
+ * Entries are keyed by the file's path, size and modification time, and by the
+ * format and its version, so modified files are parsed again. Only local,
+ * single files whose metadata is {@link io.scif.SelfContainedMetadata} are
+ * cached. Metadata which cannot be serialized, or whose images cannot be
+ * restored exactly, is simply not cached.
+ * </p>
+ *
+ * @see SCIFIOConfig#parserSetMetadataCached(boolean)
+ */
+public interface MetadataCacheService extends SCIFIOService {
+
+	/**
+	 * Looks up the cached metadata of the given source.
+	 *
+	 * @param loc Location of the source.
+	 * @param format Format of the source.
+	 * @param config Configuration the source is opened with.
+	 * @return Metadata attached to a newly opened handle on {@code loc}, ready
+	 *         for reading, or null if there is no valid cache entry.
+	 */
+	Metadata load(Location loc, Format format, SCIFIOConfig config)
+		throws IOException;
+
+	/**
+	 * Stores the given freshly parsed metadata in the cache, keyed by its
+	 * source location. Does nothing if the metadata cannot be cached.
+	 *
+	 * @param meta Metadata to cache.
+	 * @param config Configuration the metadata was parsed with.
+	 */
+	void save(Metadata meta, SCIFIOConfig config) throws IOException;
+
+	/**
+	 * Copies the given metadata without parsing its source again, by the same
+	 * means entries are stored in the cache.
+	 *
+	 * @param meta Metadata to copy.
+	 * @param config Configuration the copy is opened with.
+	 * @return A copy of {@code meta} attached to a newly opened handle on its
+	 *         source, or null if the metadata cannot be copied this way, e.g.
+	 *         as it is not {@link io.scif.SelfContainedMetadata}.
+	 */
+	Metadata duplicate(Metadata meta, SCIFIOConfig config) throws IOException;
+
+	/** Removes all entries from the cache. */
+	void clear() throws IOException;
+
+	/** Gets the directory the cache is stored in. */
+	Path getCacheDirectory();
+
+	/** Sets the directory the cache is stored in. */
+	void setCacheDirectory(Path dir);
+}
@@ -0,0 +1,529 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+/**
+ * Utility methods for converting raw pixel bytes to primitive arrays of
+ * another type in one pass.
+ * <p>
+ * Each method reads the bytes through a typed {@link ByteBuffer} view of the
+ * given byte order, and widens or narrows every pixel with the same rules as a
+ * Java cast from the pixel's {@code double} value, i.e. with the same results
+ * as {@link io.scif.img.ImgUtilityService#decodeWord} but without per-pixel
+ * dispatch.
+ * </p>
+ */
+public final class ConversionTools {
+
+	// -- Constructor --
+
+	private ConversionTools() {
+		// NB: Prevent instantiation of utility class.
+	}
+
+	// -- Conversion methods --
+
+	/**
+	 * Converts pixels of the given type to {@code byte} values.
+	 *
+	 * @param src Raw pixel bytes.
+	 * @param pixelType Pixel type of {@code src}, as defined in
+	 *          {@link FormatTools}.
+	 * @param little Whether {@code src} is little-endian.
+	 * @param dest Destination array.
+	 * @param offset Index of {@code dest} at which to store the first pixel.
+	 * @throws IllegalArgumentException If the pixel type is unknown.
+	 */
+	public static void toBytes(final byte[] src, final int pixelType,
+		final boolean little, final byte[] dest, final int offset)
+	{
+		final int n = src.length / FormatTools.getBytesPerPixel(pixelType);
+		switch (pixelType) {
+			case FormatTools.INT8:
+			case FormatTools.UINT8:
+				System.arraycopy(src, 0, dest, offset, n);
+				break;
+			case FormatTools.INT16: {
+				final ShortBuffer in = wrap(src, little).asShortBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = (byte) in.get(i);
+				}
+				break;
+			}
+			case FormatTools.UINT16: {
+				final ShortBuffer in = wrap(src, little).asShortBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = (byte) (in.get(i) & 0xffff);
+				}
+				break;
+			}
+			case FormatTools.INT32: {
+				final IntBuffer in = wrap(src, little).asIntBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = (byte) in.get(i);
+				}
+				break;
+			}
+			case FormatTools.UINT32: {
+				final IntBuffer in = wrap(src, little).asIntBuffer();
+				for (int i = 0; i < n; i++) {
+					// NB: Narrow via double, as decodeWord does.
+					dest[offset + i] = (byte) (double) (in.get(i) & 0xffffffffL);
+				}
+				break;
+			}
+			case FormatTools.FLOAT: {
+				final FloatBuffer in = wrap(src, little).asFloatBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = (byte) in.get(i);
+				}
+				break;
+			}
+			case FormatTools.DOUBLE: {
+				final DoubleBuffer in = wrap(src, little).asDoubleBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = (byte) in.get(i);
+				}
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Converts pixels of the given type to {@code char} values.
+	 *
+	 * @param src Raw pixel bytes.
+	 * @param pixelType Pixel type of {@code src}, as defined in
+	 *          {@link FormatTools}.
+	 * @param little Whether {@code src} is little-endian.
+	 * @param dest Destination array.
+	 * @param offset Index of {@code dest} at which to store the first pixel.
+	 * @throws IllegalArgumentException If the pixel type is unknown.
+	 */
+	public static void toChars(final byte[] src, final int pixelType,
+		final boolean little, final char[] dest, final int offset)
+	{
+		final int n = src.length / FormatTools.getBytesPerPixel(pixelType);
+		switch (pixelType) {
+			case FormatTools.INT8:
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = (char) src[i];
+				}
+				break;
+			case FormatTools.UINT8:
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = (char) (src[i] & 0xff);
+				}
+				break;
+			case FormatTools.INT16:
+			case FormatTools.UINT16:
+				wrap(src, little).asCharBuffer().get(dest, offset, n);
+				break;
+			case FormatTools.INT32: {
+				final IntBuffer in = wrap(src, little).asIntBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = (char) in.get(i);
+				}
+				break;
+			}
+			case FormatTools.UINT32: {
+				final IntBuffer in = wrap(src, little).asIntBuffer();
+				for (int i = 0; i < n; i++) {
+					// NB: Narrow via double, as decodeWord does.
+					dest[offset + i] = (char) (double) (in.get(i) & 0xffffffffL);
+				}
+				break;
+			}
+			case FormatTools.FLOAT: {
+				final FloatBuffer in = wrap(src, little).asFloatBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = (char) in.get(i);
+				}
+				break;
+			}
+			case FormatTools.DOUBLE: {
+				final DoubleBuffer in = wrap(src, little).asDoubleBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = (char) in.get(i);
+				}
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Converts pixels of the given type to {@code short} values.
+	 *
+	 * @param src Raw pixel bytes.
+	 * @param pixelType Pixel type of {@code src}, as defined in
+	 *          {@link FormatTools}.
+	 * @param little Whether {@code src} is little-endian.
+	 * @param dest Destination array.
+	 * @param offset Index of {@code dest} at which to store the first pixel.
+	 * @throws IllegalArgumentException If the pixel type is unknown.
+	 */
+	public static void toShorts(final byte[] src, final int pixelType,
+		final boolean little, final short[] dest, final int offset)
+	{
+		final int n = src.length / FormatTools.getBytesPerPixel(pixelType);
+		switch (pixelType) {
+			case FormatTools.INT8:
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = src[i];
+				}
+				break;
+			case FormatTools.UINT8:
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = (short) (src[i] & 0xff);
+				}
+				break;
+			case FormatTools.INT16:
+			case FormatTools.UINT16:
+				wrap(src, little).asShortBuffer().get(dest, offset, n);
+				break;
+			case FormatTools.INT32: {
+				final IntBuffer in = wrap(src, little).asIntBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = (short) in.get(i);
+				}
+				break;
+			}
+			case FormatTools.UINT32: {
+				final IntBuffer in = wrap(src, little).asIntBuffer();
+				for (int i = 0; i < n; i++) {
+					// NB: Narrow via double, as decodeWord does.
+					dest[offset + i] = (short) (double) (in.get(i) & 0xffffffffL);
+				}
+				break;
+			}
+			case FormatTools.FLOAT: {
+				final FloatBuffer in = wrap(src, little).asFloatBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = (short) in.get(i);
+				}
+				break;
+			}
+			case FormatTools.DOUBLE: {
+				final DoubleBuffer in = wrap(src, little).asDoubleBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = (short) in.get(i);
+				}
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Converts pixels of the given type to {@code int} values.
+	 *
+	 * @param src Raw pixel bytes.
+	 * @param pixelType Pixel type of {@code src}, as defined in
+	 *          {@link FormatTools}.
+	 * @param little Whether {@code src} is little-endian.
+	 * @param dest Destination array.
+	 * @param offset Index of {@code dest} at which to store the first pixel.
+	 * @throws IllegalArgumentException If the pixel type is unknown.
+	 */
+	public static void toInts(final byte[] src, final int pixelType,
+		final boolean little, final int[] dest, final int offset)
+	{
+		final int n = src.length / FormatTools.getBytesPerPixel(pixelType);
+		switch (pixelType) {
+			case FormatTools.INT8:
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = src[i];
+				}
+				break;
+			case FormatTools.UINT8:
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = src[i] & 0xff;
+				}
+				break;
+			case FormatTools.INT16: {
+				final ShortBuffer in = wrap(src, little).asShortBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = in.get(i);
+				}
+				break;
+			}
+			case FormatTools.UINT16: {
+				final ShortBuffer in = wrap(src, little).asShortBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = in.get(i) & 0xffff;
+				}
+				break;
+			}
+			case FormatTools.INT32:
+				wrap(src, little).asIntBuffer().get(dest, offset, n);
+				break;
+			case FormatTools.UINT32: {
+				final IntBuffer in = wrap(src, little).asIntBuffer();
+				for (int i = 0; i < n; i++) {
+					// NB: Narrow via double, as decodeWord does.
+					dest[offset + i] = (int) (double) (in.get(i) & 0xffffffffL);
+				}
+				break;
+			}
+			case FormatTools.FLOAT: {
+				final FloatBuffer in = wrap(src, little).asFloatBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = (int) in.get(i);
+				}
+				break;
+			}
+			case FormatTools.DOUBLE: {
+				final DoubleBuffer in = wrap(src, little).asDoubleBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = (int) in.get(i);
+				}
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Converts pixels of the given type to {@code long} values.
+	 *
+	 * @param src Raw pixel bytes.
+	 * @param pixelType Pixel type of {@code src}, as defined in
+	 *          {@link FormatTools}.
+	 * @param little Whether {@code src} is little-endian.
+	 * @param dest Destination array.
+	 * @param offset Index of {@code dest} at which to store the first pixel.
+	 * @throws IllegalArgumentException If the pixel type is unknown.
+	 */
+	public static void toLongs(final byte[] src, final int pixelType,
+		final boolean little, final long[] dest, final int offset)
+	{
+		final int n = src.length / FormatTools.getBytesPerPixel(pixelType);
+		switch (pixelType) {
+			case FormatTools.INT8:
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = src[i];
+				}
+				break;
+			case FormatTools.UINT8:
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = src[i] & 0xff;
+				}
+				break;
+			case FormatTools.INT16: {
+				final ShortBuffer in = wrap(src, little).asShortBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = in.get(i);
+				}
+				break;
+			}
+			case FormatTools.UINT16: {
+				final ShortBuffer in = wrap(src, little).asShortBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = in.get(i) & 0xffff;
+				}
+				break;
+			}
+			case FormatTools.INT32: {
+				final IntBuffer in = wrap(src, little).asIntBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = in.get(i);
+				}
+				break;
+			}
+			case FormatTools.UINT32: {
+				final IntBuffer in = wrap(src, little).asIntBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = in.get(i) & 0xffffffffL;
+				}
+				break;
+			}
+			case FormatTools.FLOAT: {
+				final FloatBuffer in = wrap(src, little).asFloatBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = (long) in.get(i);
+				}
+				break;
+			}
+			case FormatTools.DOUBLE: {
+				final DoubleBuffer in = wrap(src, little).asDoubleBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = (long) in.get(i);
+				}
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Converts pixels of the given type to {@code float} values.
+	 *
+	 * @param src Raw pixel bytes.
+	 * @param pixelType Pixel type of {@code src}, as defined in
+	 *          {@link FormatTools}.
+	 * @param little Whether {@code src} is little-endian.
+	 * @param dest Destination array.
+	 * @param offset Index of {@code dest} at which to store the first pixel.
+	 * @throws IllegalArgumentException If the pixel type is unknown.
+	 */
+	public static void toFloats(final byte[] src, final int pixelType,
+		final boolean little, final float[] dest, final int offset)
+	{
+		final int n = src.length / FormatTools.getBytesPerPixel(pixelType);
+		switch (pixelType) {
+			case FormatTools.INT8:
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = src[i];
+				}
+				break;
+			case FormatTools.UINT8:
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = src[i] & 0xff;
+				}
+				break;
+			case FormatTools.INT16: {
+				final ShortBuffer in = wrap(src, little).asShortBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = in.get(i);
+				}
+				break;
+			}
+			case FormatTools.UINT16: {
+				final ShortBuffer in = wrap(src, little).asShortBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = in.get(i) & 0xffff;
+				}
+				break;
+			}
+			case FormatTools.INT32: {
+				final IntBuffer in = wrap(src, little).asIntBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = in.get(i);
+				}
+				break;
+			}
+			case FormatTools.UINT32: {
+				final IntBuffer in = wrap(src, little).asIntBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = in.get(i) & 0xffffffffL;
+				}
+				break;
+			}
+			case FormatTools.FLOAT:
+				wrap(src, little).asFloatBuffer().get(dest, offset, n);
+				break;
+			case FormatTools.DOUBLE: {
+				final DoubleBuffer in = wrap(src, little).asDoubleBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = (float) in.get(i);
+				}
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Converts pixels of the given type to {@code double} values.
+	 *
+	 * @param src Raw pixel bytes.
+	 * @param pixelType Pixel type of {@code src}, as defined in
+	 *          {@link FormatTools}.
+	 * @param little Whether {@code src} is little-endian.
+	 * @param dest Destination array.
+	 * @param offset Index of {@code dest} at which to store the first pixel.
+	 * @throws IllegalArgumentException If the pixel type is unknown.
+	 */
+	public static void toDoubles(final byte[] src, final int pixelType,
+		final boolean little, final double[] dest, final int offset)
+	{
+		final int n = src.length / FormatTools.getBytesPerPixel(pixelType);
+		switch (pixelType) {
+			case FormatTools.INT8:
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = src[i];
+				}
+				break;
+			case FormatTools.UINT8:
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = src[i] & 0xff;
+				}
+				break;
+			case FormatTools.INT16: {
+				final ShortBuffer in = wrap(src, little).asShortBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = in.get(i);
+				}
+				break;
+			}
+			case FormatTools.UINT16: {
+				final ShortBuffer in = wrap(src, little).asShortBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = in.get(i) & 0xffff;
+				}
+				break;
+			}
+			case FormatTools.INT32: {
+				final IntBuffer in = wrap(src, little).asIntBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = in.get(i);
+				}
+				break;
+			}
+			case FormatTools.UINT32: {
+				final IntBuffer in = wrap(src, little).asIntBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = in.get(i) & 0xffffffffL;
+				}
+				break;
+			}
+			case FormatTools.FLOAT: {
+				final FloatBuffer in = wrap(src, little).asFloatBuffer();
+				for (int i = 0; i < n; i++) {
+					dest[offset + i] = in.get(i);
+				}
+				break;
+			}
+			case FormatTools.DOUBLE:
+				wrap(src, little).asDoubleBuffer().get(dest, offset, n);
+				break;
+		}
+	}
+
+	// -- Helper methods --
+
+	private static ByteBuffer wrap(final byte[] src, final boolean little) {
+		return ByteBuffer.wrap(src).order(little ? ByteOrder.LITTLE_ENDIAN
+			: ByteOrder.BIG_ENDIAN);
+	}
+}
@@ -29,6 +29,7 @@
 
 package io.scif.util;
 
+import io.scif.ByteArrayPlane;
 import io.scif.FormatException;
 import io.scif.ImageMetadata;
 import io.scif.Metadata;
@@ -38,6 +39,7 @@ import io.scif.Writer;
 import io.scif.config.SCIFIOConfig;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Vector;
 
@@ -652,6 +654,25 @@ public final class FormatTools {
 		checkPlaneForWriting(m, imageIndex, planeIndex, bufLength, bounds);
 	}
 
+	/**
+	 * Convenience method for checking that the resolution level, plane number
+	 * and tile size are all valid for reading from a resolution level of the
+	 * given image. The tile is checked against the size of that level.
+	 */
+	public static void checkPlaneForReading(final Metadata m,
+		final int imageIndex, final int resolution, final long planeIndex,
+		final Interval bounds) throws FormatException
+	{
+		assertId(m.getSourceLocation(), true, 2);
+		final int resolutionCount = m.get(imageIndex).getResolutionCount();
+		if (resolution < 0 || resolution >= resolutionCount) {
+			throw new FormatException("Invalid resolution level: " + resolution +
+				" (resolutionCount=" + resolutionCount + ")");
+		}
+		checkPlaneNumber(m, imageIndex, planeIndex);
+		checkTileSize(m.get(imageIndex).getResolution(resolution), bounds);
+	}
+
 	/**
 	 * Convenience method for checking that the plane number, tile size and buffer
 	 * sizes are all valid for the given Metadata. If 'bufLength' is less than 0,
@@ -684,12 +705,19 @@ public final class FormatTools {
 	public static void checkTileSize(final Metadata m, final Interval bounds,
 		final int imageIndex) throws FormatException
 	{
-		final List<CalibratedAxis> axes = m.get(imageIndex).getAxesPlanar();
+		checkTileSize(m.get(imageIndex), bounds);
+	}
+
+	/** Checks that the given tile size is valid for the given image. */
+	public static void checkTileSize(final ImageMetadata iMeta,
+		final Interval bounds) throws FormatException
+	{
+		final List<CalibratedAxis> axes = iMeta.getAxesPlanar();
 
 		for (int i = 0; i < axes.size(); i++) {
 			final long start = bounds.min(i);
 			final long end = bounds.max(i);
-			final long length = m.get(imageIndex).getAxisLength(axes.get(i));
+			final long length = iMeta.getAxisLength(axes.get(i));
 
 			if (start < 0 || end < 0 || end >= length) {
 				throw new FormatException("Invalid planar size: start=" + start +
@@ -787,6 +815,133 @@ public final class FormatTools {
 		return bytesPerPixel * Intervals.numElements(bounds);
 	}
 
+	// -- Utility methods - thumbnails --
+
+	/**
+	 * Computes the decimation step for a thumbnail: the largest number of
+	 * pixels which can be skipped along X and Y while keeping the result at
+	 * least {@code thumbSizeX} by {@code thumbSizeY}.
+	 *
+	 * @return The step, which is 1 if the plane is already no larger than the
+	 *         thumbnail.
+	 */
+	public static int getThumbnailStep(final long sizeX, final long sizeY,
+		final int thumbSizeX, final int thumbSizeY)
+	{
+		if (thumbSizeX <= 0 || thumbSizeY <= 0) {
+			throw new IllegalArgumentException("Invalid thumbnail size: " +
+				thumbSizeX + "x" + thumbSizeY);
+		}
+		final long step = Math.min(sizeX / thumbSizeX, sizeY / thumbSizeY);
+		return (int) Math.max(1, Math.min(step, Integer.MAX_VALUE));
+	}
+
+	/**
+	 * Opens a reduced-resolution copy of the given plane. Reading starts from the
+	 * smallest {@link ImageMetadata#getResolution resolution level} which still
+	 * covers the thumbnail, which is then decimated, keeping one pixel in every
+	 * {@link #getThumbnailStep step} along X and Y. Sampled rows are read one at
+	 * a time, so the memory used is proportional to the level width plus the
+	 * size of the result, rather than to the size of the full plane.
+	 *
+	 * @param r Reader to open the plane with.
+	 * @param imageIndex the image index within the dataset.
+	 * @param planeIndex the plane index within the image.
+	 * @param thumbSizeX minimum width of the result.
+	 * @param thumbSizeY minimum height of the result.
+	 * @param config Configuration information to use for each read.
+	 * @return A plane covering the whole planar extent, whose
+	 *         {@link Plane#getLengths() lengths} give its reduced size.
+	 * @see Reader#openThumbPlane
+	 */
+	public static Plane openThumbPlane(final Reader r, final int imageIndex,
+		final long planeIndex, final int thumbSizeX, final int thumbSizeY,
+		final SCIFIOConfig config) throws FormatException, IOException
+	{
+		final ImageMetadata fullMeta = r.getMetadata().get(imageIndex);
+		int resolution = 0;
+		while (resolution + 1 < fullMeta.getResolutionCount()) {
+			final ImageMetadata next = fullMeta.getResolution(resolution + 1);
+			if (next.getAxisLength(Axes.X) < thumbSizeX || next.getAxisLength(
+				Axes.Y) < thumbSizeY) break;
+			resolution++;
+		}
+
+		final ImageMetadata meta = fullMeta.getResolution(resolution);
+		final int xIndex = meta.getAxisIndex(Axes.X);
+		final int yIndex = meta.getAxisIndex(Axes.Y);
+		final long[] lengths = meta.getAxesLengthsPlanar();
+		final int step = getThumbnailStep(lengths[xIndex], lengths[yIndex],
+			thumbSizeX, thumbSizeY);
+		if (step == 1) {
+			return r.openPlane(imageIndex, resolution, planeIndex, new FinalInterval(
+				lengths), config);
+		}
+
+		final long[] thumbLengths = lengths.clone();
+		thumbLengths[xIndex] = lengths[xIndex] / step;
+		thumbLengths[yIndex] = lengths[yIndex] / step;
+		final ByteArrayPlane thumb = new ByteArrayPlane(meta, new FinalInterval(
+			thumbLengths));
+		final byte[] dest = thumb.getData();
+		final int bpp = getBytesPerPixel(meta.getPixelType());
+
+		// Strides of the single-row source and of the thumbnail, in pixels
+		final long[] rowLengths = lengths.clone();
+		rowLengths[yIndex] = 1;
+		final long[] srcStrides = new long[lengths.length];
+		final long[] destStrides = new long[lengths.length];
+		long srcStride = 1, destStride = 1;
+		for (int d = 0; d < lengths.length; d++) {
+			srcStrides[d] = srcStride;
+			destStrides[d] = destStride;
+			srcStride *= rowLengths[d];
+			destStride *= thumbLengths[d];
+		}
+
+		// NB: Sample the middle of each step, rather than its first pixel.
+		final int offset = step / 2;
+		final long[] rowMin = new long[lengths.length];
+		final long[] rowMax = new long[lengths.length];
+		for (int d = 0; d < lengths.length; d++)
+			rowMax[d] = lengths[d] - 1;
+		final long[] pos = new long[lengths.length];
+		Plane row = null;
+		for (long j = 0; j < thumbLengths[yIndex]; j++) {
+			rowMin[yIndex] = rowMax[yIndex] = j * step + offset;
+			final Interval rowBounds = new FinalInterval(rowMin, rowMax);
+			row = row == null ? r.openPlane(imageIndex, resolution, planeIndex,
+				rowBounds, config) : r.openPlane(imageIndex, resolution, planeIndex, row,
+					rowBounds, config);
+			final byte[] src = row.getBytes();
+
+			// Visit each sample of this thumbnail row, in thumbnail order
+			Arrays.fill(pos, 0);
+			pos[yIndex] = j;
+			while (true) {
+				long srcIndex = 0, destIndex = 0;
+				for (int d = 0; d < pos.length; d++) {
+					destIndex += pos[d] * destStrides[d];
+					if (d == xIndex) srcIndex += (pos[d] * step + offset) * srcStrides[d];
+					else if (d != yIndex) srcIndex += pos[d] * srcStrides[d];
+				}
+				System.arraycopy(src, (int) srcIndex * bpp, dest, (int) destIndex * bpp,
+					bpp);
+
+				// Advance to the next position, skipping the Y axis
+				int d = 0;
+				while (d < pos.length) {
+					if (d != yIndex && ++pos[d] < thumbLengths[d]) break;
+					if (d != yIndex) pos[d] = 0;
+					d++;
+				}
+				if (d == pos.length) break;
+			}
+		}
+		thumb.setColorTable(row.getColorTable());
+		return thumb;
+	}
+
 	// -- Utility methods - pixel types --
 
 	/**
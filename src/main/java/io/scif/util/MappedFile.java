@@ -0,0 +1,155 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.scijava.io.location.FileLocation;
+
+/**
+ * Read-only memory-mapped access to a local file of any size.
+ * <p>
+ * A single {@link MappedByteBuffer} is limited to 2 GB, so the file is mapped
+ * in windows of up to 2 GB, which are replaced as reads move through the file.
+ * Windows start at 1 GB boundaries, so any read of up to 1 GB is served from a
+ * single window; files smaller than 2 GB are mapped exactly once.
+ * </p>
+ */
+public class MappedFile implements Closeable {
+
+	// -- Constants --
+
+	/** Maximum size of a mapped window. */
+	private static final long MAX_WINDOW = Integer.MAX_VALUE;
+
+	/** Alignment of the start of each mapped window. */
+	private static final long WINDOW_ALIGNMENT = 1L << 30;
+
+	// -- Fields --
+
+	private final FileLocation location;
+
+	private final FileChannel channel;
+
+	private final long length;
+
+	/** Currently mapped window, or null if nothing is mapped yet. */
+	private MappedByteBuffer window;
+
+	/** File offset of the first byte of {@link #window}. */
+	private long windowStart;
+
+	// -- Constructor --
+
+	public MappedFile(final FileLocation location) throws IOException {
+		this.location = location;
+		channel = FileChannel.open(location.getFile().toPath(),
+			StandardOpenOption.READ);
+		length = channel.size();
+	}
+
+	// -- MappedFile methods --
+
+	/** Gets the location of the mapped file. */
+	public FileLocation getLocation() {
+		return location;
+	}
+
+	/** Gets the length of the mapped file, in bytes. */
+	public long length() {
+		return length;
+	}
+
+	/**
+	 * Gets a read-only view of the given range of the file, without copying.
+	 * The view is only valid until the next call to this method or
+	 * {@link #read}, which may replace the underlying window.
+	 *
+	 * @param offset File offset of the first byte of the view.
+	 * @param len Number of bytes in the view.
+	 * @throws IOException If the range extends beyond the end of the file.
+	 */
+	public synchronized ByteBuffer view(final long offset, final int len)
+		throws IOException
+	{
+		if (offset < 0 || len < 0 || offset + len > length) {
+			throw new IOException("Cannot map " + len + " bytes at offset " +
+				offset + " of " + location + " (length " + length + ")");
+		}
+		if (window == null || offset < windowStart || offset + len > windowStart +
+			window.capacity())
+		{
+			long start = offset / WINDOW_ALIGNMENT * WINDOW_ALIGNMENT;
+			if (offset + len - start > MAX_WINDOW) start = offset;
+			window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(
+				MAX_WINDOW, length - start));
+			windowStart = start;
+		}
+		final ByteBuffer view = window.duplicate();
+		final int pos = (int) (offset - windowStart);
+		view.limit(pos + len).position(pos);
+		return view.slice();
+	}
+
+	/**
+	 * Copies bytes from the file into the given array, straight from the mapped
+	 * pages.
+	 *
+	 * @return The number of bytes copied, which is less than {@code len} only at
+	 *         the end of the file, or -1 if {@code offset} is at or beyond the
+	 *         end of the file.
+	 */
+	public synchronized int read(final long offset, final byte[] b,
+		final int off, final int len) throws IOException
+	{
+		if (offset >= length) return len == 0 ? 0 : -1;
+		final int n = (int) Math.min(len, length - offset);
+		view(offset, n).get(b, off, n);
+		return n;
+	}
+
+	// -- Closeable methods --
+
+	/**
+	 * Closes the channel. Mapped windows remain valid until they are garbage
+	 * collected.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		window = null;
+		channel.close();
+	}
+
+}
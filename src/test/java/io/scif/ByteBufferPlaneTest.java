@@ -0,0 +1,192 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import io.scif.util.FormatTools;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import net.imglib2.FinalInterval;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.io.handle.DataHandle;
+import org.scijava.io.handle.DataHandleService;
+import org.scijava.io.location.BytesLocation;
+import org.scijava.io.location.Location;
+
+/**
+ * Unit tests for {@link ByteBufferPlane}. The planes are backed by small
+ * buffers, so that every access crosses buffer boundaries.
+ */
+public class ByteBufferPlaneTest {
+
+	private Context context;
+
+	private DataHandleService dataHandleService;
+
+	private byte[] data;
+
+	@Before
+	public void setUp() {
+		context = new Context(DataHandleService.class);
+		dataHandleService = context.getService(DataHandleService.class);
+		data = new byte[100];
+		new Random(0xbb).nextBytes(data);
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+	}
+
+	@Test
+	public void testPutAndGet() {
+		final ByteBufferPlane plane = createPlane(true);
+		assertEquals(data.length, plane.getSize());
+		plane.put(0, data, 0, data.length);
+
+		final byte[] bytes = new byte[37];
+		plane.get(29, bytes, 0, bytes.length);
+		assertArrayEquals(Arrays.copyOfRange(data, 29, 66), bytes);
+		assertArrayEquals(data, plane.getBytes());
+	}
+
+	@Test
+	public void testView() {
+		final ByteBufferPlane plane = createPlane(false);
+		plane.put(0, data, 0, data.length);
+
+		// Within a single buffer
+		ByteBuffer view = plane.view(9, 5);
+		assertEquals(5, view.remaining());
+		assertEquals(data[13], view.get(4));
+
+		// Across buffers
+		view = plane.view(5, 40);
+		final byte[] bytes = new byte[40];
+		view.get(bytes);
+		assertArrayEquals(Arrays.copyOfRange(data, 5, 45), bytes);
+	}
+
+	@Test
+	public void testPutBuffer() {
+		final ByteBufferPlane plane = createPlane(true);
+		final ByteBuffer src = ByteBuffer.wrap(data, 10, 30);
+		plane.put(2, src);
+		assertEquals(0, src.remaining());
+
+		final byte[] bytes = new byte[30];
+		plane.get(2, bytes, 0, bytes.length);
+		assertArrayEquals(Arrays.copyOfRange(data, 10, 40), bytes);
+	}
+
+	@Test
+	public void testReadAndWrite() throws IOException {
+		final ByteBufferPlane plane = createPlane(true);
+		try (final DataHandle<Location> in = dataHandleService.create(
+			new BytesLocation(data)))
+		{
+			in.seek(3);
+			assertEquals(90, plane.read(in, 10, 90));
+			// Reads stop at the end of the handle
+			in.seek(50);
+			assertEquals(50, plane.read(in, 0, 80));
+		}
+		final byte[] bytes = new byte[50];
+		plane.get(0, bytes, 0, bytes.length);
+		assertArrayEquals(Arrays.copyOfRange(data, 50, 100), bytes);
+
+		final BytesLocation location = new BytesLocation(data.length);
+		try (final DataHandle<Location> out = dataHandleService.create(location)) {
+			plane.put(0, data, 0, data.length);
+			plane.write(out, 0, data.length);
+			out.seek(0);
+			final byte[] written = new byte[data.length];
+			out.readFully(written);
+			assertArrayEquals(data, written);
+		}
+	}
+
+	@Test
+	public void testGetBytesWithoutCopy() {
+		final ByteBufferPlane plane = new ByteBufferPlane();
+		plane.setData(new ByteBuffer[] { ByteBuffer.wrap(data) });
+		assertSame(data, plane.getBytes());
+	}
+
+	@Test
+	public void testChunkSize() {
+		final ImageMetadata meta = new DefaultImageMetadata();
+		meta.setPixelType(FormatTools.UINT16);
+		final ByteBufferPlane plane = new ByteBufferPlane(meta, new FinalInterval(
+			10, 5), 16);
+		assertEquals(16, plane.getChunkSize());
+		assertEquals(100, plane.getSize());
+		final ByteBuffer[] buffers = plane.getData();
+		assertEquals(7, buffers.length);
+		assertEquals(16, buffers[0].capacity());
+		assertEquals(4, buffers[6].capacity());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testChunkSizeNotPowerOfTwo() {
+		new ByteBufferPlane(24);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testOutOfBounds() {
+		createPlane(true).get(95, new byte[10], 0, 10);
+	}
+
+	// -- Helper methods --
+
+	/** @return A 100-byte plane backed by twelve 8-byte and one 4-byte buffer. */
+	private ByteBufferPlane createPlane(final boolean direct) {
+		final ByteBuffer[] buffers = new ByteBuffer[13];
+		for (int i = 0; i < buffers.length; i++) {
+			final int capacity = i < buffers.length - 1 ? 8 : 4;
+			buffers[i] = direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer
+				.allocate(capacity);
+		}
+		final ByteBufferPlane plane = new ByteBufferPlane();
+		plane.setData(buffers);
+		return plane;
+	}
+}
@@ -38,6 +38,8 @@ import io.scif.io.location.TestImgLocation;
 import io.scif.util.FormatTools;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 import net.imagej.axis.Axes;
 import net.imagej.axis.AxisType;
@@ -125,6 +127,36 @@ public class MetadataTest {
 		assertEquals(m.get(0).getAxisIndex(Axes.X), 0);
 	}
 
+	/** Verify the metadata exposed for each resolution level. */
+	@Test
+	public void testResolutionLevels() throws FormatException, IOException {
+		final Metadata m = scifio.format().getFormat(id).createParser().parse(id);
+		final ImageMetadata iMeta = m.get(0);
+		assertEquals(1, iMeta.getResolutionCount());
+		assertTrue(iMeta == iMeta.getResolution(0));
+
+		iMeta.setSubResolutionLengths(Arrays.asList(new long[] { 310, 256 },
+			new long[] { 155, 128 }));
+		assertEquals(3, iMeta.getResolutionCount());
+		assertEquals(2, iMeta.getSubResolutionLengths().size());
+		assertEquals(155, iMeta.getSubResolutionLengths().get(1)[0]);
+
+		final ImageMetadata level = iMeta.getResolution(1);
+		assertEquals(310, level.getAxisLength(Axes.X));
+		assertEquals(256, level.getAxisLength(Axes.Y));
+		assertEquals(5, level.getAxisLength(Axes.TIME));
+		assertEquals(iMeta.getPlaneCount(), level.getPlaneCount());
+		assertEquals(2, level.getResolutionCount());
+		assertEquals(155, level.getResolution(1).getAxisLength(Axes.X));
+
+		// Levels survive copying, and are not affected by changes to the copy
+		final ImageMetadata copy = iMeta.copy();
+		assertEquals(3, copy.getResolutionCount());
+		copy.setSubResolutionLengths(new ArrayList<>());
+		assertEquals(3, iMeta.getResolutionCount());
+		assertEquals(620, iMeta.getAxisLength(Axes.X));
+	}
+
 	/** Verify conditions when interrogating non-existent axes. */
 	@Test
 	public void testMissingAxes() throws FormatException, IOException {
@@ -0,0 +1,162 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.codec;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.io.handle.DataHandleService;
+import org.scijava.io.location.BytesLocation;
+
+/**
+ * Unit tests for {@link BZip2Index}.
+ */
+public class BZip2IndexTest {
+
+	private Context context;
+
+	private DataHandleService dataHandleService;
+
+	/** Uncompressed contents of the test file. */
+	private byte[] data;
+
+	/** Two concatenated BZIP2 streams of two blocks each. */
+	private byte[] compressed;
+
+	@Before
+	public void setUp() throws IOException {
+		context = new Context(DataHandleService.class);
+		dataHandleService = context.getService(DataHandleService.class);
+
+		data = new byte[300000];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) (i / 7 % 13 + i % 3 + i / 1000 % 5);
+		}
+		try (final InputStream in = getClass().getResourceAsStream(
+			"bzip2-test.bz2"))
+		{
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			final byte[] buf = new byte[8192];
+			int n;
+			while ((n = in.read(buf)) > 0) {
+				out.write(buf, 0, n);
+			}
+			compressed = out.toByteArray();
+		}
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+	}
+
+	@Test
+	public void testSequentialRead() throws IOException {
+		try (final BZip2Index index = createIndex()) {
+			final byte[] buf = new byte[data.length];
+			for (int pos = 0; pos < data.length; pos += 10000) {
+				index.read(pos, buf, pos, Math.min(10000, data.length - pos));
+			}
+			assertArrayEquals(data, buf);
+			assertFalse(index.isComplete());
+			assertEquals(4, index.getAccessPointCount());
+
+			try {
+				index.read(data.length, new byte[1], 0, 1);
+				fail("Expected EOFException");
+			}
+			catch (final EOFException e) {
+				// expected
+			}
+			assertTrue(index.isComplete());
+			assertEquals(data.length, index.length());
+		}
+	}
+
+	@Test
+	public void testRandomRead() throws IOException {
+		try (final BZip2Index index = createIndex()) {
+			// NB: The first read decodes up to the last block, the second one
+			// resumes at an earlier one.
+			assertRead(index, 250000, 1000);
+			assertRead(index, 120000, 100000);
+
+			final Random r = new Random(42);
+			for (int i = 0; i < 100; i++) {
+				final int len = r.nextInt(20000);
+				assertRead(index, r.nextInt(data.length - len), len);
+			}
+			assertRead(index, data.length - 10, 10);
+		}
+	}
+
+	@Test
+	public void testInvalidData() throws IOException {
+		final byte[] bytes = Arrays.copyOf(compressed, compressed.length);
+		bytes[0] = 'X';
+		try {
+			new BZip2Index(dataHandleService.create(new BytesLocation(bytes)), 0);
+			fail("Expected IOException");
+		}
+		catch (final IOException e) {
+			// expected
+		}
+	}
+
+	// -- Helper methods --
+
+	private BZip2Index createIndex() throws IOException {
+		return new BZip2Index(dataHandleService.create(new BytesLocation(
+			compressed)), 0);
+	}
+
+	private void assertRead(final BZip2Index index, final int pos,
+		final int len) throws IOException
+	{
+		final byte[] buf = new byte[len];
+		index.read(pos, buf, 0, len);
+		assertArrayEquals(Arrays.copyOfRange(data, pos, pos + len), buf);
+	}
+
+}
@@ -97,4 +97,34 @@ public class BitBufferTest {
 			fail("-1 expected at end of buffer, " + read + " received.");
 		}
 	}
+
+	/**
+	 * Tests that peeking returns the bits which are read next, and does not
+	 * change the position.
+	 */
+	@Test
+	public void testPeekBits() {
+		final Random r = new Random(0);
+		final byte[] bytes = new byte[1000];
+		r.nextBytes(bytes);
+		final BitBuffer bb = new BitBuffer(bytes);
+		final BitBuffer reference = new BitBuffer(bytes);
+		long position = 0;
+		while (position < bytes.length * 8L - 32) {
+			final int len = r.nextInt(33);
+			final int peeked = bb.peekBits(len);
+			if (peeked != bb.peekBits(len) || peeked != bb.getBits(len) ||
+				peeked != reference.getBits(len))
+			{
+				fail("Peeked bits differ from read bits at bit " + position);
+			}
+			position += len;
+		}
+		// Bits past the end of the buffer are zeros
+		final int remaining = (int) (bytes.length * 8L - position);
+		final int expected = reference.getBits(remaining) << (32 - remaining);
+		if (bb.peekBits(32) != expected) {
+			fail("Expected zero padding at end of buffer");
+		}
+	}
 }
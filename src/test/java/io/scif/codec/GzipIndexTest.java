@@ -0,0 +1,177 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.codec;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.io.handle.DataHandleService;
+import org.scijava.io.location.FileLocation;
+
+/**
+ * Unit tests for {@link GzipIndex}.
+ */
+public class GzipIndexTest {
+
+	private static final int SPAN = 1 << 16;
+
+	private Context context;
+
+	private DataHandleService dataHandleService;
+
+	private byte[] data;
+
+	private FileLocation location;
+
+	@Before
+	public void setUp() throws IOException {
+		context = new Context(DataHandleService.class);
+		dataHandleService = context.getService(DataHandleService.class);
+
+		// partly compressible data, so that blocks of all types are written
+		final Random r = new Random(0xbeef);
+		data = new byte[3 << 20];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) (i / 4096 % 5 == 0 ? r.nextInt() : i % 251 + r
+				.nextInt(2));
+		}
+		final File file = Files.createTempFile("gzipindex", ".gz").toFile();
+		file.deleteOnExit();
+		try (final OutputStream out = new GZIPOutputStream(new FileOutputStream(
+			file)))
+		{
+			out.write(data);
+		}
+		location = new FileLocation(file);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(GzipIndex.indexFile(location));
+		context.dispose();
+	}
+
+	@Test
+	public void testSequentialRead() throws IOException {
+		try (final GzipIndex index = createIndex()) {
+			final byte[] buf = new byte[data.length];
+			for (int pos = 0; pos < data.length; pos += 100000) {
+				index.read(pos, buf, pos, Math.min(100000, data.length - pos));
+			}
+			assertArrayEquals(data, buf);
+			assertTrue(index.isComplete());
+			assertEquals(data.length, index.length());
+			assertTrue(index.getAccessPointCount() > 1);
+		}
+	}
+
+	@Test
+	public void testRandomRead() throws IOException {
+		try (final GzipIndex index = createIndex()) {
+			// NB: The first read builds the index halfway, the second one starts
+			// within the indexed part and extends it.
+			assertRead(index, 1500000, 1000);
+			assertFalse(index.isComplete());
+			assertRead(index, 1400000, 200000);
+
+			final Random r = new Random(42);
+			for (int i = 0; i < 100; i++) {
+				final int len = r.nextInt(20000);
+				assertRead(index, r.nextInt(data.length - len), len);
+			}
+			assertRead(index, data.length - 10, 10);
+
+			try {
+				index.read(data.length - 10, new byte[20], 0, 20);
+				fail("Expected EOFException");
+			}
+			catch (final EOFException e) {
+				// expected
+			}
+		}
+	}
+
+	@Test
+	public void testSaveLoad() throws IOException {
+		final Path file = GzipIndex.indexFile(location);
+		try (final GzipIndex index = createIndex()) {
+			assertFalse(index.load(file));
+			try {
+				index.save(file);
+				fail("Expected IllegalStateException");
+			}
+			catch (final IllegalStateException e) {
+				// expected
+			}
+			index.read(0, new byte[data.length], 0, data.length);
+			index.save(file);
+		}
+		try (final GzipIndex index = createIndex()) {
+			assertTrue(index.load(file));
+			assertTrue(index.isComplete());
+			assertEquals(data.length, index.length());
+			assertRead(index, 2000000, 5000);
+			assertRead(index, 10, 5000);
+		}
+	}
+
+	// -- Helper methods --
+
+	private GzipIndex createIndex() throws IOException {
+		return new GzipIndex(dataHandleService.create(location), 0, SPAN);
+	}
+
+	private void assertRead(final GzipIndex index, final int pos, final int len)
+		throws IOException
+	{
+		final byte[] buf = new byte[len];
+		index.read(pos, buf, 0, len);
+		assertArrayEquals(Arrays.copyOfRange(data, pos, pos + len), buf);
+	}
+
+}
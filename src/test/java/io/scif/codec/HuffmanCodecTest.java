@@ -0,0 +1,129 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.codec;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link HuffmanCodec}.
+ */
+public class HuffmanCodecTest {
+
+	/**
+	 * Tests that the table-driven decoder agrees with the former tree decoder,
+	 * for random codes with short and long code lengths.
+	 */
+	@Test
+	public void testDecoder() {
+		final Random r = new Random(0x5eed);
+		for (int trial = 0; trial < 200; trial++) {
+			final short[] table = createTable(r);
+			final int[][] codes = canonicalCodes(table);
+
+			final int samples = 5000;
+			final int[] symbols = new int[samples];
+			final BitWriter out = new BitWriter();
+			for (int i = 0; i < samples; i++) {
+				final int[] code = codes[r.nextInt(codes.length)];
+				symbols[i] = code[0];
+				out.write(code[1], code[2]);
+			}
+			// pad with ones, as in JPEG
+			out.write(0xffff, 16);
+			final byte[] bytes = out.toByteArray();
+
+			final HuffmanCodec.Decoder decoder = new HuffmanCodec.Decoder(table);
+			final TreeHuffmanDecoder reference = new TreeHuffmanDecoder(table);
+			final BitBuffer bb = new BitBuffer(bytes);
+			final BitBuffer referenceBB = new BitBuffer(bytes);
+			for (int i = 0; i < samples; i++) {
+				assertEquals(symbols[i], decoder.decode(bb));
+				assertEquals(symbols[i], reference.decode(referenceBB));
+			}
+		}
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Creates a random JPEG Huffman table: the number of codes of each length,
+	 * followed by distinct values. Lengths are limited to 15 bits, which the
+	 * tree decoder supports, and the all-ones code is never used.
+	 */
+	private static short[] createTable(final Random r) {
+		final int[] counts = new int[16];
+		int available = 2;
+		int total = 0;
+		final int maxLength = 2 + r.nextInt(14);
+		for (int l = 1; l <= maxLength && total < 256; l++) {
+			int count = l == maxLength ? available - 1 : r.nextInt(available);
+			count = Math.min(count, 256 - total);
+			counts[l - 1] = count;
+			total += count;
+			available = (available - count) * 2;
+		}
+		final int[] values = new int[256];
+		for (int i = 0; i < values.length; i++)
+			values[i] = i;
+		for (int i = values.length - 1; i > 0; i--) {
+			final int j = r.nextInt(i + 1);
+			final int tmp = values[i];
+			values[i] = values[j];
+			values[j] = tmp;
+		}
+		final short[] table = new short[16 + total];
+		for (int i = 0; i < 16; i++)
+			table[i] = (short) counts[i];
+		for (int i = 0; i < total; i++)
+			table[16 + i] = (short) values[i];
+		return table;
+	}
+
+	/** @return The value, code and code length of each entry of the table. */
+	private static int[][] canonicalCodes(final short[] table) {
+		final int total = table.length - 16;
+		final int[][] codes = new int[total][];
+		int code = 0;
+		int index = 0;
+		for (int l = 1; l <= 16; l++) {
+			for (int i = 0; i < table[l - 1]; i++) {
+				codes[index] = new int[] { table[16 + index], code++, l };
+				index++;
+			}
+			code <<= 1;
+		}
+		return codes;
+	}
+
+}
@@ -0,0 +1,172 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.codec;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.scif.FormatException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.io.handle.DataHandle;
+import org.scijava.io.handle.DataHandleService;
+import org.scijava.io.location.BytesLocation;
+import org.scijava.io.location.Location;
+
+/**
+ * Unit tests for {@link LZWCodec}.
+ */
+public class LZWCodecTest {
+
+	private final LZWCodec codec = new LZWCodec();
+
+	/** Tests that compressed data decompresses to the original. */
+	@Test
+	public void testRoundTrip() throws FormatException {
+		final Random r = new Random(0x12a);
+		for (final int length : new int[] { 100, 4096, 100000 }) {
+			final byte[] data = createData(r, length);
+			assertArrayEquals(data, codec.decompress(codec.compress(data, null),
+				options(length)));
+		}
+	}
+
+	/**
+	 * Tests decompressing into a caller-supplied array, for data spanning
+	 * several resets of the code table.
+	 */
+	@Test
+	public void testDecompressIntoArray() throws FormatException {
+		final byte[] data = createData(new Random(0x12b), 50000);
+		final byte[] compressed = codec.compress(data, null);
+		final byte[] padded = new byte[compressed.length + 3];
+		System.arraycopy(compressed, 0, padded, 3, compressed.length);
+
+		final byte[] out = new byte[data.length + 20];
+		Arrays.fill(out, (byte) -1);
+		for (int i = 0; i < 2; i++) {
+			assertEquals(data.length, codec.decompress(padded, 3, compressed.length,
+				out, 10, options(data.length)));
+			assertArrayEquals(data, Arrays.copyOfRange(out, 10, 10 + data.length));
+			assertEquals(-1, out[9]);
+			assertEquals(-1, out[10 + data.length]);
+		}
+
+		// output is limited by maxBytes and by the space left in the array
+		Arrays.fill(out, (byte) -1);
+		final int limited = codec.decompress(compressed, 0, compressed.length, out,
+			0, options(100));
+		assertTrue(limited <= 100);
+		assertArrayEquals(Arrays.copyOf(data, limited), Arrays.copyOf(out,
+			limited));
+		assertEquals(-1, out[100]);
+		assertTrue(codec.decompress(compressed, 0, compressed.length, out,
+			out.length - 30, options(data.length)) <= 30);
+	}
+
+	/** Tests decompressing into the remaining space of a {@link ByteBuffer}. */
+	@Test
+	public void testDecompressIntoByteBuffer() throws FormatException {
+		final byte[] data = createData(new Random(0x12c), 10000);
+		final byte[] compressed = codec.compress(data, null);
+		for (final ByteBuffer out : new ByteBuffer[] { ByteBuffer.allocate(
+			data.length + 4), ByteBuffer.allocateDirect(data.length + 4) })
+		{
+			out.position(4);
+			assertEquals(data.length, codec.decompress(compressed, 0,
+				compressed.length, out, options(data.length)));
+			assertEquals(out.capacity(), out.position());
+			final byte[] actual = new byte[data.length];
+			out.position(4);
+			out.get(actual);
+			assertArrayEquals(data, actual);
+		}
+	}
+
+	/**
+	 * Tests decompressing from a handle followed by other data, which must be
+	 * left unread.
+	 */
+	@Test
+	public void testDecompressFromHandle() throws FormatException, IOException {
+		final byte[] data = createData(new Random(0x12d), 20000);
+		final byte[] compressed = codec.compress(data, null);
+		final byte[] bytes = new byte[5 + compressed.length + 1000000];
+		System.arraycopy(compressed, 0, bytes, 5, compressed.length);
+		Arrays.fill(bytes, 5 + compressed.length, bytes.length, (byte) 0x5a);
+
+		try (final Context context = new Context(DataHandleService.class)) {
+			final DataHandleService dataHandleService = context.getService(
+				DataHandleService.class);
+			try (final DataHandle<Location> in = dataHandleService.create(
+				new BytesLocation(bytes)))
+			{
+				in.seek(5);
+				assertArrayEquals(data, codec.decompress(in, options(data.length)));
+				// NB: Decoding stops once the output is full, before the final code.
+				assertTrue(in.offset() > 5 && in.offset() <= 5 + compressed.length);
+			}
+
+			// the compressed data ends the handle
+			try (final DataHandle<Location> in = dataHandleService.create(
+				new BytesLocation(compressed)))
+			{
+				assertArrayEquals(data, codec.decompress(in, options(data.length)));
+				assertTrue(in.offset() <= compressed.length);
+			}
+		}
+	}
+
+	// -- Helper methods --
+
+	/** Creates compressible data, with runs of bytes from a small alphabet. */
+	private static byte[] createData(final Random r, final int length) {
+		final byte[] data = new byte[length];
+		for (int i = 0; i < length; i++) {
+			data[i] = i > 0 && r.nextInt(4) > 0 ? data[i - 1] : (byte) r.nextInt(
+				32);
+		}
+		return data;
+	}
+
+	private static CodecOptions options(final int maxBytes) {
+		final CodecOptions options = new CodecOptions();
+		options.maxBytes = maxBytes;
+		return options;
+	}
+
+}
@@ -0,0 +1,234 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.codec;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.fail;
+
+import io.scif.FormatException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.DeflaterOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.io.handle.DataHandle;
+import org.scijava.io.handle.DataHandleService;
+import org.scijava.io.location.BytesLocation;
+import org.scijava.io.location.Location;
+
+/**
+ * Unit tests for {@link PNGScanlineDecoder}.
+ */
+public class PNGScanlineDecoderTest {
+
+	private static final int WIDTH = 53;
+
+	private static final int HEIGHT = 40;
+
+	private Context context;
+
+	private DataHandleService dataHandleService;
+
+	@Before
+	public void setUp() {
+		context = new Context(DataHandleService.class);
+		dataHandleService = context.getService(DataHandleService.class);
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+	}
+
+	@Test
+	public void testFilters() throws FormatException, IOException {
+		// RGB, 8 and 16 bits per sample
+		assertDecodes(3, 8);
+		assertDecodes(3, 16);
+		// grayscale with alpha
+		assertDecodes(2, 8);
+		assertDecodes(1, 16);
+	}
+
+	@Test
+	public void testSkipRows() throws FormatException, IOException {
+		final byte[][] rows = randomRows(4, 8);
+		try (final PNGScanlineDecoder decoder = decoder(encode(rows, 4), 4, 8)) {
+			decoder.skipRows(17);
+			for (int y = 17; y < 25; y++) {
+				assertRow(rows[y], decoder.nextRow(), decoder.getRowBytes());
+			}
+		}
+	}
+
+	@Test
+	public void testInvalidFilter() throws IOException {
+		final byte[][] rows = randomRows(1, 8);
+		final byte[] data = encode(rows, 1, (byte) 5);
+		try (final PNGScanlineDecoder decoder = decoder(data, 1, 8)) {
+			decoder.nextRow();
+			fail("Expected FormatException");
+		}
+		catch (final FormatException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testTruncated() throws IOException {
+		final byte[][] rows = randomRows(1, 8);
+		final byte[] data = encode(rows, 1);
+		try (final PNGScanlineDecoder decoder = decoder(Arrays.copyOf(data,
+			data.length / 2), 1, 8))
+		{
+			decoder.skipRows(HEIGHT);
+			fail("Expected FormatException");
+		}
+		catch (final FormatException e) {
+			// expected
+		}
+	}
+
+	// -- Helper methods --
+
+	private void assertDecodes(final int samples, final int bitDepth)
+		throws FormatException, IOException
+	{
+		final byte[][] rows = randomRows(samples, bitDepth);
+		try (final PNGScanlineDecoder decoder = decoder(encode(rows, samples *
+			bitDepth / 8), samples, bitDepth))
+		{
+			for (final byte[] row : rows) {
+				assertRow(row, decoder.nextRow(), decoder.getRowBytes());
+			}
+		}
+	}
+
+	private void assertRow(final byte[] expected, final byte[] actual,
+		final int length)
+	{
+		assertArrayEquals(expected, Arrays.copyOf(actual, length));
+	}
+
+	/** Creates a decoder reading the data split into three segments. */
+	private PNGScanlineDecoder decoder(final byte[] data, final int samples,
+		final int bitDepth)
+	{
+		// NB: Each segment is preceded by four bytes of padding, as the image
+		// data of an fdAT chunk is preceded by its sequence number.
+		final int[] lengths = { data.length / 3, data.length / 3, data.length -
+			2 * (data.length / 3) };
+		final long[] offsets = new long[3];
+		final byte[] file = new byte[data.length + 12];
+		int src = 0;
+		for (int i = 0; i < 3; i++) {
+			offsets[i] = src + 4 * (i + 1);
+			System.arraycopy(data, src, file, (int) offsets[i], lengths[i]);
+			src += lengths[i];
+		}
+		final DataHandle<Location> handle = dataHandleService.create(
+			new BytesLocation(file));
+		return new PNGScanlineDecoder(handle, offsets, lengths, WIDTH, samples,
+			bitDepth);
+	}
+
+	private byte[][] randomRows(final int samples, final int bitDepth) {
+		final Random r = new Random(samples * 31 + bitDepth);
+		final byte[][] rows = new byte[HEIGHT][WIDTH * samples * bitDepth / 8];
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int i = 0; i < rows[y].length; i++) {
+				// smooth data with some noise
+				rows[y][i] = (byte) (i / 3 + y * 2 + r.nextInt(8));
+			}
+		}
+		return rows;
+	}
+
+	/** Filters and compresses the rows, cycling through all filter types. */
+	private byte[] encode(final byte[][] rows, final int bpp) throws IOException {
+		return encode(rows, bpp, (byte) -1);
+	}
+
+	private byte[] encode(final byte[][] rows, final int bpp,
+		final byte forcedType) throws IOException
+	{
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (final DeflaterOutputStream out = new DeflaterOutputStream(bytes)) {
+			byte[] prior = new byte[rows[0].length];
+			for (int y = 0; y < rows.length; y++) {
+				final byte type = forcedType < 0 ? (byte) (y % 5) : forcedType;
+				out.write(type);
+				out.write(filter(type, rows[y], prior, bpp));
+				prior = rows[y];
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	private byte[] filter(final byte type, final byte[] row, final byte[] prior,
+		final int bpp)
+	{
+		final byte[] out = new byte[row.length];
+		for (int i = 0; i < row.length; i++) {
+			final int a = i < bpp ? 0 : row[i - bpp] & 0xff;
+			final int b = prior[i] & 0xff;
+			final int c = i < bpp ? 0 : prior[i - bpp] & 0xff;
+			final int predictor;
+			switch (type) {
+				case 1:
+					predictor = a;
+					break;
+				case 2:
+					predictor = b;
+					break;
+				case 3:
+					predictor = (a + b) / 2;
+					break;
+				case 4:
+					final int p = a + b - c;
+					final int pa = Math.abs(p - a), pb = Math.abs(p - b), pc = Math.abs(p -
+						c);
+					predictor = pa <= pb && pa <= pc ? a : pb <= pc ? b : c;
+					break;
+				default:
+					predictor = 0;
+			}
+			out[i] = (byte) (row[i] - predictor);
+		}
+		return out;
+	}
+
+}
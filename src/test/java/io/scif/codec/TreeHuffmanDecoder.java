@@ -0,0 +1,93 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.codec;
+
+/**
+ * The binary tree Huffman decoder formerly used by {@link HuffmanCodec}, which
+ * reads one bit at a time. Kept as a reference for testing and benchmarking
+ * the table-driven {@link HuffmanCodec.Decoder}.
+ */
+class TreeHuffmanDecoder {
+
+	private static final int LEAVES_OFFSET = 16;
+
+	private final TreeHuffmanDecoder[] branch = new TreeHuffmanDecoder[2];
+
+	private int leafValue = -1;
+
+	private int leafCounter;
+
+	private TreeHuffmanDecoder() {}
+
+	TreeHuffmanDecoder(final short[] source) {
+		leafCounter = 0;
+		createDecoder(this, source, 0, 0);
+	}
+
+	int decode(final BitBuffer bb) {
+		TreeHuffmanDecoder d = this;
+		while (d.branch[0] != null) {
+			final int v = bb.getBits(1);
+			if (v < 0) break; // eof
+			d = d.branch[v];
+		}
+		return d.leafValue;
+	}
+
+	private TreeHuffmanDecoder createDecoder(final short[] source,
+		final int start, final int level)
+	{
+		final TreeHuffmanDecoder dest = new TreeHuffmanDecoder();
+		createDecoder(dest, source, start, level);
+		return dest;
+	}
+
+	private void createDecoder(final TreeHuffmanDecoder dest,
+		final short[] source, final int start, final int level)
+	{
+		int next = 0;
+		int i = 0;
+		while (i <= leafCounter && next < LEAVES_OFFSET) {
+			i += source[start + next++] & 0xff;
+		}
+
+		if (level < next && next < LEAVES_OFFSET) {
+			dest.branch[0] = createDecoder(source, start, level + 1);
+			dest.branch[1] = createDecoder(source, start, level + 1);
+		}
+		else {
+			i = start + LEAVES_OFFSET + leafCounter++;
+			if (i < source.length) {
+				dest.leafValue = source[i] & 0xff;
+			}
+		}
+	}
+
+}
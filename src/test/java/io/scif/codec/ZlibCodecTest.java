@@ -0,0 +1,173 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.codec;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.scif.FormatException;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ZlibCodec}.
+ */
+public class ZlibCodecTest {
+
+	private final ZlibCodec codec = new ZlibCodec();
+
+	/**
+	 * Tests that compressed data decompresses to the original, with and without
+	 * a known output size, and that it is valid ZLIB data.
+	 */
+	@Test
+	public void testRoundTrip() throws FormatException,
+		DataFormatException
+	{
+		final Random r = new Random(0x21b);
+		for (final int length : new int[] { 1, 1000, 100000 }) {
+			final byte[] data = createData(r, length);
+			final byte[] compressed = codec.compress(data, null);
+			assertArrayEquals(data, codec.decompress(compressed, options(length)));
+			assertArrayEquals(data, codec.decompress(compressed, options(0)));
+			// NB: All of the data is returned, even beyond maxBytes.
+			assertArrayEquals(data, codec.decompress(compressed, options(length /
+				2 + 1)));
+
+			final Inflater inflater = new Inflater();
+			inflater.setInput(compressed);
+			final byte[] inflated = new byte[length];
+			assertEquals(length, inflater.inflate(inflated));
+			assertTrue(inflater.finished());
+			inflater.end();
+			assertArrayEquals(data, inflated);
+		}
+	}
+
+	/** Tests that incompressible data survives a round trip. */
+	@Test
+	public void testIncompressible() throws FormatException {
+		final byte[] data = new byte[50000];
+		new Random(0x21c).nextBytes(data);
+		final byte[] compressed = codec.compress(data, null);
+		assertArrayEquals(data, codec.decompress(compressed, options(
+			data.length)));
+	}
+
+	/** Tests the compression level and strategy options. */
+	@Test
+	public void testLevelAndStrategy() throws FormatException {
+		final byte[] data = createData(new Random(0x21d), 100000);
+		final CodecOptions stored = options(0);
+		stored.compressionLevel = Deflater.NO_COMPRESSION;
+		final CodecOptions best = options(0);
+		best.compressionLevel = Deflater.BEST_COMPRESSION;
+		final CodecOptions huffman = options(0);
+		huffman.compressionStrategy = Deflater.HUFFMAN_ONLY;
+
+		final byte[] storedBytes = codec.compress(data, stored);
+		final byte[] bestBytes = codec.compress(data, best);
+		final byte[] huffmanBytes = codec.compress(data, huffman);
+		assertTrue(storedBytes.length > data.length);
+		assertTrue(bestBytes.length < huffmanBytes.length);
+		for (final byte[] compressed : new byte[][] { storedBytes, bestBytes,
+			huffmanBytes })
+		{
+			assertArrayEquals(data, codec.decompress(compressed, null));
+		}
+
+		// options are not sticky: the next call uses the defaults again
+		assertArrayEquals(codec.compress(data, null), codec.compress(data,
+			options(0)));
+	}
+
+	/**
+	 * Tests inflating into a caller-supplied array, bounded by maxBytes and by
+	 * the space left in the array.
+	 */
+	@Test
+	public void testDecompressIntoArray() throws FormatException {
+		final byte[] data = createData(new Random(0x21e), 30000);
+		final byte[] compressed = codec.compress(data, null);
+		final byte[] padded = new byte[compressed.length + 7];
+		System.arraycopy(compressed, 0, padded, 7, compressed.length);
+
+		final byte[] out = new byte[data.length + 8];
+		Arrays.fill(out, (byte) -1);
+		assertEquals(data.length, codec.decompress(padded, 7, compressed.length,
+			out, 4, options(data.length)));
+		assertArrayEquals(data, Arrays.copyOfRange(out, 4, 4 + data.length));
+		assertEquals(-1, out[3]);
+		assertEquals(-1, out[4 + data.length]);
+
+		assertEquals(100, codec.decompress(compressed, 0, compressed.length, out,
+			0, options(100)));
+		assertArrayEquals(Arrays.copyOf(data, 100), Arrays.copyOf(out, 100));
+		assertEquals(8, codec.decompress(compressed, 0, compressed.length, out,
+			out.length - 8, options(0)));
+	}
+
+	/** Tests that truncated data yields as much as could be inflated. */
+	@Test
+	public void testTruncated() throws FormatException {
+		final byte[] data = createData(new Random(0x21f), 100000);
+		final byte[] compressed = codec.compress(data, null);
+		final byte[] decompressed = codec.decompress(Arrays.copyOf(compressed,
+			compressed.length / 2), options(data.length));
+		assertTrue(decompressed.length > 0 && decompressed.length < data.length);
+		assertArrayEquals(Arrays.copyOf(data, decompressed.length), decompressed);
+	}
+
+	// -- Helper methods --
+
+	/** Creates compressible data, with runs of bytes from a small alphabet. */
+	private static byte[] createData(final Random r, final int length) {
+		final byte[] data = new byte[length];
+		for (int i = 0; i < length; i++) {
+			data[i] = i > 0 && r.nextInt(4) > 0 ? data[i - 1] : (byte) r.nextInt(
+				32);
+		}
+		return data;
+	}
+
+	private static CodecOptions options(final int maxBytes) {
+		final CodecOptions options = new CodecOptions();
+		options.maxBytes = maxBytes;
+		return options;
+	}
+
+}
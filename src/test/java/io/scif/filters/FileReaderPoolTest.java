@@ -0,0 +1,170 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.filters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import io.scif.Format;
+import io.scif.FormatException;
+import io.scif.Reader;
+import io.scif.SCIFIO;
+import io.scif.config.SCIFIOConfig;
+import io.scif.io.location.TestImgLocation;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.io.location.Location;
+
+/**
+ * Tests {@link FileReaderPool}.
+ */
+public class FileReaderPoolTest {
+
+	private SCIFIO scifio;
+
+	private Format format;
+
+	private Location[] files;
+
+	@Before
+	public void setUp() throws FormatException {
+		scifio = new SCIFIO();
+		files = new Location[4];
+		for (int i = 0; i < files.length; i++) {
+			files[i] = new TestImgLocation.Builder().name("file" + i).lengths(8, 8)
+				.build();
+		}
+		format = scifio.format().getFormat(files[0]);
+	}
+
+	@After
+	public void tearDown() {
+		scifio.dispose();
+	}
+
+	/** Tests that a pooled reader is reused rather than reopened. */
+	@Test
+	public void testHit() throws FormatException, IOException {
+		try (final FileReaderPool pool = createPool(2, 0)) {
+			final Reader r = pool.acquire(files[0]);
+			assertSame(r, pool.acquire(files[0]));
+			assertEquals(files[0], r.getMetadata().getSourceLocation());
+			assertEquals(1, pool.getOpenCount());
+			assertEquals(1, pool.getHitCount());
+			assertEquals(0, pool.getEvictionCount());
+		}
+	}
+
+	/** Tests that the least recently used reader is evicted at capacity. */
+	@Test
+	public void testEviction() throws FormatException, IOException {
+		try (final FileReaderPool pool = createPool(2, 0)) {
+			final Reader r0 = pool.acquire(files[0]);
+			pool.acquire(files[1]);
+			// NB: Touch file 0 so that file 1 becomes the eldest.
+			pool.acquire(files[0]);
+			pool.acquire(files[2]);
+			assertEquals(2, pool.size());
+			assertEquals(1, pool.getEvictionCount());
+			assertSame(r0, pool.acquire(files[0]));
+			pool.acquire(files[1]);
+			assertEquals(4, pool.getOpenCount());
+			assertEquals(2, pool.getHitCount());
+			assertEquals(2, pool.getEvictionCount());
+		}
+	}
+
+	/** Tests that idle readers are closed. */
+	@Test
+	public void testIdleClose() throws FormatException, IOException,
+		InterruptedException
+	{
+		try (final FileReaderPool pool = createPool(4, 1)) {
+			final Reader r0 = pool.acquire(files[0]);
+			pool.acquire(files[1]);
+			Thread.sleep(20);
+			pool.closeIdle();
+			assertEquals(0, pool.size());
+			assertEquals(2, pool.getEvictionCount());
+			assertNotSame(r0, pool.acquire(files[0]));
+			assertEquals(3, pool.getOpenCount());
+		}
+	}
+
+	/** Tests that a closed pool reopens readers on demand. */
+	@Test
+	public void testClose() throws FormatException, IOException {
+		final FileReaderPool pool = createPool(2, 0);
+		pool.acquire(files[0]);
+		pool.close();
+		assertEquals(0, pool.size());
+		pool.acquire(files[0]);
+		assertEquals(2, pool.getOpenCount());
+		pool.close();
+	}
+
+	/** Tests that pooled readers are wrapped in the parent's filters. */
+	@Test
+	public void testFilters() throws FormatException, IOException {
+		final Location rgb0 = new TestImgLocation.Builder().name("rgb0").lengths(3,
+			8, 8).axes("Channel", "X", "Y").build();
+		final Location rgb1 = new TestImgLocation.Builder().name("rgb1").lengths(3,
+			8, 8).axes("Channel", "X", "Y").build();
+		final ReaderFilter parent = scifio.initializer().initializeReader(rgb0);
+		parent.enable(PlaneSeparator.class);
+		assertEquals(3, parent.getPlaneCount(0));
+
+		try (final FileReaderPool pool = new FileReaderPool(parent.getParent(),
+			new SCIFIOConfig(), 2, 0))
+		{
+			final Reader r = pool.acquire(rgb1);
+			assertTrue(r instanceof ReaderFilter);
+			assertEquals(rgb1, r.getMetadata().getSourceLocation());
+			assertEquals(2, r.getMetadata().get(0).getPlanarAxisCount());
+			assertEquals(3, r.getPlaneCount(0));
+		}
+		parent.close();
+	}
+
+	// -- Helper methods --
+
+	private FileReaderPool createPool(final int capacity,
+		final long idleTimeout) throws FormatException
+	{
+		return new FileReaderPool(format.createReader(), new SCIFIOConfig(),
+			capacity, idleTimeout);
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.filters;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import io.scif.ByteBufferPlane;
+
+import io.scif.Plane;
+import io.scif.SCIFIO;
+import io.scif.Writer;
+import io.scif.io.location.TestImgLocation;
+import io.scif.util.FormatTestHelpers;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import net.imagej.axis.Axes;
+import net.imglib2.FinalInterval;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.io.location.FileLocation;
+import org.scijava.io.location.Location;
+
+/**
+ * Tests {@link FileStitcher}.
+ */
+public class FileStitcherTest {
+
+	private static final int FILES = 3;
+
+	private SCIFIO scifio;
+
+	private Path dir;
+
+	@Before
+	public void setUp() throws Exception {
+		scifio = new SCIFIO();
+		dir = Files.createTempDirectory("scifio-stitch");
+
+		// NB: Each file is a 4x3 RGB image whose samples are 40 * file + channel.
+		final Location rgb = new TestImgLocation.Builder().name("rgb").lengths(3, 4,
+			3).axes("Channel", "X", "Y").build();
+		for (int z = 0; z < FILES; z++) {
+			final ReaderFilter in = scifio.initializer().initializeReader(rgb);
+			final Writer out = scifio.initializer().initializeWriter(in.getMetadata(),
+				location(z));
+			final Plane plane = in.openPlane(0, 0);
+			final byte[] bytes = plane.getBytes();
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = (byte) (40 * z + i % 3);
+			}
+			out.savePlane(0, 0, plane);
+			out.close();
+			in.close();
+		}
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		for (int z = 0; z < FILES; z++) {
+			Files.deleteIfExists(location(z).getFile().toPath());
+			Files.deleteIfExists(fitsLocation(z).getFile().toPath());
+		}
+		Files.deleteIfExists(dir);
+		scifio.dispose();
+	}
+
+	/**
+	 * Tests that the planes of each file are read through the filters below the
+	 * stitcher, here separating the channels of RGB files.
+	 */
+	@Test
+	public void testSeparatedRGB() throws Exception {
+		final ReaderFilter reader = scifio.initializer().initializeReader(location(
+			0));
+		final FileStitcher stitcher = reader.enable(FileStitcher.class);
+		reader.enable(PlaneSeparator.class).separate(Axes.CHANNEL);
+		reader.setSource(location(0));
+
+		assertEquals(2, reader.getMetadata().get(0).getPlanarAxisCount());
+		assertEquals(3 * FILES, reader.getPlaneCount(0));
+		for (int z = 0; z < FILES; z++) {
+			for (int c = 0; c < 3; c++) {
+				final byte[] bytes = reader.openPlane(0, 3 * z + c).getBytes();
+				assertEquals(4 * 3, bytes.length);
+				for (final byte b : bytes) {
+					assertEquals(40 * z + c, b);
+				}
+			}
+		}
+		assertEquals(FILES, stitcher.getReaderOpenCount());
+		reader.close();
+	}
+
+	/**
+	 * Tests that the planes of byte buffer formats are stitched, and read into
+	 * the given plane.
+	 */
+	@Test
+	public void testByteBufferPlanes() throws Exception {
+		// NB: Each file is a 6x5 image of 16-bit samples 1000 * file + 1.
+		final byte[][] expected = new byte[FILES][2 * 6 * 5];
+		for (int z = 0; z < FILES; z++) {
+			for (int i = 0; i < expected[z].length; i += 2) {
+				expected[z][i] = (byte) ((1000 * z + 1) >> 8);
+				expected[z][i + 1] = (byte) (1000 * z + 1);
+			}
+			FormatTestHelpers.writeFITS(fitsLocation(z).getFile(), expected[z], 6,
+				5);
+		}
+
+		final ReaderFilter reader = scifio.initializer().initializeReader(
+			fitsLocation(0));
+		reader.enable(FileStitcher.class);
+		reader.setSource(fitsLocation(0));
+
+		assertEquals(FILES, reader.getPlaneCount(0));
+		for (int z = 0; z < FILES; z++) {
+			final Plane plane = reader.openPlane(0, z);
+			assertTrue(plane instanceof ByteBufferPlane);
+			assertArrayEquals(expected[z], plane.getBytes());
+
+			final ByteBufferPlane given = new ByteBufferPlane(reader.getMetadata()
+				.get(0), new FinalInterval(6, 5), 1 << 4);
+			assertSame(given, reader.openPlane(0, z, given));
+			assertArrayEquals(expected[z], given.getBytes());
+		}
+		reader.close();
+	}
+
+	// -- Helper methods --
+
+	private FileLocation location(final int z) {
+		return new FileLocation(new File(dir.toFile(), "rgb_z" + z + ".tif"));
+	}
+
+	private FileLocation fitsLocation(final int z) {
+		return new FileLocation(new File(dir.toFile(), "stack_z" + z + ".fits"));
+	}
+}
@@ -29,10 +29,13 @@
 
 package io.scif.filters;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 
 import io.scif.FormatException;
+import io.scif.ImageMetadata;
 import io.scif.Reader;
 import io.scif.SCIFIO;
 import io.scif.config.SCIFIOConfig;
@@ -40,6 +43,8 @@ import io.scif.io.location.TestImgLocation;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 
 import net.imagej.axis.Axes;
 
@@ -175,6 +180,51 @@ public class FilterTest {
 
 	}
 
+	/**
+	 * Verifies that a duplicated reader has its own metadata, and the same
+	 * filters enabled in the same configuration.
+	 */
+	@Test
+	public void testDuplicate() throws FormatException, IOException {
+		final Location id2 = new TestImgLocation.Builder().name("testImg").lengths(
+			3, 4, 64, 48).axes("Channel", "Time", "X", "Y").build();
+		readerFilter = scifio.initializer().initializeReader(id2);
+		final ReaderFilter original = (ReaderFilter) readerFilter;
+		original.disable(EnabledFilter.class);
+		original.enable(PlaneSeparator.class).separate(Axes.CHANNEL);
+
+		final ReaderFilter copy = (ReaderFilter) scifio.initializer()
+			.duplicateReader(original, new SCIFIOConfig());
+		try {
+			assertNotSame(original.getTail(), copy.getTail());
+			assertNotSame(original.getTail().getMetadata(), copy.getTail()
+				.getMetadata());
+			assertEquals(filterClasses(original), filterClasses(copy));
+
+			final ImageMetadata expected = original.getMetadata().get(0);
+			final ImageMetadata actual = copy.getMetadata().get(0);
+			assertEquals(3, actual.getPlanarAxisCount());
+			assertEquals(expected.getPlanarAxisCount(), actual.getPlanarAxisCount());
+			assertEquals(expected.getPlaneCount(), actual.getPlaneCount());
+			assertArrayEquals(original.openPlane(0, 1).getBytes(), copy.openPlane(0,
+				1).getBytes());
+		}
+		finally {
+			copy.close();
+		}
+	}
+
+	/** Gets the classes of the filters enabled in the given filter stack. */
+	private static List<Class<?>> filterClasses(final ReaderFilter reader) {
+		final List<Class<?>> classes = new ArrayList<>();
+		Object parent = reader.getParent();
+		while (parent instanceof Filter) {
+			classes.add(parent.getClass());
+			parent = ((Filter) parent).getParent();
+		}
+		return classes;
+	}
+
 	// Sample plugin class known to be enabled by default
 	public static class EnabledFilter extends AbstractReaderFilter {
 
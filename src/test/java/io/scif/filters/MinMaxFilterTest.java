@@ -34,11 +34,15 @@ import static org.junit.Assert.assertEquals;
 
 import io.scif.FormatException;
 import io.scif.SCIFIO;
+import io.scif.config.SCIFIOConfig;
 import io.scif.io.location.TestImgLocation;
 
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import net.imagej.axis.Axes;
+import net.imagej.axis.AxisType;
 
 import org.junit.AfterClass;
 import org.junit.Test;
@@ -111,4 +115,47 @@ public class MinMaxFilterTest {
 		assertCloseEnough(0.0, minMax.getAxisGlobalMinimum(0, Axes.CHANNEL, 1));
 		assertCloseEnough(0.0, minMax.getAxisGlobalMinimum(0, Axes.CHANNEL, 2));
 	}
+
+	/**
+	 * Tests that splitting a large plane across the decode executor computes the
+	 * same extrema as reducing it serially.
+	 */
+	@Test
+	public void testParallelMinMax() throws FormatException, IOException {
+		final Location large = new TestImgLocation.Builder().pixelType("uint16")
+			.lengths(3, 700, 600, 2).axes("Channel", "X", "Y", "Time").planarDims(3)
+			.build();
+
+		final ReaderFilter serialFilter = scifio.initializer().initializeReader(
+			large);
+		final MinMaxFilter serial = serialFilter.enable(MinMaxFilter.class);
+		serialFilter.openPlane(0, 1);
+
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final ReaderFilter parallelFilter = scifio.initializer()
+				.initializeReader(large);
+			final MinMaxFilter parallel = parallelFilter.enable(MinMaxFilter.class);
+			parallelFilter.openPlane(0, 1, new SCIFIOConfig()
+				.readerSetDecodeExecutor(executor));
+
+			assertEquals(serial.getPlaneMinimum(0, 1), parallel.getPlaneMinimum(0,
+				1));
+			assertEquals(serial.getPlaneMaximum(0, 1), parallel.getPlaneMaximum(0,
+				1));
+			final AxisType[] types = { Axes.CHANNEL, Axes.X, Axes.Y };
+			final int[] lengths = { 3, 700, 600 };
+			for (int d = 0; d < types.length; d++) {
+				for (int i = 0; i < lengths[d]; i++) {
+					assertEquals(serial.getAxisKnownMinimum(0, types[d], i), parallel
+						.getAxisKnownMinimum(0, types[d], i));
+					assertEquals(serial.getAxisKnownMaximum(0, types[d], i), parallel
+						.getAxisKnownMaximum(0, types[d], i));
+				}
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
 }
@@ -29,15 +29,23 @@
 
 package io.scif.filters;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import io.scif.ByteBufferPlane;
 import io.scif.FormatException;
+import io.scif.Plane;
 import io.scif.Reader;
 import io.scif.SCIFIO;
 import io.scif.io.location.TestImgLocation;
 
 import java.io.IOException;
 
+import net.imglib2.FinalInterval;
+import net.imglib2.Interval;
+
 import org.junit.AfterClass;
 import org.junit.Test;
 import org.scijava.InstantiableException;
@@ -83,4 +91,41 @@ public class PlaneSeparatorTest {
 		assertEquals(0, filter.getMetadata().get(0).getInterleavedAxisCount());
 		assertEquals(2, filter.getMetadata().get(0).getAxesNonPlanar().size());
 	}
+
+	/**
+	 * Verify that separated planes can be read into byte buffer planes, and that
+	 * planes too large for a byte array are read into them strip by strip.
+	 */
+	@Test
+	public void testByteBufferPlanes() throws FormatException, IOException {
+		final byte[][] expected = new byte[12][];
+		final ReaderFilter arrays = scifio.initializer().initializeReader(id);
+		arrays.enable(PlaneSeparator.class);
+		for (int p = 0; p < expected.length; p++) {
+			expected[p] = arrays.openPlane(0, p).getBytes();
+		}
+		arrays.close();
+
+		// A given buffer plane, with several small chunks
+		final ReaderFilter given = scifio.initializer().initializeReader(id);
+		given.enable(PlaneSeparator.class);
+		final Interval bounds = new FinalInterval(512, 512);
+		for (int p = 0; p < expected.length; p++) {
+			final ByteBufferPlane plane = new ByteBufferPlane(given.getMetadata()
+				.get(0), bounds, 1 << 12);
+			assertSame(plane, given.openPlane(0, p, plane));
+			assertArrayEquals(expected[p], plane.getBytes());
+		}
+		given.close();
+
+		// A plane which exceeds the largest array, whose parent is read in strips
+		final ReaderFilter strips = scifio.initializer().initializeReader(id);
+		strips.enable(PlaneSeparator.class).setMaxArraySize(1 << 16);
+		for (int p = 0; p < expected.length; p++) {
+			final Plane plane = strips.openPlane(0, p);
+			assertTrue(plane instanceof ByteBufferPlane);
+			assertArrayEquals(expected[p], plane.getBytes());
+		}
+		strips.close();
+	}
 }
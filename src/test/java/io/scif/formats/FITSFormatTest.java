@@ -0,0 +1,197 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.formats;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.scif.ByteBufferPlane;
+import io.scif.Plane;
+import io.scif.SCIFIO;
+import io.scif.config.SCIFIOConfig;
+import io.scif.config.SCIFIOConfig.ImgMode;
+import io.scif.img.ImgOpener;
+import io.scif.img.converters.PlaneConverter;
+import io.scif.util.FormatTestHelpers;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import net.imagej.ImgPlus;
+import net.imglib2.Cursor;
+import net.imglib2.FinalInterval;
+import net.imglib2.Interval;
+import net.imglib2.type.numeric.RealType;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.io.location.FileLocation;
+
+/**
+ * Tests {@link FITSFormat}, whose reader opens {@link ByteBufferPlane}s.
+ */
+public class FITSFormatTest {
+
+	private static final int WIDTH = 50;
+
+	private static final int HEIGHT = 40;
+
+	private static final int DEPTH = 3;
+
+	/** Capacity of the plane buffers, so that every row spans two of them. */
+	private static final int CHUNK_SIZE = 64;
+
+	private SCIFIO scifio;
+
+	private File file;
+
+	private FileLocation fits;
+
+	@Before
+	public void setUp() throws IOException {
+		scifio = new SCIFIO();
+		file = File.createTempFile("scifio-fits", ".fits");
+		file.deleteOnExit();
+		final ByteBuffer pixels = ByteBuffer.allocate(2 * WIDTH * HEIGHT * DEPTH);
+		for (int z = 0; z < DEPTH; z++) {
+			pixels.put(expected(z, 0, 0, WIDTH, HEIGHT));
+		}
+		FormatTestHelpers.writeFITS(file, pixels.array(), WIDTH, HEIGHT, DEPTH);
+		fits = new FileLocation(file);
+	}
+
+	@After
+	public void tearDown() {
+		scifio.getContext().dispose();
+		file.delete();
+	}
+
+	@Test
+	public void testOpenPlane() throws Exception {
+		final FITSFormat.Reader reader = createReader(new SCIFIOConfig());
+		final Plane plane = reader.openPlane(0, 2);
+		assertTrue(plane instanceof ByteBufferPlane);
+		assertArrayEquals(expected(2, 0, 0, WIDTH, HEIGHT), plane.getBytes());
+		reader.close();
+	}
+
+	/** Tests reading from the file handle into planes of many buffers. */
+	@Test
+	public void testReadRegion() throws Exception {
+		testReadRegion(false);
+	}
+
+	/** Tests reading from mapped views of the file into many buffers. */
+	@Test
+	public void testReadRegionMemoryMapped() throws Exception {
+		testReadRegion(true);
+	}
+
+	/** Tests that each kind of image is populated from the buffers. */
+	@Test
+	public void testOpenImg() throws Exception {
+		final ImgOpener opener = new ImgOpener(scifio.getContext());
+		for (final ImgMode mode : new ImgMode[] { ImgMode.ARRAY, ImgMode.PLANAR }) {
+			assertImg(opener.openImgs(fits, new SCIFIOConfig().imgOpenerSetImgModes(
+				mode)).get(0));
+		}
+		final PlaneConverter converter = scifio.planeConverter()
+			.getDefaultConverter();
+		assertImg(opener.openImgs(fits, new SCIFIOConfig().imgOpenerSetImgModes(
+			ImgMode.PLANAR).imgOpenerSetPlaneConverter(converter)).get(0));
+	}
+
+	// -- Helper methods --
+
+	private void testReadRegion(final boolean mapped) throws Exception {
+		final FITSFormat.Reader reader = createReader(new SCIFIOConfig()
+			.readerSetMemoryMapped(mapped));
+		// Whole plane, whole rows and a region within the rows
+		for (final long[] region : new long[][] { { 0, 0, WIDTH, HEIGHT }, { 0, 7,
+			WIDTH, 20 }, { 5, 3, 33, 29 } })
+		{
+			for (int z = 0; z < DEPTH; z++) {
+				final Interval bounds = new FinalInterval(new long[] { region[0],
+					region[1] }, new long[] { region[0] + region[2] - 1, region[1] +
+						region[3] - 1 });
+				final ByteBufferPlane plane = new ByteBufferPlane(reader.getMetadata()
+					.get(0), bounds, CHUNK_SIZE);
+				reader.openPlane(0, z, plane, bounds, new SCIFIOConfig());
+				assertTrue(plane.getData().length > 1);
+				assertArrayEquals(expected(z, (int) region[0], (int) region[1],
+					(int) region[2], (int) region[3]), plane.getBytes());
+			}
+		}
+		reader.close();
+	}
+
+	private FITSFormat.Reader createReader(final SCIFIOConfig config)
+		throws Exception
+	{
+		final FITSFormat.Reader reader = (FITSFormat.Reader) scifio.format()
+			.getFormat(fits).createReader();
+		reader.setSource(fits, config);
+		return reader;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void assertImg(final ImgPlus<?> img) {
+		assertEquals(WIDTH, img.dimension(0));
+		assertEquals(HEIGHT, img.dimension(1));
+		assertEquals(DEPTH, img.dimension(2));
+		final Cursor<? extends RealType<?>> cursor =
+			((ImgPlus<? extends RealType<?>>) img).localizingCursor();
+		while (cursor.hasNext()) {
+			cursor.fwd();
+			assertEquals(value(cursor.getIntPosition(0), cursor.getIntPosition(1),
+				cursor.getIntPosition(2)), cursor.get().getRealDouble(), 0);
+		}
+	}
+
+	/** @return The big-endian samples of the given region of a plane. */
+	private static byte[] expected(final int z, final int x, final int y,
+		final int w, final int h)
+	{
+		final ByteBuffer bytes = ByteBuffer.allocate(2 * w * h);
+		for (int row = y; row < y + h; row++) {
+			for (int col = x; col < x + w; col++) {
+				bytes.putShort(value(col, row, z));
+			}
+		}
+		return bytes.array();
+	}
+
+	private static short value(final int x, final int y, final int z) {
+		return (short) (x + 100 * y + 5000 * z - 7000);
+	}
+}
@@ -29,13 +29,22 @@
 
 package io.scif.formats;
 
+import static org.junit.Assert.assertArrayEquals;
+
+import io.scif.FormatException;
+import io.scif.Reader;
+import io.scif.services.InitializeService;
+
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 
 import net.imagej.axis.Axes;
 
 import org.junit.Test;
+import org.scijava.Context;
 import org.scijava.io.http.HTTPLocation;
+import org.scijava.io.location.Location;
 
 public class GIFFormatTest extends AbstractFormatTest {
 
@@ -60,4 +69,35 @@ public class GIFFormatTest extends AbstractFormatTest {
 			"b73af3c4d7ae198eb8a3156af8ac0736c1cbec07", meta, new int[] { 530, 480, 3,
 				151 }, Axes.X, Axes.Y, Axes.CHANNEL, Axes.TIME);
 	}
+
+	/**
+	 * Tests that frames, which are decoded and composited on demand, are the
+	 * same whether read in order or in reverse.
+	 */
+	@Test
+	public void testAnimatedRandomAccess() throws FormatException, IOException {
+		final Location loc = baseFolder().child("scifio-test-animated.gif");
+		final Context context = new Context();
+		try {
+			final InitializeService init = context.service(InitializeService.class);
+			final Reader forward = init.initializeReader(loc);
+			final int planeCount = (int) forward.getMetadata().get(0)
+				.getPlaneCount();
+			final byte[][] expected = new byte[planeCount][];
+			for (int p = 0; p < planeCount; p++) {
+				expected[p] = forward.openPlane(0, p).getBytes();
+			}
+			forward.close();
+
+			final Reader reverse = init.initializeReader(loc);
+			for (int p = planeCount - 1; p >= 0; p--) {
+				assertArrayEquals("Plane " + p, expected[p], reverse.openPlane(0, p)
+					.getBytes());
+			}
+			reverse.close();
+		}
+		finally {
+			context.dispose();
+		}
+	}
 }
@@ -29,23 +29,115 @@
 
 package io.scif.formats;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.scif.SCIFIO;
+import io.scif.codec.GzipIndex;
+import io.scif.config.SCIFIOConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPOutputStream;
 
 import net.imagej.axis.Axes;
 
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 import org.scijava.io.http.HTTPLocation;
+import org.scijava.io.location.FileLocation;
 import io.scif.img.axes.SCIFIOAxes;
 
 public class ICSFormatTest extends AbstractFormatTest {
 
+	private static final int WIDTH = 64;
+
+	private static final int HEIGHT = 48;
+
+	private static final int DEPTH = 4;
+
+	private static final int PLANE_SIZE = WIDTH * HEIGHT;
+
+	private SCIFIO scifio;
+
+	private File dir;
+
 	public ICSFormatTest() throws URISyntaxException, MalformedURLException {
 		super(new HTTPLocation("https://samples.scif.io/test-ics.zip"),
 			new HTTPLocation("https://samples.scif.io/qdna1.zip"),
 			new HTTPLocation("https://samples.scif.io/Gray-FLIM-datasets.zip"));
 	}
 
+	@Before
+	public void setUp() throws IOException {
+		scifio = new SCIFIO();
+		dir = Files.createTempDirectory("scifio-ics").toFile();
+	}
+
+	@After
+	public void tearDown() {
+		scifio.getContext().dispose();
+		for (final File f : dir.listFiles()) f.delete();
+		dir.delete();
+	}
+
+	/**
+	 * Tests that reading GZIP-compressed planes in order streams the data, and
+	 * that the first read going back switches to an index.
+	 */
+	@Test
+	public void testGzipPlanes() throws Exception {
+		final FileLocation ics = writeGzipICS();
+		final SCIFIOConfig config = new SCIFIOConfig().readerSetGzipIndexSpan(
+			1 << 12);
+		final ICSFormat.Reader reader = createReader(ics, config);
+		for (int z = 0; z < DEPTH; z++) {
+			assertPlane(reader, z, config);
+			assertFalse(reader.isGzipIndexed());
+		}
+		for (int z = DEPTH - 2; z >= 0; z--) {
+			assertPlane(reader, z, config);
+			assertTrue(reader.isGzipIndexed());
+		}
+		assertPlane(reader, DEPTH - 1, config);
+		reader.close();
+	}
+
+	/**
+	 * Tests that a complete GZIP index is saved next to the data, and that
+	 * later readers start from it rather than from the stream.
+	 */
+	@Test
+	public void testGzipIndexPersisted() throws Exception {
+		final FileLocation ics = writeGzipICS();
+		final File indexFile = GzipIndex.indexFile(ics).toFile();
+		final SCIFIOConfig config = new SCIFIOConfig()
+			.readerSetGzipIndexPersisted(true).readerSetGzipIndexSpan(1 << 12);
+
+		ICSFormat.Reader reader = createReader(ics, config);
+		for (int z = 0; z < DEPTH; z++) {
+			assertPlane(reader, z, config);
+		}
+		assertFalse(indexFile.exists());
+		assertPlane(reader, 0, config);
+		assertPlane(reader, DEPTH - 1, config);
+		assertTrue(indexFile.exists());
+		reader.close();
+
+		reader = createReader(ics, config);
+		assertPlane(reader, 2, config);
+		assertTrue(reader.isGzipIndexed());
+		assertPlane(reader, 1, config);
+		reader.close();
+	}
+
 	private static final String hash_qdna1 =
 		"2ec90191e91e76fc8db8d570f47d5713fbdc7df5";
 
@@ -146,4 +238,53 @@ public class ICSFormatTest extends AbstractFormatTest {
 			"2729daf548e65378d93b24da8ee6a583819a34f0", meta, new int[] { 128, 128, 256, },
 			Axes.X, Axes.Y, SCIFIOAxes.LIFETIME);
 	}
+
+	// -- Helper methods --
+
+	private static void assertPlane(final ICSFormat.Reader reader, final int z,
+		final SCIFIOConfig config) throws Exception
+	{
+		final byte[] expected = new byte[PLANE_SIZE];
+		for (int i = 0; i < PLANE_SIZE; i++) {
+			expected[i] = value(z * PLANE_SIZE + i);
+		}
+		assertArrayEquals(expected, reader.openPlane(0, z, config).getBytes());
+	}
+
+	private ICSFormat.Reader createReader(final FileLocation loc,
+		final SCIFIOConfig config) throws Exception
+	{
+		final ICSFormat.Reader reader = (ICSFormat.Reader) scifio.format()
+			.getFormatFromClass(ICSFormat.class).createReader();
+		reader.setSource(loc, config);
+		return reader;
+	}
+
+	/** Writes an ICS version 2 stack of GZIP-compressed 8-bit samples. */
+	private FileLocation writeGzipICS() throws IOException {
+		final File file = new File(dir, "gzip.ics");
+		final String header = "\t\n" + "ics_version\t2.0\n" +
+			"filename\tgzip.ics\n" + "layout\tparameters\t4\n" +
+			"layout\torder\tbits\tx\ty\tz\n" + "layout\tsizes\t8\t" + WIDTH +
+			"\t" + HEIGHT + "\t" + DEPTH + "\n" + "layout\tsignificant_bits\t8\n" +
+			"representation\tformat\tinteger\n" +
+			"representation\tsign\tunsigned\n" +
+			"representation\tcompression\tgzip\n" +
+			"representation\tbyte_order\t1\n" + "end\n";
+		final byte[] pixels = new byte[PLANE_SIZE * DEPTH];
+		for (int i = 0; i < pixels.length; i++) {
+			pixels[i] = value(i);
+		}
+		try (final OutputStream out = Files.newOutputStream(file.toPath())) {
+			out.write(header.getBytes(StandardCharsets.US_ASCII));
+			try (final GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+				gzip.write(pixels);
+			}
+		}
+		return new FileLocation(file);
+	}
+
+	private static byte value(final int i) {
+		return (byte) (i / 5 % 17 + i % 7);
+	}
 }
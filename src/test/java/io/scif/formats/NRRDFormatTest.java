@@ -29,20 +29,137 @@
 
 package io.scif.formats;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.scif.SCIFIO;
+import io.scif.codec.GzipIndex;
+import io.scif.config.SCIFIOConfig;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPOutputStream;
 
 import net.imagej.axis.Axes;
 
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 import org.scijava.io.http.HTTPLocation;
+import org.scijava.io.location.FileLocation;
 
 public class NRRDFormatTest extends AbstractFormatTest {
 
+	private static final int WIDTH = 500;
+
+	private static final int HEIGHT = 200;
+
+	private static final int DEPTH = 3;
+
+	private static final int PLANE_SIZE = WIDTH * HEIGHT;
+
+	/** Bytes before the pixels in the decompressed detached data file. */
+	private static final int BYTE_SKIP = 16;
+
+	/** Decompressed pixels, matching the bzip2-test.bz2 codec resource. */
+	private static final byte[] PIXELS = pixels();
+
+	private SCIFIO scifio;
+
+	private File dir;
+
 	public NRRDFormatTest() throws URISyntaxException, MalformedURLException {
 		super(new HTTPLocation("https://samples.scif.io/test-nrrd.zip"));
 	}
 
+	@Before
+	public void setUp() throws IOException {
+		scifio = new SCIFIO();
+		dir = Files.createTempDirectory("scifio-nrrd").toFile();
+	}
+
+	@After
+	public void tearDown() {
+		scifio.getContext().dispose();
+		for (final File f : dir.listFiles()) f.delete();
+		dir.delete();
+	}
+
+	@Test
+	public void testGzipAttached() throws Exception {
+		final FileLocation nrrd = writeAttached("gzip", gzip(PIXELS));
+		assertGzipPlanes(nrrd, new SCIFIOConfig());
+	}
+
+	@Test
+	public void testGzipDetached() throws Exception {
+		final byte[] data = new byte[BYTE_SKIP + PIXELS.length];
+		System.arraycopy(PIXELS, 0, data, BYTE_SKIP, PIXELS.length);
+		final FileLocation nhdr = writeDetached("gzip", "pixels.raw.gz", gzip(
+			data), BYTE_SKIP);
+		assertGzipPlanes(nhdr, new SCIFIOConfig());
+	}
+
+	@Test
+	public void testBzip2Attached() throws Exception {
+		final FileLocation nrrd = writeAttached("bzip2", bzip2());
+		assertPlanes(nrrd, new SCIFIOConfig());
+	}
+
+	@Test
+	public void testBzip2Detached() throws Exception {
+		final FileLocation nhdr = writeDetached("bz2", "pixels.raw.bz2", bzip2(),
+			0);
+		assertPlanes(nhdr, new SCIFIOConfig());
+	}
+
+	/**
+	 * Tests that a complete GZIP index is saved next to the data, and that
+	 * later readers start from it rather than from the stream.
+	 */
+	@Test
+	public void testGzipIndexPersisted() throws Exception {
+		final FileLocation nrrd = writeAttached("gz", gzip(PIXELS));
+		final File indexFile = GzipIndex.indexFile(nrrd).toFile();
+		final SCIFIOConfig config = new SCIFIOConfig()
+			.readerSetGzipIndexPersisted(true).readerSetGzipIndexSpan(1 << 15);
+
+		// Iterating in order never builds an index
+		NRRDFormat.Reader reader = createReader(nrrd, config);
+		for (int z = 0; z < DEPTH; z++) {
+			assertPlane(reader, z, config);
+		}
+		assertFalse(indexFile.exists());
+
+		// Indexing to the end saves the index
+		assertPlane(reader, 0, config);
+		assertTrue(reader.isGzipIndexed());
+		assertPlane(reader, DEPTH - 1, config);
+		assertTrue(indexFile.exists());
+		reader.close();
+
+		reader = createReader(nrrd, config);
+		assertPlane(reader, 1, config);
+		assertTrue(reader.isGzipIndexed());
+		assertPlane(reader, 0, config);
+		assertPlane(reader, DEPTH - 1, config);
+		reader.close();
+
+		// Without persistence, the saved index is ignored
+		reader = createReader(nrrd, new SCIFIOConfig());
+		assertPlane(reader, 1, new SCIFIOConfig());
+		assertFalse(reader.isGzipIndexed());
+		reader.close();
+	}
+
 	// TEMP: Disable tests until remote test file is in place.
 
 //	@Test
@@ -60,4 +177,125 @@ public class NRRDFormatTest extends AbstractFormatTest {
 			"7e36a3c1ba03af681db51fdb78c95e6da31b8a4b", metaJson, new int[] { 38,
 				39, 7 }, Axes.X, Axes.Y, Axes.CHANNEL);
 	}
+
+	// -- Helper methods --
+
+	/**
+	 * Reads the planes in order, which must stream the GZIP data, then goes
+	 * back, which must switch to an index.
+	 */
+	private void assertGzipPlanes(final FileLocation loc,
+		final SCIFIOConfig config) throws Exception
+	{
+		final NRRDFormat.Reader reader = createReader(loc, config);
+		for (int z = 0; z < DEPTH; z++) {
+			assertPlane(reader, z, config);
+			assertFalse(reader.isGzipIndexed());
+		}
+		for (int z = DEPTH - 2; z >= 0; z--) {
+			assertPlane(reader, z, config);
+			assertTrue(reader.isGzipIndexed());
+		}
+		assertPlane(reader, DEPTH - 1, config);
+		reader.close();
+	}
+
+	/** Reads the planes in order, then in reverse. */
+	private void assertPlanes(final FileLocation loc, final SCIFIOConfig config)
+		throws Exception
+	{
+		final NRRDFormat.Reader reader = createReader(loc, config);
+		for (int z = 0; z < DEPTH; z++) {
+			assertPlane(reader, z, config);
+		}
+		for (int z = DEPTH - 1; z >= 0; z--) {
+			assertPlane(reader, z, config);
+		}
+		reader.close();
+	}
+
+	private static void assertPlane(final NRRDFormat.Reader reader, final int z,
+		final SCIFIOConfig config) throws Exception
+	{
+		final byte[] expected = new byte[PLANE_SIZE];
+		System.arraycopy(PIXELS, z * PLANE_SIZE, expected, 0, PLANE_SIZE);
+		assertArrayEquals(expected, reader.openPlane(0, z, config).getBytes());
+	}
+
+	private NRRDFormat.Reader createReader(final FileLocation loc,
+		final SCIFIOConfig config) throws Exception
+	{
+		final NRRDFormat.Reader reader = (NRRDFormat.Reader) scifio.format()
+			.getFormatFromClass(NRRDFormat.class).createReader();
+		reader.setSource(loc, config);
+		return reader;
+	}
+
+	/** Writes a .nrrd file with the given compressed pixels after the header. */
+	private FileLocation writeAttached(final String encoding,
+		final byte[] compressed) throws IOException
+	{
+		final File file = new File(dir, "attached.nrrd");
+		try (final OutputStream out = Files.newOutputStream(file.toPath())) {
+			out.write(header(encoding, null, 0));
+			out.write(compressed);
+		}
+		return new FileLocation(file);
+	}
+
+	/** Writes a .nhdr file, and the compressed data file it points to. */
+	private FileLocation writeDetached(final String encoding,
+		final String dataFile, final byte[] compressed, final int byteSkip)
+		throws IOException
+	{
+		Files.write(new File(dir, dataFile).toPath(), compressed);
+		final File file = new File(dir, "detached.nhdr");
+		Files.write(file.toPath(), header(encoding, dataFile, byteSkip));
+		return new FileLocation(file);
+	}
+
+	private static byte[] header(final String encoding, final String dataFile,
+		final int byteSkip)
+	{
+		final StringBuilder header = new StringBuilder("NRRD0004\n");
+		header.append("type: uchar\n");
+		header.append("dimension: 3\n");
+		header.append("sizes: " + WIDTH + " " + HEIGHT + " " + DEPTH + "\n");
+		header.append("encoding: " + encoding + "\n");
+		header.append("endian: little\n");
+		if (dataFile != null) header.append("data file: " + dataFile + "\n");
+		if (byteSkip != 0) header.append("byte skip: " + byteSkip + "\n");
+		header.append("\n");
+		return header.toString().getBytes(StandardCharsets.US_ASCII);
+	}
+
+	private static byte[] gzip(final byte[] data) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (final GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+			out.write(data);
+		}
+		return bytes.toByteArray();
+	}
+
+	/** @return The BZIP2-compressed {@link #PIXELS}, from the codec tests. */
+	private static byte[] bzip2() throws IOException {
+		try (final InputStream in = NRRDFormatTest.class.getResourceAsStream(
+			"/io/scif/codec/bzip2-test.bz2"))
+		{
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			final byte[] buf = new byte[8192];
+			for (int r = in.read(buf); r >= 0; r = in.read(buf)) {
+				bytes.write(buf, 0, r);
+			}
+			return bytes.toByteArray();
+		}
+	}
+
+	private static byte[] pixels() {
+		final byte[] data = new byte[PLANE_SIZE * DEPTH];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) (i / 7 % 13 + i % 3 + i / 1000 % 5);
+		}
+		return data;
+	}
 }
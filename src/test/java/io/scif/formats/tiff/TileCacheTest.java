@@ -0,0 +1,94 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.formats.tiff;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.scijava.io.location.BytesLocation;
+import org.scijava.io.location.Location;
+
+/**
+ * Unit tests for {@link TileCache}.
+ */
+public class TileCacheTest {
+
+	private final Location loc = new BytesLocation(16);
+
+	/** Tests lookups and the hit/miss counters. */
+	@Test
+	public void testGetPut() {
+		final TileCache cache = new TileCache(100);
+		assertNull(cache.get(loc, 16, -1, 8, 0, 0));
+		final byte[] tile = new byte[] { 1, 2, 3 };
+		cache.put(loc, 16, -1, 8, 0, 0, tile);
+		assertArrayEquals(tile, cache.get(loc, 16, -1, 8, 0, 0));
+		assertNull(cache.get(loc, 16, -1, 8, 0, 1));
+		assertNull(cache.get(loc, 16, -1, 16, 0, 0));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(3, cache.getMissCount());
+		assertEquals(3, cache.getBytes());
+	}
+
+	/** Tests that the least recently used tiles are evicted first. */
+	@Test
+	public void testEviction() {
+		final TileCache cache = new TileCache(30);
+		cache.put(loc, 16, -1, 0, 0, 0, new byte[10]);
+		cache.put(loc, 16, -1, 10, 0, 1, new byte[10]);
+		cache.put(loc, 16, -1, 20, 0, 2, new byte[10]);
+		cache.get(loc, 16, -1, 0, 0, 0);
+		cache.put(loc, 16, -1, 30, 0, 3, new byte[10]);
+
+		assertEquals(3, cache.size());
+		assertEquals(30, cache.getBytes());
+		assertEquals(1, cache.getEvictionCount());
+		assertNull(cache.get(loc, 16, -1, 10, 0, 1));
+
+		// tiles larger than the budget are never cached
+		cache.put(loc, 16, -1, 40, 0, 4, new byte[31]);
+		assertNull(cache.get(loc, 16, -1, 40, 0, 4));
+		assertEquals(3, cache.size());
+	}
+
+	/** Tests that tiles of a file rewritten in place are not served. */
+	@Test
+	public void testRewrittenFile() {
+		final TileCache cache = new TileCache(100);
+		cache.put(loc, 16, 1000, 8, 0, 0, new byte[] { 1, 2, 3 });
+		assertNull(cache.get(loc, 16, 2000, 8, 0, 0));
+		assertNull(cache.get(loc, 24, 1000, 8, 0, 0));
+		assertArrayEquals(new byte[] { 1, 2, 3 }, cache.get(loc, 16, 1000, 8, 0,
+			0));
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.img;
+
+import static org.junit.Assert.assertEquals;
+
+import io.scif.ByteBufferPlane;
+import io.scif.io.location.TestImgLocation;
+import io.scif.util.ImageHash;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import net.imagej.ImgPlus;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.io.location.FileLocation;
+
+/**
+ * Tests {@link ImgSaver} with planes assembled in {@link ByteBufferPlane}s of
+ * small buffers, as it does for planes too large for a {@code byte[]}.
+ */
+public class ImgSaverTest {
+
+	private Context context;
+
+	private ImgOpener opener;
+
+	private ImgSaver saver;
+
+	private Path dir;
+
+	@Before
+	public void setUp() throws IOException {
+		context = new Context();
+		opener = new ImgOpener(context);
+		saver = new ImgSaver(context);
+		saver.setPlaneLimits(0, 64);
+		dir = Files.createTempDirectory("scifio-imgsaver");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		context.dispose();
+		try (final Stream<Path> files = Files.list(dir)) {
+			for (final Path file : (Iterable<Path>) files::iterator) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(dir);
+	}
+
+	/** Tests planes written contiguously, here streamed by the ICS writer. */
+	@Test
+	public void testBufferPlanes() throws IOException {
+		assertSaved(new TestImgLocation.Builder().name("testimg").pixelType(
+			"uint16").axes("X", "Y", "Z").lengths(45, 30, 3).build(), "stack.ics");
+		assertSaved(new TestImgLocation.Builder().name("testimg").pixelType(
+			"float").axes("X", "Y", "Channel", "Z").lengths(45, 30, 3, 2).build(),
+			"channels.ics");
+	}
+
+	/** Tests planes whose channels are interleaved, here written as EPS. */
+	@Test
+	public void testBufferPlanesInterleaved() throws IOException {
+		assertSaved(new TestImgLocation.Builder().name("testimg").pixelType(
+			"uint8").axes("X", "Y", "Channel").lengths(45, 30, 3).build(), "rgb.eps");
+	}
+
+	// -- Helper methods --
+
+	private void assertSaved(final TestImgLocation source, final String name)
+		throws IOException
+	{
+		final ImgPlus<?> sourceImg = opener.openImgs(source).get(0);
+		final FileLocation out = new FileLocation(dir.resolve(name).toFile());
+		saver.saveImg(out, sourceImg);
+		final ImgPlus<?> written = opener.openImgs(out).get(0);
+		assertEquals(ImageHash.hashImg(sourceImg), ImageHash.hashImg(written));
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.img.cell;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import io.scif.FormatException;
+import io.scif.Reader;
+import io.scif.SCIFIO;
+import io.scif.io.location.TestImgLocation;
+
+import java.io.IOException;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.scijava.io.location.Location;
+
+/**
+ * Unit tests for {@link ReaderPool}.
+ */
+public class ReaderPoolTest {
+
+	// -- Fields --
+
+	private static final SCIFIO scifio = new SCIFIO();
+
+	private static final Location loc = TestImgLocation.builder().name("pool")
+		.axes("X", "Y", "Z").lengths(64, 64, 8).build();
+
+	@AfterClass
+	public static void dispose() {
+		scifio.dispose();
+	}
+
+	// -- Tests --
+
+	/** Tests that readers are opened lazily, up to the pool's capacity. */
+	@Test
+	public void testAcquireRelease() throws FormatException, IOException {
+		final Reader reader = scifio.initializer().initializeReader(loc);
+		final ReaderPool pool = new ReaderPool(reader, 2, () -> scifio
+			.initializer().initializeReader(loc));
+		assertEquals(1, pool.size());
+
+		final Reader first = pool.acquire();
+		assertSame(reader, first);
+		final Reader second = pool.acquire();
+		assertNotSame(reader, second);
+		assertEquals(2, pool.size());
+
+		pool.release(first);
+		assertSame(first, pool.acquire());
+		assertEquals(2, pool.size());
+
+		pool.release(first);
+		pool.release(second);
+		pool.close();
+		assertNull(reader.getMetadata());
+		assertNull(second.getMetadata());
+	}
+
+	/** Tests that readers in use are only closed once released. */
+	@Test
+	public void testCloseWhileAcquired() throws FormatException, IOException {
+		final Reader reader = scifio.initializer().initializeReader(loc);
+		final ReaderPool pool = new ReaderPool(reader, 2, () -> scifio
+			.initializer().initializeReader(loc));
+		final Reader first = pool.acquire();
+		final Reader second = pool.acquire();
+		pool.release(second);
+		pool.close();
+		assertNull(second.getMetadata());
+
+		// NB: the reader in use can still read
+		assertNotNull(first.openPlane(0, 0));
+		pool.release(first);
+		assertNull(first.getMetadata());
+	}
+
+	/** Tests that a reader on a different dataset is not added to the pool. */
+	@Test
+	public void testMismatchedReader() throws FormatException, IOException {
+		final Location other = TestImgLocation.builder().name("other").axes("X",
+			"Y", "Z").lengths(32, 32, 8).build();
+		final Reader reader = scifio.initializer().initializeReader(loc);
+		final ReaderPool pool = new ReaderPool(reader, 2, () -> scifio
+			.initializer().initializeReader(other));
+
+		// NB: the only reader is busy, so the next acquire tries to open another
+		final Reader held = pool.acquire();
+		final Thread t = new Thread(() -> {
+			try {
+				pool.release(pool.acquire());
+			}
+			catch (final IOException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		t.start();
+		try {
+			while (pool.capacity() > 1)
+				Thread.sleep(10);
+			pool.release(held);
+			t.join();
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		assertEquals(1, pool.size());
+		assertEquals(1, pool.capacity());
+		pool.close();
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.img.converters;
+
+import static org.junit.Assert.assertEquals;
+
+import io.scif.ByteBufferPlane;
+import io.scif.Plane;
+import io.scif.Reader;
+import io.scif.SCIFIO;
+import io.scif.config.SCIFIOConfig;
+import io.scif.io.location.TestImgLocation;
+
+import net.imagej.ImgPlus;
+import net.imglib2.Cursor;
+import net.imglib2.FinalInterval;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.img.planar.PlanarImgs;
+import net.imglib2.type.numeric.RealType;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that {@link PlaneConverter}s populate images from
+ * {@link ByteBufferPlane}s as they do from byte arrays. The planes are backed
+ * by small buffers, so that rows span several of them.
+ */
+public class PlaneConverterTest {
+
+	private static final int WIDTH = 45;
+
+	private static final int HEIGHT = 30;
+
+	private SCIFIO scifio;
+
+	@Before
+	public void setUp() {
+		scifio = new SCIFIO();
+	}
+
+	@After
+	public void tearDown() {
+		scifio.getContext().dispose();
+	}
+
+	@Test
+	public void testPlanarAccess() throws Exception {
+		final PlaneConverter converter = scifio.planeConverter()
+			.getPlanarConverter();
+		assertConverted(converter, "uint16", new ImgPlus<>(PlanarImgs
+			.unsignedShorts(WIDTH, HEIGHT)));
+		assertConverted(converter, "float", new ImgPlus<>(PlanarImgs.floats(WIDTH,
+			HEIGHT)));
+	}
+
+	@Test
+	public void testRandomAccess() throws Exception {
+		final PlaneConverter converter = scifio.planeConverter()
+			.getDefaultConverter();
+		assertConverted(converter, "uint16", new ImgPlus<>(ArrayImgs
+			.unsignedShorts(WIDTH, HEIGHT)));
+		assertConverted(converter, "float", new ImgPlus<>(ArrayImgs.floats(WIDTH,
+			HEIGHT)));
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Populates the given image from a {@link ByteBufferPlane} and checks it
+	 * against the same plane converted from its bytes.
+	 */
+	private <T extends RealType<T>> void assertConverted(
+		final PlaneConverter converter, final String pixelType,
+		final ImgPlus<T> img) throws Exception
+	{
+		final Reader reader = scifio.initializer().initializeReader(
+			new TestImgLocation.Builder().name("testimg").pixelType(pixelType).axes(
+				"X", "Y").lengths(WIDTH, HEIGHT).build());
+		final SCIFIOConfig config = new SCIFIOConfig();
+		final byte[] bytes = reader.openPlane(0, 0).getBytes();
+
+		final ByteBufferPlane plane = new ByteBufferPlane(reader.getMetadata().get(
+			0), new FinalInterval(WIDTH, HEIGHT), 64);
+		plane.put(0, bytes, 0, bytes.length);
+		converter.populatePlane(reader, 0, 0, (Plane) plane, img, config);
+
+		final ImgPlus<T> expected = new ImgPlus<>(img.factory().create(img));
+		converter.populatePlane(reader, 0, 0, bytes, expected, config);
+		reader.close();
+
+		final Cursor<T> cursor = img.localizingCursor();
+		final Cursor<T> expectedCursor = expected.localizingCursor();
+		while (cursor.hasNext()) {
+			assertEquals(expectedCursor.next().getRealDouble(), cursor.next()
+				.getRealDouble(), 0);
+		}
+	}
+}
@@ -32,12 +32,22 @@ package io.scif.services;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import io.scif.Format;
 import io.scif.FormatException;
+import io.scif.FormatSignature;
+import io.scif.config.SCIFIOConfig;
 import io.scif.formats.StratecPQCTFormat;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Random;
 import java.util.Set;
 
@@ -46,7 +56,11 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.scijava.Context;
+import org.scijava.io.handle.DataHandle;
+import org.scijava.io.handle.DataHandleService;
+import org.scijava.io.location.BytesLocation;
 import org.scijava.io.location.FileLocation;
+import org.scijava.io.location.Location;
 import org.scijava.thread.ThreadService;
 
 /**
@@ -94,6 +108,77 @@ public class FormatServiceTest {
 			expectedSuffixes.isEmpty());
 	}
 
+	/**
+	 * Tests that detection via {@link FormatSignature}s finds the same formats
+	 * as running every {@link io.scif.Checker}.
+	 */
+	@Test
+	public void testSignatureDetection() throws FormatException, IOException {
+		final List<byte[]> headers = new ArrayList<>();
+		for (final Format format : formatService.getAllFormats()) {
+			for (final FormatSignature signature : format.createChecker()
+				.getSignatures())
+			{
+				final byte[] header = new byte[64];
+				for (int i = 0; i < signature.getLength(); i++) {
+					header[signature.getOffset() + i] = signature.getByte(i);
+				}
+				headers.add(header);
+			}
+		}
+		final Random random = new Random(0xcafe);
+		for (int i = 0; i < 10; i++) {
+			final byte[] header = new byte[64];
+			random.nextBytes(header);
+			headers.add(header);
+		}
+		headers.add(new byte[0]);
+
+		final DataHandleService dataHandleService = formatService.getContext()
+			.service(DataHandleService.class);
+		for (final byte[] header : headers) {
+			try (final DataHandle<Location> handle = dataHandleService.create(
+				new BytesLocation(header)))
+			{
+				final List<Format> expected = new ArrayList<>();
+				for (final Format format : formatService.getAllFormats()) {
+					if (format.isEnabled() && format.createChecker().isFormat(handle)) {
+						expected.add(format);
+					}
+					handle.seek(0);
+				}
+				assertEquals(expected, formatService.getFormatList(handle));
+				assertEquals(0, handle.offset());
+			}
+		}
+	}
+
+	/**
+	 * Tests that detection of a file with an unknown suffix is unaffected by
+	 * ruling out formats by their signatures.
+	 */
+	@Test
+	public void testSignatureDetectionByLocation() throws FormatException,
+		IOException
+	{
+		final File file = File.createTempFile("scifio-signature", ".dat");
+		file.deleteOnExit();
+		try (final InputStream in = getClass().getResourceAsStream(
+			"/io/scif/img/axisguesser/test_stack/img_000000000_FITC_000.tif"))
+		{
+			Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		final SCIFIOConfig config = new SCIFIOConfig().checkerSetOpen(true);
+		final FileLocation loc = new FileLocation(file);
+		final List<Format> expected = new ArrayList<>();
+		for (final Format format : formatService.getAllFormats()) {
+			if (format.isEnabled() && format.createChecker().isFormat(loc, config)) {
+				expected.add(format);
+			}
+		}
+		assertEquals(expected, formatService.getFormatList(loc, config, false));
+	}
+
 	/**
 	 * Test simultaneous format caching on multiple threads.
 	 * <p>
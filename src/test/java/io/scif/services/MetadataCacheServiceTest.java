@@ -0,0 +1,361 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.services;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import io.scif.Format;
+import io.scif.Metadata;
+import io.scif.Reader;
+import io.scif.SCIFIO;
+import io.scif.config.SCIFIOConfig;
+import io.scif.filters.ReaderFilter;
+import io.scif.img.ImgOpener;
+import io.scif.img.ImgSaver;
+import io.scif.io.location.TestImgLocation;
+import io.scif.util.FormatTestHelpers;
+import io.scif.util.ImageHash;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import net.imagej.ImgPlus;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.io.location.FileLocation;
+
+/**
+ * Tests {@link MetadataCacheService}.
+ */
+public class MetadataCacheServiceTest {
+
+	private SCIFIO scifio;
+
+	private MetadataCacheService cache;
+
+	private Path cacheDir;
+
+	private FileLocation image;
+
+	@Before
+	public void setUp() throws IOException {
+		scifio = new SCIFIO();
+		cache = scifio.metadataCache();
+		cacheDir = Files.createTempDirectory("scifio-metadata-cache");
+		cache.setCacheDirectory(cacheDir);
+
+		final File file = File.createTempFile("scifio-metadata-cache", ".tif");
+		file.deleteOnExit();
+		image = new FileLocation(file);
+		final ImgPlus<?> img = new ImgOpener(scifio.context()).openImgs(
+			new TestImgLocation.Builder().name("cached").pixelType("uint16").axes(
+				"X", "Y", "Z").lengths(64, 48, 3).build()).get(0);
+		new ImgSaver(scifio.context()).saveImg(image, img);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		cache.clear();
+		Files.deleteIfExists(cacheDir);
+		scifio.getContext().dispose();
+	}
+
+	/** Tests that a second initialization is served from the cache. */
+	@Test
+	public void testInitializeFromCache() throws Exception {
+		final SCIFIOConfig config = new SCIFIOConfig().parserSetMetadataCached(
+			true);
+		final ImgOpener opener = new ImgOpener(scifio.context());
+		final ImgPlus<?> parsed = opener.openImgs(image, config).get(0);
+		assertEquals(1, countEntries());
+
+		final Format format = scifio.format().getFormat(image);
+		final Metadata meta = cache.load(image, format, config);
+		assertNotNull(meta);
+		assertEquals(image, meta.getSourceLocation());
+		assertEquals(3, meta.get(0).getAxisLength(2));
+
+		final ImgPlus<?> cached = opener.openImgs(image, config).get(0);
+		assertEquals(1, countEntries());
+		assertEquals(ImageHash.hashImg(parsed), ImageHash.hashImg(cached));
+		meta.close();
+	}
+
+	/** Tests that entries are not reused once the file changes. */
+	@Test
+	public void testInvalidation() throws Exception {
+		final SCIFIOConfig config = new SCIFIOConfig().parserSetMetadataCached(
+			true);
+		scifio.initializer().parseMetadata(image, config).close();
+		final Format format = scifio.format().getFormat(image);
+		assertNull(cache.load(image, format, new SCIFIOConfig()
+			.parserSetFiltered(true)));
+
+		final File file = image.getFile();
+		assertTrue(file.setLastModified(file.lastModified() - 60000));
+		assertNull(cache.load(image, format, config));
+	}
+
+	/**
+	 * Tests a format whose parser, not its
+	 * {@link Metadata#populateImageMetadata()}, creates the image metadata.
+	 */
+	@Test
+	public void testFITSFromCache() throws Exception {
+		final File file = File.createTempFile("scifio-metadata-cache", ".fits");
+		file.deleteOnExit();
+		final ByteBuffer pixels = ByteBuffer.allocate(2 * 32 * 24);
+		for (int i = 0; i < 32 * 24; i++) {
+			pixels.putShort((short) (i % 200));
+		}
+		FormatTestHelpers.writeFITS(file, pixels.array(), 32, 24);
+		final FileLocation fits = new FileLocation(file);
+
+		final SCIFIOConfig config = new SCIFIOConfig().parserSetMetadataCached(
+			true);
+		final ImgOpener opener = new ImgOpener(scifio.context());
+		final ImgPlus<?> parsed = opener.openImgs(fits, config).get(0);
+		assertEquals(1, countEntries());
+
+		final Metadata meta = cache.load(fits, scifio.format().getFormat(fits),
+			config);
+		assertNotNull(meta);
+		assertEquals(32, meta.get(0).getAxisLength(0));
+		assertEquals(24, meta.get(0).getAxisLength(1));
+		assertEquals("16", meta.getTable().get("BITPIX"));
+		meta.close();
+
+		final ImgPlus<?> cached = opener.openImgs(fits, config).get(0);
+		assertEquals(ImageHash.hashImg(parsed), ImageHash.hashImg(cached));
+	}
+
+	/**
+	 * Tests that formats keeping reader state in transient fields are neither
+	 * cached nor copied, but parsed again.
+	 */
+	@Test
+	public void testGIFNotCached() throws Exception {
+		final File file = File.createTempFile("scifio-metadata-cache", ".gif");
+		file.deleteOnExit();
+		final BufferedImage gif = new BufferedImage(32, 24,
+			BufferedImage.TYPE_BYTE_INDEXED);
+		for (int y = 0; y < gif.getHeight(); y++) {
+			for (int x = 0; x < gif.getWidth(); x++) {
+				gif.getRaster().setSample(x, y, 0, (x + 3 * y) % 256);
+			}
+		}
+		assertTrue(ImageIO.write(gif, "gif", file));
+		assertRoundTrip(new FileLocation(file));
+	}
+
+	/** Tests that APNG chunk lists are parsed again rather than cached. */
+	@Test
+	public void testAPNGNotCached() throws Exception {
+		final File file = File.createTempFile("scifio-metadata-cache", ".png");
+		file.delete();
+		file.deleteOnExit();
+		final FileLocation png = new FileLocation(file);
+		final ImgPlus<?> img = new ImgOpener(scifio.context()).openImgs(
+			new TestImgLocation.Builder().name("apng").pixelType("uint8").axes("X",
+				"Y").lengths(32, 24).build()).get(0);
+		new ImgSaver(scifio.context()).saveImg(png, img);
+		assertRoundTrip(png);
+	}
+
+	/** Tests that metadata is copied without writing to the cache. */
+	@Test
+	public void testDuplicate() throws Exception {
+		final Reader reader = scifio.initializer().initializeReader(image);
+		final Metadata meta = ((ReaderFilter) reader).getTail().getMetadata();
+		final Metadata copy = cache.duplicate(meta, new SCIFIOConfig());
+		assertNotNull(copy);
+		assertNotSame(meta, copy);
+		assertNotSame(meta.getSource(), copy.getSource());
+		assertEquals(image, copy.getSourceLocation());
+		assertArrayEquals(meta.get(0).getAxesLengths(), copy.get(0)
+			.getAxesLengths());
+		assertEquals(0, countEntries());
+		copy.close();
+		reader.close();
+	}
+
+	/**
+	 * Tests that entries holding classes outside SCIFIO and the JDK are
+	 * discarded.
+	 */
+	@Test
+	public void testForeignClassRejected() throws Exception {
+		final SCIFIOConfig config = new SCIFIOConfig().parserSetMetadataCached(
+			true);
+		scifio.initializer().initializeReader(image, config).close();
+		final Path entry = onlyEntry();
+		final String key;
+		try (final ObjectInputStream in = new ObjectInputStream(Files
+			.newInputStream(entry)))
+		{
+			key = in.readUTF();
+		}
+		try (final ObjectOutputStream out = new ObjectOutputStream(Files
+			.newOutputStream(entry)))
+		{
+			out.writeUTF(key);
+			out.writeBoolean(false);
+			out.writeObject(new java.text.SimpleDateFormat());
+		}
+
+		assertNull(cache.load(image, scifio.format().getFormat(image), config));
+		assertEquals(0, countEntries());
+	}
+
+	/** Tests that entries which do not fit the metadata class are discarded. */
+	@Test
+	public void testMismatchedEntryDiscarded() throws Exception {
+		final SCIFIOConfig config = new SCIFIOConfig().parserSetMetadataCached(
+			true);
+		scifio.initializer().initializeReader(image, config).close();
+		final Path entry = onlyEntry();
+		final String key;
+		final boolean littleEndian;
+		final Map<String, Object> values;
+		final Object images;
+		try (final ObjectInputStream in = new ObjectInputStream(Files
+			.newInputStream(entry)))
+		{
+			key = in.readUTF();
+			littleEndian = in.readBoolean();
+			@SuppressWarnings("unchecked")
+			final Map<String, Object> map = (Map<String, Object>) in.readObject();
+			values = new HashMap<>(map);
+			images = in.readObject();
+		}
+		values.put("io.scif.AbstractMetadata#datasetName", 5);
+		try (final ObjectOutputStream out = new ObjectOutputStream(Files
+			.newOutputStream(entry)))
+		{
+			out.writeUTF(key);
+			out.writeBoolean(littleEndian);
+			out.writeObject(values);
+			out.writeObject(images);
+		}
+
+		assertNull(cache.load(image, scifio.format().getFormat(image), config));
+		assertEquals(0, countEntries());
+		// the file is parsed and cached again
+		scifio.initializer().initializeReader(image, config).close();
+		assertEquals(1, countEntries());
+	}
+
+	/** Tests that caching is disabled by default. */
+	@Test
+	public void testDisabledByDefault() throws Exception {
+		scifio.initializer().parseMetadata(image).close();
+		assertEquals(0, countEntries());
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Opens the given source twice with caching enabled, checking that both
+	 * readers work and that nothing is cached or copied. Also checks that a
+	 * duplicate of the reader, which parses the source again, works.
+	 */
+	private void assertRoundTrip(final FileLocation loc) throws Exception {
+		final SCIFIOConfig config = new SCIFIOConfig().parserSetMetadataCached(
+			true);
+		final byte[] expected;
+		final Reader parsed = scifio.initializer().initializeReader(loc, config);
+		try {
+			expected = parsed.openPlane(0, 0).getBytes();
+			final Metadata meta = ((ReaderFilter) parsed).getTail().getMetadata();
+			assertNull(cache.duplicate(meta, config));
+
+			final Reader copy = scifio.initializer().duplicateReader(parsed,
+				config);
+			try {
+				assertNotSame(meta, ((ReaderFilter) copy).getTail().getMetadata());
+				assertArrayEquals(expected, copy.openPlane(0, 0).getBytes());
+			}
+			finally {
+				copy.close();
+			}
+		}
+		finally {
+			parsed.close();
+		}
+		assertEquals(0, countEntries());
+		assertNull(cache.load(loc, scifio.format().getFormat(loc), config));
+
+		final Reader reopened = scifio.initializer().initializeReader(loc, config);
+		try {
+			assertArrayEquals(expected, reopened.openPlane(0, 0).getBytes());
+		}
+		finally {
+			reopened.close();
+		}
+		assertEquals(0, countEntries());
+	}
+
+	private Path onlyEntry() throws IOException {
+		try (final Stream<Path> entries = Files.list(cacheDir)) {
+			final List<Path> list = entries.collect(Collectors.toList());
+			assertEquals(1, list.size());
+			return list.get(0);
+		}
+	}
+
+	private long countEntries() throws IOException {
+		if (!Files.isDirectory(cacheDir)) return 0;
+		try (final Stream<Path> entries = Files.list(cacheDir)) {
+			return entries.count();
+		}
+	}
+}
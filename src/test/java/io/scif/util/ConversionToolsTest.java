@@ -0,0 +1,109 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.util;
+
+import static org.junit.Assert.assertEquals;
+
+import io.scif.SCIFIO;
+import io.scif.img.ImgUtilityService;
+
+import java.util.Random;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ConversionTools}, checking every pair of source pixel
+ * type and target primitive type against
+ * {@link ImgUtilityService#decodeWord}.
+ */
+public class ConversionToolsTest {
+
+	// -- Fields --
+
+	private static final SCIFIO scifio = new SCIFIO();
+
+	private static final int PIXELS = 257;
+
+	private static final int OFFSET = 3;
+
+	@AfterClass
+	public static void dispose() {
+		scifio.dispose();
+	}
+
+	// -- Tests --
+
+	@Test
+	public void testConversions() {
+		final ImgUtilityService utils = scifio.imgUtil();
+		final Random random = new Random(0x5c1f10);
+		for (int pixelType = FormatTools.INT8; pixelType <= FormatTools.DOUBLE;
+			pixelType++)
+		{
+			final byte[] src = new byte[PIXELS * FormatTools.getBytesPerPixel(
+				pixelType)];
+			random.nextBytes(src);
+			for (final boolean little : new boolean[] { false, true }) {
+				final String msg = FormatTools.getPixelTypeString(pixelType) +
+					(little ? " LE" : " BE");
+
+				final byte[] b = new byte[OFFSET + PIXELS];
+				final char[] c = new char[OFFSET + PIXELS];
+				final short[] s = new short[OFFSET + PIXELS];
+				final int[] i = new int[OFFSET + PIXELS];
+				final long[] l = new long[OFFSET + PIXELS];
+				final float[] f = new float[OFFSET + PIXELS];
+				final double[] d = new double[OFFSET + PIXELS];
+				ConversionTools.toBytes(src, pixelType, little, b, OFFSET);
+				ConversionTools.toChars(src, pixelType, little, c, OFFSET);
+				ConversionTools.toShorts(src, pixelType, little, s, OFFSET);
+				ConversionTools.toInts(src, pixelType, little, i, OFFSET);
+				ConversionTools.toLongs(src, pixelType, little, l, OFFSET);
+				ConversionTools.toFloats(src, pixelType, little, f, OFFSET);
+				ConversionTools.toDoubles(src, pixelType, little, d, OFFSET);
+
+				for (int p = 0; p < PIXELS; p++) {
+					final double value = utils.decodeWord(src, p, pixelType, little);
+					final int k = OFFSET + p;
+					assertEquals(msg, (byte) value, b[k]);
+					assertEquals(msg, (char) value, c[k]);
+					assertEquals(msg, (short) value, s[k]);
+					assertEquals(msg, (int) value, i[k]);
+					assertEquals(msg, (long) value, l[k]);
+					assertEquals(msg, (float) value, f[k], 0);
+					assertEquals(msg, value, d[k], 0);
+				}
+				assertEquals(msg, 0, b[0]);
+				assertEquals(msg, 0, d[OFFSET - 1], 0);
+			}
+		}
+	}
+}
@@ -29,8 +29,12 @@
 
 package io.scif.util;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 import org.scijava.io.handle.DataHandle;
 import org.scijava.io.handle.DataHandleService;
@@ -68,4 +72,31 @@ public class FormatTestHelpers {
 		handle.setLittleEndian(true);
 		return handle;
 	}
+
+	/**
+	 * Writes a FITS file of 16-bit samples, with a header of one block.
+	 *
+	 * @param file The file to write.
+	 * @param pixels The big-endian samples of the image.
+	 * @param lengths The length of each axis, fastest varying first.
+	 */
+	public static void writeFITS(final File file, final byte[] pixels,
+		final int... lengths) throws IOException
+	{
+		final StringBuilder header = new StringBuilder();
+		header.append(String.format("%-80s", "SIMPLE  = T"));
+		header.append(String.format("%-80s", "BITPIX  = 16"));
+		header.append(String.format("%-80s", "NAXIS   = " + lengths.length));
+		for (int i = 0; i < lengths.length; i++) {
+			header.append(String.format("%-80s", String.format("%-8s= %d",
+				"NAXIS" + (i + 1), lengths[i])));
+		}
+		header.append(String.format("%-80s", "END"));
+		while (header.length() % 2880 != 0) header.append(' ');
+
+		try (final OutputStream out = Files.newOutputStream(file.toPath())) {
+			out.write(header.toString().getBytes(StandardCharsets.US_ASCII));
+			out.write(pixels);
+		}
+	}
 }
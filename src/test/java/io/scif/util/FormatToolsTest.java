@@ -29,12 +29,15 @@
 
 package io.scif.util;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 import io.scif.FormatException;
 import io.scif.ImageMetadata;
+import io.scif.Plane;
 import io.scif.Reader;
 import io.scif.SCIFIO;
+import io.scif.config.SCIFIOConfig;
 import io.scif.io.location.TestImgLocation;
 
 import java.io.IOException;
@@ -100,4 +103,42 @@ public class FormatToolsTest {
 		assertEquals((long) Math.pow(2, 7) - 1, FormatTools.defaultMinMax(iMeta
 			.getPixelType())[1]);
 	}
+
+	// -- Thumbnail tests --
+
+	/**
+	 * Tests that {@link FormatTools#openThumbPlane} samples the expected pixels
+	 * of the full plane.
+	 */
+	@Test
+	public void testOpenThumbPlane() throws FormatException, IOException {
+		final Location sampleImage = TestImgLocation.builder().name("thumbs")
+			.pixelType("uint16").planarDims(3).lengths(400, 300, 3).axes("X", "Y",
+				"Channel").build();
+		final Reader reader = scifio.initializer().initializeReader(sampleImage);
+		final SCIFIOConfig config = new SCIFIOConfig();
+
+		assertEquals(4, FormatTools.getThumbnailStep(400, 300, 64, 64));
+		final Plane thumb = reader.openThumbPlane(0, 0, 64, 64, config);
+		assertArrayEquals(new long[] { 100, 75, 3 }, thumb.getLengths());
+
+		final byte[] full = reader.openPlane(0, 0, config).getBytes();
+		final byte[] small = thumb.getBytes();
+		final int bpp = 2;
+		for (int c = 0; c < 3; c++) {
+			for (int y = 0; y < 75; y++) {
+				for (int x = 0; x < 100; x++) {
+					final int src = ((c * 300 + y * 4 + 2) * 400 + x * 4 + 2) * bpp;
+					final int dest = ((c * 75 + y) * 100 + x) * bpp;
+					assertEquals(full[src], small[dest]);
+					assertEquals(full[src + 1], small[dest + 1]);
+				}
+			}
+		}
+
+		// A plane no larger than the thumbnail is returned whole
+		final Plane whole = reader.openThumbPlane(0, 0, 400, 300, config);
+		assertArrayEquals(new long[] { 400, 300, 3 }, whole.getLengths());
+		reader.close();
+	}
 }
@@ -0,0 +1,76 @@
+/*
+ * #%L
+ * SCIFIO library for reading and converting scientific file formats.
+ * %%
+ * Copyright (C) 2011 - 2023 SCIFIO developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package io.scif.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+import org.junit.Test;
+import org.scijava.io.location.FileLocation;
+
+/**
+ * Unit tests for {@link MappedFile}.
+ */
+public class MappedFileTest {
+
+	@Test
+	public void testRead() throws IOException {
+		final byte[] data = new byte[1000];
+		for (int i = 0; i < data.length; i++)
+			data[i] = (byte) i;
+		final File file = Files.createTempFile("mapped", ".raw").toFile();
+		file.deleteOnExit();
+		Files.write(file.toPath(), data);
+
+		try (final MappedFile mapped = new MappedFile(new FileLocation(file))) {
+			assertEquals(data.length, mapped.length());
+
+			final byte[] buf = new byte[10];
+			assertEquals(10, mapped.read(500, buf, 0, 10));
+			for (int i = 0; i < buf.length; i++)
+				assertEquals(data[500 + i], buf[i]);
+
+			// reads are truncated at the end of the file
+			assertEquals(5, mapped.read(995, buf, 0, 10));
+			assertEquals(-1, mapped.read(1000, buf, 0, 10));
+
+			final ByteBuffer view = mapped.view(0, data.length);
+			final byte[] all = new byte[data.length];
+			view.get(all);
+			assertArrayEquals(data, all);
+		}
+	}
+
+}
@@ -29,14 +29,27 @@
 
 package io.scif.writing;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import io.scif.ByteBufferPlane;
+import io.scif.FormatException;
+import io.scif.Reader;
+import io.scif.Writer;
 import io.scif.config.SCIFIOConfig;
+import io.scif.config.SCIFIOConfig.ImgMode;
 import io.scif.img.ImgIOException;
 import io.scif.img.ImgOpener;
+import io.scif.img.ImgSaver;
 import io.scif.io.location.TestImgLocation;
+import io.scif.services.InitializeService;
+import io.scif.util.ImageHash;
 
 import java.io.IOException;
 
 import net.imagej.ImgPlus;
+import net.imglib2.FinalInterval;
+import net.imglib2.Interval;
 
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -146,6 +159,76 @@ public class ICSFormatTest extends AbstractSyntheticWriterTest {
 		testWriting(sourceImg);
 	}
 
+	/**
+	 * Tests that planes are saved correctly whichever storage backs the image,
+	 * including interleaved channels.
+	 */
+	@Test
+	public void testWritingStorageLayouts() throws IOException {
+		for (final ImgMode mode : new ImgMode[] { ImgMode.ARRAY, ImgMode.PLANAR,
+			ImgMode.CELL })
+		{
+			final SCIFIOConfig config = new SCIFIOConfig().imgOpenerSetImgModes(mode);
+			testWriting(opener.openImgs(new TestImgLocation.Builder().name("testimg")
+				.pixelType("uint16").axes("X", "Y", "Z", "T").lengths(64, 48, 4, 2)
+				.build(), config).get(0));
+			testWriting(opener.openImgs(new TestImgLocation.Builder().name("testimg")
+				.pixelType("float").axes("X", "Y", "C", "Z").lengths(64, 48, 3, 4)
+				.build(), config).get(0));
+		}
+	}
+
+	/** Tests that memory-mapped reading yields the same samples. */
+	@Test
+	public void testMemoryMappedReading() throws IOException {
+		final ImgPlus<?> sourceImg = opener.openImgs(new TestImgLocation.Builder()
+			.name("testimg").pixelType("uint16").axes("X", "Y", "C", "Z").lengths(
+				100, 100, 3, 5).build()).get(0);
+		final FileLocation out = createTempFileLocation(".ics");
+		new ImgSaver(opener.context()).saveImg(out, sourceImg);
+
+		final ImgPlus<?> mapped = opener.openImgs(out, new SCIFIOConfig()
+			.readerSetMemoryMapped(true)).get(0);
+		assertEquals(ImageHash.hashImg(sourceImg), ImageHash.hashImg(mapped));
+	}
+
+	/**
+	 * Tests that {@link ByteBufferPlane}s of small buffers are streamed when
+	 * written whole, and copied pixel by pixel when written in regions.
+	 */
+	@Test
+	public void testWritingByteBufferPlanes() throws IOException,
+		FormatException
+	{
+		final InitializeService init = opener.context().getService(
+			InitializeService.class);
+		final Reader in = init.initializeReader(new TestImgLocation.Builder().name(
+			"testimg").pixelType("uint16").axes("X", "Y", "Z").lengths(45, 30, 2)
+			.build());
+		final FileLocation out = createTempFileLocation(".ics");
+		final Writer writer = init.initializeWriter(in.getMetadata(), out,
+			new SCIFIOConfig().writerSetFailIfOverwriting(false));
+
+		// The first plane is written as two regions, the second one whole
+		final Interval top = new FinalInterval(new long[] { 0, 0 }, new long[] {
+			44, 13 });
+		final Interval bottom = new FinalInterval(new long[] { 0, 14 },
+			new long[] { 44, 29 });
+		writer.savePlane(0, 0, bufferPlane(in, 0, top), top);
+		writer.savePlane(0, 0, bufferPlane(in, 0, bottom), bottom);
+		final Interval all = new FinalInterval(45, 30);
+		writer.savePlane(0, 1, bufferPlane(in, 1, all), all);
+		writer.close();
+
+		final Reader written = init.initializeReader(out);
+		for (int p = 0; p < 2; p++) {
+			assertArrayEquals(in.openPlane(0, p).getBytes(), written.openPlane(0, p)
+				.getBytes());
+		}
+		written.close();
+		in.close();
+	}
+
 	@Test
 	public void testSuccessfulOverwrite() throws IOException {
 		final SCIFIOConfig config = new SCIFIOConfig().writerSetFailIfOverwriting(
@@ -153,4 +236,18 @@ public class ICSFormatTest extends AbstractSyntheticWriterTest {
 		FileLocation overwritten = testOverwritingBehavior(config);
 		opener.openImgs(overwritten);
 	}
+
+	// -- Helper methods --
+
+	/** Copies a region of a plane into a {@link ByteBufferPlane}. */
+	private static ByteBufferPlane bufferPlane(final Reader in,
+		final long planeIndex, final Interval bounds) throws IOException,
+		FormatException
+	{
+		final byte[] bytes = in.openPlane(0, planeIndex, bounds).getBytes();
+		final ByteBufferPlane plane = new ByteBufferPlane(in.getMetadata().get(0),
+			bounds, 64);
+		plane.put(0, bytes, 0, bytes.length);
+		return plane;
+	}
 }
@@ -29,22 +29,37 @@
 
 package io.scif.writing;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.scif.FormatException;
+import io.scif.ImageMetadata;
 import io.scif.SCIFIO;
 import io.scif.codec.CompressionType;
 import io.scif.config.SCIFIOConfig;
+import io.scif.config.SCIFIOConfig.ImgMode;
+import io.scif.formats.tiff.TileCache;
 import io.scif.img.ImgIOException;
 import io.scif.img.ImgOpener;
 import io.scif.img.ImgSaver;
 import io.scif.img.SCIFIOImgPlus;
 import io.scif.io.location.TestImgLocation;
+import io.scif.services.InitializeService;
 import io.scif.util.FormatTools;
+import io.scif.util.ImageHash;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import net.imagej.ImgPlus;
+import net.imagej.axis.Axes;
+import net.imglib2.RandomAccess;
+import net.imglib2.type.numeric.RealType;
 
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -214,6 +229,167 @@ public class TiffFormatTest extends AbstractSyntheticWriterTest {
 		testWriting(sourceImg6);
 	}
 
+	/**
+	 * Verify that decoding strips concurrently yields the same pixels as
+	 * decoding them serially.
+	 */
+	@Test
+	public void testParallelDecoding() throws IOException {
+		final SCIFIOConfig config = new SCIFIOConfig();
+		config.writerSetCompression(CompressionType.LZW.getCompression());
+		final ImgPlus<?> sourceImg = opener.openImgs(new TestImgLocation.Builder()
+			.name("testimg").pixelType("uint16").axes("X", "Y", "C").lengths(300,
+				200, 3).build()).get(0);
+		final FileLocation out = createTempFileLocation(".tif");
+		saver.saveImg(out, sourceImg, config);
+
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final ImgPlus<?> serial = opener.openImgs(out).get(0);
+			final ImgPlus<?> parallel = opener.openImgs(out, new SCIFIOConfig()
+				.readerSetDecodeExecutor(executor)).get(0);
+			assertEquals(ImageHash.hashImg(serial), ImageHash.hashImg(parallel));
+			assertEquals(ImageHash.hashImg(sourceImg), ImageHash.hashImg(parallel));
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Tests that prefetching planes on a background thread opens the same image
+	 * as reading them in turn, for array and planar images.
+	 */
+	@Test
+	public void testPrefetching() throws IOException {
+		final ImgPlus<?> sourceImg = opener.openImgs(new TestImgLocation.Builder()
+			.name("testimg").pixelType("uint8").axes("X", "Y", "Z", "T").lengths(64,
+				48, 5, 3).build()).get(0);
+		final FileLocation out = createTempFileLocation(".tif");
+		saver.saveImg(out, sourceImg);
+
+		final String expected = ImageHash.hashImg(sourceImg);
+		for (final ImgMode mode : new ImgMode[] { ImgMode.ARRAY, ImgMode.PLANAR }) {
+			for (final int depth : new int[] { 1, 4, 100 }) {
+				final ImgPlus<?> prefetched = opener.openImgs(out, new SCIFIOConfig()
+					.imgOpenerSetImgModes(mode).imgOpenerSetPrefetchDepth(depth)).get(0);
+				assertEquals(mode + "/" + depth, expected, ImageHash.hashImg(
+					prefetched));
+			}
+		}
+	}
+
+	/**
+	 * Tests that compressing strips concurrently writes exactly the same file as
+	 * compressing them serially.
+	 */
+	@Test
+	public void testParallelEncoding() throws IOException {
+		final ImgPlus<?> sourceImg = opener.openImgs(new TestImgLocation.Builder()
+			.name("testimg").pixelType("uint16").axes("X", "Y", "C").lengths(300,
+				200, 3).build()).get(0);
+		final SCIFIOConfig config = new SCIFIOConfig();
+		config.writerSetCompression(CompressionType.LZW.getCompression());
+		final FileLocation serial = createTempFileLocation(".tif");
+		saver.saveImg(serial, sourceImg, config);
+
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final FileLocation parallel = createTempFileLocation(".tif");
+			saver.saveImg(parallel, sourceImg, new SCIFIOConfig(config)
+				.writerSetEncodeExecutor(executor));
+			assertArrayEquals(Files.readAllBytes(serial.getFile().toPath()), Files
+				.readAllBytes(parallel.getFile().toPath()));
+			assertEquals(ImageHash.hashImg(sourceImg), ImageHash.hashImg(opener
+				.openImgs(parallel).get(0)));
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Tests that reading with a {@link TileCache} yields the same samples, and
+	 * that reading the same image again is served from the cache.
+	 */
+	@Test
+	public void testTileCache() throws IOException {
+		final SCIFIOConfig config = new SCIFIOConfig();
+		config.writerSetCompression(CompressionType.LZW.getCompression());
+		final ImgPlus<?> sourceImg = opener.openImgs(new TestImgLocation.Builder()
+			.name("testimg").pixelType("uint8").axes("X", "Y").lengths(300, 200)
+			.build()).get(0);
+		final FileLocation out = createTempFileLocation(".tif");
+		saver.saveImg(out, sourceImg, config);
+
+		final TileCache cache = new TileCache(1 << 20);
+		final SCIFIOConfig readConfig = new SCIFIOConfig().readerSetTileCache(
+			cache);
+		final ImgPlus<?> first = opener.openImgs(out, readConfig).get(0);
+		final long misses = cache.getMissCount();
+		assertTrue(misses > 0);
+		final ImgPlus<?> second = opener.openImgs(out, readConfig).get(0);
+		assertEquals(misses, cache.getMissCount());
+		assertTrue(cache.getHitCount() >= cache.size());
+		assertEquals(ImageHash.hashImg(sourceImg), ImageHash.hashImg(first));
+		assertEquals(ImageHash.hashImg(sourceImg), ImageHash.hashImg(second));
+	}
+
+	/**
+	 * Tests that a pyramid written from an image reads back at full resolution
+	 * and at each downsampled level.
+	 */
+	@Test
+	public void testPyramid() throws IOException, FormatException {
+		final ImgPlus<?> sourceImg = opener.openImgs(new TestImgLocation.Builder()
+			.name("testimg").pixelType("uint16").axes("X", "Y", "Z").lengths(600,
+				500, 2).build()).get(0);
+		final SCIFIOConfig config = new SCIFIOConfig().imgSaverSetWritePyramid(
+			true).imgSaverSetTileSize(128, 128);
+		config.writerSetCompression(CompressionType.LZW.getCompression());
+		final FileLocation out = createTempFileLocation(".tif");
+		saver.saveImg(out, sourceImg, config);
+
+		final ImageMetadata iMeta = opener.getContext().getService(
+			InitializeService.class).parseMetadata(out).get(0);
+		assertEquals(2, iMeta.getPlaneCount());
+		assertEquals(4, iMeta.getResolutionCount());
+		assertEquals(75, iMeta.getResolution(3).getAxisLength(Axes.X));
+		assertEquals(63, iMeta.getResolution(3).getAxisLength(Axes.Y));
+
+		assertEquals(ImageHash.hashImg(sourceImg), ImageHash.hashImg(opener
+			.openImgs(out).get(0)));
+
+		final ImgPlus<?> level = opener.openImgs(out, new SCIFIOConfig()
+			.imgOpenerSetResolutionLevel(1)).get(0);
+		assertEquals(300, level.dimension(0));
+		assertEquals(250, level.dimension(1));
+		assertEquals(2, level.dimension(2));
+		final RandomAccess<? extends RealType<?>> full = realAccess(sourceImg);
+		final RandomAccess<? extends RealType<?>> reduced = realAccess(level);
+		for (final long[] pos : new long[][] { { 0, 0, 0 }, { 123, 45, 1 }, {
+			299, 249, 1 } })
+		{
+			double sum = 0;
+			for (int dy = 0; dy < 2; dy++) {
+				for (int dx = 0; dx < 2; dx++) {
+					full.setPosition(new long[] { 2 * pos[0] + dx, 2 * pos[1] + dy,
+						pos[2] });
+					sum += full.get().getRealDouble();
+				}
+			}
+			reduced.setPosition(pos);
+			assertEquals(Math.round(sum / 4), reduced.get().getRealDouble(), 0);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private RandomAccess<? extends RealType<?>> realAccess(
+		final ImgPlus<?> img)
+	{
+		return ((ImgPlus<? extends RealType<?>>) img).randomAccess();
+	}
+
 	/**
 	 * Ensure a valid TIFF is written (i.e. the header is written) when the
 	 * destination file doesn't exist (vs. when using